@@ -0,0 +1,62 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.allgames;
+
+import de.amr.games.pacman.arcade.ArcadePacMan_GameModel;
+import de.amr.games.pacman.arcade.ms_pacman.ArcadeMsPacMan_GameModel;
+import de.amr.games.pacman.arcade.pacman_xxl.PacManXXL_MapSelector;
+import de.amr.games.pacman.arcade.pacman_xxl.PacManXXL_MsPacMan_GameModel;
+import de.amr.games.pacman.arcade.pacman_xxl.PacManXXL_PacMan_GameModel;
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.simulation.BatchRunner;
+import de.amr.games.pacman.tengen.ms_pacman.TengenMsPacMan_GameModel;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a batch of headless games without user interface and prints the report.
+ * <p>
+ * Usage: {@code BatchSimulation [variant] [number of games] [max ticks per game] [base seed]}, e.g.
+ * {@code BatchSimulation MS_PACMAN 1000}.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class BatchSimulation {
+
+    public static void main(String[] args) {
+        // must be set before the first log statement, else thousands of games flood the console
+        if (System.getProperty("tinylog.writer.level") == null) {
+            System.setProperty("tinylog.writer.level", "warn");
+        }
+        GameVariant gameVariant = args.length > 0 ? GameVariant.valueOf(args[0]) : GameVariant.PACMAN;
+        var runner = new BatchRunner(gameVariant, gameFactory(gameVariant));
+        if (args.length > 1) {
+            runner.setNumGames(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            runner.setMaxTicksPerGame(Long.parseLong(args[2]));
+        }
+        if (args.length > 3) {
+            runner.setBaseSeed(Long.parseLong(args[3]));
+        }
+        runner.run().print(System.out);
+    }
+
+    static Supplier<GameModel> gameFactory(GameVariant gameVariant) {
+        return switch (gameVariant) {
+            case PACMAN -> ArcadePacMan_GameModel::new;
+            case MS_PACMAN -> ArcadeMsPacMan_GameModel::new;
+            case MS_PACMAN_TENGEN -> () -> {
+                var game = new TengenMsPacMan_GameModel();
+                game.setCanStartNewGame(true);
+                return game;
+            };
+            case PACMAN_XXL -> () -> new PacManXXL_PacMan_GameModel(new PacManXXL_MapSelector());
+            case MS_PACMAN_XXL -> () -> new PacManXXL_MsPacMan_GameModel(new PacManXXL_MapSelector());
+        };
+    }
+}
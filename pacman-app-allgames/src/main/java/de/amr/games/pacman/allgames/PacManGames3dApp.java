@@ -19,6 +19,7 @@ import de.amr.games.pacman.tengen.ms_pacman.TengenMsPacMan_UIConfig;
 import de.amr.games.pacman.ui.DashboardID;
 import de.amr.games.pacman.ui.dashboard.InfoBoxCustomMaps;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Rectangle2D;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
@@ -47,7 +48,7 @@ public class PacManGames3dApp extends Application {
         THE_GAME_CONTROLLER.registerGameModel(GameVariant.PACMAN,           new ArcadePacMan_GameModel());
         THE_GAME_CONTROLLER.registerGameModel(GameVariant.PACMAN_XXL,       new PacManXXL_PacMan_GameModel(xxlMapSelector));
         THE_GAME_CONTROLLER.registerGameModel(GameVariant.MS_PACMAN_XXL,    new PacManXXL_MsPacMan_GameModel(xxlMapSelector));
-        THE_GAME_CONTROLLER.gameVariantProperty().set(GameVariant.PACMAN);
+        THE_GAME_CONTROLLER.selectGameVariant(GameVariant.PACMAN);
     }
 
     @Override
@@ -70,10 +71,12 @@ public class PacManGames3dApp extends Application {
                 DashboardID.GAME_INFO,
                 DashboardID.ACTOR_INFO,
                 DashboardID.CUSTOM_MAPS,
+                DashboardID.PROFILER,
                 DashboardID.KEYBOARD,
                 DashboardID.ABOUT);
 
         InfoBoxCustomMaps infoBoxCustomMaps = THE_UI.dashboard().getInfoBox(DashboardID.CUSTOM_MAPS);
+        xxlMapSelector.setCustomMapListUpdater(Platform::runLater);
         infoBoxCustomMaps.setTableItems(xxlMapSelector.customMaps());
         xxlMapSelector.startWatchingCustomMaps();
 
@@ -0,0 +1,71 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.allgames;
+
+import de.amr.games.pacman.simulation.InputRecording;
+import de.amr.games.pacman.simulation.ReplayVerifier;
+import org.tinylog.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static de.amr.games.pacman.Globals.RECORDINGS_DIR;
+
+/**
+ * Replays input recordings headless and prints for each recording if the replayed game gives the recorded score.
+ * <p>
+ * Usage: {@code ReplayVerification [file or directory]...}. Directories are searched for recording files. Without
+ * arguments, the recordings directory of the user is used.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class ReplayVerification {
+
+    public static void main(String[] args) {
+        if (System.getProperty("tinylog.writer.level") == null) {
+            System.setProperty("tinylog.writer.level", "warn");
+        }
+        List<File> files = new ArrayList<>();
+        if (args.length == 0) {
+            addRecordingFiles(RECORDINGS_DIR, files);
+        } else {
+            for (String arg : args) {
+                addRecordingFiles(new File(arg), files);
+            }
+        }
+        List<InputRecording> recordings = new ArrayList<>(files.size());
+        for (File file : files) {
+            try {
+                recordings.add(InputRecording.load(file));
+            } catch (IOException x) {
+                Logger.error("Could not load recording {}: {}", file, x.getMessage());
+            }
+        }
+        var verifier = new ReplayVerifier(gameVariant -> BatchSimulation.gameFactory(gameVariant).get());
+        long start = System.nanoTime();
+        List<ReplayVerifier.Verdict> verdicts = verifier.verifyAll(recordings);
+        ReplayVerifier.print(verdicts, System.out);
+        System.out.printf("Time: %.2f sec%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void addRecordingFiles(File file, List<File> files) {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles((dir, name) -> name.endsWith(InputRecording.FILE_EXTENSION));
+            if (children != null) {
+                Arrays.sort(children, Comparator.comparing(File::getName));
+                files.addAll(Arrays.asList(children));
+            }
+        } else if (file.isFile()) {
+            files.add(file);
+        } else {
+            Logger.error("File {} does not exist", file);
+        }
+    }
+}
@@ -23,7 +23,7 @@ public class ArcadeMsPacMan_App extends Application {
     public void init() {
         Globals.checkDirectories();
         THE_GAME_CONTROLLER.registerGameModel(GameVariant.MS_PACMAN, new ArcadeMsPacMan_GameModel());
-        THE_GAME_CONTROLLER.gameVariantProperty().set(GameVariant.MS_PACMAN);
+        THE_GAME_CONTROLLER.selectGameVariant(GameVariant.MS_PACMAN);
     }
 
     @Override
@@ -53,7 +53,7 @@ public class ArcadeMsPacMan_CutScene1 extends GameScene2D {
 
     @Override
     public void doInit() {
-        game().scoreVisibleProperty().set(true);
+        game().setScoreVisible(true);
 
         pacMan = new Pac();
         msPac = new Pac();
@@ -64,7 +64,7 @@ public class ArcadeMsPacMan_CutScene1 extends GameScene2D {
         music = THE_SOUND.makeSound("intermission.1");
 
         var spriteSheet = (ArcadeMsPacMan_SpriteSheet) THE_UI_CONFIGS.configuration(
-            THE_GAME_CONTROLLER.gameVariantProperty().get()).spriteSheet();
+            THE_GAME_CONTROLLER.selectedGameVariant()).spriteSheet();
         msPac.setAnimations(new PacAnimations(spriteSheet));
         pacMan.setAnimations(new PacAnimations(spriteSheet));
         inky.setAnimations(new GhostAnimations(spriteSheet, inky.id()));
@@ -12,6 +12,8 @@ import de.amr.games.pacman.lib.tilemap.LayerID;
 import de.amr.games.pacman.lib.tilemap.WorldMap;
 import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.*;
+import de.amr.games.pacman.model.LevelParameters.GhostSpeed;
+import de.amr.games.pacman.model.LevelParameters.PacSpeed;
 import de.amr.games.pacman.model.actors.Bonus;
 import de.amr.games.pacman.model.actors.Ghost;
 import de.amr.games.pacman.model.actors.MovingBonus;
@@ -131,8 +133,8 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
 
     @Override
     public void init() {
-        initialLivesProperty().set(3);
-        simulateOverflowBugProperty().set(true);
+        setInitialLives(3);
+        setSimulateOverflowBug(true);
         mapSelector.loadAllMaps(this);
     }
 
@@ -143,10 +145,11 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
 
     @Override
     public void resetForStartingNewGame() {
-        playingProperty().set(false);
-        livesProperty().set(initialLivesProperty().get());
+        setPlaying(false);
+        setLives(initialLives());
         level = null;
-        demoLevelProperty().set(false);
+        levelParameters = null;
+        setDemoLevel(false);
         cruiseElroy = 0;
         levelCounter().reset();
         scoreManager().loadHighScore();
@@ -157,18 +160,18 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
 
     @Override
     public void endGame() {
-        playingProperty().set(false);
-        if (!THE_COIN_MECHANISM.isEmpty()) {
-            THE_COIN_MECHANISM.consumeCoin();
+        setPlaying(false);
+        if (!coinMechanism().isEmpty()) {
+            coinMechanism().consumeCoin();
         }
         scoreManager().updateHighScore();
         level.showMessage(GameLevel.Message.GAME_OVER);
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.STOP_ALL_SOUNDS);
+        eventManager().publishEvent(this, GameEventType.STOP_ALL_SOUNDS);
     }
 
     @Override
     public boolean canStartNewGame() {
-        return !THE_COIN_MECHANISM.isEmpty();
+        return !coinMechanism().isEmpty();
     }
 
     @Override
@@ -178,7 +181,7 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
 
     @Override
     public boolean isOver() {
-        return livesProperty().get() == 0;
+        return lives() == 0;
     }
 
     @Override
@@ -192,9 +195,9 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
 
     @Override
     public void buildGameLevel(int levelNumber) {
-        WorldMap worldMap = mapSelector.selectWorldMap(levelNumber);
+        WorldMap worldMap = mapSelector.selectWorldMap(levelNumber, random());
 
-        level = new GameLevel(levelNumber, worldMap);
+        level = new GameLevel(this, levelNumber, worldMap);
         level.setCutSceneNumber(cutSceneNumberAfterLevel(levelNumber));
         level.setNumFlashes(levelData(levelNumber).numFlashes());
 
@@ -235,15 +238,9 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
         level.setBonusSymbol(1, computeBonusSymbol(level.number()));
     }
 
-    @Override
-    protected void setActorBaseSpeed(int levelNumber) {
-        level.pac().setBaseSpeed(1.25f);
-        level.ghosts().forEach(ghost -> ghost.setBaseSpeed(1.25f));
-    }
-
     @Override
     public void buildDemoLevel() {
-        demoLevelProperty().set(true);
+        setDemoLevel(true);
         levelCounter.setEnabled(false);
         buildGameLevel(1);
         assignDemoLevelBehavior(level.pac());
@@ -268,82 +265,54 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
     }
 
     @Override
-    public float pacNormalSpeed() {
-        if (level == null) {
-            return 0;
-        }
-        byte percentage = levelData(level.number()).pacSpeedPercentage();
-        if (percentage == 0) {
-            percentage = 100;
-        }
-        return percentage * 0.01f * level.pac().baseSpeed();
-    }
-
-    @Override
-    public float pacPowerSpeed() {
-        if (level == null) {
-            return 0;
+    protected LevelParameters createLevelParameters(int levelNumber) {
+        LevelData data = levelData(levelNumber);
+        float baseSpeed = 1.25f;
+        float pacNormalSpeed = (data.pacSpeedPercentage() > 0 ? data.pacSpeedPercentage() : 100) * 0.01f * baseSpeed;
+        float pacPowerSpeed = (data.pacSpeedPoweredPercentage() > 0 ? data.pacSpeedPoweredPercentage() : 100)
+            * 0.01f * baseSpeed;
+        float ghostAttackSpeed = data.ghostSpeedPercentage() * 0.01f * baseSpeed;
+        float ghostTunnelSpeed = data.ghostSpeedTunnelPercentage() * 0.01f * baseSpeed;
+        var builder = LevelParameters.builder(levelNumber)
+            .pacBaseSpeed(baseSpeed)
+            .pacSpeed(PacSpeed.NORMAL, pacNormalSpeed)
+            .pacSpeed(PacSpeed.POWER, pacPowerSpeed)
+            .pacSpeed(PacSpeed.BOOSTED, pacNormalSpeed)
+            .pacSpeed(PacSpeed.BOOSTED_POWER, pacPowerSpeed)
+            .elroyFoodLeft(data.elroy1DotsLeft(), data.elroy2DotsLeft())
+            .numFlashes(data.numFlashes())
+            .pacPowerTicks(60L * data.pacPowerSeconds())
+            //TODO find better solution.
+            // Ghost flashing animation has frame length 14 so one full flash takes 28 ticks
+            .pacPowerFadingTicks(data.numFlashes() * 28L)
+            .pacDyingTicks(240);
+        for (byte id = 0; id < 4; ++id) {
+            builder.ghostBaseSpeed(id, baseSpeed)
+                .ghostSpeed(id, GhostSpeed.ATTACK, ghostAttackSpeed)
+                // hunting ghosts are only slowed down inside the tunnel in the first 3 levels
+                .ghostSpeed(id, GhostSpeed.ATTACK_TUNNEL, levelNumber <= 3 ? ghostTunnelSpeed : ghostAttackSpeed)
+                .ghostSpeed(id, GhostSpeed.TUNNEL, ghostTunnelSpeed)
+                .ghostSpeed(id, GhostSpeed.FRIGHTENED, data.ghostSpeedFrightenedPercentage() * 0.01f * baseSpeed)
+                .ghostSpeed(id, GhostSpeed.INSIDE_HOUSE, 0.5f)
+                .ghostSpeed(id, GhostSpeed.RETURNING_TO_HOUSE, 2);
         }
-        byte percentage = levelData(level.number()).pacSpeedPoweredPercentage();
-        if (percentage == 0) {
-            percentage = 100;
-        }
-        return percentage * 0.01f * level.pac().baseSpeed();
-    }
-
-    @Override
-    public long pacPowerTicks() {
-        return level != null ? 60 * levelData(level.number()).pacPowerSeconds() : 0;
-    }
-
-    @Override
-    public long pacPowerFadingTicks() {
-        //TODO find better solution.
-        // Ghost flashing animation has frame length 14 so one full flash takes 28 ticks
-        return level != null ? level.numFlashes() * 28L : 0;
-    }
-
-    @Override
-    public long pacDyingTicks() {
-        return 240;
+        builder.ghostSpeed(RED_GHOST_ID, GhostSpeed.ELROY_1, data.elroy1SpeedPercentage() * 0.01f * baseSpeed)
+            .ghostSpeed(RED_GHOST_ID, GhostSpeed.ELROY_2, data.elroy2SpeedPercentage() * 0.01f * baseSpeed);
+        return builder.build();
     }
 
     @Override
     public float ghostAttackSpeed(Ghost ghost) {
-        if (level.isTunnel(ghost.tile()) && level.number() <= 3) {
-            return ghostTunnelSpeed(ghost);
+        if (level.number() <= 3 && level.isTunnel(ghost.tileX(), ghost.tileY())) {
+            return levelParameters.ghostSpeed(ghost.id(), GhostSpeed.ATTACK_TUNNEL);
         }
         if (ghost.id() == RED_GHOST_ID && cruiseElroy == 1) {
-            return levelData(level.number()).elroy1SpeedPercentage() * 0.01f * ghost.baseSpeed();
+            return levelParameters.ghostSpeed(RED_GHOST_ID, GhostSpeed.ELROY_1);
         }
         if (ghost.id() == RED_GHOST_ID && cruiseElroy == 2) {
-            return levelData(level.number()).elroy2SpeedPercentage() * 0.01f * ghost.baseSpeed();
+            return levelParameters.ghostSpeed(RED_GHOST_ID, GhostSpeed.ELROY_2);
         }
-        return levelData(level.number()).ghostSpeedPercentage() * 0.01f * ghost.baseSpeed();
-    }
-
-    @Override
-    public float ghostSpeedInsideHouse(Ghost ghost) {
-        return 0.5f;
-    }
-
-    @Override
-    public float ghostSpeedReturningToHouse(Ghost ghost) {
-        return 2;
-    }
-
-    @Override
-    public float ghostFrightenedSpeed(Ghost ghost) {
-        return level !=null
-            ? levelData(level.number()).ghostSpeedFrightenedPercentage() * 0.01f * ghost.baseSpeed()
-            : 0;
-    }
-
-    @Override
-    public float ghostTunnelSpeed(Ghost ghost) {
-        return level !=null
-            ? levelData(level.number()).ghostSpeedTunnelPercentage() * 0.01f * ghost.baseSpeed()
-            : 0;
+        return levelParameters.ghostSpeed(ghost.id(), GhostSpeed.ATTACK);
     }
 
     @Override
@@ -353,7 +322,7 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
 
     @Override
     public boolean isPacManKillingIgnored() {
-        float levelRunningSeconds = (System.currentTimeMillis() - levelStartTime) / 1000f;
+        float levelRunningSeconds = (float) levelRunningTicks / TICKS_PER_SECOND;
         if (isDemoLevel() && levelRunningSeconds < DEMO_LEVEL_MIN_DURATION_SEC) {
             Logger.info("Pac-Man killing ignored, demo level running for {} seconds", levelRunningSeconds);
             return true;
@@ -364,9 +333,9 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
     @Override
     protected void onFoodEaten(Vector2i tile, int uneatenFoodCount, boolean energizer) {
         level.pac().setRestingTicks(energizer ? 3 : 1);
-        if (uneatenFoodCount == levelData(level.number()).elroy1DotsLeft()) {
+        if (uneatenFoodCount == levelParameters.elroy1FoodLeft()) {
             cruiseElroy = 1;
-        } else if (uneatenFoodCount == levelData(level.number()).elroy2DotsLeft()) {
+        } else if (uneatenFoodCount == levelParameters.elroy2FoodLeft()) {
             cruiseElroy = 2;
         }
         if (energizer) {
@@ -397,7 +366,7 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
 
     @Override
     public void killGhost(Ghost ghost) {
-        eventLog.killedGhosts.add(ghost);
+        eventLog.addKilledGhost(ghost);
         int killedSoFar = level.victims().size();
         int points = 100 * KILLED_GHOST_VALUE_MULTIPLIER[killedSoFar];
         level.addVictim(ghost);
@@ -459,7 +428,7 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
         if (levelNumber <= 7) {
             return (byte) (levelNumber - 1);
         }
-        int choice = randomInt(0, 320);
+        int choice = random().nextInt(320);
         if (choice <  50) return 0; // 5/32 probability
         if (choice < 100) return 1; // 5/32
         if (choice < 150) return 2; // 5/32
@@ -502,22 +471,22 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
             entryTile = level.worldMap().getTerrainTileProperty("pos_bonus", null);
             if (entryTile.x() == 0) {
                 // start tile is at left maze border
-                exitTile = portals.get(THE_RNG.nextInt(portals.size())).rightTunnelEnd().plus(1, 0);
+                exitTile = portals.get(random().nextInt(portals.size())).rightTunnelEnd().plus(1, 0);
                 crossMazeLeftToRight = true;
             } else {
                 // start tile is at right maze border
-                exitTile = portals.get(THE_RNG.nextInt(portals.size())).leftTunnelEnd().minus(1, 0);
+                exitTile = portals.get(random().nextInt(portals.size())).leftTunnelEnd().minus(1, 0);
                 crossMazeLeftToRight = false;
             }
         }
         else { // choose random portals for entry and exit
-            crossMazeLeftToRight = THE_RNG.nextBoolean();
+            crossMazeLeftToRight = random().nextBoolean();
             if (crossMazeLeftToRight) {
-                entryTile = portals.get(THE_RNG.nextInt(portals.size())).leftTunnelEnd();
-                exitTile  = portals.get(THE_RNG.nextInt(portals.size())).rightTunnelEnd().plus(1, 0);
+                entryTile = portals.get(random().nextInt(portals.size())).leftTunnelEnd();
+                exitTile  = portals.get(random().nextInt(portals.size())).rightTunnelEnd().plus(1, 0);
             } else {
-                entryTile = portals.get(THE_RNG.nextInt(portals.size())).rightTunnelEnd();
-                exitTile = portals.get(THE_RNG.nextInt(portals.size())).leftTunnelEnd().minus(1, 0);
+                entryTile = portals.get(random().nextInt(portals.size())).rightTunnelEnd();
+                exitTile = portals.get(random().nextInt(portals.size())).leftTunnelEnd().minus(1, 0);
             }
         }
 
@@ -533,7 +502,7 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
         Logger.info("Moving bonus created, route: {} ({})", route, crossMazeLeftToRight ? "left to right" : "right to left");
 
         level.setBonus(movingBonus);
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.BONUS_ACTIVATED, movingBonus.actor().tile());
+        eventManager().publishEvent(this, GameEventType.BONUS_ACTIVATED, movingBonus.actor().tile());
     }
 
     /**
@@ -548,7 +517,7 @@ public class ArcadeMsPacMan_GameModel extends GameModel {
             boolean chasing = huntingTimer.huntingPhase() == HuntingTimer.HuntingPhase.CHASING
                 || ghost.id() == RED_GHOST_ID && cruiseElroy > 0;
             Vector2i targetTile = chasing
-                    ? chasingTargetTile(ghost.id(), level, simulateOverflowBugProperty().get())
+                    ? chasingTargetTile(ghost.id(), level, isSimulateOverflowBug())
                     : level.ghostScatterTile(ghost.id());
             ghost.followTarget(targetTile, ghostAttackSpeed(ghost));
         }
@@ -72,6 +72,11 @@ public class ArcadeMsPacMan_IntroScene extends GameScene2D {
             public ArcadeMsPacMan_IntroScene context() {
                 return ArcadeMsPacMan_IntroScene.this;
             }
+
+            @Override
+            public TickTimer timer(SceneState state) {
+                return state.timer();
+            }
         };
     }
 
@@ -83,7 +88,7 @@ public class ArcadeMsPacMan_IntroScene extends GameScene2D {
 
     @Override
     public void doInit() {
-        game().scoreVisibleProperty().set(true);
+        game().setScoreVisible(true);
 
         msPacMan = new Pac();
         ghosts = new Ghost[] {
@@ -292,8 +297,7 @@ public class ArcadeMsPacMan_IntroScene extends GameScene2D {
 
         final TickTimer timer = new TickTimer("Timer-" + name());
 
-        @Override
-        public TickTimer timer() {
+        TickTimer timer() {
             return timer;
         }
     }
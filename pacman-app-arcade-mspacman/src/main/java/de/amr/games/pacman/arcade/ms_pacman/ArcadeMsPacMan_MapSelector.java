@@ -9,6 +9,7 @@ import de.amr.games.pacman.model.GameModel;
 import de.amr.games.pacman.model.MapSelector;
 
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 import static de.amr.games.pacman.Globals.requireValidLevelNumber;
 
@@ -45,7 +46,7 @@ public class ArcadeMsPacMan_MapSelector extends MapSelector {
      * <p>
      */
     @Override
-    public WorldMap selectWorldMap(int levelNumber) {
+    public WorldMap selectWorldMap(int levelNumber, RandomGenerator random) {
         requireValidLevelNumber(levelNumber);
         final int mapNumber = switch (levelNumber) {
             case 1, 2 -> 1;
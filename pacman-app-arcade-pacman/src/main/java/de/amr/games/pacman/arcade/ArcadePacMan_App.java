@@ -23,7 +23,7 @@ public class ArcadePacMan_App extends Application {
     public void init() {
         Globals.checkDirectories();
         THE_GAME_CONTROLLER.registerGameModel(GameVariant.PACMAN, new ArcadePacMan_GameModel());
-        THE_GAME_CONTROLLER.gameVariantProperty().set(GameVariant.PACMAN);
+        THE_GAME_CONTROLLER.selectGameVariant(GameVariant.PACMAN);
     }
 
     @Override
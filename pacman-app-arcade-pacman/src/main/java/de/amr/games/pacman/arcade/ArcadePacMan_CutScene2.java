@@ -37,7 +37,7 @@ public class ArcadePacMan_CutScene2 extends GameScene2D {
 
     @Override
     public void doInit() {
-        game().scoreVisibleProperty().set(true);
+        game().setScoreVisible(true);
 
         pac = new Pac();
         blinky = ArcadePacMan_GameModel.blinky();
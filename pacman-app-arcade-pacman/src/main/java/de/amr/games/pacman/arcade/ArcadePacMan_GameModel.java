@@ -12,6 +12,8 @@ import de.amr.games.pacman.lib.tilemap.LayerID;
 import de.amr.games.pacman.lib.tilemap.TerrainTiles;
 import de.amr.games.pacman.lib.tilemap.WorldMap;
 import de.amr.games.pacman.model.*;
+import de.amr.games.pacman.model.LevelParameters.GhostSpeed;
+import de.amr.games.pacman.model.LevelParameters.PacSpeed;
 import de.amr.games.pacman.model.actors.Ghost;
 import de.amr.games.pacman.model.actors.Pac;
 import de.amr.games.pacman.model.actors.StaticBonus;
@@ -149,8 +151,8 @@ public class ArcadePacMan_GameModel extends GameModel {
 
     @Override
     public void init() {
-        initialLivesProperty().set(3);
-        simulateOverflowBugProperty().set(true);
+        setInitialLives(3);
+        setSimulateOverflowBug(true);
         mapSelector.loadAllMaps(this);
         demoLevelSteering = new RouteBasedSteering(List.of(PACMAN_DEMO_LEVEL_ROUTE));
     }
@@ -162,10 +164,11 @@ public class ArcadePacMan_GameModel extends GameModel {
 
     @Override
     public void resetForStartingNewGame() {
-        playingProperty().set(false);
-        livesProperty().set(initialLivesProperty().get());
+        setPlaying(false);
+        setLives(initialLives());
         level = null;
-        demoLevelProperty().set(false);
+        levelParameters = null;
+        setDemoLevel(false);
         cruiseElroy = 0;
         levelCounter().reset();
         scoreManager().loadHighScore();
@@ -197,7 +200,7 @@ public class ArcadePacMan_GameModel extends GameModel {
 
     @Override
     public boolean canStartNewGame() {
-        return !THE_COIN_MECHANISM.isEmpty();
+        return !coinMechanism().isEmpty();
     }
 
     @Override
@@ -207,7 +210,7 @@ public class ArcadePacMan_GameModel extends GameModel {
 
     @Override
     public boolean isOver() {
-        return livesProperty().get() == 0;
+        return lives() == 0;
     }
 
     @Override
@@ -217,27 +220,21 @@ public class ArcadePacMan_GameModel extends GameModel {
 
     @Override
     public void endGame() {
-        playingProperty().set(false);
-        if (!THE_COIN_MECHANISM.isEmpty()) {
-            THE_COIN_MECHANISM.consumeCoin();
+        setPlaying(false);
+        if (!coinMechanism().isEmpty()) {
+            coinMechanism().consumeCoin();
         }
         scoreManager().updateHighScore();
         level.showMessage(GameLevel.Message.GAME_OVER);
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.STOP_ALL_SOUNDS);
-    }
-
-    @Override
-    protected void setActorBaseSpeed(int levelNumber) {
-        level.pac().setBaseSpeed(1.25f);
-        level.ghosts().forEach(ghost -> ghost.setBaseSpeed(1.25f));
+        eventManager().publishEvent(this, GameEventType.STOP_ALL_SOUNDS);
     }
 
     @Override
     public void buildGameLevel(int levelNumber) {
         requireValidLevelNumber(levelNumber);
-        WorldMap worldMap = mapSelector.selectWorldMap(levelNumber);
+        WorldMap worldMap = mapSelector.selectWorldMap(levelNumber, random());
 
-        level = new GameLevel(levelNumber, worldMap);
+        level = new GameLevel(this, levelNumber, worldMap);
         level.setNumFlashes(levelData(levelNumber).numFlashes());
         level.setCutSceneNumber(switch (levelNumber) {
             case 2 -> 1;
@@ -286,7 +283,7 @@ public class ArcadePacMan_GameModel extends GameModel {
 
     @Override
     public void buildDemoLevel() {
-        demoLevelProperty().set(true);
+        setDemoLevel(true);
         levelCounter.setEnabled(false);
         buildGameLevel(1);
         assignDemoLevelBehavior(level.pac());
@@ -302,67 +299,54 @@ public class ArcadePacMan_GameModel extends GameModel {
     }
 
     @Override
-    public float pacNormalSpeed() {
-        if (level == null) {
-            return 0;
-        }
-        byte percentage = levelData(level.number()).pacSpeedPercentage();
-        return percentage > 0 ? percentage * 0.01f * level.pac().baseSpeed() : level.pac().baseSpeed();
-    }
-
-    @Override
-    public float pacPowerSpeed() {
-        if (level == null) {
-            return 0;
+    protected LevelParameters createLevelParameters(int levelNumber) {
+        LevelData data = levelData(levelNumber);
+        float baseSpeed = 1.25f;
+        float pacNormalSpeed = data.pacSpeedPercentage() > 0
+            ? data.pacSpeedPercentage() * 0.01f * baseSpeed : baseSpeed;
+        float pacPowerSpeed = data.pacSpeedPoweredPercentage() > 0
+            ? data.pacSpeedPoweredPercentage() * 0.01f * baseSpeed : pacNormalSpeed;
+        float ghostTunnelSpeed = data.ghostSpeedTunnelPercentage() * 0.01f * baseSpeed;
+        float ghostFrightenedSpeed = data.ghostSpeedFrightenedPercentage() > 0
+            ? data.ghostSpeedFrightenedPercentage() * 0.01f * baseSpeed : baseSpeed;
+        var builder = LevelParameters.builder(levelNumber)
+            .pacBaseSpeed(baseSpeed)
+            .pacSpeed(PacSpeed.NORMAL, pacNormalSpeed)
+            .pacSpeed(PacSpeed.POWER, pacPowerSpeed)
+            .pacSpeed(PacSpeed.BOOSTED, pacNormalSpeed)
+            .pacSpeed(PacSpeed.BOOSTED_POWER, pacPowerSpeed)
+            .elroyFoodLeft(data.elroy1DotsLeft(), data.elroy2DotsLeft())
+            .numFlashes(data.numFlashes())
+            .pacPowerTicks(60L * data.pacPowerSeconds())
+            // ghost flashing animation has frame length 14 so one full flash takes 28 ticks
+            .pacPowerFadingTicks(data.numFlashes() * 28L)
+            .pacDyingTicks(240);
+        for (byte id = 0; id < 4; ++id) {
+            builder.ghostBaseSpeed(id, baseSpeed)
+                .ghostSpeed(id, GhostSpeed.ATTACK, data.ghostSpeedPercentage() * 0.01f * baseSpeed)
+                .ghostSpeed(id, GhostSpeed.ATTACK_TUNNEL, ghostTunnelSpeed)
+                .ghostSpeed(id, GhostSpeed.TUNNEL, ghostTunnelSpeed)
+                .ghostSpeed(id, GhostSpeed.FRIGHTENED, ghostFrightenedSpeed)
+                .ghostSpeed(id, GhostSpeed.INSIDE_HOUSE, 0.5f)
+                .ghostSpeed(id, GhostSpeed.RETURNING_TO_HOUSE, 2);
         }
-        byte percentage = levelData(level.number()).pacSpeedPoweredPercentage();
-        return percentage > 0 ? percentage * 0.01f * level.pac().baseSpeed() : pacNormalSpeed();
-    }
-
-    @Override
-    public long pacDyingTicks() {
-        return 240;
+        builder.ghostSpeed(RED_GHOST_ID, GhostSpeed.ELROY_1, data.elroy1SpeedPercentage() * 0.01f * baseSpeed)
+            .ghostSpeed(RED_GHOST_ID, GhostSpeed.ELROY_2, data.elroy2SpeedPercentage() * 0.01f * baseSpeed);
+        return builder.build();
     }
 
     @Override
     public float ghostAttackSpeed(Ghost ghost) {
-        LevelData levelData = levelData(level.number());
-        if (level.isTunnel(ghost.tile())) {
-            return levelData.ghostSpeedTunnelPercentage() * 0.01f * ghost.baseSpeed();
+        if (level.isTunnel(ghost.tileX(), ghost.tileY())) {
+            return levelParameters.ghostSpeed(ghost.id(), GhostSpeed.ATTACK_TUNNEL);
         }
         if (ghost.id() == RED_GHOST_ID && cruiseElroy == 1) {
-            return levelData.elroy1SpeedPercentage() * 0.01f * ghost.baseSpeed();
+            return levelParameters.ghostSpeed(RED_GHOST_ID, GhostSpeed.ELROY_1);
         }
         if (ghost.id() == RED_GHOST_ID && cruiseElroy == 2) {
-            return levelData.elroy2SpeedPercentage() * 0.01f * ghost.baseSpeed();
+            return levelParameters.ghostSpeed(RED_GHOST_ID, GhostSpeed.ELROY_2);
         }
-        return levelData.ghostSpeedPercentage() * 0.01f * ghost.baseSpeed();
-    }
-
-    @Override
-    public float ghostSpeedInsideHouse(Ghost ghost) {
-        return 0.5f;
-    }
-
-    @Override
-    public float ghostSpeedReturningToHouse(Ghost ghost) {
-        return 2;
-    }
-
-    @Override
-    public float ghostFrightenedSpeed(Ghost ghost) {
-        if (level == null) {
-            return 0;
-        }
-        float percentage = levelData(level.number()).ghostSpeedFrightenedPercentage();
-        return percentage > 0 ? percentage * 0.01f * ghost.baseSpeed() : ghost.baseSpeed();
-    }
-
-    @Override
-    public float ghostTunnelSpeed(Ghost ghost) {
-        return level != null
-            ? levelData(level.number()).ghostSpeedTunnelPercentage() * 0.01f * ghost.baseSpeed()
-            : 0;
+        return levelParameters.ghostSpeed(ghost.id(), GhostSpeed.ATTACK);
     }
 
     @Override
@@ -378,9 +362,9 @@ public class ArcadePacMan_GameModel extends GameModel {
     @Override
     protected void onFoodEaten(Vector2i tile, int uneatenFoodCount, boolean energizer) {
         level.pac().setRestingTicks(energizer ? 3 : 1);
-        if (uneatenFoodCount == levelData(level.number()).elroy1DotsLeft()) {
+        if (uneatenFoodCount == levelParameters.elroy1FoodLeft()) {
             setCruiseElroy(1);
-        } else if (uneatenFoodCount == levelData(level.number()).elroy2DotsLeft()) {
+        } else if (uneatenFoodCount == levelParameters.elroy2FoodLeft()) {
             setCruiseElroy(2);
         }
         if (energizer) {
@@ -419,7 +403,7 @@ public class ArcadePacMan_GameModel extends GameModel {
 
     @Override
     public void killGhost(Ghost ghost) {
-        eventLog.killedGhosts.add(ghost);
+        eventLog.addKilledGhost(ghost);
         int killedSoFar = level.victims().size();
         int points = 100 * KILLED_GHOST_VALUE_MULTIPLIER[killedSoFar];
         level.addVictim(ghost);
@@ -433,17 +417,6 @@ public class ArcadePacMan_GameModel extends GameModel {
         }
     }
 
-    @Override
-    public long pacPowerTicks() {
-        return level != null ? 60 * levelData(level.number()).pacPowerSeconds() : 0;
-    }
-
-    @Override
-    public long pacPowerFadingTicks() {
-        // ghost flashing animation has frame length 14 so one full flash takes 28 ticks
-        return level != null ? level.numFlashes() * 28L : 0;
-    }
-
     @Override
     public boolean isBonusReached() {
         return level.eatenFoodCount() == 70 || level.eatenFoodCount() == 170;
@@ -469,18 +442,18 @@ public class ArcadePacMan_GameModel extends GameModel {
             staticBonus.actor().setPosition(halfTileRightOf(13, 20));
         }
         staticBonus.setEdible(bonusEdibleTicks());
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.BONUS_ACTIVATED, staticBonus.actor().tile());
+        eventManager().publishEvent(this, GameEventType.BONUS_ACTIVATED, staticBonus.actor().tile());
     }
 
     protected int bonusEdibleTicks() {
-        return randomInt(540, 600); // 9-10 seconds
+        return 540 + random().nextInt(60); // 9-10 seconds
     }
 
     protected void ghostHuntingBehaviour(Ghost ghost) {
         boolean chasing = huntingTimer.huntingPhase() == HuntingTimer.HuntingPhase.CHASING
             || ghost.id() == RED_GHOST_ID && cruiseElroy > 0;
         Vector2i targetTile = chasing
-                ? chasingTargetTile(ghost.id(), level, simulateOverflowBugProperty().get())
+                ? chasingTargetTile(ghost.id(), level, isSimulateOverflowBug())
                 : level.ghostScatterTile(ghost.id());
         ghost.followTarget(targetTile, ghostAttackSpeed(ghost));
     }
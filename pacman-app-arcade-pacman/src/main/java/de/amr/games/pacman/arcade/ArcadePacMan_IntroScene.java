@@ -72,6 +72,11 @@ public class ArcadePacMan_IntroScene extends GameScene2D {
             public ArcadePacMan_IntroScene context() {
                 return ArcadePacMan_IntroScene.this;
             }
+
+            @Override
+            public TickTimer timer(SceneState state) {
+                return state.timer();
+            }
         };
     }
 
@@ -103,7 +108,7 @@ public class ArcadePacMan_IntroScene extends GameScene2D {
         titleVisible = false;
         ghostIndex = 0;
         ghostKilledTime = 0;
-        game().scoreVisibleProperty().set(true);
+        game().setScoreVisible(true);
         sceneController.restart(SceneState.STARTING);
     }
 
@@ -400,8 +405,7 @@ public class ArcadePacMan_IntroScene extends GameScene2D {
 
         final TickTimer timer = new TickTimer("Timer-" + name());
 
-        @Override
-        public TickTimer timer() {
+        TickTimer timer() {
             return timer;
         }
     }
@@ -6,8 +6,6 @@ package de.amr.games.pacman.arcade;
 
 import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.LevelCounter;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,13 +15,9 @@ public class ArcadePacMan_LevelCounter implements LevelCounter {
 
     public static final byte LEVEL_COUNTER_MAX_SIZE = 7;
 
-    private final BooleanProperty enabledPy = new SimpleBooleanProperty(true);
+    private boolean enabled = true;
     private final List<Byte> symbols = new ArrayList<>();
 
-    public BooleanProperty enabledProperty() {
-        return enabledPy;
-    }
-
     @Override
     public Stream<Byte> symbols() {
         return symbols.stream();
@@ -49,11 +43,11 @@ public class ArcadePacMan_LevelCounter implements LevelCounter {
 
     @Override
     public void setEnabled(boolean enabled) {
-        enabledProperty().set(enabled);
+        this.enabled = enabled;
     }
 
     @Override
     public boolean isEnabled() {
-        return enabledProperty().get();
+        return enabled;
     }
 }
@@ -10,6 +10,7 @@ import de.amr.games.pacman.model.MapSelector;
 import org.tinylog.Logger;
 
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 public class ArcadePacMan_MapSelector extends MapSelector {
 
@@ -38,7 +39,7 @@ public class ArcadePacMan_MapSelector extends MapSelector {
     }
 
     @Override
-    public WorldMap selectWorldMap(int levelNumber) {
+    public WorldMap selectWorldMap(int levelNumber, RandomGenerator random) {
         return maps.getFirst();
     }
 }
\ No newline at end of file
@@ -163,7 +163,7 @@ public class ArcadePacMan_UIConfig implements GameUIConfig, ResourceManager {
             case GameState.SETTING_OPTIONS    -> "StartScene";
             case GameState.INTRO              -> "IntroScene";
             case GameState.INTERMISSION       -> "CutScene" + gameController.game().level().map(GameLevel::cutSceneNumber).orElseThrow();
-            case GameState.TESTING_CUT_SCENES -> "CutScene" + gameController.state().<Integer>getProperty("intermissionTestNumber");
+            case GameState.TESTING_CUT_SCENES -> "CutScene" + gameController.<Integer>getProperty("intermissionTestNumber");
             default -> PY_3D_ENABLED.get() ?  "PlayScene3D" : "PlayScene2D";
         };
         return scenesByID.get(sceneID);
@@ -9,6 +9,7 @@ import de.amr.games.pacman.model.GameVariant;
 import de.amr.games.pacman.ui.DashboardID;
 import de.amr.games.pacman.ui.dashboard.InfoBoxCustomMaps;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Rectangle2D;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
@@ -30,7 +31,7 @@ public class PacManXXL_App extends Application {
         var msPacManGameModel = new PacManXXL_MsPacMan_GameModel(xxlMapSelector);
         THE_GAME_CONTROLLER.registerGameModel(GameVariant.PACMAN_XXL, pacManGameModel);
         THE_GAME_CONTROLLER.registerGameModel(GameVariant.MS_PACMAN_XXL, msPacManGameModel);
-        THE_GAME_CONTROLLER.gameVariantProperty().set(GameVariant.MS_PACMAN_XXL);
+        THE_GAME_CONTROLLER.selectGameVariant(GameVariant.MS_PACMAN_XXL);
     }
 
     @Override
@@ -55,6 +56,7 @@ public class PacManXXL_App extends Application {
                 DashboardID.ABOUT);
 
         InfoBoxCustomMaps infoBoxCustomMaps = THE_UI.dashboard().getInfoBox(DashboardID.CUSTOM_MAPS);
+        xxlMapSelector.setCustomMapListUpdater(Platform::runLater);
         infoBoxCustomMaps.setTableItems(xxlMapSelector.customMaps());
 
         THE_UI.addStartPage(new PacManXXL_StartPage());
@@ -3,6 +3,7 @@ package de.amr.games.pacman.arcade.pacman_xxl;
 import de.amr.games.pacman.lib.DirectoryWatchdog;
 import de.amr.games.pacman.lib.tilemap.LayerID;
 import de.amr.games.pacman.lib.tilemap.WorldMap;
+import de.amr.games.pacman.lib.tilemap.WorldMapBinaryFormat;
 import de.amr.games.pacman.model.GameModel;
 import de.amr.games.pacman.model.MapSelectionMode;
 import de.amr.games.pacman.model.MapSelector;
@@ -11,14 +12,26 @@ import javafx.collections.ObservableList;
 import org.tinylog.Logger;
 
 import java.io.File;
-import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 
 import static de.amr.games.pacman.Globals.CUSTOM_MAP_DIR;
-import static de.amr.games.pacman.Globals.randomInt;
+import static de.amr.games.pacman.Globals.THE_MAP_LIBRARY;
 import static de.amr.games.pacman.lib.tilemap.WorldMap.*;
+import static java.util.Objects.requireNonNull;
 
 public class PacManXXL_MapSelector extends MapSelector {
 
@@ -33,28 +46,74 @@ public class PacManXXL_MapSelector extends MapSelector {
             Map.of("fill", "#5036d9", "stroke", "#5f8bcf", "door", "#fcb5ff", "pellet", "#feb8ae")
     );
 
-    private List<WorldMap> builtinMaps = new ArrayList<>();
+    // bursts of change events for the same file (e.g. while a file is being written) cause only one update
+    private static final long CUSTOM_MAP_UPDATE_DELAY_MILLIS = 250;
+
+    private CompletableFuture<List<WorldMap>> builtinMapsLoading;
+    private volatile CompletableFuture<?> customMapsLoading = CompletableFuture.completedFuture(null);
+    private int customMapsLoadingNumber;
+    // custom maps in display order, guarded by this selector
+    private final Map<File, WorldMap> customMapTable = new LinkedHashMap<>();
     private final ObservableList<WorldMap> customMapsByFile = FXCollections.observableList(new ArrayList<>());
-    private final DirectoryWatchdog goodBoy = new DirectoryWatchdog(CUSTOM_MAP_DIR);
-    private boolean customMapsUpToDate;
+    private Executor customMapListUpdater = Runnable::run;
+    private DirectoryWatchdog goodBoy; // created on demand, headless simulations do not need it
+    private ScheduledExecutorService customMapUpdateScheduler; // created on demand, like the watchdog
+    private final Map<File, ScheduledFuture<?>> pendingCustomMapUpdates = new HashMap<>();
+    private final Map<File, Long> latestCustomMapUpdateNumbers = new HashMap<>();
+    private long customMapUpdateCount;
+    private volatile boolean customMapsUpToDate;
 
     public PacManXXL_MapSelector() {
         setMapSelectionMode(MapSelectionMode.CUSTOM_MAPS_FIRST);
         customMapsUpToDate = false;
-        goodBoy.setEventConsumer(eventList -> {
-            Logger.info("Custom map change(s) detected: {}",
-                eventList.stream()
-                    .map(watchEvent -> String.format("%s: '%s'", watchEvent.kind(), watchEvent.context()))
-                    .toList());
-            setCustomMapsUpToDate(false);
-            loadCustomMaps();
-        });
     }
 
-    public void startWatchingCustomMaps() {
+    public synchronized void startWatchingCustomMaps() {
+        if (goodBoy == null) {
+            customMapUpdateScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "CustomMapUpdater");
+                thread.setDaemon(true);
+                return thread;
+            });
+            goodBoy = new DirectoryWatchdog(CUSTOM_MAP_DIR);
+            goodBoy.setEventConsumer(this::handleCustomMapDirChanges);
+        }
         goodBoy.startWatching();
     }
 
+    private void handleCustomMapDirChanges(List<WatchEvent<?>> eventList) {
+        Logger.info("Custom map change(s) detected: {}",
+            eventList.stream()
+                .map(watchEvent -> String.format("%s: '%s'", watchEvent.kind(), watchEvent.context()))
+                .toList());
+        for (WatchEvent<?> watchEvent : eventList) {
+            if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // events have been lost, read the whole directory again
+                setCustomMapsUpToDate(false);
+                loadCustomMaps();
+                return;
+            }
+            if (watchEvent.context() instanceof Path path && isCustomMapFileName(path.toString())) {
+                scheduleCustomMapUpdate(new File(CUSTOM_MAP_DIR, path.toString()));
+            }
+        }
+    }
+
+    private static boolean isCustomMapFileName(String name) {
+        return name.endsWith(".world") || name.endsWith(WorldMapBinaryFormat.FILE_EXTENSION);
+    }
+
+    /**
+     * The custom maps are loaded in the background. The observable custom map list is updated using the given
+     * executor, e.g. {@code Platform::runLater} if the list is displayed in the UI. By default, the list is updated
+     * by the loader thread.
+     *
+     * @param executor executes the updates of the observable custom map list
+     */
+    public void setCustomMapListUpdater(Executor executor) {
+        customMapListUpdater = requireNonNull(executor);
+    }
+
     public void setCustomMapsUpToDate(boolean customMapsUpToDate) {
         this.customMapsUpToDate = customMapsUpToDate;
     }
@@ -65,7 +124,7 @@ public class PacManXXL_MapSelector extends MapSelector {
 
     @Override
     public List<WorldMap> builtinMaps() {
-        return builtinMaps;
+        return builtinMapsLoading != null ? builtinMapsLoading.join() : List.of();
     }
 
     @Override
@@ -73,13 +132,17 @@ public class PacManXXL_MapSelector extends MapSelector {
         return customMapsByFile;
     }
 
+    /**
+     * Starts loading all custom maps in the background if they are not up-to-date. Afterward, changes of single map
+     * files are applied by {@link #scheduleCustomMapUpdate(File)}.
+     */
     @Override
-    public void loadCustomMaps() {
+    public synchronized void loadCustomMaps() {
         if (customMapsUpToDate) {
             Logger.info("Custom maps not loaded as they are up-to-date");
             return;
         }
-        File[] mapFiles = CUSTOM_MAP_DIR.listFiles((dir, name) -> name.endsWith(".world"));
+        File[] mapFiles = CUSTOM_MAP_DIR.listFiles((dir, name) -> isCustomMapFileName(name));
         if (mapFiles == null) {
             Logger.error("An error occurred accessing custom map directory {}", CUSTOM_MAP_DIR);
             return;
@@ -89,59 +152,172 @@ public class PacManXXL_MapSelector extends MapSelector {
         } else {
             Logger.info("{} custom map(s) found", mapFiles.length);
         }
-        customMapsByFile.clear();
+        customMapsUpToDate = true;
+        int loadingNumber = ++customMapsLoadingNumber;
+        var loadings = new LinkedHashMap<File, CompletableFuture<WorldMap>>();
         for (File mapFile : mapFiles) {
-            try {
-                WorldMap worldMap = new WorldMap(mapFile);
+            // failed loads are logged by the map library
+            loadings.put(mapFile, THE_MAP_LIBRARY.load(mapFile).exceptionally(x -> null));
+        }
+        customMapsLoading = CompletableFuture.allOf(loadings.values().toArray(CompletableFuture[]::new))
+            .thenRun(() -> {
+                synchronized (this) {
+                    // results of an outdated loading are ignored
+                    if (loadingNumber != customMapsLoadingNumber) {
+                        return;
+                    }
+                    customMapTable.clear();
+                    loadings.forEach((mapFile, loading) -> {
+                        WorldMap worldMap = loading.join();
+                        if (worldMap != null) {
+                            customMapTable.put(mapFile, worldMap);
+                        }
+                    });
+                    List<WorldMap> maps = List.copyOf(customMapTable.values());
+                    customMapListUpdater.execute(() -> customMapsByFile.setAll(maps));
+                    Logger.info("{} custom map(s) loaded", maps.size());
+                }
+            });
+    }
+
+    /**
+     * Updates the custom map stored in the given file after a short delay. Further changes of the same file during
+     * that time restart the delay.
+     *
+     * @param mapFile custom map file that has been created, modified or deleted
+     */
+    private synchronized void scheduleCustomMapUpdate(File mapFile) {
+        ScheduledFuture<?> pendingUpdate = pendingCustomMapUpdates.remove(mapFile);
+        if (pendingUpdate != null) {
+            pendingUpdate.cancel(false);
+        }
+        long updateNumber = ++customMapUpdateCount;
+        latestCustomMapUpdateNumbers.put(mapFile, updateNumber);
+        pendingCustomMapUpdates.put(mapFile, customMapUpdateScheduler.schedule(
+            () -> updateCustomMap(mapFile, updateNumber), CUSTOM_MAP_UPDATE_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    private void updateCustomMap(File mapFile, long updateNumber) {
+        synchronized (this) {
+            pendingCustomMapUpdates.remove(mapFile);
+        }
+        // a running full loading is completed first, it would overwrite this update otherwise
+        if (!mapFile.exists()) {
+            customMapsLoading.thenRun(() -> applyCustomMapUpdate(mapFile, null, updateNumber));
+            return;
+        }
+        // if the file cannot be loaded (e.g. partially written), the previous map is kept. The file is read again even
+        // if its modification time and size are unchanged, the change event proves that it has been written.
+        customMapsLoading
+            .thenCompose(ignored -> THE_MAP_LIBRARY.reload(mapFile))
+            .thenAccept(worldMap -> applyCustomMapUpdate(mapFile, worldMap, updateNumber));
+    }
+
+    /**
+     * Adds, replaces or removes a single custom map. The observable list is changed only at the position of that map,
+     * so views showing the list only update the affected row.
+     *
+     * @param mapFile custom map file
+     * @param worldMap map read from the file or {@code null} if the file has been deleted
+     * @param updateNumber number of the update, outdated updates are ignored
+     */
+    private synchronized void applyCustomMapUpdate(File mapFile, WorldMap worldMap, long updateNumber) {
+        Long latestUpdateNumber = latestCustomMapUpdateNumbers.get(mapFile);
+        if (latestUpdateNumber == null || latestUpdateNumber != updateNumber) {
+            return;
+        }
+        latestCustomMapUpdateNumbers.remove(mapFile);
+        WorldMap oldMap = worldMap != null ? customMapTable.put(mapFile, worldMap) : customMapTable.remove(mapFile);
+        if (oldMap == null && worldMap == null) {
+            return; // deleted file did not contain a map
+        }
+        customMapListUpdater.execute(() -> {
+            int index = oldMap != null ? indexOfSame(customMapsByFile, oldMap) : -1;
+            if (worldMap == null) {
+                if (index != -1) {
+                    customMapsByFile.remove(index);
+                }
+            } else if (index != -1) {
+                customMapsByFile.set(index, worldMap);
+            } else {
                 customMapsByFile.add(worldMap);
-                Logger.info("Custom map loaded from file {}", mapFile);
-            } catch (IOException x) {
-                Logger.error(x);
-                Logger.error("Could not read custom map from file {}", mapFile);
             }
+        });
+        if (worldMap == null) {
+            Logger.info("Custom map removed, file {}", mapFile);
+        } else if (oldMap == null) {
+            Logger.info("Custom map added from file {}", mapFile);
+        } else {
+            Logger.info("Custom map updated from file {}", mapFile);
         }
-        customMapsUpToDate = true;
+    }
+
+    private static int indexOfSame(List<WorldMap> maps, WorldMap worldMap) {
+        for (int i = 0; i < maps.size(); ++i) {
+            if (maps.get(i) == worldMap) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     @Override
     public void loadAllMaps(GameModel game) {
-        if (builtinMaps.isEmpty()) {
-            builtinMaps = loadMapsFromModule("maps/masonic_%d.world", 8);
+        if (builtinMapsLoading == null) {
+            builtinMapsLoading = loadMapsFromModuleAsync("maps/masonic_%d.world", 8);
         }
         loadCustomMaps();
     }
 
     @Override
-    public WorldMap selectWorldMap(int levelNumber) {
+    public CompletableFuture<?> whenMapsLoaded() {
+        return builtinMapsLoading != null
+            ? CompletableFuture.allOf(builtinMapsLoading, customMapsLoading)
+            : customMapsLoading;
+    }
+
+    @Override
+    protected List<WorldMap> selectableCustomMaps() {
+        customMapsLoading.join();
+        synchronized (this) {
+            return List.copyOf(customMapTable.values());
+        }
+    }
+
+    @Override
+    public WorldMap selectWorldMap(int levelNumber, RandomGenerator random) {
+        // waits if the maps are still being loaded
+        List<WorldMap> builtinMaps = builtinMaps();
+        List<WorldMap> customMaps = selectableCustomMaps();
         WorldMap template = switch (mapSelectionMode()) {
             case NO_CUSTOM_MAPS ->
                     levelNumber <= builtinMaps.size()
                             ? builtinMaps.get(levelNumber - 1)
-                            : builtinMaps.get(randomInt(0, builtinMaps.size()));
+                            : builtinMaps.get(random.nextInt(builtinMaps.size()));
             case CUSTOM_MAPS_FIRST -> {
-                List<WorldMap> maps = new ArrayList<>(customMaps());
+                List<WorldMap> maps = new ArrayList<>(customMaps);
                 maps.addAll(builtinMaps);
                 yield levelNumber <= maps.size()
                         ? maps.get(levelNumber - 1)
-                        : maps.get(randomInt(0, maps.size()));
+                        : maps.get(random.nextInt(maps.size()));
             }
             case ALL_RANDOM -> {
-                List<WorldMap> maps = new ArrayList<>(customMaps());
+                List<WorldMap> maps = new ArrayList<>(customMaps);
                 maps.addAll(builtinMaps);
-                yield maps.get(randomInt(0, maps.size()));
+                yield maps.get(random.nextInt(maps.size()));
             }
         };
 
         WorldMap worldMap = new WorldMap(template);
-        Map<String, String> mapColoring = builtinMaps.contains(template) ? randomMapColoring() : coloringFromMap(template);
+        Map<String, String> mapColoring = builtinMaps.contains(template) ? randomMapColoring(random) : coloringFromMap(template);
         worldMap.setConfigValue("colorMap", mapColoring);
 
         Logger.info("Map selected (Mode {}): {}", mapSelectionMode(), worldMap.url());
         return worldMap;
     }
 
-    private Map<String, String> randomMapColoring() {
-        return MAP_COLORINGS.get(randomInt(0, MAP_COLORINGS.size()));
+    private Map<String, String> randomMapColoring(RandomGenerator random) {
+        return MAP_COLORINGS.get(random.nextInt(MAP_COLORINGS.size()));
     }
 
     private Map<String, String> coloringFromMap(WorldMap template) {
@@ -160,7 +160,7 @@ public class PacManXXL_PacMan_UIConfig implements GameUIConfig {
             case SETTING_OPTIONS -> "StartScene";
             case INTRO -> "IntroScene";
             case INTERMISSION -> "CutScene" + gameController.game().level().map(GameLevel::cutSceneNumber).orElseThrow();
-            case TESTING_CUT_SCENES -> "CutScene" + gameController.state().<Integer>getProperty("intermissionTestNumber");
+            case TESTING_CUT_SCENES -> "CutScene" + gameController.<Integer>getProperty("intermissionTestNumber");
             default -> PY_3D_ENABLED.get() ? "PlayScene3D" : "PlayScene2D";
         };
         return scenesByID.get(sceneID);
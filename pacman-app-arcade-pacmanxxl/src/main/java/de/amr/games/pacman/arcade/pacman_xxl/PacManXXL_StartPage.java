@@ -14,6 +14,7 @@ import de.amr.games.pacman.uilib.widgets.Flyer;
 import de.amr.games.pacman.uilib.widgets.OptionMenu;
 import de.amr.games.pacman.uilib.widgets.OptionMenuEntry;
 import de.amr.games.pacman.uilib.widgets.OptionMenuStyle;
+import javafx.application.Platform;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Background;
@@ -170,7 +171,7 @@ public class PacManXXL_StartPage implements StartPage, ResourceManager {
         menu.setOnStart(() -> {
             if (gameVariant == GameVariant.PACMAN_XXL || gameVariant == GameVariant.MS_PACMAN_XXL) {
                 GameModel game = THE_GAME_CONTROLLER.game(gameVariant);
-                game.cutScenesEnabledProperty().set(cutScenesEnabled);
+                game.setCutScenesEnabled(cutScenesEnabled);
                 game.mapSelector().setMapSelectionMode(mapOrder);
                 game.mapSelector().loadAllMaps(game);
                 THE_UI.selectGameVariant(gameVariant);
@@ -218,9 +219,12 @@ public class PacManXXL_StartPage implements StartPage, ResourceManager {
         }
         GameModel game = THE_GAME_CONTROLLER.game(gameVariant);
         setPlay3D(PY_3D_ENABLED.get());
-        setCutScenesEnabled(game.cutScenesEnabledProperty().get());
+        setCutScenesEnabled(game.isCutScenesEnabled());
         game.mapSelector().loadAllMaps(game);
         setMapOrder(game.mapSelector().mapSelectionMode(), !game.mapSelector().customMaps().isEmpty());
+        // custom maps may still be loading
+        game.mapSelector().whenMapsLoaded().thenRunAsync(
+            () -> setMapOrder(mapOrder, !game.mapSelector().customMaps().isEmpty()), Platform::runLater);
         Logger.info("Option menu initialized");
         logMenuState();
     }
@@ -87,7 +87,7 @@ public class TileMapEditor {
     }
 
     private static boolean isWorldMapFile(File file) {
-        return file.getName().toLowerCase().endsWith(".world");
+        return file.getName().toLowerCase().endsWith(".world") || WorldMapBinaryFormat.isBinaryMapFile(file);
     }
 
     public static final Font FONT_DROP_HINT               = Font.font("Sans", FontWeight.BOLD, 16);
@@ -101,6 +101,7 @@ public class TileMapEditor {
     public static final Node NO_GRAPHIC = null;
 
     public static final FileChooser.ExtensionFilter FILTER_WORLD_MAP = new FileChooser.ExtensionFilter("World Map Files", "*.world");
+    public static final FileChooser.ExtensionFilter FILTER_BINARY_WORLD_MAP = new FileChooser.ExtensionFilter("Binary World Map Files", "*" + WorldMapBinaryFormat.FILE_EXTENSION);
     public static final FileChooser.ExtensionFilter FILTER_IMAGE_FILES = new FileChooser.ExtensionFilter("Image Files", "*.bmp", "*.gif", "*.jpg", "*.png");
     public static final FileChooser.ExtensionFilter FILTER_ALL_FILES = new FileChooser.ExtensionFilter("All Files", "*.*");
 
@@ -485,7 +486,7 @@ public class TileMapEditor {
 
     private void createFileChooser() {
         fileChooser = new FileChooser();
-        fileChooser.getExtensionFilters().addAll(FILTER_WORLD_MAP, FILTER_ALL_FILES);
+        fileChooser.getExtensionFilters().addAll(FILTER_WORLD_MAP, FILTER_BINARY_WORLD_MAP, FILTER_ALL_FILES);
         fileChooser.setSelectedExtensionFilter(FILTER_WORLD_MAP);
         fileChooser.setInitialDirectory(currentDirectory);
     }
@@ -807,6 +808,9 @@ public class TileMapEditor {
         var miSaveMapFileAs = new MenuItem(tt("menu.file.save_as"));
         miSaveMapFileAs.setOnAction(e -> showSaveDialog());
 
+        var miExportBinaryMapFile = new MenuItem(tt("menu.file.export_binary"));
+        miExportBinaryMapFile.setOnAction(e -> showExportBinaryDialog());
+
         var miOpenTemplateImage = new MenuItem(tt("menu.file.open_template_image"));
         miOpenTemplateImage.setOnAction(e -> initWorldMapForTemplateImage());
 
@@ -818,6 +822,7 @@ public class TileMapEditor {
                 miNewBlankMap,
                 miOpenMapFile,
                 miSaveMapFileAs,
+                miExportBinaryMapFile,
                 new SeparatorMenuItem(),
                 miOpenTemplateImage,
                 miCloseTemplateImage);
@@ -972,9 +977,9 @@ public class TileMapEditor {
     }
 
     private boolean readMapFile(File file) {
-        if (file.getName().endsWith(".world")) {
+        if (isWorldMapFile(file)) {
             try {
-                loadMap(new WorldMap(file));
+                loadMap(WorldMap.fromFile(file));
                 currentDirectory = file.getParentFile();
                 currentFilePy.set(file);
                 Logger.info("Map read from file {}", file);
@@ -998,7 +1003,7 @@ public class TileMapEditor {
             Logger.error("Cannot load next map file for {}, parent is NULL", currentFile);
             return Optional.empty();
         }
-        File[] mapFiles = dir.listFiles((folder, name) -> name.endsWith(".world"));
+        File[] mapFiles = dir.listFiles(TileMapEditor::isWorldMapFile);
         if (mapFiles == null) {
             Logger.warn("No map files found in directory {}", dir);
             return Optional.empty();
@@ -1035,6 +1040,30 @@ public class TileMapEditor {
         }
     }
 
+    public void showExportBinaryDialog() {
+        var chooser = new FileChooser();
+        chooser.setTitle(tt("export_binary_file"));
+        chooser.setInitialDirectory(currentDirectory);
+        chooser.getExtensionFilters().add(FILTER_BINARY_WORLD_MAP);
+        chooser.setSelectedExtensionFilter(FILTER_BINARY_WORLD_MAP);
+        File file = chooser.showSaveDialog(stage);
+        if (file != null) {
+            if (!WorldMapBinaryFormat.isBinaryMapFile(file)) {
+                file = new File(file.getParentFile(), file.getName() + WorldMapBinaryFormat.FILE_EXTENSION);
+            }
+            try {
+                WorldMap worldMap = editedWorldMap();
+                worldMap.updateObstacleList();
+                WorldMapBinaryFormat.write(worldMap, file.toPath());
+                Logger.info("Binary map written to file {}", file);
+                showMessage("Binary map exported to " + file.getName(), 2, MessageType.INFO);
+            } catch (IOException x) {
+                Logger.error(x);
+                showMessage("Could not export binary map to " + file.getName(), 3, MessageType.ERROR);
+            }
+        }
+    }
+
     public void executeWithCheckForUnsavedChanges(Runnable action) {
         if (!changeManager.isEdited()) {
             action.run();
@@ -5,7 +5,6 @@ See file LICENSE in repository root directory for details.
 package de.amr.games.pacman.tengen.ms_pacman;
 
 import de.amr.games.pacman.model.GameException;
-import de.amr.games.pacman.model.GameLevel;
 
 import static de.amr.games.pacman.Globals.inClosedRange;
 import static de.amr.games.pacman.model.GameModel.*;
@@ -62,22 +61,24 @@ public interface SpeedConfiguration {
      * (I should note it's in subunits. it if was times 2, that would've been crazy)
      * </p>
      */
-    static float ghostSpeedIncreaseByFoodRemaining(TengenMsPacMan_GameModel game) {
-        GameLevel level = game.level().orElseThrow();
-        byte units = 0;
-        if (game.difficulty() == Difficulty.NORMAL && level.number() >= 5) {
-            int dotsLeft = level.uneatenFoodCount();
-            if (dotsLeft <= 7) {
-                units = 5;
-            } else if (dotsLeft <= 15) {
-                units = 4;
-            } else if (dotsLeft <= 23) {
-                units = 3;
-            } else if (dotsLeft <= 31) {
-                units = 2;
+    static float[] ghostSpeedIncreaseByFoodLeft(Difficulty difficulty, int levelNumber) {
+        var increaseByFoodLeft = new float[32];
+        if (difficulty == Difficulty.NORMAL && levelNumber >= 5) {
+            for (int dotsLeft = 0; dotsLeft < increaseByFoodLeft.length; ++dotsLeft) {
+                byte units;
+                if (dotsLeft <= 7) {
+                    units = 5;
+                } else if (dotsLeft <= 15) {
+                    units = 4;
+                } else if (dotsLeft <= 23) {
+                    units = 3;
+                } else {
+                    units = 2;
+                }
+                increaseByFoodLeft[dotsLeft] = speedUnitsToPixels(units);
             }
         }
-        return speedUnitsToPixels(units);
+        return increaseByFoodLeft;
     }
 
     static float pacBaseSpeedInLevel(int levelNumber) {
@@ -24,7 +24,7 @@ public class TengenMsPacMan_App extends Application {
     public void init() {
         Globals.checkDirectories();
         THE_GAME_CONTROLLER.registerGameModel(GameVariant.MS_PACMAN_TENGEN, new TengenMsPacMan_GameModel());
-        THE_GAME_CONTROLLER.gameVariantProperty().set(GameVariant.MS_PACMAN_TENGEN);
+        THE_GAME_CONTROLLER.selectGameVariant(GameVariant.MS_PACMAN_TENGEN);
     }
 
     @Override
@@ -39,7 +39,7 @@ public class TengenMsPacMan_BootScene extends GameScene2D {
 
     @Override
     public void doInit() {
-        game().scoreVisibleProperty().set(false);
+        game().setScoreVisible(false);
         t = -1;
     }
 
@@ -25,13 +25,13 @@ public class TengenMsPacMan_CreditsScene extends GameScene2D {
 
     @Override
     public void bindActions() {
-        game().scoreVisibleProperty().set(false);
+        game().setScoreVisible(false);
         bind(GameAction.START_GAME, THE_JOYPAD.key(JoypadButtonID.START));
     }
 
     @Override
     public void update() {
-        if (gameState().timer().atSecond(DISPLAY_SECONDS)) {
+        if (THE_GAME_CONTROLLER.timer().atSecond(DISPLAY_SECONDS)) {
             THE_GAME_CONTROLLER.terminateCurrentState();
         }
     }
@@ -53,7 +53,7 @@ public class TengenMsPacMan_CreditsScene extends GameScene2D {
         double width = sizeInPx().x();
         r.drawBar(nesPaletteColor(0x20), nesPaletteColor(0x13), width, 20);
         r.drawBar(nesPaletteColor(0x20), nesPaletteColor(0x13), width, 212);
-        if (gameState().timer().betweenSeconds(0.5 * DISPLAY_SECONDS, DISPLAY_SECONDS)) {
+        if (THE_GAME_CONTROLLER.timer().betweenSeconds(0.5 * DISPLAY_SECONDS, DISPLAY_SECONDS)) {
             drawJavaFXVersionAuthors(r, font);
         } else {
             drawOriginalGameAuthors(r, font);
@@ -56,7 +56,7 @@ public class TengenMsPacMan_CutScene2 extends GameScene2D {
     @Override
     public void doInit() {
         t = -1;
-        game().scoreVisibleProperty().set(false);
+        game().setScoreVisible(false);
         pacMan = new Pac();
         msPacMan = new Pac();
         var spriteSheet = (TengenMsPacMan_SpriteSheet) THE_UI_CONFIGS.current().spriteSheet();
@@ -68,7 +68,7 @@ public class TengenMsPacMan_CutScene3 extends GameScene2D {
     @Override
     public void doInit() {
         t = -1;
-        game().scoreVisibleProperty().set(false);
+        game().setScoreVisible(false);
 
         mrPacMan = new Pac();
         msPacMan = new Pac();
@@ -11,6 +11,8 @@ import de.amr.games.pacman.lib.Waypoint;
 import de.amr.games.pacman.lib.tilemap.WorldMap;
 import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.*;
+import de.amr.games.pacman.model.LevelParameters.GhostSpeed;
+import de.amr.games.pacman.model.LevelParameters.PacSpeed;
 import de.amr.games.pacman.model.actors.*;
 import de.amr.games.pacman.steering.RuleBasedPacSteering;
 import de.amr.games.pacman.steering.Steering;
@@ -18,6 +20,7 @@ import org.tinylog.Logger;
 
 import java.io.File;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static de.amr.games.pacman.Globals.*;
@@ -106,6 +109,11 @@ public class TengenMsPacMan_GameModel extends GameModel {
 
     private static final String HIGH_SCORE_FILENAME = "highscore-ms_pacman_tengen.xml";
 
+    private static final String OPTION_MAP_CATEGORY = "mapCategory";
+    private static final String OPTION_DIFFICULTY = "difficulty";
+    private static final String OPTION_PAC_BOOSTER = "pacBooster";
+    private static final String OPTION_START_LEVEL = "startLevel";
+
     private final TengenMsPacMan_LevelCounter levelCounter;
     private final TengenMsPacMan_HuntingTimer huntingTimer = new TengenMsPacMan_HuntingTimer();
     private final TengenMsPacMan_MapSelector mapSelector;
@@ -145,8 +153,8 @@ public class TengenMsPacMan_GameModel extends GameModel {
     public void init() {
         scoreManager.setHighScoreFile(new File(HOME_DIR, HIGH_SCORE_FILENAME));
         mapSelector.loadAllMaps(this);
-        initialLivesProperty().set(3);
-        simulateOverflowBugProperty().set(false); //TODO check if this is correct
+        setInitialLives(3);
+        setSimulateOverflowBug(false); //TODO check if this is correct
         resetForStartingNewGame();
         resetOptions();
     }
@@ -159,11 +167,12 @@ public class TengenMsPacMan_GameModel extends GameModel {
 
     @Override
     public void resetForStartingNewGame() {
-        livesProperty().set(initialLivesProperty().get());
+        setLives(initialLives());
         level = null;
+        levelParameters = null;
         levelCounter.reset();
-        demoLevelProperty().set(false);
-        playingProperty().set(false);
+        setDemoLevel(false);
+        setPlaying(false);
         boosterActive = false;
         scoreManager.loadHighScore();
         scoreManager.resetScore();
@@ -172,10 +181,10 @@ public class TengenMsPacMan_GameModel extends GameModel {
 
     @Override
     public void endGame() {
-        playingProperty().set(false);
+        setPlaying(false);
         scoreManager.updateHighScore();
         level.showMessage(GameLevel.Message.GAME_OVER);
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.STOP_ALL_SOUNDS);
+        eventManager().publishEvent(this, GameEventType.STOP_ALL_SOUNDS);
     }
 
     public void resetOptions() {
@@ -186,6 +195,33 @@ public class TengenMsPacMan_GameModel extends GameModel {
         numContinues = 4;
     }
 
+    @Override
+    public Map<String, String> gameOptions() {
+        Map<String, String> options = super.gameOptions();
+        options.put(OPTION_MAP_CATEGORY, mapCategory.name());
+        options.put(OPTION_DIFFICULTY, difficulty.name());
+        options.put(OPTION_PAC_BOOSTER, pacBooster.name());
+        options.put(OPTION_START_LEVEL, String.valueOf(startLevelNumber));
+        return options;
+    }
+
+    @Override
+    public void applyGameOptions(Map<String, String> options) {
+        super.applyGameOptions(options);
+        if (options.containsKey(OPTION_MAP_CATEGORY)) {
+            setMapCategory(MapCategory.valueOf(options.get(OPTION_MAP_CATEGORY)));
+        }
+        if (options.containsKey(OPTION_DIFFICULTY)) {
+            setDifficulty(Difficulty.valueOf(options.get(OPTION_DIFFICULTY)));
+        }
+        if (options.containsKey(OPTION_PAC_BOOSTER)) {
+            setPacBooster(PacBooster.valueOf(options.get(OPTION_PAC_BOOSTER)));
+        }
+        if (options.containsKey(OPTION_START_LEVEL)) {
+            setStartLevelNumber(Integer.parseInt(options.get(OPTION_START_LEVEL)));
+        }
+    }
+
     public boolean hasDefaultOptionValues() {
         return pacBooster == PacBooster.OFF &&
                 difficulty == Difficulty.NORMAL &&
@@ -281,81 +317,67 @@ public class TengenMsPacMan_GameModel extends GameModel {
     }
 
     @Override
-    public long pacPowerTicks() {
-        if (level == null) {
-            return 0;
+    protected LevelParameters createLevelParameters(int levelNumber) {
+        float pacBaseSpeed = pacBaseSpeedInLevel(levelNumber) + pacDifficultySpeedDelta(difficulty);
+        float pacBoostedSpeed = pacBaseSpeed + pacBoosterSpeedDelta();
+        int powerTimeIndex = levelNumber <= 19 ? levelNumber - 1 : 18;
+        double powerSeconds = POWER_PELLET_TIMES[powerTimeIndex] / 16.0;
+        var builder = LevelParameters.builder(levelNumber)
+            .pacBaseSpeed(pacBaseSpeed)
+            .pacSpeed(PacSpeed.NORMAL, pacBaseSpeed)
+            //TODO is this correct?
+            .pacSpeed(PacSpeed.POWER, 1.1f * pacBaseSpeed)
+            .pacSpeed(PacSpeed.BOOSTED, pacBoostedSpeed)
+            .pacSpeed(PacSpeed.BOOSTED_POWER, 1.1f * pacBoostedSpeed)
+            .ghostSpeedIncreaseByFoodLeft(ghostSpeedIncreaseByFoodLeft(difficulty, levelNumber))
+            .numFlashes(level.numFlashes())
+            .pacPowerTicks((long) (powerSeconds * 60)) // 60 ticks/sec
+            .pacPowerFadingTicks(level.numFlashes() * 28L) // TODO check in emulator
+            .pacDyingTicks(300);
+        for (byte id = 0; id < 4; ++id) {
+            float ghostBaseSpeed = ghostBaseSpeedInLevel(levelNumber)
+                + ghostDifficultySpeedDelta(difficulty) + ghostIDSpeedDelta(id);
+            //TODO are frightened and tunnel speed correct?
+            builder.ghostBaseSpeed(id, ghostBaseSpeed)
+                .ghostSpeed(id, GhostSpeed.ATTACK, ghostBaseSpeed)
+                .ghostSpeed(id, GhostSpeed.ATTACK_TUNNEL, 0.4f * ghostBaseSpeed)
+                .ghostSpeed(id, GhostSpeed.TUNNEL, 0.4f * ghostBaseSpeed)
+                .ghostSpeed(id, GhostSpeed.FRIGHTENED, 0.5f * ghostBaseSpeed)
+                .ghostSpeed(id, GhostSpeed.INSIDE_HOUSE, 0.5f)
+                .ghostSpeed(id, GhostSpeed.RETURNING_TO_HOUSE, 2);
         }
-        int index = level.number() <= 19 ? level.number() - 1 : 18;
-        double seconds = POWER_PELLET_TIMES[index] / 16.0;
-        return (long) (seconds * 60); // 60 ticks/sec
-    }
-
-    @Override
-    public long pacPowerFadingTicks() {
-        return level != null ? level.numFlashes() * 28L : 0; // TODO check in emulator
-    }
-
-    @Override
-    public long pacDyingTicks() {
-        return 300;
+        return builder.build();
     }
 
     @Override
     public float pacNormalSpeed() {
-        return level.pac() != null ? level.pac().baseSpeed() : 0;
+        return levelParameters != null
+            ? levelParameters.pacSpeed(boosterActive ? PacSpeed.BOOSTED : PacSpeed.NORMAL)
+            : 0;
     }
 
     @Override
     public float pacPowerSpeed() {
-        if (level != null) {
-            //TODO is this correct?
-            return 1.1f * level.pac().baseSpeed();
-        }
-        return 0;
+        return levelParameters != null
+            ? levelParameters.pacSpeed(boosterActive ? PacSpeed.BOOSTED_POWER : PacSpeed.POWER)
+            : 0;
     }
 
     @Override
     public float ghostAttackSpeed(Ghost ghost) {
-        if (level == null) {
+        if (levelParameters == null) {
             return 0;
         }
-        if (level.isTunnel(ghost.tile())) {
-            return ghostTunnelSpeed(ghost);
+        if (level.isTunnel(ghost.tileX(), ghost.tileY())) {
+            return levelParameters.ghostSpeed(ghost.id(), GhostSpeed.ATTACK_TUNNEL);
         }
-        float speed = ghost.baseSpeed();
-        float increase = ghostSpeedIncreaseByFoodRemaining(this);
-        if (increase > 0) {
-            speed += increase;
-            Logger.debug("Ghost speed increased by {} units to {0.00} px/tick for {}", increase, speed, ghost.name());
-        }
-        return speed;
-    }
-
-    @Override
-    public float ghostSpeedInsideHouse(Ghost ghost) {
-        return 0.5f;
-    }
-
-    @Override
-    public float ghostSpeedReturningToHouse(Ghost ghost) {
-        return 2;
-    }
-
-    @Override
-    public float ghostFrightenedSpeed(Ghost ghost) {
-        //TODO is this correct?
-        return 0.5f * ghost.baseSpeed();
-    }
-
-    @Override
-    public float ghostTunnelSpeed(Ghost ghost) {
-        //TODO is this correct?
-        return 0.4f * ghost.baseSpeed();
+        return levelParameters.ghostSpeed(ghost.id(), GhostSpeed.ATTACK)
+            + levelParameters.ghostSpeedIncrease(level.uneatenFoodCount());
     }
 
     @Override
     public boolean isOver() {
-        return livesProperty().get() == 0;
+        return lives() == 0;
     }
 
     @Override
@@ -363,21 +385,15 @@ public class TengenMsPacMan_GameModel extends GameModel {
         resetForStartingNewGame();
         createGameLevel(startLevelNumber);
         levelCounter.resetStartingFromLevel(startLevelNumber);
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.GAME_STARTED);
+        eventManager().publishEvent(this, GameEventType.GAME_STARTED);
     }
 
     @Override
-    protected void setActorBaseSpeed(int levelNumber) {
-        float pacBaseSpeed = pacBaseSpeedInLevel(levelNumber) + pacDifficultySpeedDelta(difficulty);
-        level.pac().setBaseSpeed(pacBaseSpeed);
+    protected void setActorBaseSpeed() {
+        super.setActorBaseSpeed();
         if (pacBooster == PacBooster.ALWAYS_ON) {
             activatePacBooster(true);
         }
-        level.ghosts().forEach(ghost ->
-            ghost.setBaseSpeed(ghostBaseSpeedInLevel(levelNumber)
-                + ghostDifficultySpeedDelta(difficulty)
-                + ghostIDSpeedDelta(ghost.id()))
-        );
     }
 
     @Override
@@ -394,11 +410,10 @@ public class TengenMsPacMan_GameModel extends GameModel {
     public void activatePacBooster(boolean active) {
         if (boosterActive != active) {
             boosterActive = active;
-            float speed = pacBaseSpeedInLevel(level.number()) + pacDifficultySpeedDelta(difficulty);
-            if (boosterActive) {
-                speed += pacBoosterSpeedDelta();
+            if (levelParameters != null) {
+                level.pac().setBaseSpeed(boosterActive
+                    ? levelParameters.pacSpeed(PacSpeed.BOOSTED) : levelParameters.pacBaseSpeed());
             }
-            level.pac().setBaseSpeed(speed);
             level.pac().selectAnimation(boosterActive
                 ? ANIM_MS_PACMAN_BOOSTER : ActorAnimations.ANIM_PAC_MUNCHING);
         }
@@ -430,9 +445,9 @@ public class TengenMsPacMan_GameModel extends GameModel {
 
     @Override
     public void buildGameLevel(int levelNumber) {
-        WorldMap worldMap = mapSelector.selectWorldMap(mapCategory, levelNumber);
+        WorldMap worldMap = mapSelector.selectWorldMap(mapCategory, levelNumber, random());
 
-        level = new GameLevel(levelNumber, worldMap);
+        level = new GameLevel(this, levelNumber, worldMap);
         level.setNumFlashes(5); // TODO check this
         level.setCutSceneNumber(cutSceneNumberAfterLevel(levelNumber));
 
@@ -450,11 +465,11 @@ public class TengenMsPacMan_GameModel extends GameModel {
 
     @Override
     public void buildDemoLevel() {
-        demoLevelProperty().set(true);
+        setDemoLevel(true);
 
-        WorldMap worldMap = mapSelector.coloredWorldMap(mapCategory, 1);
+        WorldMap worldMap = mapSelector.coloredWorldMap(mapCategory, 1, random());
 
-        level = new GameLevel(1, worldMap);
+        level = new GameLevel(this, 1, worldMap);
         level.setNumFlashes(5); // TODO check this
         level.setCutSceneNumber(0);
 
@@ -493,7 +508,7 @@ public class TengenMsPacMan_GameModel extends GameModel {
 
     @Override
     public boolean isPacManKillingIgnored() {
-        float levelRunningSeconds = (System.currentTimeMillis() - levelStartTime) / 1000f;
+        float levelRunningSeconds = (float) levelRunningTicks / TICKS_PER_SECOND;
         if (isDemoLevel() && levelRunningSeconds < DEMO_LEVEL_MIN_DURATION_SEC) {
             Logger.info("Pac-Man dead ignored, demo level is running since {} seconds", levelRunningSeconds);
             return true;
@@ -513,7 +528,7 @@ public class TengenMsPacMan_GameModel extends GameModel {
         if (levelNumber - 1 <= maxBonus) {
             return (byte) (levelNumber - 1);
         }
-        return (byte) randomInt(0, maxBonus);
+        return (byte) random().nextInt(maxBonus);
     }
 
     @Override
@@ -525,15 +540,15 @@ public class TengenMsPacMan_GameModel extends GameModel {
         }
         level.advanceNextBonus();
 
-        boolean leftToRight = THE_RNG.nextBoolean();
+        boolean leftToRight = random().nextBoolean();
         Vector2i houseEntry = tileAt(level.houseEntryPosition());
         Vector2i houseEntryOpposite = houseEntry.plus(0, level.houseSizeInTiles().y() + 1);
         List<Portal> portals = level.portals().toList();
         if (portals.isEmpty()) {
             return; // there should be no mazes without portal but who knows?
         }
-        Portal entryPortal = portals.get(THE_RNG.nextInt(portals.size()));
-        Portal exitPortal  = portals.get(THE_RNG.nextInt(portals.size()));
+        Portal entryPortal = portals.get(random().nextInt(portals.size()));
+        Portal exitPortal  = portals.get(random().nextInt(portals.size()));
         List<Waypoint> route = Stream.of(
             leftToRight ? entryPortal.leftTunnelEnd() : entryPortal.rightTunnelEnd(),
             houseEntry,
@@ -549,7 +564,7 @@ public class TengenMsPacMan_GameModel extends GameModel {
         Logger.debug("Moving bonus created, route: {} ({})", route, leftToRight ? "left to right" : "right to left");
         level.setBonus(movingBonus);
         movingBonus.setEdible(TickTimer.INDEFINITE);
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.BONUS_ACTIVATED, movingBonus.actor().tile());
+        eventManager().publishEvent(this, GameEventType.BONUS_ACTIVATED, movingBonus.actor().tile());
     }
 
     @Override
@@ -583,7 +598,7 @@ public class TengenMsPacMan_GameModel extends GameModel {
 
     @Override
     public void killGhost(Ghost ghost) {
-        eventLog.killedGhosts.add(ghost);
+        eventLog.addKilledGhost(ghost);
         int killedSoFar = level.victims().size();
         int points = 100 * KILLED_GHOST_VALUE_MULTIPLIER[killedSoFar];
         level.addVictim(ghost);
@@ -605,7 +620,7 @@ public class TengenMsPacMan_GameModel extends GameModel {
         } else {
             boolean chasing = huntingTimer.huntingPhase() == HuntingTimer.HuntingPhase.CHASING;
             Vector2i targetTile = chasing
-                ? chasingTargetTile(ghost.id(), level, simulateOverflowBugProperty().get())
+                ? chasingTargetTile(ghost.id(), level, isSimulateOverflowBug())
                 : level.ghostScatterTile(ghost.id());
             ghost.followTarget(targetTile, speed);
         }
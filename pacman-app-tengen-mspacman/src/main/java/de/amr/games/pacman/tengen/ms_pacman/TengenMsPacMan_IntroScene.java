@@ -61,6 +61,11 @@ public class TengenMsPacMan_IntroScene extends GameScene2D {
             public TengenMsPacMan_IntroScene context() {
                 return TengenMsPacMan_IntroScene.this;
             }
+
+            @Override
+            public TickTimer timer(SceneState state) {
+                return state.timer();
+            }
         };
     }
 
@@ -72,7 +77,7 @@ public class TengenMsPacMan_IntroScene extends GameScene2D {
 
     @Override
     public void doInit() {
-        game().scoreVisibleProperty().set(false);
+        game().setScoreVisible(false);
         sceneController.restart(SceneState.WAITING_FOR_START);
     }
 
@@ -330,8 +335,7 @@ public class TengenMsPacMan_IntroScene extends GameScene2D {
 
         final TickTimer timer = new TickTimer("Timer-" + name());
 
-        @Override
-        public TickTimer timer() {
+        TickTimer timer() {
             return timer;
         }
     }
@@ -6,8 +6,6 @@ package de.amr.games.pacman.tengen.ms_pacman;
 
 import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.LevelCounter;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,13 +15,9 @@ public class TengenMsPacMan_LevelCounter implements LevelCounter {
 
     public static final byte LEVEL_COUNTER_MAX_SIZE = 7;
 
-    private final BooleanProperty enabledPy = new SimpleBooleanProperty(true);
+    private boolean enabled = true;
     private final List<Byte> symbols = new ArrayList<>();
 
-    public BooleanProperty enabledProperty() {
-        return enabledPy;
-    }
-
     void resetStartingFromLevel(int startLevelNumber) {
         if (startLevelNumber > 1) {
             symbols.clear();
@@ -60,11 +54,11 @@ public class TengenMsPacMan_LevelCounter implements LevelCounter {
 
     @Override
     public void setEnabled(boolean enabled) {
-        enabledProperty().set(enabled);
+        this.enabled = enabled;
     }
 
     @Override
     public boolean isEnabled() {
-        return enabledProperty().get();
+        return enabled;
     }
 }
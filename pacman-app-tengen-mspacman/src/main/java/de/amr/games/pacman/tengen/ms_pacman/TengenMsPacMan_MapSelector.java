@@ -8,14 +8,12 @@ import de.amr.games.pacman.lib.nes.NES_ColorScheme;
 import de.amr.games.pacman.lib.tilemap.WorldMap;
 import de.amr.games.pacman.model.GameModel;
 import de.amr.games.pacman.model.MapSelector;
-import org.tinylog.Logger;
 
-import java.io.IOException;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.random.RandomGenerator;
 
 import static de.amr.games.pacman.lib.nes.NES_ColorScheme.*;
 import static de.amr.games.pacman.tengen.ms_pacman.MapCategory.*;
@@ -40,53 +38,36 @@ public class TengenMsPacMan_MapSelector extends MapSelector {
     @Override
     public void loadAllMaps(GameModel game) {
         if (mapRepository.isEmpty()) {
-            mapRepository.put(MapCategory.ARCADE, createMaps(MAPS_ROOT + "arcade%d.world", 4));
-            mapRepository.put(MapCategory.MINI, createMaps(MAPS_ROOT + "mini%d.world", 6));
-            mapRepository.put(MapCategory.BIG, createMaps(MAPS_ROOT + "big%02d.world", 11));
-            mapRepository.put(MapCategory.STRANGE, createMaps(MAPS_ROOT + "strange%02d.world", 15));
+            // all categories are loaded in parallel
+            var arcadeMaps  = loadMapsFromModuleAsync(MAPS_ROOT + "arcade%d.world", 4);
+            var miniMaps    = loadMapsFromModuleAsync(MAPS_ROOT + "mini%d.world", 6);
+            var bigMaps     = loadMapsFromModuleAsync(MAPS_ROOT + "big%02d.world", 11);
+            var strangeMaps = loadMapsFromModuleAsync(MAPS_ROOT + "strange%02d.world", 15);
+            mapRepository.put(MapCategory.ARCADE, arcadeMaps.join());
+            mapRepository.put(MapCategory.MINI, miniMaps.join());
+            mapRepository.put(MapCategory.BIG, bigMaps.join());
+            mapRepository.put(MapCategory.STRANGE, strangeMaps.join());
         }
     }
 
     @Override
-    public WorldMap selectWorldMap(int levelNumber) {
+    public WorldMap selectWorldMap(int levelNumber, RandomGenerator random) {
         throw new UnsupportedOperationException(); //TODO ugly
     }
 
-    public WorldMap selectWorldMap(MapCategory mapCategory, int levelNumber) {
-        return coloredWorldMap(mapCategory, levelNumber);
+    public WorldMap selectWorldMap(MapCategory mapCategory, int levelNumber, RandomGenerator random) {
+        return coloredWorldMap(mapCategory, levelNumber, random);
     }
 
-    public WorldMap coloredWorldMap(MapCategory mapCategory, int levelNumber) {
+    public WorldMap coloredWorldMap(MapCategory mapCategory, int levelNumber, RandomGenerator random) {
         return switch (mapCategory) {
             case ARCADE  -> coloredArcadeMap(levelNumber);
-            case STRANGE -> coloredStrangeMap(levelNumber);
-            case MINI    -> coloredMiniMap(levelNumber);
-            case BIG     -> coloredBigMap(levelNumber);
+            case STRANGE -> coloredStrangeMap(levelNumber, random);
+            case MINI    -> coloredMiniMap(levelNumber, random);
+            case BIG     -> coloredBigMap(levelNumber, random);
         };
     }
 
-    private List<WorldMap> createMaps(String pattern, int count) {
-        ArrayList<WorldMap> maps = new ArrayList<>();
-        for (int num = 1; num <= count; ++num) {
-            String path = pattern.formatted(num);
-            URL url = getClass().getResource(path);
-            if (url != null) {
-                try {
-                    WorldMap worldMap = new WorldMap(url);
-                    Logger.info("World map #{} read. URL='{}'", num, url);
-                    maps.add(worldMap);
-                } catch (IOException x) {
-                    Logger.error(x);
-                    Logger.error("Could not create world map, url={}", url);
-                }
-            } else {
-                Logger.error("World map #{} could not be read. path='{}'", num, path);
-            }
-        }
-        maps.trimToSize();
-        return maps;
-    }
-
     private WorldMap coloredArcadeMap(int levelNumber) {
         return switch (levelNumber) {
             case 1,2         -> coloredMap(ARCADE, 1, _36_15_20_PINK_RED_WHITE);
@@ -102,7 +83,7 @@ public class TengenMsPacMan_MapSelector extends MapSelector {
         };
     }
 
-    private WorldMap coloredMiniMap(int levelNumber) {
+    private WorldMap coloredMiniMap(int levelNumber, RandomGenerator random) {
         return switch (levelNumber) {
             case 1  -> coloredMap(MINI, 1, _36_15_20_PINK_RED_WHITE);
             case 2  -> coloredMap(MINI, 2, _21_20_28_BLUE_WHITE_YELLOW);
@@ -131,16 +112,16 @@ public class TengenMsPacMan_MapSelector extends MapSelector {
             case 25 -> coloredMap(MINI, 1, _10_20_28_GRAY_WHITE_YELLOW);
             case 26 -> coloredMap(MINI, 2, _03_20_20_BLUE_WHITE_WHITE);
             case 27 -> coloredMap(MINI, 3, _04_20_20_VIOLET_WHITE_WHITE);
-            case 28 -> randomlyColoredMap(MINI, 4);
-            case 29 -> randomlyColoredMap(MINI, 5);
-            case 30 -> randomlyColoredMap(MINI, 2);
-            case 31 -> randomlyColoredMap(MINI, 3);
+            case 28 -> randomlyColoredMap(MINI, 4, random);
+            case 29 -> randomlyColoredMap(MINI, 5, random);
+            case 30 -> randomlyColoredMap(MINI, 2, random);
+            case 31 -> randomlyColoredMap(MINI, 3, random);
             case 32 -> coloredMap(MINI, 6, _15_25_20_RED_ROSE_WHITE);
             default -> throw new IllegalArgumentException("Illegal level number: " + levelNumber);
         };
     }
 
-    private WorldMap coloredBigMap(int levelNumber) {
+    private WorldMap coloredBigMap(int levelNumber, RandomGenerator random) {
         return switch (levelNumber) {
             case 1  -> coloredMap(BIG,  1, _36_15_20_PINK_RED_WHITE);
             case 2  -> coloredMap(BIG,  2, _21_20_28_BLUE_WHITE_YELLOW);
@@ -169,16 +150,16 @@ public class TengenMsPacMan_MapSelector extends MapSelector {
             case 25 -> coloredMap(BIG,  8, _10_20_28_GRAY_WHITE_YELLOW);
             case 26 -> coloredMap(BIG, 10, _03_20_20_BLUE_WHITE_WHITE);
             case 27 -> coloredMap(BIG,  8, _04_20_20_VIOLET_WHITE_WHITE);
-            case 28 -> randomlyColoredMap(BIG,  5);
-            case 29 -> randomlyColoredMap(BIG,  9);
-            case 30 -> randomlyColoredMap(BIG,  2);
-            case 31 -> randomlyColoredMap(BIG, 10);
+            case 28 -> randomlyColoredMap(BIG,  5, random);
+            case 29 -> randomlyColoredMap(BIG,  9, random);
+            case 30 -> randomlyColoredMap(BIG,  2, random);
+            case 31 -> randomlyColoredMap(BIG, 10, random);
             case 32 -> coloredMap(BIG, 11, _15_25_20_RED_ROSE_WHITE);
             default -> throw new IllegalArgumentException("Illegal level number: " + levelNumber);
         };
     }
 
-    private WorldMap coloredStrangeMap(int levelNumber) {
+    private WorldMap coloredStrangeMap(int levelNumber, RandomGenerator random) {
         WorldMap worldMap = switch (levelNumber) {
             case  1 -> coloredMap(STRANGE,  1, _36_15_20_PINK_RED_WHITE);
             case  2 -> coloredMap(STRANGE,  2, _21_20_28_BLUE_WHITE_YELLOW);
@@ -207,10 +188,10 @@ public class TengenMsPacMan_MapSelector extends MapSelector {
             case 25 -> coloredMap(BIG,     10, _10_20_28_GRAY_WHITE_YELLOW);
             case 26 -> coloredMap(BIG,      9, _03_20_20_BLUE_WHITE_WHITE);
             case 27 -> coloredMap(STRANGE, 14, _04_20_20_VIOLET_WHITE_WHITE);
-            case 28 -> randomlyColoredMap(MINI,     5);
-            case 29 -> randomlyColoredMap(STRANGE,  8);
-            case 30 -> randomlyColoredMap(MINI,     4);
-            case 31 -> randomlyColoredMap(STRANGE, 11);
+            case 28 -> randomlyColoredMap(MINI,     5, random);
+            case 29 -> randomlyColoredMap(STRANGE,  8, random);
+            case 30 -> randomlyColoredMap(MINI,     4, random);
+            case 31 -> randomlyColoredMap(STRANGE, 11, random);
             case 32 -> coloredMap(STRANGE, 15, _15_25_20_RED_ROSE_WHITE);
             default -> throw new IllegalArgumentException("Illegal level number: " + levelNumber);
         };
@@ -228,8 +209,8 @@ public class TengenMsPacMan_MapSelector extends MapSelector {
         return worldMap;
     }
 
-    private WorldMap randomlyColoredMap(MapCategory category, int number) {
-        WorldMap worldMap = coloredMap(category, number, NES_ColorScheme.random());
+    private WorldMap randomlyColoredMap(MapCategory category, int number, RandomGenerator random) {
+        WorldMap worldMap = coloredMap(category, number, NES_ColorScheme.random(random));
         worldMap.setConfigValue("randomColorScheme", true);
         return worldMap;
     }
@@ -191,7 +191,7 @@ public class TengenMsPacMan_PlayScene2D extends GameScene2D implements CameraCon
     @Override
     public void doInit() {
         messageMovement = new MessageMovement();
-        game().scoreVisibleProperty().set(true);
+        game().setScoreVisible(true);
         setGameRenderer(THE_UI_CONFIGS.current().createRenderer(canvas));
         movingCamera.focusTopOfScene();
     }
@@ -450,7 +450,7 @@ public class TengenMsPacMan_PlayScene2D extends GameScene2D implements CameraCon
         tr.drawAnimatedActor(level.pac());
         ghostsInZOrder(level).forEach(tr::drawAnimatedActor);
 
-        int livesCounterEntries = game.livesProperty().get() - 1;
+        int livesCounterEntries = game.lives() - 1;
         if (gameState() == GameState.STARTING_GAME && !level.pac().isVisible()) {
             // as long as Pac-Man is invisible when the game is started, one entry more appears in the lives counter
             livesCounterEntries += 1;
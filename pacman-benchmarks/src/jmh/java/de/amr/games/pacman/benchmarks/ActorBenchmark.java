@@ -0,0 +1,67 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import de.amr.games.pacman.lib.Direction;
+import de.amr.games.pacman.model.GameLevel;
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.actors.Creature;
+import de.amr.games.pacman.model.actors.MoveResult;
+import de.amr.games.pacman.model.actors.Pac;
+import de.amr.games.pacman.simulation.GameSession;
+import de.amr.games.pacman.steering.RuleBasedPacSteering;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the actor movement ({@link Creature#tryMoving()}) and the autopilot decision
+ * ({@link RuleBasedPacSteering#steer}) on the first level of a game variant.
+ *
+ * @author Armin Reichert
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ActorBenchmark {
+
+    @Param({"PACMAN:1", "MS_PACMAN:1", "MS_PACMAN_TENGEN:1", "PACMAN_XXL:1"})
+    public String map;
+
+    private GameLevel level;
+    private Pac pac;
+    private RuleBasedPacSteering steering;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameSession session = BenchmarkGames.createSession(BenchmarkGames.variantOf(map));
+        GameModel game = session.game();
+        level = BenchmarkGames.startHunting(session, BenchmarkGames.levelNumberOf(map));
+        pac = level.pac();
+        pac.setSpeed(game.pacNormalSpeed());
+        steering = new RuleBasedPacSteering(game);
+    }
+
+    @Benchmark
+    public MoveResult tryMoving() {
+        pac.tryMoving();
+        if (!pac.moveInfo().moved) {
+            // blocked: try the next direction
+            pac.setWishDir(pac.wishDir().nextClockwise());
+        }
+        return pac.moveInfo();
+    }
+
+    @Benchmark
+    public Direction steer() {
+        // forget the last move, otherwise the steering only decides when a new tile has been entered
+        pac.moveInfo().clear();
+        steering.steer(pac, level);
+        return pac.wishDir();
+    }
+}
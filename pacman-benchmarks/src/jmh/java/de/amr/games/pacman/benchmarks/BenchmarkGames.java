@@ -0,0 +1,79 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import de.amr.games.pacman.arcade.ArcadePacMan_GameModel;
+import de.amr.games.pacman.arcade.ms_pacman.ArcadeMsPacMan_GameModel;
+import de.amr.games.pacman.arcade.pacman_xxl.PacManXXL_MapSelector;
+import de.amr.games.pacman.arcade.pacman_xxl.PacManXXL_MsPacMan_GameModel;
+import de.amr.games.pacman.arcade.pacman_xxl.PacManXXL_PacMan_GameModel;
+import de.amr.games.pacman.model.GameLevel;
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.model.MapSelectionMode;
+import de.amr.games.pacman.simulation.GameSession;
+import de.amr.games.pacman.tengen.ms_pacman.TengenMsPacMan_GameModel;
+
+/**
+ * Creates the headless game sessions and levels used by the benchmarks.
+ *
+ * @author Armin Reichert
+ */
+public class BenchmarkGames {
+
+    public static final long SEED = 42;
+
+    public static GameModel createGameModel(GameVariant gameVariant) {
+        return switch (gameVariant) {
+            case PACMAN -> new ArcadePacMan_GameModel();
+            case MS_PACMAN -> new ArcadeMsPacMan_GameModel();
+            case MS_PACMAN_TENGEN -> new TengenMsPacMan_GameModel();
+            case PACMAN_XXL -> new PacManXXL_PacMan_GameModel(new PacManXXL_MapSelector());
+            case MS_PACMAN_XXL -> new PacManXXL_MsPacMan_GameModel(new PacManXXL_MapSelector());
+        };
+    }
+
+    /**
+     * Creates a session for the given variant. Custom maps are ignored such that each level number always selects the
+     * same built-in map.
+     */
+    public static GameSession createSession(GameVariant gameVariant) {
+        var session = new GameSession(gameVariant, createGameModel(gameVariant), SEED);
+        session.game().mapSelector().setMapSelectionMode(MapSelectionMode.NO_CUSTOM_MAPS);
+        return session;
+    }
+
+    /**
+     * Creates and starts the level with the given number and starts hunting. Pac-Man is steered by the autopilot and
+     * is immune, so the hunting phase only ends when all food has been eaten.
+     *
+     * @return the started level
+     */
+    public static GameLevel startHunting(GameSession session, int levelNumber) {
+        GameModel game = session.game();
+        game.resetForStartingNewGame();
+        game.createGameLevel(levelNumber);
+        game.startLevel();
+        game.showPacAndGhosts();
+        GameLevel level = game.level().orElseThrow();
+        level.pac().setImmune(true);
+        game.startHunting();
+        return level;
+    }
+
+    /**
+     * @param spec game variant and level number, e.g. <code>"MS_PACMAN:3"</code>
+     */
+    public static GameVariant variantOf(String spec) {
+        return GameVariant.valueOf(spec.substring(0, spec.indexOf(':')));
+    }
+
+    /**
+     * @param spec game variant and level number, e.g. <code>"MS_PACMAN:3"</code>
+     */
+    public static int levelNumberOf(String spec) {
+        return Integer.parseInt(spec.substring(spec.indexOf(':') + 1));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import de.amr.games.pacman.model.GameLevel;
+import de.amr.games.pacman.model.GameModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of a game level ({@link GameModel#buildGameLevel(int)}) including the copy of the world
+ * map, the house and the actors.
+ *
+ * @author Armin Reichert
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameLevelBenchmark {
+
+    @Param({"PACMAN:1", "MS_PACMAN:1", "MS_PACMAN_TENGEN:1", "PACMAN_XXL:1"})
+    public String map;
+
+    private GameModel game;
+    private int levelNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = BenchmarkGames.createSession(BenchmarkGames.variantOf(map)).game();
+        levelNumber = BenchmarkGames.levelNumberOf(map);
+        game.resetForStartingNewGame();
+    }
+
+    @Benchmark
+    public GameLevel buildGameLevel() {
+        game.buildGameLevel(levelNumber);
+        return game.level().orElseThrow();
+    }
+}
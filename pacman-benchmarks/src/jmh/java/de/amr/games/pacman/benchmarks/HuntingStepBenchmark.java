@@ -0,0 +1,57 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.simulation.GameSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GameModel#doHuntingStep()} on each built-in map. The level number selects the map: Ms. Pac-Man and
+ * Tengen (arcade maps) change the map at levels 3, 6 and 10, Pac-Man XXL uses its 8 maps in order.
+ *
+ * @author Armin Reichert
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HuntingStepBenchmark {
+
+    @Param({
+        "PACMAN:1",
+        "MS_PACMAN:1", "MS_PACMAN:3", "MS_PACMAN:6", "MS_PACMAN:10",
+        "MS_PACMAN_TENGEN:1", "MS_PACMAN_TENGEN:3", "MS_PACMAN_TENGEN:6", "MS_PACMAN_TENGEN:10",
+        "PACMAN_XXL:1", "PACMAN_XXL:2", "PACMAN_XXL:3", "PACMAN_XXL:4",
+        "PACMAN_XXL:5", "PACMAN_XXL:6", "PACMAN_XXL:7", "PACMAN_XXL:8"
+    })
+    public String map;
+
+    private GameSession session;
+    private GameModel game;
+    private int levelNumber;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        session = BenchmarkGames.createSession(BenchmarkGames.variantOf(map));
+        game = session.game();
+        levelNumber = BenchmarkGames.levelNumberOf(map);
+        BenchmarkGames.startHunting(session, levelNumber);
+    }
+
+    @Benchmark
+    public void doHuntingStep() {
+        game.newEventLog(tick++);
+        game.doHuntingStep();
+        if (game.isLevelComplete()) {
+            BenchmarkGames.startHunting(session, levelNumber);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import de.amr.games.pacman.lib.tilemap.MazeMapGenerator;
+import de.amr.games.pacman.lib.tilemap.WorldMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MazeMapGenerator#createMazeMap} for different maze sizes.
+ *
+ * @author Armin Reichert
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MazeMapGeneratorBenchmark {
+
+    @Param({"10", "20", "40"})
+    public int numRows;
+
+    private MazeMapGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = new MazeMapGenerator(new SplittableRandom(BenchmarkGames.SEED));
+    }
+
+    @Benchmark
+    public WorldMap createMazeMap() {
+        return generator.createMazeMap(numRows, numRows * 3 / 4);
+    }
+}
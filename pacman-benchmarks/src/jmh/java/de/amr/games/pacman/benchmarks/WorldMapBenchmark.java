@@ -0,0 +1,102 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import de.amr.games.pacman.lib.tilemap.Obstacle;
+import de.amr.games.pacman.lib.tilemap.ObstacleBuilder;
+import de.amr.games.pacman.lib.tilemap.WorldMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a world map (including the obstacle computation done by the parser) from a URL and from a byte
+ * buffer, {@link ObstacleBuilder#buildObstacles} alone, copying a map and inserting a row. The map text is read into
+ * memory once, so parsing does not include any I/O.
+ *
+ * @author Armin Reichert
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WorldMapBenchmark {
+
+    @Param({
+        "/de/amr/games/pacman/arcade/maps/pacman.world",
+        "/de/amr/games/pacman/arcade/ms_pacman/maps/mspacman_1.world",
+        "/de/amr/games/pacman/arcade/pacman_xxl/maps/masonic_1.world",
+        "/de/amr/games/pacman/tengen/ms_pacman/maps/mini1.world",
+        "/de/amr/games/pacman/tengen/ms_pacman/maps/big01.world",
+        "/de/amr/games/pacman/tengen/ms_pacman/maps/strange01.world"
+    })
+    public String mapPath;
+
+    private byte[] content;
+    private URL inMemoryURL;
+    private WorldMap worldMap;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        URL resource = WorldMapBenchmark.class.getResource(mapPath);
+        if (resource == null) {
+            throw new IllegalArgumentException("Map not found: " + mapPath);
+        }
+        try (InputStream in = resource.openStream()) {
+            content = in.readAllBytes();
+        }
+        inMemoryURL = new URL(null, "memory:" + mapPath, new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL url) {
+                return new URLConnection(url) {
+                    @Override
+                    public void connect() {}
+
+                    @Override
+                    public InputStream getInputStream() {
+                        return new ByteArrayInputStream(content);
+                    }
+                };
+            }
+        });
+        worldMap = new WorldMap(inMemoryURL);
+    }
+
+    @Benchmark
+    public WorldMap parse() throws IOException {
+        return new WorldMap(inMemoryURL);
+    }
+
+    @Benchmark
+    public WorldMap parseFromByteBuffer() throws IOException {
+        return new WorldMap(ByteBuffer.wrap(content), inMemoryURL);
+    }
+
+    @Benchmark
+    public WorldMap copy() {
+        return new WorldMap(worldMap);
+    }
+
+    @Benchmark
+    public WorldMap insertRow() {
+        return worldMap.insertRowBeforeIndex(worldMap.numRows() / 2);
+    }
+
+    @Benchmark
+    public Set<Obstacle> buildObstacles() {
+        return ObstacleBuilder.buildObstacles(worldMap, new ArrayList<>());
+    }
+}
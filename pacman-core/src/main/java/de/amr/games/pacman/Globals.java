@@ -9,6 +9,8 @@ import de.amr.games.pacman.controller.GameController;
 import de.amr.games.pacman.event.GameEventManager;
 import de.amr.games.pacman.lib.Vector2f;
 import de.amr.games.pacman.lib.Vector2i;
+import de.amr.games.pacman.lib.tilemap.WorldMapLibrary;
+import de.amr.games.pacman.lib.timer.Profiler;
 import de.amr.games.pacman.model.GameException;
 import org.tinylog.Logger;
 
@@ -25,9 +27,11 @@ import static java.util.Objects.requireNonNull;
  */
 public interface Globals {
 
+    Profiler         THE_PROFILER = new Profiler();
+    WorldMapLibrary  THE_MAP_LIBRARY = new WorldMapLibrary();
     CoinMechanism    THE_COIN_MECHANISM = new CoinMechanism();
-    GameController   THE_GAME_CONTROLLER = new GameController();
     GameEventManager THE_GAME_EVENT_MANAGER = new GameEventManager();
+    GameController   THE_GAME_CONTROLLER = new GameController(THE_GAME_EVENT_MANAGER, THE_PROFILER);
     Random           THE_RNG = new Random();
 
     byte TICKS_PER_SECOND = 60;
@@ -48,6 +52,11 @@ public interface Globals {
      */
     File CUSTOM_MAP_DIR = new File(HOME_DIR, "maps");
 
+    /**
+     * Directory where input recordings of played games are stored (default: <code>&lt;home_directory&gt;/recordings</code>).
+     */
+    File RECORDINGS_DIR = new File(HOME_DIR, "recordings");
+
     static void checkDirectories() {
         String homeDirDesc = "Pac-Man FX home directory";
         String customMapDirDesc = "Pac-Man FX custom map directory";
@@ -4,19 +4,21 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.controller;
 
+import de.amr.games.pacman.event.GameEventManager;
 import de.amr.games.pacman.event.GameEventType;
 import de.amr.games.pacman.event.GameStateChangeEvent;
 import de.amr.games.pacman.lib.fsm.FiniteStateMachine;
+import de.amr.games.pacman.lib.timer.Profiler;
+import de.amr.games.pacman.lib.timer.TickScheduler;
+import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.GameModel;
 import de.amr.games.pacman.model.GameVariant;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
 
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
 
-import static de.amr.games.pacman.Globals.THE_GAME_EVENT_MANAGER;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -25,6 +27,9 @@ import static java.util.Objects.requireNonNull;
  * This is a finite-state machine ({@link FiniteStateMachine}) with states defined in {@link GameState}.
  * Each game variant ({@link GameVariant}) is represented by an instance of a game model ({@link GameModel}).
  * <p>Scene selection is not controlled by this class but left to the specific user interface implementations.
+ * <p>The controller owns the timers of the game states, publishes all events via its own event manager and records the
+ * state update durations in its own profiler, so several controllers (e.g. headless simulation sessions) can run
+ * independently of each other.
  * <ul>
  * <li>Exact level data for Ms. Pac-Man still not available. Any hints appreciated!
  * <li>Multiple players (1up, 2up) not implemented.</li>
@@ -37,25 +42,106 @@ import static java.util.Objects.requireNonNull;
  * behavior</a>
  * @see <a href="http://superpacman.com/mspacman/">Ms. Pac-Man</a>
  */
-public class GameController extends FiniteStateMachine<GameState, GameModel> {
+public class GameController extends FiniteStateMachine<GameState, GameController> {
 
     private final Map<GameVariant, GameModel> registeredGameModels = new EnumMap<>(GameVariant.class);
-    private final ObjectProperty<GameVariant> gameVariantPy = new SimpleObjectProperty<>();
+    private final Map<GameState, TickTimer> stateTimers = new EnumMap<>(GameState.class);
+    private final Map<GameState, Profiler.Phase> stateUpdatePhases = new EnumMap<>(GameState.class);
+    private final Map<String, Object> stateProperties = new HashMap<>(4);
+    private final TickScheduler scheduler = new TickScheduler();
+    private final GameEventManager eventManager;
+    private final Profiler profiler;
+    private GameVariant gameVariant;
 
-    public GameController() {
+    // written by the game thread only, read by metrics exporters
+    private volatile long updateCount;
+    private volatile long updateNanosTotal;
+    private volatile long lastUpdateNanos;
+
+    public GameController(GameEventManager eventManager, Profiler profiler) {
         super(GameState.values());
-        addStateChangeListener((oldState, newState) -> THE_GAME_EVENT_MANAGER.publishEvent(
+        this.eventManager = requireNonNull(eventManager);
+        this.profiler = requireNonNull(profiler);
+        for (GameState state : GameState.values()) {
+            stateTimers.put(state, new TickTimer("GameState-Timer-" + state.name()));
+            stateUpdatePhases.put(state, profiler.phase("GameState." + state.name()));
+        }
+        addStateChangeListener((oldState, newState) -> eventManager.publishEvent(
                 new GameStateChangeEvent(game(), oldState, newState)));
-        gameVariantPy.addListener((py, ov, newGameVariant) -> {
-            GameModel game = game(newGameVariant);
-            game.init();
-            THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.GAME_VARIANT_CHANGED);
-        });
     }
 
     @Override
-    public GameModel context() {
-        return game();
+    public GameController context() {
+        return this;
+    }
+
+    /**
+     * Runs the scheduled actions due at this tick, then updates the current state. The duration is profiled per game
+     * state (the state before the update) and counted for the metrics.
+     */
+    @Override
+    public void update() {
+        GameState updatedState = state();
+        long start = profiler.start();
+        long nanos = System.nanoTime();
+        scheduler.tick();
+        super.update();
+        nanos = System.nanoTime() - nanos;
+        stateUpdatePhases.get(updatedState).stop(start);
+        lastUpdateNanos = nanos;
+        updateNanosTotal += nanos;
+        ++updateCount;
+    }
+
+    /**
+     * @return number of updates (simulation steps) executed so far
+     */
+    public long updateCount() {
+        return updateCount;
+    }
+
+    /**
+     * @return accumulated duration (nanoseconds) of all updates
+     */
+    public long updateNanosTotal() {
+        return updateNanosTotal;
+    }
+
+    /**
+     * @return duration (nanoseconds) of the last update
+     */
+    public long lastUpdateNanos() {
+        return lastUpdateNanos;
+    }
+
+    /**
+     * Cancels all scheduled actions before restarting.
+     */
+    @Override
+    public void restart(GameState state) {
+        scheduler.cancelAll();
+        super.restart(state);
+    }
+
+    @Override
+    public TickTimer timer(GameState state) {
+        return stateTimers.get(state);
+    }
+
+    /**
+     * @return scheduler for scripted sequences, ticked with each update. States scheduling actions are responsible for
+     * cancelling them when they are exited.
+     */
+    public TickScheduler scheduler() {
+        return scheduler;
+    }
+
+    public GameEventManager eventManager() {
+        return eventManager;
+    }
+
+    public Profiler profiler() {
+        return profiler;
     }
 
     @SuppressWarnings("unchecked")
@@ -63,22 +149,52 @@ public class GameController extends FiniteStateMachine<GameState, GameModel> {
         return (T) registeredGameModels.get(requireNonNull(variant));
     }
 
+    /**
+     * Registers the game model for the given variant. The model publishes its events via this controller's event
+     * manager.
+     */
     public void registerGameModel(GameVariant variant, GameModel gameModel) {
-        registeredGameModels.put(requireNonNull(variant), requireNonNull(gameModel));
+        requireNonNull(gameModel).setEventManager(eventManager);
+        registeredGameModels.put(requireNonNull(variant), gameModel);
     }
 
     /**
      * @return The game (model) registered for the currently selected game variant.
      */
     public <GAME extends GameModel> GAME game() {
-        return game(gameVariantPy.get());
+        return game(gameVariant);
     }
 
     public Stream<GameModel> games() { return registeredGameModels.values().stream(); }
 
-    public ObjectProperty<GameVariant> gameVariantProperty() { return gameVariantPy; }
+    public GameVariant selectedGameVariant() { return gameVariant; }
+
+    /**
+     * Selects the given game variant. If the variant changes, the corresponding game model gets initialized and a
+     * {@link GameEventType#GAME_VARIANT_CHANGED} event is published.
+     *
+     * @param variant game variant to select
+     */
+    public void selectGameVariant(GameVariant variant) {
+        requireNonNull(variant);
+        if (variant != gameVariant) {
+            gameVariant = variant;
+            GameModel game = game(variant);
+            game.init();
+            eventManager.publishEvent(game, GameEventType.GAME_VARIANT_CHANGED);
+        }
+    }
 
     public boolean isGameVariantSelected(GameVariant gameVariant) {
-        return requireNonNull(gameVariant) == gameVariantPy.get();
+        return requireNonNull(gameVariant) == this.gameVariant;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getProperty(String key) {
+        return (T) stateProperties.get(key);
+    }
+
+    public void setProperty(String key, Object value) {
+        stateProperties.put(key, value);
     }
-}
\ No newline at end of file
+}
@@ -8,7 +8,7 @@ import de.amr.games.pacman.Globals;
 import de.amr.games.pacman.event.GameEventType;
 import de.amr.games.pacman.lib.fsm.FsmState;
 import de.amr.games.pacman.lib.timer.Pulse;
-import de.amr.games.pacman.lib.timer.TickTimer;
+import de.amr.games.pacman.lib.timer.TickScheduler;
 import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.GameModel;
 import de.amr.games.pacman.model.GameVariant;
@@ -17,12 +17,6 @@ import de.amr.games.pacman.model.actors.Bonus;
 import de.amr.games.pacman.model.actors.Ghost;
 import de.amr.games.pacman.model.actors.GhostState;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import static de.amr.games.pacman.Globals.THE_GAME_CONTROLLER;
-import static de.amr.games.pacman.Globals.THE_GAME_EVENT_MANAGER;
-
 /**
  * Game states of the Pac-Man game variants.
  * <p>
@@ -31,19 +25,20 @@ import static de.amr.games.pacman.Globals.THE_GAME_EVENT_MANAGER;
  *
  * @author Armin Reichert
  */
-public enum GameState implements FsmState<GameModel> {
+public enum GameState implements FsmState<GameController> {
 
     BOOT { // "Das muss das Boot abkönnen!"
         @Override
-        public void onEnter(GameModel game) {
-            timer.restartIndefinitely();
+        public void onEnter(GameController controller) {
+            GameModel game = controller.game();
+            controller.timer().restartIndefinitely();
             game.resetEverything();
         }
 
         @Override
-        public void onUpdate(GameModel game) {
-            if (timer.hasExpired()) {
-                THE_GAME_CONTROLLER.changeState(INTRO);
+        public void onUpdate(GameController controller) {
+            if (controller.timer().hasExpired()) {
+                controller.changeState(INTRO);
             }
         }
     },
@@ -51,14 +46,14 @@ public enum GameState implements FsmState<GameModel> {
 
     INTRO {
         @Override
-        public void onEnter(GameModel game) {
-            timer.restartIndefinitely();
+        public void onEnter(GameController controller) {
+            controller.timer().restartIndefinitely();
         }
 
         @Override
-        public void onUpdate(GameModel game) {
-            if (timer.hasExpired()) {
-                THE_GAME_CONTROLLER.changeState(STARTING_GAME);
+        public void onUpdate(GameController controller) {
+            if (controller.timer().hasExpired()) {
+                controller.changeState(STARTING_GAME);
             }
         }
     },
@@ -66,7 +61,7 @@ public enum GameState implements FsmState<GameModel> {
 
     SETTING_OPTIONS {
         @Override
-        public void onUpdate(GameModel game) {
+        public void onUpdate(GameController controller) {
             // wait for user interaction to leave state
         }
     },
@@ -74,14 +69,14 @@ public enum GameState implements FsmState<GameModel> {
 
     SHOWING_CREDITS {
         @Override
-        public void onEnter(GameModel context) {
-            timer.restartIndefinitely();
+        public void onEnter(GameController controller) {
+            controller.timer().restartIndefinitely();
         }
 
         @Override
-        public void onUpdate(GameModel context) {
-            if (timer.hasExpired()) {
-                THE_GAME_CONTROLLER.changeState(INTRO);
+        public void onUpdate(GameController controller) {
+            if (controller.timer().hasExpired()) {
+                controller.changeState(INTRO);
             }
         }
     },
@@ -94,53 +89,55 @@ public enum GameState implements FsmState<GameModel> {
         static final short TICK_RESUME_GAME              =  90;
 
         @Override
-        public void onEnter(GameModel game) {
-            THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.STOP_ALL_SOUNDS);
+        public void onEnter(GameController controller) {
+            GameModel game = controller.game();
+            controller.eventManager().publishEvent(game, GameEventType.STOP_ALL_SOUNDS);
         }
 
         @Override
-        public void onUpdate(GameModel game) {
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
             if (game.isPlaying()) {
                 // resume running game
-                if (timer.tickCount() == 1) {
+                if (controller.timer().tickCount() == 1) {
                     game.level().ifPresent(gameLevel -> gameLevel.showMessage(GameLevel.Message.READY));
                     game.letsGetReadyToRumble();
                     game.showPacAndGhosts();
-                } else if (timer.tickCount() == TICK_RESUME_GAME) {
-                    THE_GAME_CONTROLLER.changeState(GameState.HUNTING);
+                } else if (controller.timer().tickCount() == TICK_RESUME_GAME) {
+                    controller.changeState(GameState.HUNTING);
                 }
             }
             else if (game.canStartNewGame()) {
                 // start new game
-                if (timer.tickCount() == 1) {
+                if (controller.timer().tickCount() == 1) {
                     game.startNewGame();
                 }
-                else if (timer.tickCount() == 2) {
+                else if (controller.timer().tickCount() == 2) {
                     game.startLevel();
                 }
-                else if (timer.tickCount() == TICK_NEW_GAME_SHOW_GUYS) {
+                else if (controller.timer().tickCount() == TICK_NEW_GAME_SHOW_GUYS) {
                     game.showPacAndGhosts();
                 }
-                else if (timer.tickCount() == TICK_NEW_GAME_START_PLAYING) {
-                    game.playingProperty().set(true);
-                    THE_GAME_CONTROLLER.changeState(GameState.HUNTING);
+                else if (controller.timer().tickCount() == TICK_NEW_GAME_START_PLAYING) {
+                    game.setPlaying(true);
+                    controller.changeState(GameState.HUNTING);
                 }
             }
             else { // start demo level
-                if (timer.tickCount() == 1) {
+                if (controller.timer().tickCount() == 1) {
                     game.buildDemoLevel();
-                    THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.LEVEL_CREATED);
+                    controller.eventManager().publishEvent(game, GameEventType.LEVEL_CREATED);
                 }
-                else if (timer.tickCount() == 2) {
+                else if (controller.timer().tickCount() == 2) {
                     // This publishes a LEVEL_STARTED event which triggers the actor animation UI creation
                     game.startLevel();
                 }
-                else if (timer.tickCount() == 3) {
+                else if (controller.timer().tickCount() == 3) {
                     // Now, actor animations are available
                     game.showPacAndGhosts();
                 }
-                else if (timer.tickCount() == TICK_DEMO_LEVEL_START) {
-                    THE_GAME_CONTROLLER.changeState(GameState.HUNTING);
+                else if (controller.timer().tickCount() == TICK_DEMO_LEVEL_START) {
+                    controller.changeState(GameState.HUNTING);
                 }
             }
         }
@@ -148,20 +145,19 @@ public enum GameState implements FsmState<GameModel> {
 
 
     HUNTING {
-        int delay;
-
-        @Override
-        public void onEnter(GameModel game) {
-            delay = THE_GAME_CONTROLLER.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN) ? 60 : 0;
+        private int delay(GameController controller) {
+            return controller.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN) ? 60 : 0;
         }
 
         @Override
-        public void onUpdate(GameModel game) {
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
             GameLevel level = game.level().orElseThrow();
-            if (timer.tickCount() < delay) {
+            int delay = delay(controller);
+            if (controller.timer().tickCount() < delay) {
                 return;
             }
-            if (timer.tickCount() == delay) {
+            if (controller.timer().tickCount() == delay) {
                 game.startHunting();
                 if (level.message() != null && level.message() == GameLevel.Message.READY) {
                     level.clearMessage();
@@ -169,16 +165,17 @@ public enum GameState implements FsmState<GameModel> {
             }
             game.doHuntingStep();
             if (game.isLevelComplete()) {
-                THE_GAME_CONTROLLER.changeState(LEVEL_COMPLETE);
+                controller.changeState(LEVEL_COMPLETE);
             } else if (game.isPacManKilled()) {
-                THE_GAME_CONTROLLER.changeState(PACMAN_DYING);
+                controller.changeState(PACMAN_DYING);
             } else if (game.areGhostsKilled()) {
-                THE_GAME_CONTROLLER.changeState(GHOST_DYING);
+                controller.changeState(GHOST_DYING);
             }
         }
 
         @Override
-        public void onExit(GameModel game) {
+        public void onExit(GameController controller) {
+            GameModel game = controller.game();
             GameLevel level = game.level().orElseThrow();
             if (level.message() != null && level.message() == GameLevel.Message.READY) {
                 level.clearMessage();
@@ -189,25 +186,27 @@ public enum GameState implements FsmState<GameModel> {
 
     LEVEL_COMPLETE {
         @Override
-        public void onEnter(GameModel game) {
-            timer.restartIndefinitely(); // UI triggers timeout e.g. when animation finishes
+        public void onEnter(GameController controller) {
+            GameModel game = controller.game();
+            controller.timer().restartIndefinitely(); // UI triggers timeout e.g. when animation finishes
             game.endLevel();
         }
 
         @Override
-        public void onUpdate(GameModel game) {
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
             GameLevel level = game.level().orElseThrow();
-            if (THE_GAME_CONTROLLER.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN) && game.isDemoLevel()) {
-                THE_GAME_CONTROLLER.changeState(SHOWING_CREDITS);
+            if (controller.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN) && game.isDemoLevel()) {
+                controller.changeState(SHOWING_CREDITS);
                 return;
             }
-            if (timer.hasExpired()) {
+            if (controller.timer().hasExpired()) {
                 if (game.isDemoLevel()) { // just in case: if demo level is completed, go back to intro scene
-                    THE_GAME_CONTROLLER.changeState(INTRO);
-                } else if (game.cutScenesEnabledProperty().get() && level.cutSceneNumber() != 0) {
-                    THE_GAME_CONTROLLER.changeState(INTERMISSION);
+                    controller.changeState(INTRO);
+                } else if (game.isCutScenesEnabled() && level.cutSceneNumber() != 0) {
+                    controller.changeState(INTERMISSION);
                 } else {
-                    THE_GAME_CONTROLLER.changeState(LEVEL_TRANSITION);
+                    controller.changeState(LEVEL_TRANSITION);
                 }
             }
         }
@@ -216,15 +215,16 @@ public enum GameState implements FsmState<GameModel> {
 
     LEVEL_TRANSITION {
         @Override
-        public void onEnter(GameModel game) {
-            timer.restartSeconds(1);
+        public void onEnter(GameController controller) {
+            GameModel game = controller.game();
+            controller.timer().restartSeconds(1);
             game.startNextLevel();
         }
 
         @Override
-        public void onUpdate(GameModel game) {
-            if (timer.hasExpired()) {
-                THE_GAME_CONTROLLER.changeState(STARTING_GAME);
+        public void onUpdate(GameController controller) {
+            if (controller.timer().hasExpired()) {
+                controller.changeState(STARTING_GAME);
             }
         }
     },
@@ -232,30 +232,35 @@ public enum GameState implements FsmState<GameModel> {
 
     GHOST_DYING {
         @Override
-        public void onEnter(GameModel game) {
+        public void onEnter(GameController controller) {
+            GameModel game = controller.game();
             GameLevel level = game.level().orElseThrow();
-            timer.restartSeconds(1);
+            controller.timer().restartSeconds(1);
             level.pac().hide();
             level.ghosts().forEach(Ghost::stopAnimation);
-            THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.GHOST_EATEN);
+            controller.eventManager().publishEvent(game, GameEventType.GHOST_EATEN);
         }
 
         @Override
-        public void onUpdate(GameModel game) {
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
             GameLevel level = game.level().orElseThrow();
-            if (timer.hasExpired()) {
-                THE_GAME_CONTROLLER.resumePreviousState();
+            if (controller.timer().hasExpired()) {
+                controller.resumePreviousState();
             } else {
-                level.ghosts(GhostState.EATEN, GhostState.RETURNING_HOME, GhostState.ENTERING_HOUSE).forEach(ghost -> ghost.update(game));
+                long mask = level.ghostMask(GhostState.EATEN) | level.ghostMask(GhostState.RETURNING_HOME)
+                    | level.ghostMask(GhostState.ENTERING_HOUSE);
+                level.forEachGhost(mask, ghost -> ghost.update(game));
                 level.blinking().tick();
             }
         }
 
         @Override
-        public void onExit(GameModel game) {
+        public void onExit(GameController controller) {
+            GameModel game = controller.game();
             GameLevel level = game.level().orElseThrow();
             level.pac().show();
-            level.ghosts(GhostState.EATEN).forEach(ghost -> ghost.setState(GhostState.RETURNING_HOME));
+            level.forEachGhost(GhostState.EATEN, ghost -> ghost.setState(GhostState.RETURNING_HOME));
             level.ghosts().forEach(Ghost::startAnimation);
         }
     },
@@ -267,36 +272,38 @@ public enum GameState implements FsmState<GameModel> {
         static final int TICK_HIDE_PAC = 210;
 
         @Override
-        public void onEnter(GameModel game) {
-            timer.restartTicks(game.pacDyingTicks());
+        public void onEnter(GameController controller) {
+            GameModel game = controller.game();
+            controller.timer().restartTicks(game.pacDyingTicks());
             game.onPacKilled();
-            THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.STOP_ALL_SOUNDS);
+            controller.eventManager().publishEvent(game, GameEventType.STOP_ALL_SOUNDS);
         }
 
         @Override
-        public void onUpdate(GameModel game) {
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
             GameLevel level = game.level().orElseThrow();
-            if (timer.hasExpired()) {
+            if (controller.timer().hasExpired()) {
                 if (game.isDemoLevel()) {
-                    THE_GAME_CONTROLLER.changeState(GAME_OVER);
+                    controller.changeState(GAME_OVER);
                 } else {
                     game.loseLife();
-                    THE_GAME_CONTROLLER.changeState(game.isOver() ? GAME_OVER : STARTING_GAME);
+                    controller.changeState(game.isOver() ? GAME_OVER : STARTING_GAME);
                 }
             }
-            else if (timer.tickCount() == TICK_HIDE_GHOSTS) {
+            else if (controller.timer().tickCount() == TICK_HIDE_GHOSTS) {
                 level.ghosts().forEach(Ghost::hide);
                 //TODO this does not belong here
                 level.pac().selectAnimation(ActorAnimations.ANIM_PAC_DYING);
                 level.pac().resetAnimation();
             }
-            else if (timer.tickCount() == TICK_START_PAC_ANIMATION) {
+            else if (controller.timer().tickCount() == TICK_START_PAC_ANIMATION) {
                 level.pac().startAnimation();
-                THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.PAC_DYING, level.pac().tile());
+                controller.eventManager().publishEvent(game, GameEventType.PAC_DYING, level.pac().tile());
             }
-            else if (timer.tickCount() == TICK_HIDE_PAC) {
+            else if (controller.timer().tickCount() == TICK_HIDE_PAC) {
                 level.pac().hide();
-                THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.PAC_DEAD);
+                controller.eventManager().publishEvent(game, GameEventType.PAC_DEAD);
             }
             else {
                 level.blinking().tick();
@@ -305,7 +312,8 @@ public enum GameState implements FsmState<GameModel> {
         }
 
         @Override
-        public void onExit(GameModel game) {
+        public void onExit(GameController controller) {
+            GameModel game = controller.game();
             GameLevel level = game.level().orElseThrow();
             level.bonus().ifPresent(Bonus::setInactive);
         }
@@ -314,35 +322,38 @@ public enum GameState implements FsmState<GameModel> {
 
     GAME_OVER {
         @Override
-        public void onEnter(GameModel game) {
-            timer.restartTicks(game.gameOverStateTicks());
+        public void onEnter(GameController controller) {
+            GameModel game = controller.game();
+            controller.timer().restartTicks(game.gameOverStateTicks());
             game.endGame();
         }
 
         @Override
-        public void onUpdate(GameModel game) {
-            if (timer.hasExpired()) {
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
+            if (controller.timer().hasExpired()) {
                 //TODO find unified solution
-                if (THE_GAME_CONTROLLER.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN)) {
+                if (controller.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN)) {
                     if (game.isDemoLevel()) {
-                        THE_GAME_CONTROLLER.changeState(SHOWING_CREDITS);
+                        controller.changeState(SHOWING_CREDITS);
                     } else {
                         boolean canContinue = game.continueOnGameOver();
-                        THE_GAME_CONTROLLER.changeState(canContinue ? SETTING_OPTIONS : INTRO);
+                        controller.changeState(canContinue ? SETTING_OPTIONS : INTRO);
                     }
                 } else {
                     game.resetForStartingNewGame();
                     if (game.canStartNewGame()) {
-                        THE_GAME_CONTROLLER.changeState(SETTING_OPTIONS);
+                        controller.changeState(SETTING_OPTIONS);
                     } else {
-                        THE_GAME_CONTROLLER.changeState(INTRO);
+                        controller.changeState(INTRO);
                     }
                 }
             }
         }
 
         @Override
-        public void onExit(GameModel game) {
+        public void onExit(GameController controller) {
+            GameModel game = controller.game();
             game.level().ifPresent(GameLevel::clearMessage);
         }
     },
@@ -350,14 +361,15 @@ public enum GameState implements FsmState<GameModel> {
 
     INTERMISSION {
         @Override
-        public void onEnter(GameModel game) {
-            timer.restartIndefinitely();
+        public void onEnter(GameController controller) {
+            controller.timer().restartIndefinitely();
         }
 
         @Override
-        public void onUpdate(GameModel game) {
-            if (timer.hasExpired()) {
-                THE_GAME_CONTROLLER.changeState(game.isPlaying() ? LEVEL_TRANSITION : INTRO);
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
+            if (controller.timer().hasExpired()) {
+                controller.changeState(game.isPlaying() ? LEVEL_TRANSITION : INTRO);
             }
         }
     },
@@ -366,81 +378,90 @@ public enum GameState implements FsmState<GameModel> {
 
     TESTING_LEVELS {
 
-        private int lastTestedLevelNumber;
-
-        @Override
-        public void onEnter(GameModel game) {
-            lastTestedLevelNumber = 25;
-            if (THE_GAME_CONTROLLER.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN)) {
-                lastTestedLevelNumber = 32;
-            }
-            timer.restartIndefinitely();
-            game.resetForStartingNewGame();
-            game.createGameLevel(1);
-            game.startLevel();
-            game.showPacAndGhosts();
+        private int lastTestedLevelNumber(GameController controller) {
+            return controller.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN) ? 32 : 25;
         }
 
-        @Override
-        public void onUpdate(GameModel game) {
+        private void scheduleLevelTest(GameController controller) {
+            GameModel game = controller.game();
             GameLevel level = game.level().orElseThrow();
-            if (timer().tickCount() > 2 * Globals.TICKS_PER_SECOND) {
-                level.blinking().tick();
-                level.ghosts().forEach(ghost -> ghost.update(game));
-                level.bonus().ifPresent(bonus -> bonus.update(game));
-            }
-            if (timer().atSecond(1.0)) {
+            TickScheduler scheduler = controller.scheduler();
+            scheduler.scheduleSeconds(1.0, () -> {
                 game.letsGetReadyToRumble();
                 game.showPacAndGhosts();
-            }
-            else if (timer().atSecond(2)) {
+            });
+            scheduler.scheduleSeconds(2.0, () -> {
                 level.blinking().setStartPhase(Pulse.ON);
                 level.blinking().restart();
-            }
-            else if (timer().atSecond(2.5)) {
+            });
+            scheduler.scheduleSeconds(2.5, () -> {
                 level.clearMessage();
                 game.activateNextBonus();
-            }
-            else if (timer().atSecond(4.5)) {
+            });
+            scheduler.scheduleSeconds(4.5, () -> {
                 level.bonus().ifPresent(bonus -> bonus.setEaten(Globals.TICKS_PER_SECOND));
-                THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.BONUS_EATEN);
-            }
-            else if (timer().atSecond(6.5)) {
+                controller.eventManager().publishEvent(game, GameEventType.BONUS_EATEN);
+            });
+            scheduler.scheduleSeconds(6.5, () -> {
                 level.bonus().ifPresent(Bonus::setInactive); // needed?
                 game.activateNextBonus();
-            }
-            else if (timer().atSecond(7.5)) {
+            });
+            scheduler.scheduleSeconds(7.5, () -> {
                 level.bonus().ifPresent(bonus -> bonus.setEaten(Globals.TICKS_PER_SECOND));
-                THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.BONUS_EATEN);
-            }
-            else if (timer().atSecond(8.5)) {
+                controller.eventManager().publishEvent(game, GameEventType.BONUS_EATEN);
+            });
+            scheduler.scheduleSeconds(8.5, () -> {
                 game.hidePacAndGhosts();
                 level.blinking().stop();
                 level.blinking().setStartPhase(Pulse.ON);
                 level.blinking().reset();
-            }
-            else if (timer().atSecond(9.5)) {
-                setProperty("mazeFlashing", true); //TODO fix
+            });
+            scheduler.scheduleSeconds(9.5, () -> {
+                controller.setProperty("mazeFlashing", true); //TODO fix
                 level.blinking().setStartPhase(Pulse.OFF);
                 level.blinking().restart(2 * level.numFlashes());
-            }
-            else if (timer().atSecond(12.0)) {
-                setProperty("mazeFlashing", false); //TODO fix
+            });
+            scheduler.scheduleSeconds(12.0, () -> {
+                controller.setProperty("mazeFlashing", false); //TODO fix
                 level.blinking().reset();
                 level.pac().freeze();
                 level.bonus().ifPresent(Bonus::setInactive);
-                if (level.number() == lastTestedLevelNumber) {
-                    THE_GAME_CONTROLLER.restart(GameState.BOOT);
+                if (level.number() == lastTestedLevelNumber(controller)) {
+                    controller.restart(GameState.BOOT);
                 } else {
-                    timer().restartIndefinitely();
+                    controller.timer().restartIndefinitely();
                     game.startNextLevel();
+                    scheduleLevelTest(controller);
                 }
+            });
+        }
+
+        @Override
+        public void onEnter(GameController controller) {
+            GameModel game = controller.game();
+            controller.timer().restartIndefinitely();
+            game.resetForStartingNewGame();
+            game.createGameLevel(1);
+            game.startLevel();
+            game.showPacAndGhosts();
+            scheduleLevelTest(controller);
+        }
+
+        @Override
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
+            GameLevel level = game.level().orElseThrow();
+            if (controller.timer().tickCount() > 2 * Globals.TICKS_PER_SECOND) {
+                level.blinking().tick();
+                level.ghosts().forEach(ghost -> ghost.update(game));
+                level.bonus().ifPresent(bonus -> bonus.update(game));
             }
         }
 
         @Override
-        public void onExit(GameModel game) {
-            game.levelCounter().reset();
+        public void onExit(GameController controller) {
+            controller.scheduler().cancelAll();
+            controller.game().levelCounter().reset();
         }
     },
 
@@ -451,15 +472,14 @@ public enum GameState implements FsmState<GameModel> {
 
         static final int TEASER_TIME_SECONDS = 10;
 
-        private int lastTestedLevelNumber;
+        private int lastTestedLevelNumber(GameController controller) {
+            return controller.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN) ? 32 : 25;
+        }
 
         @Override
-        public void onEnter(GameModel game) {
-            lastTestedLevelNumber = 25;
-            if (THE_GAME_CONTROLLER.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN)) {
-                lastTestedLevelNumber = 32;
-            }
-            timer.restartSeconds(TEASER_TIME_SECONDS);
+        public void onEnter(GameController controller) {
+            GameModel game = controller.game();
+            controller.timer().restartSeconds(TEASER_TIME_SECONDS);
             game.resetForStartingNewGame();
             game.createGameLevel(1);
             game.startLevel();
@@ -470,85 +490,60 @@ public enum GameState implements FsmState<GameModel> {
         }
 
         @Override
-        public void onUpdate(GameModel game) {
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
             game.doHuntingStep();
             GameLevel level = game.level().orElseThrow();
-            if (timer().hasExpired()) {
-                if (level.number() == lastTestedLevelNumber) {
-                    THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.STOP_ALL_SOUNDS);
-                    THE_GAME_CONTROLLER.changeState(INTRO);
+            if (controller.timer().hasExpired()) {
+                if (level.number() == lastTestedLevelNumber(controller)) {
+                    controller.eventManager().publishEvent(game, GameEventType.STOP_ALL_SOUNDS);
+                    controller.changeState(INTRO);
                 } else {
                     level.pac().freeze();
                     level.bonus().ifPresent(Bonus::setInactive);
-                    setProperty("mazeFlashing", false);
+                    controller.setProperty("mazeFlashing", false);
                     level.blinking().reset();
                     game.startNextLevel();
-                    timer().restartSeconds(TEASER_TIME_SECONDS);
+                    controller.timer().restartSeconds(TEASER_TIME_SECONDS);
                 }
             }
             else if (game.isLevelComplete()) {
-                THE_GAME_CONTROLLER.changeState(INTRO);
+                controller.changeState(INTRO);
             } else if (game.isPacManKilled()) {
-                timer.expire();
+                controller.timer().expire();
             } else if (game.areGhostsKilled()) {
-                THE_GAME_CONTROLLER.changeState(GHOST_DYING);
+                controller.changeState(GHOST_DYING);
             }
         }
 
         @Override
-        public void onExit(GameModel game) {
-            game.levelCounter().reset();
+        public void onExit(GameController controller) {
+            controller.game().levelCounter().reset();
         }
     },
 
     TESTING_CUT_SCENES {
         @Override
-        public void onEnter(GameModel game) {
-            timer.restartIndefinitely();
-            setProperty("intermissionTestNumber", 1);
+        public void onEnter(GameController controller) {
+            controller.timer().restartIndefinitely();
+            controller.setProperty("intermissionTestNumber", 1);
         }
 
         @Override
-        public void onUpdate(GameModel game) {
-            if (timer.hasExpired()) {
-                int number = this.<Integer>getProperty("intermissionTestNumber");
-                int lastCutSceneNumber = THE_GAME_CONTROLLER.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN) ? 4 : 3;
+        public void onUpdate(GameController controller) {
+            GameModel game = controller.game();
+            if (controller.timer().hasExpired()) {
+                int number = controller.<Integer>getProperty("intermissionTestNumber");
+                int lastCutSceneNumber = controller.isGameVariantSelected(GameVariant.MS_PACMAN_TENGEN) ? 4 : 3;
                 if (number < lastCutSceneNumber) {
-                    setProperty("intermissionTestNumber", number + 1);
-                    timer.restartIndefinitely();
+                    controller.setProperty("intermissionTestNumber", number + 1);
+                    controller.timer().restartIndefinitely();
                     //TODO find another solution and get rid of this event type
-                    THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.UNSPECIFIED_CHANGE);
+                    controller.eventManager().publishEvent(game, GameEventType.UNSPECIFIED_CHANGE);
                 } else {
-                    THE_GAME_CONTROLLER.changeState(INTRO);
+                    controller.changeState(INTRO);
                 }
             }
         }
-    };
-
-    @Override
-    public TickTimer timer() {
-        return timer;
-    }
-
-    final TickTimer timer = new TickTimer("GameState-Timer-" + name());
-
-    //TODO replace property map by something leaner
-
-    private Map<String, Object> propertyMap;
-
-    @SuppressWarnings("unchecked")
-    public <T> T getProperty(String key) {
-        return (T) propertyMap().get(key);
-    }
-
-    public void setProperty(String key, Object value) {
-        propertyMap().put(key, value);
-    }
-
-    private Map<String, Object> propertyMap() {
-        if (propertyMap == null) {
-            propertyMap = new HashMap<>(4);
-        }
-        return propertyMap;
     }
-}
\ No newline at end of file
+}
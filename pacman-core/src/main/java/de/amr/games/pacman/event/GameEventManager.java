@@ -8,19 +8,87 @@ import de.amr.games.pacman.lib.Vector2i;
 import de.amr.games.pacman.model.GameModel;
 import org.tinylog.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Dispatches game events to the listeners subscribed for the event type.
+ * <p>
+ * Each event type has its own (copy-on-write) listener array, so publishing an event only visits the interested
+ * listeners and listeners may be added or removed while an event is dispatched. Events without extra data are
+ * immutable and cached per game model, type and tile, so publishing e.g. {@link GameEventType#PAC_FOUND_FOOD} for
+ * each eaten pellet does not allocate.
+ * </p>
+ * <p>
+ * In queued mode, events of the queued types are not dispatched when published but when
+ * {@link #dispatchQueuedEvents()} is called, e.g. by the UI once per rendered frame. This keeps listener code like
+ * sound or 3D animations out of the simulation step. Publishing an event of a non-queued type first dispatches all queued
+ * events, so listeners always receive the events in the order they were published.
+ * </p>
+ * <p>
+ * The event manager is not thread-safe, events must be published and dispatched by the same thread.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
 public class GameEventManager {
 
+    private static final GameEventType[] EVENT_TYPES = GameEventType.values();
+    private static final GameEventListener[] NO_LISTENERS = new GameEventListener[0];
+
+    private final GameEventListener[][] listenersByType = new GameEventListener[EVENT_TYPES.length][];
     private final List<GameEventListener> eventListeners = new ArrayList<>();
 
+    private final Set<GameEventType> queuedTypes = EnumSet.noneOf(GameEventType.class);
+    private GameEvent[] queue = new GameEvent[64];
+    private int queueHead;
+    private int queueSize;
+
+    private GameModel cachedEventsGame;
+    private final GameEvent[] cachedEvents = new GameEvent[EVENT_TYPES.length];
+    private final Map<GameEventType, Map<Vector2i, GameEvent>> cachedTileEvents = new EnumMap<>(GameEventType.class);
+
+    public GameEventManager() {
+        Arrays.fill(listenersByType, NO_LISTENERS);
+    }
+
+    /**
+     * Subscribes the listener to all event types.
+     *
+     * @param listener event listener
+     */
     public void addEventListener(GameEventListener listener) {
+        addEventListener(listener, EVENT_TYPES);
+    }
+
+    /**
+     * Subscribes the listener to the given event types. If the listener is already registered, it is additionally
+     * subscribed to those of the given types it does not receive yet.
+     *
+     * @param listener event listener
+     * @param types event types the listener receives
+     */
+    public void addEventListener(GameEventListener listener, GameEventType... types) {
         requireNonNull(listener);
-        if (!eventListeners.contains(listener)) {
+        requireNonNull(types);
+        boolean alreadyRegistered = eventListeners.contains(listener);
+        if (!alreadyRegistered) {
             eventListeners.add(listener);
+        }
+        for (GameEventType type : types) {
+            GameEventListener[] listeners = listenersByType[type.ordinal()];
+            if (Arrays.asList(listeners).contains(listener)) {
+                continue;
+            }
+            GameEventListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+            newListeners[listeners.length] = listener;
+            listenersByType[type.ordinal()] = newListeners;
+        }
+        if (alreadyRegistered) {
+            Logger.info("{}: Game event listener subscribed to {}: {}", getClass().getSimpleName(),
+                Arrays.toString(types), listener);
+        } else {
             Logger.info("{}: Game event listener registered: {}", getClass().getSimpleName(), listener);
         }
     }
@@ -29,27 +97,115 @@ public class GameEventManager {
         requireNonNull(listener);
         boolean removed = eventListeners.remove(listener);
         if (removed) {
+            for (int i = 0; i < listenersByType.length; ++i) {
+                listenersByType[i] = Arrays.stream(listenersByType[i])
+                    .filter(l -> l != listener)
+                    .toArray(GameEventListener[]::new);
+            }
             Logger.info("{}: Game event listener removed: {}", getClass().getSimpleName(), listener);
         } else {
             Logger.warn("{}: Game event listener not removed, as not registered: {}", getClass().getSimpleName(), listener);
         }
     }
 
+    /**
+     * Sets the event types that are queued until {@link #dispatchQueuedEvents()} is called. All other events are
+     * dispatched immediately. By default, no events are queued.
+     *
+     * @param types queued event types, may be empty
+     */
+    public void setQueuedEventTypes(Set<GameEventType> types) {
+        dispatchQueuedEvents();
+        queuedTypes.clear();
+        queuedTypes.addAll(types);
+    }
+
+    /**
+     * Dispatches all queued events in the order they were published. Events published by listeners during this call
+     * are dispatched too.
+     */
+    public void dispatchQueuedEvents() {
+        while (queueSize > 0) {
+            GameEvent event = queue[queueHead];
+            queue[queueHead] = null;
+            queueHead = (queueHead + 1) % queue.length;
+            --queueSize;
+            dispatch(event);
+        }
+    }
+
     public void publishEvent(GameEvent event) {
         requireNonNull(event);
-        eventListeners.forEach(subscriber -> subscriber.onGameEvent(event));
-        Logger.trace("Published game event: {}", event);
+        if (queuedTypes.contains(event.type)) {
+            enqueue(event);
+        } else {
+            dispatchQueuedEvents();
+            dispatch(event);
+        }
     }
 
     public void publishEvent(GameModel game, GameEventType type) {
         requireNonNull(game);
         requireNonNull(type);
-        publishEvent(new GameEvent(game, type));
+        publishEvent(cachedEvent(game, type));
     }
 
     public void publishEvent(GameModel game, GameEventType type, Vector2i tile) {
         requireNonNull(game);
         requireNonNull(type);
-        publishEvent(new GameEvent(game, type, tile));
+        publishEvent(tile != null ? cachedEvent(game, type, tile) : cachedEvent(game, type));
+    }
+
+    private void dispatch(GameEvent event) {
+        for (GameEventListener listener : listenersByType[event.type.ordinal()]) {
+            listener.onGameEvent(event);
+        }
+        Logger.trace("Published game event: {}", event);
+    }
+
+    private void enqueue(GameEvent event) {
+        if (queueSize == queue.length) {
+            var newQueue = new GameEvent[2 * queue.length];
+            for (int i = 0; i < queueSize; ++i) {
+                newQueue[i] = queue[(queueHead + i) % queue.length];
+            }
+            queue = newQueue;
+            queueHead = 0;
+        }
+        queue[(queueHead + queueSize) % queue.length] = event;
+        ++queueSize;
+    }
+
+    private void ensureEventCacheFor(GameModel game) {
+        if (game != cachedEventsGame) {
+            Arrays.fill(cachedEvents, null);
+            cachedTileEvents.clear();
+            cachedEventsGame = game;
+        }
+    }
+
+    private GameEvent cachedEvent(GameModel game, GameEventType type) {
+        ensureEventCacheFor(game);
+        GameEvent event = cachedEvents[type.ordinal()];
+        if (event == null) {
+            event = new GameEvent(game, type);
+            cachedEvents[type.ordinal()] = event;
+        }
+        return event;
+    }
+
+    private GameEvent cachedEvent(GameModel game, GameEventType type, Vector2i tile) {
+        ensureEventCacheFor(game);
+        Map<Vector2i, GameEvent> eventsByTile = cachedTileEvents.get(type);
+        if (eventsByTile == null) {
+            eventsByTile = new HashMap<>();
+            cachedTileEvents.put(type, eventsByTile);
+        }
+        GameEvent event = eventsByTile.get(tile);
+        if (event == null) {
+            event = new GameEvent(game, type, tile);
+            eventsByTile.put(tile, event);
+        }
+        return event;
     }
-}
\ No newline at end of file
+}
@@ -7,8 +7,11 @@ package de.amr.games.pacman.lib;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
 import java.util.stream.Stream;
 
+import static de.amr.games.pacman.Globals.THE_RNG;
+
 /**
  * The move directions inside the world.
  *
@@ -23,15 +26,23 @@ public enum Direction {
     }
 
     public static List<Direction> shuffled() {
+        return shuffled(THE_RNG);
+    }
+
+    /**
+     * @param random random generator used for shuffling
+     * @return list of all directions in random order
+     */
+    public static List<Direction> shuffled(RandomGenerator random) {
         List<Direction> dirs = Arrays.asList(values());
-        Collections.shuffle(dirs);
+        Collections.shuffle(dirs, random);
         return dirs;
     }
 
     private final Vector2i vector;
 
     Direction(int x, int y) {
-        vector = new Vector2i(x, y);
+        vector = Vector2i.of(x, y);
     }
 
     public Vector2i vector() {
@@ -13,9 +13,29 @@ import java.util.stream.Stream;
  */
 public record Vector2i(int x, int y) {
 
-    public static final Vector2i ZERO = new Vector2i(0, 0);
+    // Flyweight cache for tile coordinates. Covers all maps up to 112x112 tiles including a border of 16 tiles around
+    // them (portals, "tiles ahead" targets etc. are located outside the map).
+    private static final int CACHE_MIN = -16;
+    private static final int CACHE_SIZE = 128;
+    private static final Vector2i[] CACHE = new Vector2i[CACHE_SIZE * CACHE_SIZE];
+    static {
+        for (int i = 0; i < CACHE.length; ++i) {
+            CACHE[i] = new Vector2i(CACHE_MIN + i % CACHE_SIZE, CACHE_MIN + i / CACHE_SIZE);
+        }
+    }
+
+    public static final Vector2i ZERO = of(0, 0);
 
+    /**
+     * @param x x-coordinate
+     * @param y y-coordinate
+     * @return canonical instance for coordinates inside the cache range, new instance otherwise
+     */
     public static Vector2i of(int x, int y) {
+        int cx = x - CACHE_MIN, cy = y - CACHE_MIN;
+        if (0 <= cx && cx < CACHE_SIZE && 0 <= cy && cy < CACHE_SIZE) {
+            return CACHE[cy * CACHE_SIZE + cx];
+        }
         return new Vector2i(x, y);
     }
 
@@ -34,19 +54,19 @@ public record Vector2i(int x, int y) {
     }
 
     public Vector2i scaled(int s) {
-        return new Vector2i(s * x, s * y);
+        return of(s * x, s * y);
     }
 
     public Vector2f scaled(double s) { return new Vector2f((float)s * x, (float)s * y); }
 
-    public Vector2i inverse() { return new Vector2i(-x, -y); }
+    public Vector2i inverse() { return of(-x, -y); }
 
     public Vector2i plus(Vector2i v) {
-        return new Vector2i(x + v.x, y + v.y);
+        return of(x + v.x, y + v.y);
     }
 
     public Vector2i plus(int dx, int dy) {
-        return new Vector2i(x + dx, y + dy);
+        return of(x + dx, y + dy);
     }
 
     public Vector2f plus(float dx, float dy) {
@@ -54,11 +74,11 @@ public record Vector2i(int x, int y) {
     }
 
     public Vector2i minus(Vector2i v) {
-        return new Vector2i(x - v.x, y - v.y);
+        return of(x - v.x, y - v.y);
     }
 
     public Vector2i minus(int dx, int dy) {
-        return new Vector2i(x - dx, y - dy);
+        return of(x - dx, y - dy);
     }
 
     public Vector2f midpoint(Vector2i v) { return this.plus(v).scaled(0.5f); }
@@ -77,6 +97,19 @@ public record Vector2i(int x, int y) {
         return Stream.of(Direction.UP, Direction.RIGHT, Direction.DOWN, Direction.LEFT).map(dir -> this.plus(dir.vector()));
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true; // the common case for cached instances
+        }
+        return obj instanceof Vector2i v && x == v.x && y == v.y;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * x + y;
+    }
+
     @Override
     public String toString() {
         return String.format("(%2d,%2d)", x, y);
@@ -15,6 +15,6 @@ public record Waypoint(short x, short y) {
     }
 
     public Vector2i tile() {
-        return new Vector2i(x, y);
+        return Vector2i.of(x, y);
     }
 }
\ No newline at end of file
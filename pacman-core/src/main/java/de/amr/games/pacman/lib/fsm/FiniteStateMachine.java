@@ -66,6 +66,22 @@ public abstract class FiniteStateMachine<S extends FsmState<C>, C> {
         return prevState;
     }
 
+    /**
+     * Returns the timer of the given state. The state machine decides who owns the timers: the states themselves or,
+     * if several machines with the same states run in parallel, each machine instance.
+     *
+     * @param state a state of this machine
+     * @return the timer used for the given state
+     */
+    public abstract TickTimer timer(S state);
+
+    /**
+     * @return the timer of the current state
+     */
+    public TickTimer timer() {
+        return timer(currentState);
+    }
+
     /**
      * Adds a state change listener.
      *
@@ -89,7 +105,7 @@ public abstract class FiniteStateMachine<S extends FsmState<C>, C> {
      */
     public void resetTimers() {
         for (S state : states) {
-            state.timer().resetIndefiniteTime();
+            timer(state).resetIndefiniteTime();
         }
     }
 
@@ -109,7 +125,7 @@ public abstract class FiniteStateMachine<S extends FsmState<C>, C> {
      * Lets the timer of the current game state expire.
      */
     public void terminateCurrentState() {
-        state().timer().expire();
+        timer().expire();
     }
 
     /**
@@ -128,14 +144,14 @@ public abstract class FiniteStateMachine<S extends FsmState<C>, C> {
         C context = context();
         if (currentState != null) {
             currentState.onExit(context);
-            Logger.debug("Exit  state {} timer={}", currentState, currentState.timer());
+            Logger.debug("Exit  state {} timer={}", currentState, timer(currentState));
         }
         prevState = currentState;
         currentState = newState;
-        currentState.timer().resetIndefiniteTime();
-        Logger.debug("Enter state {} timer={}", currentState, currentState.timer());
+        timer(currentState).resetIndefiniteTime();
+        Logger.debug("Enter state {} timer={}", currentState, timer(currentState));
         currentState.onEnter(context);
-        Logger.debug("After Enter state {} timer={}", currentState, currentState.timer());
+        Logger.debug("After Enter state {} timer={}", currentState, timer(currentState));
         stateChangeListeners.forEach(listener -> listener.onStateChange(prevState, currentState));
     }
 
@@ -146,7 +162,7 @@ public abstract class FiniteStateMachine<S extends FsmState<C>, C> {
         if (prevState == null) {
             throw new IllegalStateException("State machine cannot resume previous state because there is none");
         }
-        Logger.debug("Resume state {}, timer= {}", prevState, prevState.timer());
+        Logger.debug("Resume state {}, timer= {}", prevState, timer(prevState));
         state().onExit(context());
         currentState = prevState;
     }
@@ -158,10 +174,10 @@ public abstract class FiniteStateMachine<S extends FsmState<C>, C> {
      */
     public void update() {
         currentState.onUpdate(context());
-        if (currentState.timer().state() == State.READY) {
-            currentState.timer().start();
+        if (timer(currentState).state() == State.READY) {
+            timer(currentState).start();
         } else {
-            currentState.timer().doTick();
+            timer(currentState).doTick();
         }
     }
 }
\ No newline at end of file
@@ -4,10 +4,9 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.lib.fsm;
 
-import de.amr.games.pacman.lib.timer.TickTimer;
-
 /**
- * Interface implemented by all states (enums) of a FSM. Each state has a timer.
+ * Interface implemented by all states (enums) of a FSM. The state timers are provided by the state machine, see
+ * {@link FiniteStateMachine#timer(FsmState)}.
  *
  * @param <C> the (context) type that the hook methods {@link #onEnter(C)}, {@link #onUpdate(C)}, {@link #onExit(C)} get
  *            passed as parameter
@@ -37,9 +36,4 @@ public interface FsmState<C> {
      */
     default void onExit(C context) {
     }
-
-    /**
-     * @return the timer of this state
-     */
-    TickTimer timer();
 }
\ No newline at end of file
@@ -3,7 +3,7 @@ package de.amr.games.pacman.lib.graph;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public enum Dir {
 	N, E, S, W;
@@ -14,13 +14,13 @@ public enum Dir {
 		return OPPOSITE[ordinal()];
 	}
 
-	public static Dir random() {
-		return values()[new Random().nextInt(4)];
+	public static Dir random(RandomGenerator random) {
+		return values()[random.nextInt(4)];
 	}
 
-	public static Iterable<Dir> shuffled() {
+	public static Iterable<Dir> shuffled(RandomGenerator random) {
 		List<Dir> dirs = Arrays.asList(Dir.values());
-		Collections.shuffle(dirs);
+		Collections.shuffle(dirs, random);
 		return dirs;
 	}
 }
\ No newline at end of file
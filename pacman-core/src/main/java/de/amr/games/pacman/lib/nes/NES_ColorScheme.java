@@ -4,6 +4,8 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.lib.nes;
 
+import java.util.random.RandomGenerator;
+
 import static de.amr.games.pacman.Globals.randomInt;
 
 /**
@@ -53,6 +55,11 @@ public enum NES_ColorScheme {
         return all[randomInt(0, all.length)];
     }
 
+    public static NES_ColorScheme random(RandomGenerator random) {
+        var all = NES_ColorScheme.values();
+        return all[random.nextInt(all.length)];
+    }
+
     public String fillColor() {
         return fillColor;
     }
@@ -9,28 +9,30 @@ import de.amr.games.pacman.lib.graph.DirMap;
 import de.amr.games.pacman.lib.graph.GridGraph;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 import java.util.stream.IntStream;
 
 public interface MazeGenerators {
 
     // Wilson
 
-    public static void createMazeByWilsonAlgorithm(GridGraph grid) {
+    public static void createMazeByWilsonAlgorithm(GridGraph grid, RandomGenerator random) {
         List<Integer> vertices = new ArrayList<>(IntStream.range(0, grid.numVertices()).boxed().toList());
-        Collections.shuffle(vertices);
+        Collections.shuffle(vertices, random);
         BitSet visited = new BitSet();
         visited.set(vertices.get(0));
         DirMap lastWalkDir = new DirMap();
         for (int vertex : vertices) {
-            loopErasedRandomWalk(grid, vertex, lastWalkDir, visited);
+            loopErasedRandomWalk(grid, vertex, lastWalkDir, visited, random);
         }
     }
 
-    private static void loopErasedRandomWalk(GridGraph grid, int start, DirMap lastWalkDir, BitSet visited) {
+    private static void loopErasedRandomWalk(GridGraph grid, int start, DirMap lastWalkDir, BitSet visited,
+                                             RandomGenerator random) {
         // random walk until a tree vertex is touched
         int vertex = start;
         while (!visited.get(vertex)) {
-            Dir walkDir = Dir.random();
+            Dir walkDir = Dir.random(random);
             int neighbor = grid.neighbor(vertex, walkDir);
             if (neighbor != -1) {
                 lastWalkDir.set(vertex, walkDir);
@@ -52,7 +54,7 @@ public interface MazeGenerators {
 
     // Recursive-Division
 
-    public static void createMazeByRecursiveDivision(GridGraph grid) {
+    public static void createMazeByRecursiveDivision(GridGraph grid, RandomGenerator random) {
         for (int row = 0; row < grid.numRows(); ++row) {
             for (int col = 0; col < grid.numCols(); ++col) {
                 int vertex = grid.vertex(row, col);
@@ -64,10 +66,10 @@ public interface MazeGenerators {
                 }
             }
         }
-        divide(grid, new Random(), 0, 0, grid.numCols(), grid.numRows());
+        divide(grid, random, 0, 0, grid.numCols(), grid.numRows());
     }
 
-    private static void divide(GridGraph grid, Random rnd, int x0, int y0, int w, int h) {
+    private static void divide(GridGraph grid, RandomGenerator rnd, int x0, int y0, int w, int h) {
         if (w <= 1 && h <= 1) {
             return;
         }
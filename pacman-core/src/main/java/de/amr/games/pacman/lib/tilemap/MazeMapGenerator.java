@@ -12,7 +12,8 @@ import de.amr.games.pacman.lib.graph.GridGraphImpl;
 import org.tinylog.Logger;
 
 import java.io.File;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class MazeMapGenerator {
 
@@ -21,10 +22,23 @@ public class MazeMapGenerator {
 
     private static final int EMPTY_ROWS_ABOVE = 3, EMPTY_ROWS_BELOW = 2;
 
+    private final RandomGenerator random;
+
+    public MazeMapGenerator() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * @param random random generator, pass a seeded generator to get reproducible maps
+     */
+    public MazeMapGenerator(RandomGenerator random) {
+        this.random = random;
+    }
+
     public WorldMap createMazeMap(int numRows, int numCols) {
         // create maze graph
         GridGraph graph = new GridGraphImpl(numRows, numCols);
-        MazeGenerators.createMazeByRecursiveDivision(graph);
+        MazeGenerators.createMazeByRecursiveDivision(graph, random);
 
         // create map from maze (3 times larger!)
         var map = new WorldMap(3 * numRows + EMPTY_ROWS_ABOVE + EMPTY_ROWS_BELOW, 3 * numCols);
@@ -106,7 +120,7 @@ public class MazeMapGenerator {
         for (int row = EMPTY_ROWS_ABOVE; row < map.numRows() - EMPTY_ROWS_BELOW; ++row) {
             for (int col = 0; col < map.numCols(); ++col) {
                 if (map.get(LayerID.TERRAIN, row, col) == TerrainTiles.EMPTY
-                        && new Random().nextInt(100) < 40) {
+                        && random.nextInt(100) < 40) {
                     map.set(LayerID.FOOD, row, col, FoodTiles.PELLET);
                 }
             }
@@ -9,9 +9,11 @@ import org.tinylog.Logger;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
-import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
@@ -27,18 +29,30 @@ import static java.util.Objects.requireNonNull;
  */
 public class WorldMap {
 
+    /**
+     * Layer data. The tile values are stored row-by-row in a single array, the value of tile (row, col) is at index
+     * {@code row * numCols + col} (see {@link #index(Vector2i)}).
+     */
     public static class Layer {
         private final Map<String, String> properties = new HashMap<>();
-        private byte[][] values;
+        private byte[] values;
+        // values array is also used by a copy of this layer and must be copied before modification. Maps shared between
+        // threads are marked before they are published (see markAsTemplate), so copying them does not write this field
+        private boolean shared;
 
         public Layer() {}
 
+        /**
+         * Creates a copy of the given layer. The tile values are shared until one of the two layers gets modified.
+         *
+         * @param other layer to copy
+         */
         public Layer(Layer other) {
-            int numRows = other.values.length, numCols = other.values[0].length;
             properties.putAll(other.properties);
-            values = new byte[numRows][];
-            for (int row = 0; row < numRows; ++row) {
-                values[row] = Arrays.copyOf(other.values[row], numCols);
+            values = other.values;
+            shared = true;
+            if (!other.shared) {
+                other.shared = true;
             }
         }
 
@@ -46,6 +60,14 @@ public class WorldMap {
             properties.clear();
             properties.putAll(otherProperties);
         }
+
+        private byte[] modifiableValues() {
+            if (shared) {
+                values = values.clone();
+                shared = false;
+            }
+            return values;
+        }
     }
 
     private static final Pattern TILE_PATTERN = Pattern.compile("\\((\\d+),(\\d+)\\)");
@@ -69,9 +91,9 @@ public class WorldMap {
     public static final String PROPERTY_COLOR_WALL_FILL          = "color_wall_fill";
     public static final String PROPERTY_COLOR_DOOR               = "color_door";
 
-    private static final String BEGIN_TERRAIN_LAYER = "!terrain";
-    private static final String BEGIN_FOOD_LAYER    = "!food";
-    private static final String BEGIN_DATA_SECTION  = "!data";
+    static final String BEGIN_TERRAIN_LAYER = "!terrain";
+    static final String BEGIN_FOOD_LAYER    = "!food";
+    static final String BEGIN_DATA_SECTION  = "!data";
 
     public static Optional<Vector2i> parseTile(String text) {
         requireNonNull(text);
@@ -82,7 +104,7 @@ public class WorldMap {
         try {
             int x = Integer.parseInt(m.group(1));
             int y = Integer.parseInt(m.group(2));
-            return Optional.of(new Vector2i(x, y));
+            return Optional.of(Vector2i.of(x, y));
         } catch (NumberFormatException x) {
             return Optional.empty();
         }
@@ -116,25 +138,123 @@ public class WorldMap {
         this.numCols = numCols;
         url = null;
         terrainLayer = new Layer();
-        terrainLayer.values = new byte[numRows][numCols];
+        terrainLayer.values = new byte[numRows * numCols];
         foodLayer = new Layer();
-        foodLayer.values = new byte[numRows][numCols];
+        foodLayer.values = new byte[numRows * numCols];
     }
 
     public WorldMap(URL url) throws IOException {
         this.url = requireNonNull(url);
-        var r = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8));
-        parse(r.lines());
+        try (var reader = new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)) {
+            setContent(WorldMapParser.parse(reader, url.toString()));
+        }
         updateObstacleList();
     }
 
     public WorldMap(File file) throws IOException {
         url = file.toURI().toURL();
-        var r = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8));
-        parse(r.lines());
+        try (var reader = new FileReader(file, StandardCharsets.UTF_8)) {
+            setContent(WorldMapParser.parse(reader, file.getPath()));
+        }
         updateObstacleList();
     }
 
+    /**
+     * Creates a map from text in the world map format.
+     *
+     * @param reader provides the map text, not closed by this method
+     * @param url URL of the map or {@code null}
+     * @throws WorldMapFormatException if the text contains no terrain data
+     */
+    public WorldMap(Reader reader, URL url) throws IOException {
+        this.url = url;
+        setContent(WorldMapParser.parse(reader, url != null ? url.toString() : "(unknown source)"));
+        updateObstacleList();
+    }
+
+    /**
+     * Creates a map from UTF-8 encoded text in the world map format, e.g. a memory-mapped file.
+     *
+     * @param utf8Text map text, read from the current position to the limit
+     * @param url URL of the map or {@code null}
+     * @throws WorldMapFormatException if the text contains no terrain data
+     */
+    public WorldMap(ByteBuffer utf8Text, URL url) throws IOException {
+        this.url = url;
+        setContent(WorldMapParser.parse(utf8Text, url != null ? url.toString() : "(unknown source)"));
+        updateObstacleList();
+    }
+
+    // used by binary format loader, obstacle list is computed if null
+    WorldMap(URL url, int numRows, int numCols, Map<String, String> terrainProperties, byte[] terrain,
+             Map<String, String> foodProperties, byte[] food, Set<Obstacle> obstacles) {
+        this.url = url;
+        setContent(numRows, numCols, terrainProperties, terrain, foodProperties, food);
+        if (obstacles != null) {
+            this.obstacles = obstacles;
+        } else {
+            updateObstacleList();
+        }
+    }
+
+    /**
+     * Marks the tile values of this map as shared before the map is handed out as template to other threads. Copies
+     * then share the tile values without modifying this map, and this map itself copies its values before modifying
+     * them.
+     */
+    void markAsTemplate() {
+        terrainLayer.shared = true;
+        foodLayer.shared = true;
+    }
+
+    /**
+     * Reads a map from a text or binary file. The format is detected from the header of the file, not from the file
+     * name. The file is memory-mapped.
+     *
+     * @param file map file
+     * @return the map
+     * @throws IOException if the file cannot be read or has an invalid format
+     */
+    public static WorldMap fromFile(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return fromBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file.toURI().toURL());
+        }
+    }
+
+    /**
+     * Reads a map in text (UTF-8) or binary format. The format is detected from the header of the data.
+     *
+     * @param data map data, read from the current position
+     * @param url URL of the map or {@code null}
+     * @return the map
+     * @throws IOException if the data has an invalid format
+     */
+    public static WorldMap fromBuffer(ByteBuffer data, URL url) throws IOException {
+        return WorldMapBinaryFormat.hasBinaryMapHeader(data)
+            ? WorldMapBinaryFormat.read(data, url)
+            : new WorldMap(data, url);
+    }
+
+    private void setContent(WorldMapParser.Result content) {
+        setContent(content.numRows(), content.numCols(),
+            content.terrainProperties(), content.terrain(), content.foodProperties(), content.food());
+    }
+
+    private void setContent(int numRows, int numCols, Map<String, String> terrainProperties, byte[] terrain,
+                            Map<String, String> foodProperties, byte[] food) {
+        if (terrain.length != numRows * numCols || food.length != numRows * numCols) {
+            throw new IllegalArgumentException("Layer data does not match map size %dx%d".formatted(numRows, numCols));
+        }
+        this.numRows = numRows;
+        this.numCols = numCols;
+        terrainLayer = new Layer();
+        terrainLayer.properties.putAll(terrainProperties);
+        terrainLayer.values = terrain;
+        foodLayer = new Layer();
+        foodLayer.properties.putAll(foodProperties);
+        foodLayer.values = food;
+    }
+
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder();
@@ -165,24 +285,18 @@ public class WorldMap {
         WorldMap newMap = new WorldMap(numRows + 1, numCols);
         newMap.terrainLayer.replaceProperties(terrainLayer.properties);
         newMap.foodLayer.replaceProperties(foodLayer.properties);
-        for (int row = 0; row < newMap.numRows; ++row) {
-            for (int col = 0; col < newMap.numCols; ++col) {
-                byte terrainValue = TerrainTiles.EMPTY;
-                byte foodValue = FoodTiles.EMPTY;
-                if (row < rowIndex) {
-                    terrainValue = get(TERRAIN, row, col);
-                    foodValue = get(FOOD, row, col);
-                } else if (row > rowIndex) {
-                    terrainValue = get(TERRAIN, row - 1, col);
-                    foodValue = get(FOOD, row - 1, col);
-                } else {
-                    if ((col == 0 || col == numCols - 1)
-                            && get(TERRAIN, row, col) == TerrainTiles.WALL_V) {
-                        terrainValue = TerrainTiles.WALL_V; // keep vertical border wall
-                    }
+        int offset = rowIndex * numCols, size = numRows * numCols;
+        for (LayerID layerID : LayerID.values()) {
+            byte[] values = layer(layerID).values, newValues = newMap.layer(layerID).values;
+            System.arraycopy(values, 0, newValues, 0, offset);
+            System.arraycopy(values, offset, newValues, offset + numCols, size - offset);
+        }
+        if (rowIndex < numRows) {
+            // keep vertical border walls
+            for (int col : new int[] {0, numCols - 1}) {
+                if (get(TERRAIN, rowIndex, col) == TerrainTiles.WALL_V) {
+                    newMap.set(TERRAIN, rowIndex, col, TerrainTiles.WALL_V);
                 }
-                newMap.set(TERRAIN, row, col, terrainValue);
-                newMap.set(FOOD, row, col, foodValue);
             }
         }
         return newMap;
@@ -195,16 +309,11 @@ public class WorldMap {
         WorldMap newMap = new WorldMap(numRows - 1, numCols);
         newMap.terrainLayer.replaceProperties(terrainLayer.properties);
         newMap.foodLayer.replaceProperties(foodLayer.properties);
-        for (int row = 0; row < newMap.numRows; ++row) {
-            for (int col = 0; col < newMap.numCols; ++col) {
-                if (row < rowIndexToDelete) {
-                    newMap.set(TERRAIN, row, col, get(TERRAIN, row, col));
-                    newMap.set(FOOD, row, col, get(FOOD, row, col));
-                } else {
-                    newMap.set(TERRAIN, row, col, get(TERRAIN, row + 1, col));
-                    newMap.set(FOOD, row, col, get(FOOD, row + 1, col));
-                }
-            }
+        int offset = rowIndexToDelete * numCols, size = numRows * numCols;
+        for (LayerID layerID : LayerID.values()) {
+            byte[] values = layer(layerID).values, newValues = newMap.layer(layerID).values;
+            System.arraycopy(values, 0, newValues, 0, offset);
+            System.arraycopy(values, offset + numCols, newValues, offset, size - offset - numCols);
         }
         return newMap;
     }
@@ -217,7 +326,7 @@ public class WorldMap {
         pw.println(BEGIN_DATA_SECTION);
         for (int row = 0; row < numRows; ++row) {
             for (int col = 0; col < numCols; ++col) {
-                byte value = layer.values[row][col];
+                byte value = layer.values[row * numCols + col];
                 pw.printf("#%02X", value);
                 if (col < numCols - 1) {
                     pw.print(",");
@@ -228,119 +337,6 @@ public class WorldMap {
         pw.flush();
     }
 
-    private void parse(Stream<String> rows) {
-        var terrainLayerRows = new ArrayList<String>();
-        var foodLayerRows = new ArrayList<String>();
-        boolean insideTerrainLayer = false, insideFoodLayer = false;
-        for (var row : rows.toList()) {
-            if (BEGIN_TERRAIN_LAYER.equals(row)) {
-                insideTerrainLayer = true;
-            } else if (BEGIN_FOOD_LAYER.equals(row)) {
-                insideTerrainLayer = false;
-                insideFoodLayer = true;
-            } else if (insideTerrainLayer) {
-                terrainLayerRows.add(row);
-            } else if (insideFoodLayer) {
-                foodLayerRows.add(row);
-            } else {
-                Logger.error("Line skipped: '{}'", row);
-            }
-        }
-        this.terrainLayer = parseTileMap(terrainLayerRows,
-            value -> 0 <= value && value <= TerrainTiles.MAX_VALUE, TerrainTiles.EMPTY);
-
-        this.foodLayer = parseTileMap(foodLayerRows,
-            value -> 0 <= value && value <= FoodTiles.ENERGIZER, FoodTiles.EMPTY);
-
-        numRows = this.terrainLayer.values.length;
-        numCols = this.terrainLayer.values[0].length;
-
-        // Replace obsolete terrain tile values
-        tiles().forEach(tile -> {
-            byte content = get(TERRAIN, tile);
-            byte newContent = switch (content) {
-                case TerrainTiles.OBSOLETE_DWALL_H -> TerrainTiles.WALL_H;
-                case TerrainTiles.OBSOLETE_DWALL_V -> TerrainTiles.WALL_V;
-                case TerrainTiles.OBSOLETE_DCORNER_NW -> TerrainTiles.ARC_NW;
-                case TerrainTiles.OBSOLETE_DCORNER_SW -> TerrainTiles.ARC_SW;
-                case TerrainTiles.OBSOLETE_DCORNER_SE -> TerrainTiles.ARC_SE;
-                case TerrainTiles.OBSOLETE_DCORNER_NE -> TerrainTiles.ARC_NE;
-                default -> content;
-            };
-            set(TERRAIN, tile, newContent);
-        });
-    }
-
-    private Layer parseTileMap(List<String> lines, Predicate<Byte> valueAllowed, byte emptyValue) {
-        // First pass: read property section and determine data section size
-        int numDataRows = 0, numDataCols = -1;
-        int dataStartIndex = -1;
-        StringBuilder propertySection = new StringBuilder();
-        for (int lineIndex = 0; lineIndex < lines.size(); ++lineIndex) {
-            String line = lines.get(lineIndex);
-            if (BEGIN_DATA_SECTION.equals(line)) {
-                dataStartIndex = lineIndex + 1;
-            }
-            else if (dataStartIndex == -1) {
-                propertySection.append(line).append("\n");
-            } else {
-                numDataRows++;
-                String[] columns = line.split(",");
-                if (numDataCols == -1) {
-                    numDataCols = columns.length;
-                } else if (columns.length != numDataCols) {
-                    Logger.error("Inconsistent tile map data: {} columns in line {}, expected {}",
-                            columns.length, lineIndex, numDataCols);
-                }
-            }
-        }
-        if (numDataRows == 0) {
-            Logger.error("Inconsistent tile map data: No data");
-        }
-
-        // Second pass: read data and build new tile map
-        var tileMap = new Layer();
-        tileMap.values = new byte[numDataRows][numDataCols];
-        tileMap.properties.putAll(parseProperties(propertySection.toString()));
-
-        for (int lineIndex = dataStartIndex; lineIndex < lines.size(); ++lineIndex) {
-            String line = lines.get(lineIndex);
-            int row = lineIndex -dataStartIndex;
-            String[] columns = line.split(",");
-            for (int col = 0; col < columns.length; ++col) {
-                String entry = columns[col].trim();
-                try {
-                    byte value = Byte.decode(entry);
-                    if (valueAllowed.test(value)) {
-                        tileMap.values[row][col] = value;
-                    } else {
-                        tileMap.values[row][col] = emptyValue;
-                        Logger.error("Invalid tile map value {} at row {}, col {}", value, row, col);
-                    }
-                } catch (NumberFormatException x) {
-                    Logger.error("Invalid tile map entry {} at row {}, col {}", entry, row, col);
-                }
-            }
-        }
-        return tileMap;
-    }
-
-    private Map<String, String> parseProperties(String text) {
-        var properties = new HashMap<String, String>();
-        String[] lines = text.split("\n");
-        for (String line : lines) {
-            if (line.startsWith("#")) continue;
-            String[] sides = line.split("=");
-            if (sides.length != 2) {
-                Logger.error("Invalid line inside property section: {}", line);
-            } else {
-                String lhs = sides[0].trim(), rhs = sides[1].trim();
-                properties.put(lhs, rhs);
-            }
-        }
-        return properties;
-    }
-
     public List<Vector2i> updateObstacleList() {
         List<Vector2i> tilesWithErrors = new ArrayList<>();
         obstacles = ObstacleBuilder.buildObstacles(this, tilesWithErrors);
@@ -410,6 +406,22 @@ public class WorldMap {
         return numCols * tile.y() + tile.x();
     }
 
+    /**
+     * @param row row inside map bounds
+     * @param col column inside map bounds
+     * @return index in row-by-row order
+     */
+    public int index(int row, int col) {
+        return numCols * row + col;
+    }
+
+    /**
+     * @return number of tiles of this map
+     */
+    public int numTiles() {
+        return numRows * numCols;
+    }
+
     /**
      * @return stream of all tiles of this map (row-by-row)
      */
@@ -431,7 +443,8 @@ public class WorldMap {
      * @return stream of all tiles of this map with given content (row-by-row)
      */
     public Stream<Vector2i> tilesContaining(LayerID layerID, byte content) {
-        return tiles().filter(tile -> get(layerID, tile) == content);
+        byte[] values = layer(layerID).values;
+        return IntStream.range(0, values.length).filter(index -> values[index] == content).mapToObj(this::tile);
     }
 
     public Vector2i vSymmetricTile(Vector2i tile) {
@@ -507,7 +520,7 @@ public class WorldMap {
         if (outOfBounds(row, col)) {
             throw new IllegalArgumentException(String.format("Illegal map coordinate row=%d col=%d", row, col));
         }
-        return layer(layerID).values[row][col];
+        return layer(layerID).values[index(row, col)];
     }
 
     /**
@@ -520,6 +533,20 @@ public class WorldMap {
         return get(layerID, tile.y(), tile.x());
     }
 
+    /**
+     * @param layerID Layer ID
+     * @param tileIndex tile index in row-by-row order (see {@link #index(Vector2i)})
+     * @return map data at tile index
+     * @throws IllegalArgumentException if index outside map bounds
+     */
+    public byte get(LayerID layerID, int tileIndex) {
+        requireNonNull(layerID);
+        if (tileIndex < 0 || tileIndex >= numTiles()) {
+            throw new IllegalArgumentException("Illegal tile index " + tileIndex);
+        }
+        return layer(layerID).values[tileIndex];
+    }
+
     /**
      * Sets map layer data at position inside map bounds.
      *
@@ -534,7 +561,7 @@ public class WorldMap {
         if (outOfBounds(row, col)) {
             throw new IllegalArgumentException(String.format("Illegal map coordinate row=%d col=%d", row, col));
         }
-        layer(layerID).values[row][col] = value;
+        layer(layerID).modifiableValues()[index(row, col)] = value;
     }
 
     /**
@@ -551,9 +578,7 @@ public class WorldMap {
 
     public void setAll(LayerID layerID, byte value) {
         requireNonNull(layerID);
-        for (byte[] row : layer(layerID).values) {
-            Arrays.fill(row, value);
-        }
+        Arrays.fill(layer(layerID).modifiableValues(), value);
     }
 
     public boolean isPartOfHouse(Vector2i tile) {
@@ -0,0 +1,322 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.lib.tilemap;
+
+import de.amr.games.pacman.lib.Vector2i;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compact binary format of world maps ({@code .bworld} files), loaded by memory-mapping the file.
+ * <p>
+ * Layout (big endian):
+ * <pre>
+ * magic       4 bytes  "PMWM"
+ * version     u16      {@link #VERSION}
+ * flags       u16      bit 0: obstacle list included
+ * numRows     u16
+ * numCols     u16
+ * properties  terrain layer, then food layer: count u16, (key, value)*, strings as u16 length + UTF-8 bytes
+ * terrain     u32 length + run-length encoded tiles in row-by-row order: (run length u8 1-255, value u8)*
+ * food        u32 length + tiles in row-by-row order, 2 bits per tile, first tile in the high bits of a byte
+ * obstacles   (if flag set) count u16, per obstacle: start x i16, start y i16, segment count u16,
+ *             per segment: vector x i16, vector y i16, counter-clockwise u8, encoding u8
+ * </pre>
+ * The obstacle list is stored as computed for the map (house placeholder removed), so loading a binary map does not
+ * run the {@link ObstacleBuilder}.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public final class WorldMapBinaryFormat {
+
+    public static final String FILE_EXTENSION = ".bworld";
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'P', 'M', 'W', 'M'};
+    private static final int FLAG_OBSTACLES = 1;
+    private static final int MAX_RUN_LENGTH = 255;
+    private static final int FOOD_TILES_PER_BYTE = 4;
+
+    private WorldMapBinaryFormat() {}
+
+    public static boolean isBinaryMapFile(File file) {
+        return file.getName().toLowerCase().endsWith(FILE_EXTENSION);
+    }
+
+    /**
+     * @param buffer buffer positioned at the start of the map data, position is not changed
+     * @return if the buffer starts with the magic bytes of the binary format
+     */
+    public static boolean hasBinaryMapHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; ++i) {
+            if (buffer.get(buffer.position() + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Writing
+
+    public static void write(WorldMap worldMap, Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            write(worldMap, out);
+        }
+    }
+
+    public static void write(WorldMap worldMap, OutputStream out) throws IOException {
+        requireNonNull(worldMap);
+        var data = new DataOutputStream(out);
+        data.write(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(FLAG_OBSTACLES);
+        data.writeShort(worldMap.numRows());
+        data.writeShort(worldMap.numCols());
+        writeProperties(worldMap, LayerID.TERRAIN, data);
+        writeProperties(worldMap, LayerID.FOOD, data);
+        writeBlock(encodeRuns(worldMap, LayerID.TERRAIN), data);
+        writeBlock(encodeFood(worldMap), data);
+        writeObstacles(worldMap.obstacles(), data);
+        data.flush();
+    }
+
+    /**
+     * @return binary representation of the map
+     */
+    public static byte[] toBytes(WorldMap worldMap) {
+        var bytes = new ByteArrayOutputStream(4096);
+        try {
+            write(worldMap, bytes);
+        } catch (IOException x) {
+            throw new UncheckedIOException(x); // not thrown by byte array streams
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeProperties(WorldMap worldMap, LayerID layerID, DataOutputStream data) throws IOException {
+        List<String> names = worldMap.propertyNames(layerID).toList();
+        data.writeShort(names.size());
+        for (String name : names) {
+            writeString(name, data);
+            writeString(worldMap.getProperty(layerID, name), data);
+        }
+    }
+
+    private static void writeString(String s, DataOutputStream data) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("String too long for binary map format: %d bytes".formatted(bytes.length));
+        }
+        data.writeShort(bytes.length);
+        data.write(bytes);
+    }
+
+    private static void writeBlock(byte[] block, DataOutputStream data) throws IOException {
+        data.writeInt(block.length);
+        data.write(block);
+    }
+
+    private static byte[] encodeRuns(WorldMap worldMap, LayerID layerID) {
+        var runs = new ByteArrayOutputStream(512);
+        int runLength = 0;
+        byte runValue = 0;
+        for (int index = 0; index < worldMap.numTiles(); ++index) {
+            byte value = worldMap.get(layerID, index);
+            if (runLength > 0 && (value != runValue || runLength == MAX_RUN_LENGTH)) {
+                runs.write(runLength);
+                runs.write(runValue);
+                runLength = 0;
+            }
+            runValue = value;
+            ++runLength;
+        }
+        if (runLength > 0) {
+            runs.write(runLength);
+            runs.write(runValue);
+        }
+        return runs.toByteArray();
+    }
+
+    private static byte[] encodeFood(WorldMap worldMap) {
+        int numTiles = worldMap.numTiles();
+        byte[] packed = new byte[(numTiles + FOOD_TILES_PER_BYTE - 1) / FOOD_TILES_PER_BYTE];
+        for (int index = 0; index < numTiles; ++index) {
+            int value = worldMap.get(LayerID.FOOD, index) & 0b11;
+            int shift = 6 - 2 * (index % FOOD_TILES_PER_BYTE);
+            packed[index / FOOD_TILES_PER_BYTE] |= (byte) (value << shift);
+        }
+        return packed;
+    }
+
+    private static void writeObstacles(Set<Obstacle> obstacles, DataOutputStream data) throws IOException {
+        data.writeShort(obstacles.size());
+        for (Obstacle obstacle : obstacles) {
+            data.writeShort(obstacle.startPoint().x());
+            data.writeShort(obstacle.startPoint().y());
+            data.writeShort(obstacle.numSegments());
+            for (ObstacleSegment segment : obstacle.segments()) {
+                data.writeShort(segment.vector().x());
+                data.writeShort(segment.vector().y());
+                data.writeByte(segment.ccw() ? 1 : 0);
+                data.writeByte(segment.encoding());
+            }
+        }
+    }
+
+    // Reading
+
+    /**
+     * Reads a binary map file by memory-mapping it.
+     *
+     * @param path path of a binary map file
+     * @return the map
+     * @throws IOException if the file cannot be read or has an invalid format
+     */
+    public static WorldMap read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, path.toUri().toURL());
+        }
+    }
+
+    /**
+     * @param buffer binary map data, read from the current position
+     * @param url URL of the map or {@code null}
+     * @return the map
+     * @throws IOException if the data has an invalid format
+     */
+    public static WorldMap read(ByteBuffer buffer, URL url) throws IOException {
+        String sourceName = url != null ? url.toString() : "(unknown source)";
+        if (!hasBinaryMapHeader(buffer)) {
+            throw new IOException("%s: Not a binary world map".formatted(sourceName));
+        }
+        try {
+            buffer.position(buffer.position() + MAGIC.length);
+            int version = Short.toUnsignedInt(buffer.getShort());
+            if (version != VERSION) {
+                throw new IOException("%s: Unsupported binary world map version %d (supported: %d)"
+                    .formatted(sourceName, version, VERSION));
+            }
+            int flags = Short.toUnsignedInt(buffer.getShort());
+            int numRows = Short.toUnsignedInt(buffer.getShort());
+            int numCols = Short.toUnsignedInt(buffer.getShort());
+            if (numRows == 0 || numCols == 0) {
+                throw new IOException("%s: Invalid map size %dx%d".formatted(sourceName, numRows, numCols));
+            }
+            Map<String, String> terrainProperties = readProperties(buffer);
+            Map<String, String> foodProperties = readProperties(buffer);
+            byte[] terrain = decodeRuns(sliceBlock(buffer), numRows * numCols, sourceName);
+            byte[] food = decodeFood(sliceBlock(buffer), numRows * numCols, sourceName);
+            Set<Obstacle> obstacles = (flags & FLAG_OBSTACLES) != 0 ? readObstacles(buffer, sourceName) : null;
+            return new WorldMap(url, numRows, numCols, terrainProperties, terrain, foodProperties, food, obstacles);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException x) {
+            throw new IOException("%s: Binary world map data is truncated".formatted(sourceName));
+        }
+    }
+
+    private static Map<String, String> readProperties(ByteBuffer buffer) {
+        int count = Short.toUnsignedInt(buffer.getShort());
+        var properties = new HashMap<String, String>();
+        for (int i = 0; i < count; ++i) {
+            String name = readString(buffer);
+            properties.put(name, readString(buffer));
+        }
+        return properties;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer sliceBlock(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        ByteBuffer block = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return block;
+    }
+
+    private static byte[] decodeRuns(ByteBuffer runs, int numTiles, String sourceName) throws IOException {
+        byte[] values = new byte[numTiles];
+        int index = 0;
+        while (runs.hasRemaining()) {
+            int runLength = Byte.toUnsignedInt(runs.get());
+            byte value = runs.get();
+            if (value < 0 || value > TerrainTiles.MAX_VALUE) {
+                throw new IOException("%s: Invalid terrain value %d at tile index %d"
+                    .formatted(sourceName, value, index));
+            }
+            if (index + runLength > numTiles) {
+                throw new IOException("%s: Terrain data exceeds map size".formatted(sourceName));
+            }
+            Arrays.fill(values, index, index + runLength, value);
+            index += runLength;
+        }
+        if (index != numTiles) {
+            throw new IOException("%s: Terrain data has %d tiles, expected %d".formatted(sourceName, index, numTiles));
+        }
+        return values;
+    }
+
+    private static byte[] decodeFood(ByteBuffer packed, int numTiles, String sourceName) throws IOException {
+        if (packed.remaining() != (numTiles + FOOD_TILES_PER_BYTE - 1) / FOOD_TILES_PER_BYTE) {
+            throw new IOException("%s: Food data size does not match map size".formatted(sourceName));
+        }
+        byte[] values = new byte[numTiles];
+        for (int index = 0; index < numTiles; ++index) {
+            int shift = 6 - 2 * (index % FOOD_TILES_PER_BYTE);
+            values[index] = (byte) ((packed.get(index / FOOD_TILES_PER_BYTE) >> shift) & 0b11);
+            if (values[index] > FoodTiles.ENERGIZER) {
+                throw new IOException("%s: Invalid food value %d at tile index %d"
+                    .formatted(sourceName, values[index], index));
+            }
+        }
+        return values;
+    }
+
+    private static Set<Obstacle> readObstacles(ByteBuffer buffer, String sourceName) throws IOException {
+        int count = Short.toUnsignedInt(buffer.getShort());
+        var obstacles = new LinkedHashSet<Obstacle>(2 * count);
+        for (int i = 0; i < count; ++i) {
+            var obstacle = new Obstacle(Vector2i.of(buffer.getShort(), buffer.getShort()));
+            int numSegments = Short.toUnsignedInt(buffer.getShort());
+            for (int s = 0; s < numSegments; ++s) {
+                Vector2i vector = Vector2i.of(buffer.getShort(), buffer.getShort());
+                boolean ccw = buffer.get() != 0;
+                byte encoding = buffer.get();
+                if (encoding < 0 || encoding > TerrainTiles.MAX_VALUE) {
+                    throw new IOException("%s: Invalid encoding %d of obstacle segment %d of obstacle %d"
+                        .formatted(sourceName, encoding, s, i));
+                }
+                obstacle.addSegment(vector, ccw, encoding);
+            }
+            obstacles.add(obstacle);
+        }
+        return obstacles;
+    }
+}
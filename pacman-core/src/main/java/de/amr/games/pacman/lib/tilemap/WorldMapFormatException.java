@@ -0,0 +1,44 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.lib.tilemap;
+
+import java.io.IOException;
+
+/**
+ * Thrown if a world map source cannot be parsed at all, e.g. because it has no terrain data.
+ *
+ * @author Armin Reichert
+ */
+public class WorldMapFormatException extends IOException {
+
+    private final String sourceName;
+    private final int line;
+    private final int column;
+
+    /**
+     * @param sourceName name of the map source, e.g. its URL
+     * @param line       line number (starting at 1)
+     * @param column     column number (starting at 1), 0 if the error concerns the whole line
+     * @param message    error description
+     */
+    public WorldMapFormatException(String sourceName, int line, int column, String message) {
+        super("%s (line %d, column %d): %s".formatted(sourceName, line, column, message));
+        this.sourceName = sourceName;
+        this.line = line;
+        this.column = column;
+    }
+
+    public String sourceName() {
+        return sourceName;
+    }
+
+    public int line() {
+        return line;
+    }
+
+    public int column() {
+        return column;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.lib.tilemap;
+
+import org.tinylog.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Loads world maps in parallel on background threads and caches the loaded maps.
+ * <p>
+ * A map is cached under its URL and a version stamp. For files, the version is derived from the modification time and
+ * the file size, so a changed file is read again while an unchanged one is taken from the cache. Other resources
+ * (e.g. maps inside a JAR) do not change while the application is running and are cached under their URL only.
+ * Concurrent requests for the same map share a single load.
+ * </p>
+ * <p>
+ * The cached maps are shared by all callers. They must be treated as templates and copied before they are modified,
+ * see {@link WorldMap#WorldMap(WorldMap)}.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class WorldMapLibrary {
+
+    private record Key(String url, long version) {}
+
+    private final ExecutorService executor;
+    private final Map<Key, CompletableFuture<WorldMap>> cache = new ConcurrentHashMap<>();
+
+    public WorldMapLibrary() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * @param numThreads number of loader threads
+     */
+    public WorldMapLibrary(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("Number of loader threads must be positive but is " + numThreads);
+        }
+        var threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(numThreads, runnable -> {
+            var thread = new Thread(runnable, "WorldMapLoader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param url URL of a text or binary map
+     * @return future providing the (shared) map. If the map cannot be loaded, the future completes exceptionally.
+     */
+    public CompletableFuture<WorldMap> load(URL url) {
+        requireNonNull(url);
+        var key = new Key(url.toExternalForm(), version(url));
+        CompletableFuture<WorldMap> loading = cache.computeIfAbsent(key,
+            k -> CompletableFuture.supplyAsync(() -> {
+                WorldMap worldMap = read(url);
+                worldMap.markAsTemplate();
+                return worldMap;
+            }, executor));
+        // an outdated version of this map is not needed anymore
+        cache.keySet().removeIf(other -> other.url().equals(key.url()) && other.version() != key.version());
+        loading.whenComplete((worldMap, x) -> {
+            if (x != null && cache.remove(key, loading)) {
+                Throwable cause = x instanceof CompletionException ? x.getCause() : x;
+                Logger.error(cause);
+                Logger.error("Could not load world map, url={}", url);
+            }
+        });
+        return loading;
+    }
+
+    /**
+     * @param file text or binary map file
+     * @return future providing the (shared) map. If the map cannot be loaded, the future completes exceptionally.
+     */
+    public CompletableFuture<WorldMap> load(File file) {
+        requireNonNull(file);
+        try {
+            return load(file.toURI().toURL());
+        } catch (MalformedURLException x) {
+            Logger.error("Could not load world map, file={}", file);
+            return CompletableFuture.failedFuture(x);
+        }
+    }
+
+    /**
+     * Reads the map file again, even if a map with the same version is cached. The version of a file is derived from
+     * its modification time and size, so it does not change if the file is rewritten within the resolution of the
+     * modification time and keeps its size (e.g. edited tiles of a text map).
+     *
+     * @param file text or binary map file known to be changed
+     * @return future providing the (shared) map. If the map cannot be loaded, the future completes exceptionally.
+     */
+    public CompletableFuture<WorldMap> reload(File file) {
+        requireNonNull(file);
+        try {
+            String url = file.toURI().toURL().toExternalForm();
+            cache.keySet().removeIf(key -> key.url().equals(url));
+        } catch (MalformedURLException x) {
+            Logger.error("Could not load world map, file={}", file);
+            return CompletableFuture.failedFuture(x);
+        }
+        return load(file);
+    }
+
+    /**
+     * Loads the given maps in parallel.
+     *
+     * @param urls map URLs
+     * @return future providing the successfully loaded maps in the order of the given URLs
+     */
+    public CompletableFuture<List<WorldMap>> loadAll(List<URL> urls) {
+        // failed loads are logged by load() and skipped here
+        List<CompletableFuture<WorldMap>> results = urls.stream()
+            .map(url -> load(url).exceptionally(x -> null))
+            .toList();
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> results.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * @return number of maps in the cache, including maps currently loading
+     */
+    public int cachedMapCount() {
+        return cache.size();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private static WorldMap read(URL url) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return WorldMap.fromFile(new File(url.toURI()));
+            }
+            // the format is detected from the data, not from the name
+            try (var in = url.openStream()) {
+                return WorldMap.fromBuffer(ByteBuffer.wrap(in.readAllBytes()), url);
+            }
+        } catch (IOException x) {
+            throw new UncheckedIOException(x);
+        } catch (URISyntaxException x) {
+            throw new IllegalArgumentException("Invalid map URL: " + url, x);
+        }
+    }
+
+    private static long version(URL url) {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                File file = new File(url.toURI());
+                return 31 * file.lastModified() + file.length();
+            } catch (URISyntaxException | IllegalArgumentException x) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,407 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.lib.tilemap;
+
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static de.amr.games.pacman.lib.tilemap.WorldMap.BEGIN_DATA_SECTION;
+import static de.amr.games.pacman.lib.tilemap.WorldMap.BEGIN_FOOD_LAYER;
+import static de.amr.games.pacman.lib.tilemap.WorldMap.BEGIN_TERRAIN_LAYER;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Single-pass parser for the text format of world maps ({@code .world} files):
+ * <pre>
+ * !terrain
+ * name=value
+ * ...
+ * !data
+ * #00,#01,...
+ * ...
+ * !food
+ * name=value
+ * ...
+ * !data
+ * #00,#01,...
+ * ...
+ * </pre>
+ * The source is read once through a small character buffer. Data cells ({@code #XX} hex, {@code 0xXX} hex or decimal
+ * values) are decoded directly from the buffer without creating strings, invalid values are replaced by the empty
+ * tile and obsolete terrain values are replaced by their current equivalent while reading. Recoverable errors are
+ * logged with line and column, a source without terrain data causes a {@link WorldMapFormatException}.
+ *
+ * @author Armin Reichert
+ */
+final class WorldMapParser {
+
+    // layer values are stored row-by-row
+    record Result(int numRows, int numCols, Map<String, String> terrainProperties, byte[] terrain,
+                  Map<String, String> foodProperties, byte[] food) {}
+
+    private interface Source {
+        /**
+         * @return number of characters stored into the buffer, -1 at end of input
+         */
+        int fill(char[] buffer) throws IOException;
+    }
+
+    private static final int EOF = -1;
+    private static final int INVALID = -1;
+    private static final int BUFFER_SIZE = 8192;
+
+    static Result parse(Reader reader, String sourceName) throws IOException {
+        requireNonNull(reader);
+        return new WorldMapParser(reader::read, sourceName).parse();
+    }
+
+    /**
+     * @param utf8Text   UTF-8 encoded map text, read from the current position to the limit
+     * @param sourceName source name used in error messages
+     */
+    static Result parse(ByteBuffer utf8Text, String sourceName) throws IOException {
+        requireNonNull(utf8Text);
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return new WorldMapParser(buffer -> {
+            CharBuffer out = CharBuffer.wrap(buffer);
+            CoderResult result = decoder.decode(utf8Text, out, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (out.position() == 0) {
+                decoder.flush(out);
+            }
+            return out.position() > 0 ? out.position() : EOF;
+        }, sourceName).parse();
+    }
+
+    // Collects the content of one layer
+    private static class LayerData {
+        final String name;
+        final int maxValue;
+        final boolean replaceObsoleteValues;
+        final Map<String, String> properties = new HashMap<>();
+        byte[] values = new byte[1024]; // row-by-row
+        int numRows;
+        int numCols = -1;
+        boolean insideDataSection;
+
+        LayerData(String name, int maxValue, boolean replaceObsoleteValues) {
+            this.name = name;
+            this.maxValue = maxValue;
+            this.replaceObsoleteValues = replaceObsoleteValues;
+        }
+    }
+
+    private final Source source;
+    private final String sourceName;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private boolean endOfInput;
+
+    // position of the last character read
+    private int line = 1;
+    private int column;
+
+    private final StringBuilder lineText = new StringBuilder(80);
+    private byte[] rowValues = new byte[128];
+    private LayerData terrainLayer;
+    private LayerData foodLayer;
+    private LayerData currentLayer;
+
+    private WorldMapParser(Source source, String sourceName) {
+        this.source = source;
+        this.sourceName = requireNonNull(sourceName);
+    }
+
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int n;
+        do {
+            n = source.fill(buffer);
+        } while (n == 0);
+        if (n == EOF) {
+            endOfInput = true;
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos];
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        char ch = buffer[pos++];
+        if (ch == '\n') {
+            ++line;
+            column = 0;
+        } else {
+            ++column;
+        }
+        return ch;
+    }
+
+    private void logError(int errorLine, int errorColumn, String message, Object... args) {
+        Logger.error("{} (line {}, column {}): {}", sourceName, errorLine, errorColumn, message.formatted(args));
+    }
+
+    private Result parse() throws IOException {
+        int ch;
+        while ((ch = peek()) != EOF) {
+            if (currentLayer != null && currentLayer.insideDataSection && ch != '!') {
+                parseDataRow(currentLayer);
+            } else {
+                parseLine();
+            }
+        }
+        if (terrainLayer == null || terrainLayer.numRows == 0) {
+            throw new WorldMapFormatException(sourceName, line, 0, "No terrain data found");
+        }
+        int numRows = terrainLayer.numRows, numCols = terrainLayer.numCols;
+        byte[] terrain = Arrays.copyOf(terrainLayer.values, numRows * numCols);
+        byte[] food;
+        Map<String, String> foodProperties;
+        if (foodLayer == null || foodLayer.numRows == 0) {
+            logError(line, 0, "No food data found, using empty food layer");
+            food = new byte[numRows * numCols];
+            foodProperties = foodLayer != null ? foodLayer.properties : new HashMap<>();
+        } else if (foodLayer.numRows == numRows && foodLayer.numCols == numCols) {
+            food = Arrays.copyOf(foodLayer.values, numRows * numCols);
+            foodProperties = foodLayer.properties;
+        } else {
+            logError(line, 0, "Food layer size %dx%d differs from terrain layer size %dx%d",
+                foodLayer.numRows, foodLayer.numCols, numRows, numCols);
+            food = new byte[numRows * numCols];
+            int copiedCols = Math.min(numCols, foodLayer.numCols);
+            for (int row = 0; row < Math.min(numRows, foodLayer.numRows); ++row) {
+                System.arraycopy(foodLayer.values, row * foodLayer.numCols, food, row * numCols, copiedCols);
+            }
+            foodProperties = foodLayer.properties;
+        }
+        return new Result(numRows, numCols, terrainLayer.properties, terrain, foodProperties, food);
+    }
+
+    // Reads a complete line that is not a data row: section header, property or comment
+    private void parseLine() throws IOException {
+        int startLine = line;
+        lineText.setLength(0);
+        int ch;
+        while ((ch = read()) != EOF && ch != '\n') {
+            lineText.append((char) ch);
+        }
+        if (!lineText.isEmpty() && lineText.charAt(lineText.length() - 1) == '\r') {
+            lineText.setLength(lineText.length() - 1);
+        }
+        if (BEGIN_TERRAIN_LAYER.contentEquals(lineText)) {
+            if (terrainLayer != null) {
+                logError(startLine, 1, "Terrain layer is defined twice, previous definition is discarded");
+            }
+            terrainLayer = new LayerData("terrain", TerrainTiles.MAX_VALUE, true);
+            currentLayer = terrainLayer;
+        } else if (BEGIN_FOOD_LAYER.contentEquals(lineText)) {
+            if (foodLayer != null) {
+                logError(startLine, 1, "Food layer is defined twice, previous definition is discarded");
+            }
+            foodLayer = new LayerData("food", FoodTiles.ENERGIZER, false);
+            currentLayer = foodLayer;
+        } else if (currentLayer == null) {
+            logError(startLine, 1, "Line outside of layer skipped: '%s'", lineText);
+        } else if (BEGIN_DATA_SECTION.contentEquals(lineText)) {
+            if (currentLayer.insideDataSection) {
+                logError(startLine, 1, "Data section of %s layer is defined twice", currentLayer.name);
+            }
+            currentLayer.insideDataSection = true;
+        } else if (currentLayer.insideDataSection) {
+            logError(startLine, 1, "Unknown section '%s' skipped", lineText);
+        } else {
+            parseProperty(startLine, currentLayer);
+        }
+    }
+
+    private void parseProperty(int propertyLine, LayerData layer) {
+        if (lineText.toString().isBlank() || lineText.charAt(0) == '#') {
+            return;
+        }
+        int eq = lineText.indexOf("=");
+        if (eq == -1 || eq != lineText.lastIndexOf("=") || eq == lineText.length() - 1) {
+            logError(propertyLine, 1, "Invalid line inside property section: '%s'", lineText);
+            return;
+        }
+        layer.properties.put(lineText.substring(0, eq).trim(), lineText.substring(eq + 1).trim());
+    }
+
+    // Decodes one data row cell by cell directly from the buffer
+    private void parseDataRow(LayerData layer) throws IOException {
+        int rowLine = line;
+        int col = 0;
+        int ch;
+        while (true) {
+            ch = skipSpaces();
+            if (ch == '\n' || ch == '\r' || ch == EOF) {
+                if (col == 0) {
+                    skipLineEnd(); // blank line
+                    return;
+                }
+                // empty cell at end of row, e.g. "#01,#02,"
+                logError(rowLine, column + 1, "Missing value");
+                storeValue(col++, 0);
+                break;
+            }
+            int cellColumn = column + 1;
+            int value = parseValue();
+            ch = skipSpaces();
+            if (ch != ',' && ch != '\n' && ch != '\r' && ch != EOF) {
+                value = INVALID;
+                while (ch != ',' && ch != '\n' && ch != EOF) {
+                    read();
+                    ch = peek();
+                }
+            }
+            if (value == INVALID) {
+                logError(rowLine, cellColumn, "Invalid %s layer entry", layer.name);
+                value = 0;
+            } else if (value > layer.maxValue) {
+                logError(rowLine, cellColumn, "Invalid %s layer value %d", layer.name, value);
+                value = 0;
+            } else if (layer.replaceObsoleteValues) {
+                value = replaceObsoleteTerrainValue((byte) value);
+            }
+            storeValue(col++, value);
+            if (ch == ',') {
+                read();
+            } else {
+                break;
+            }
+        }
+        skipLineEnd();
+        if (layer.numCols == -1) {
+            layer.numCols = col;
+        } else if (col != layer.numCols) {
+            logError(rowLine, 0, "Inconsistent %s layer data: %d columns, expected %d", layer.name, col, layer.numCols);
+        }
+        int offset = layer.numRows * layer.numCols;
+        if (offset + layer.numCols > layer.values.length) {
+            layer.values = Arrays.copyOf(layer.values, Math.max(2 * layer.values.length, offset + layer.numCols));
+        }
+        // missing cells of a short row are empty, they must not keep values of a previous row
+        int numValues = Math.min(col, layer.numCols);
+        System.arraycopy(rowValues, 0, layer.values, offset, numValues);
+        Arrays.fill(layer.values, offset + numValues, offset + layer.numCols, (byte) 0);
+        layer.numRows += 1;
+    }
+
+    private void storeValue(int col, int value) {
+        if (col == rowValues.length) {
+            rowValues = Arrays.copyOf(rowValues, 2 * col);
+        }
+        rowValues[col] = (byte) value;
+    }
+
+    private int skipSpaces() throws IOException {
+        int ch = peek();
+        while (ch == ' ' || ch == '\t') {
+            read();
+            ch = peek();
+        }
+        return ch;
+    }
+
+    private void skipLineEnd() throws IOException {
+        int ch = peek();
+        if (ch == '\r') {
+            read();
+            ch = peek();
+        }
+        if (ch == '\n') {
+            read();
+        }
+    }
+
+    /**
+     * Parses "#XX" (hex), "0xXX" (hex) or decimal value.
+     *
+     * @return parsed value (0-255) or {@link #INVALID}
+     */
+    private int parseValue() throws IOException {
+        int radix = 10;
+        int ch = peek();
+        if (ch == '#') {
+            read();
+            radix = 16;
+        } else if (ch == '0') {
+            read();
+            ch = peek();
+            if (ch == 'x' || ch == 'X') {
+                read();
+                radix = 16;
+            } else if (digitValue(ch, 10) == -1) {
+                return 0; // plain "0"
+            }
+        }
+        int value = 0, numDigits = 0;
+        int digit;
+        while ((digit = digitValue(peek(), radix)) != -1) {
+            read();
+            value = value * radix + digit;
+            if (value > 0xFF) {
+                value = 0x100; // keep out of range until the end of the digits
+            }
+            ++numDigits;
+        }
+        return numDigits > 0 && value <= 0xFF ? value : INVALID;
+    }
+
+    private static int digitValue(int ch, int radix) {
+        if ('0' <= ch && ch <= '9') {
+            return ch - '0';
+        }
+        if (radix == 16) {
+            if ('A' <= ch && ch <= 'F') {
+                return ch - 'A' + 10;
+            }
+            if ('a' <= ch && ch <= 'f') {
+                return ch - 'a' + 10;
+            }
+        }
+        return -1;
+    }
+
+    private static byte replaceObsoleteTerrainValue(byte value) {
+        return switch (value) {
+            case TerrainTiles.OBSOLETE_DWALL_H -> TerrainTiles.WALL_H;
+            case TerrainTiles.OBSOLETE_DWALL_V -> TerrainTiles.WALL_V;
+            case TerrainTiles.OBSOLETE_DCORNER_NW -> TerrainTiles.ARC_NW;
+            case TerrainTiles.OBSOLETE_DCORNER_SW -> TerrainTiles.ARC_SW;
+            case TerrainTiles.OBSOLETE_DCORNER_SE -> TerrainTiles.ARC_SE;
+            case TerrainTiles.OBSOLETE_DCORNER_NE -> TerrainTiles.ARC_NE;
+            default -> value;
+        };
+    }
+}
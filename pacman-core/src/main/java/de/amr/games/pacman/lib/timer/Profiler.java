@@ -0,0 +1,215 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.lib.timer;
+
+import org.tinylog.Logger;
+
+import java.io.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Measures the durations of named phases (simulation step, view update, drawing etc.).
+ * <p>
+ * Usage:
+ * <pre>
+ * static final Profiler.Phase PHASE_UPDATE = THE_PROFILER.phase("Update");
+ * ...
+ * long start = THE_PROFILER.start();
+ * update();
+ * PHASE_UPDATE.stop(start);
+ * </pre>
+ * When the profiler is disabled (default), {@link #start()} returns 0 and {@link Phase#stop(long)} does nothing, so
+ * profiled code runs at (almost) no cost. When enabled, durations are recorded into a {@link TimingHistogram} per
+ * phase. A background thread closes the current time window periodically (default: every second) and computes the
+ * statistics of each phase for the closed window. Optionally, these statistics are appended to a dump file as one JSON
+ * object per line.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class Profiler {
+
+    /**
+     * Statistics of a phase over one time window. Durations are given in nanoseconds.
+     */
+    public record Stats(long count, long mean, long p50, long p99, long max) {
+        public static final Stats NONE = new Stats(0, 0, 0, 0, 0);
+
+        @Override
+        public String toString() {
+            return count == 0 ? "-" : "p50 %.2f p99 %.2f max %.2f ms (n=%d)".formatted(
+                p50 / 1e6, p99 / 1e6, max / 1e6, count);
+        }
+    }
+
+    public static class Phase {
+        private final String name;
+        private volatile TimingHistogram recording = new TimingHistogram();
+        private TimingHistogram spare = new TimingHistogram();
+        private volatile Stats stats = Stats.NONE;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /**
+         * @return statistics of the last closed time window
+         */
+        public Stats stats() {
+            return stats;
+        }
+
+        /**
+         * Records the time elapsed since the given start time.
+         *
+         * @param startTime value returned by {@link Profiler#start()}
+         */
+        public void stop(long startTime) {
+            if (startTime != 0) {
+                recording.record(System.nanoTime() - startTime);
+            }
+        }
+
+        private void closeWindow() {
+            TimingHistogram closed = recording;
+            spare.reset();
+            recording = spare;
+            spare = closed;
+            stats = new Stats(closed.count(), closed.mean(), closed.percentile(50), closed.percentile(99), closed.max());
+        }
+    }
+
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private volatile boolean enabled;
+    private long windowMillis = 1000;
+    private File dumpFile;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> windowTask;
+
+    /**
+     * @param name phase name
+     * @return the phase with this name, created if not existing
+     */
+    public synchronized Phase phase(String name) {
+        requireNonNull(name);
+        return phases.computeIfAbsent(name, Phase::new);
+    }
+
+    /**
+     * @return all phases in order of creation
+     */
+    public synchronized List<Phase> phases() {
+        return new ArrayList<>(phases.values());
+    }
+
+    /**
+     * @return current time in nanoseconds if the profiler is enabled, 0 otherwise
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+        this.enabled = enabled;
+        if (enabled) {
+            if (scheduler == null) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    var thread = new Thread(runnable, "Profiler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            windowTask = scheduler.scheduleAtFixedRate(this::closeWindow, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+            Logger.info("Profiler enabled, window {} ms", windowMillis);
+        } else {
+            windowTask.cancel(false);
+            windowTask = null;
+            Logger.info("Profiler disabled");
+        }
+    }
+
+    /**
+     * @param millis length of the time window over which statistics are computed, takes effect when (re-)enabled
+     */
+    public synchronized void setWindowMillis(long millis) {
+        if (millis < 10) {
+            throw new IllegalArgumentException("Profiler window must be at least 10 milliseconds but is " + millis);
+        }
+        windowMillis = millis;
+    }
+
+    /**
+     * @param file file to which the statistics of each closed window are appended (JSON lines) or {@code null}
+     */
+    public synchronized void setDumpFile(File file) {
+        dumpFile = file;
+        if (file != null) {
+            Logger.info("Profiler statistics are appended to {}", file);
+        }
+    }
+
+    public synchronized File dumpFile() {
+        return dumpFile;
+    }
+
+    private void closeWindow() {
+        List<Phase> allPhases;
+        File file;
+        synchronized (this) {
+            allPhases = new ArrayList<>(phases.values());
+            file = dumpFile;
+        }
+        allPhases.forEach(Phase::closeWindow);
+        if (file != null) {
+            try (var out = new PrintWriter(new FileWriter(file, true))) {
+                out.println(toJSON(allPhases));
+            } catch (IOException x) {
+                Logger.error("Could not write profiler statistics to {}: {}", file, x.getMessage());
+            }
+        }
+    }
+
+    private String toJSON(List<Phase> allPhases) {
+        var sb = new StringBuilder();
+        sb.append("{\"time\":\"").append(Instant.now()).append("\",\"windowMillis\":").append(windowMillis);
+        sb.append(",\"phases\":[");
+        for (int i = 0; i < allPhases.size(); ++i) {
+            Phase phase = allPhases.get(i);
+            Stats stats = phase.stats();
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"name\":\"").append(phase.name().replace("\"", "\\\"")).append('"')
+                .append(",\"count\":").append(stats.count())
+                .append(",\"meanNanos\":").append(stats.mean())
+                .append(",\"p50Nanos\":").append(stats.p50())
+                .append(",\"p99Nanos\":").append(stats.p99())
+                .append(",\"maxNanos\":").append(stats.max())
+                .append('}');
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.lib.timer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs one-shot actions at given ticks, e.g. the steps of a scripted sequence.
+ * <p>
+ * Usage:
+ * <pre>
+ * scheduler.scheduleSeconds(1.0, () -> showGuys());
+ * scheduler.scheduleSeconds(2.5, () -> startBlinking());
+ * ...
+ * scheduler.tick(); // once per simulation step
+ * </pre>
+ * Tasks are kept in a hashed timer wheel: each slot holds the tasks whose due tick maps to that slot. A tick only
+ * visits one slot, so the cost per tick is proportional to the number of tasks in that slot (the due tasks and the
+ * tasks that are due some wheel rounds later), not to the number of all scheduled tasks. Tasks due at the same tick
+ * run in the order they were scheduled. Actions may schedule new tasks or cancel tasks.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class TickScheduler {
+
+    public static final class Task {
+        private final long dueTick;
+        private final Runnable action;
+        private Task next;
+        private boolean cancelled;
+        private boolean executed;
+
+        private Task(long dueTick, Runnable action) {
+            this.dueTick = dueTick;
+            this.action = action;
+        }
+
+        public long dueTick() {
+            return dueTick;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        /**
+         * Cancels this task. If it is not yet executed, it will not be executed anymore.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static final int DEFAULT_NUM_SLOTS = 256;
+
+    private final Task[] heads;
+    private final Task[] tails;
+    private final int slotMask;
+    private Task dueTasks; // tasks being executed in the current tick
+    private long currentTick;
+    private int numPending;
+
+    public TickScheduler() {
+        this(DEFAULT_NUM_SLOTS);
+    }
+
+    /**
+     * @param numSlots number of wheel slots, must be a power of 2
+     */
+    public TickScheduler(int numSlots) {
+        if (numSlots < 1 || Integer.bitCount(numSlots) != 1) {
+            throw new IllegalArgumentException("Number of slots must be a power of 2 but is " + numSlots);
+        }
+        heads = new Task[numSlots];
+        tails = new Task[numSlots];
+        slotMask = numSlots - 1;
+    }
+
+    /**
+     * @return number of ticks executed so far
+     */
+    public long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return number of scheduled tasks that are not yet executed, including cancelled tasks not yet discarded
+     */
+    public int numPending() {
+        return numPending;
+    }
+
+    /**
+     * Schedules an action to run after the given number of ticks. A delay of 0 is treated as a delay of 1, i.e. the
+     * action runs in the next tick.
+     *
+     * @param delayTicks delay in ticks
+     * @param action action to run
+     * @return the scheduled task
+     */
+    public Task schedule(long delayTicks, Runnable action) {
+        if (delayTicks < 0) {
+            throw new IllegalArgumentException("Invalid delay: " + delayTicks);
+        }
+        return scheduleAt(currentTick + Math.max(delayTicks, 1), action);
+    }
+
+    /**
+     * @param seconds delay in seconds (60 ticks per second)
+     * @param action action to run
+     * @return the scheduled task
+     */
+    public Task scheduleSeconds(double seconds, Runnable action) {
+        return schedule(TickTimer.secToTicks(seconds), action);
+    }
+
+    /**
+     * @param tick tick at which the action is run, must be later than the current tick
+     * @param action action to run
+     * @return the scheduled task
+     */
+    public Task scheduleAt(long tick, Runnable action) {
+        requireNonNull(action);
+        if (tick <= currentTick) {
+            throw new IllegalArgumentException("Tick %d is not after current tick %d".formatted(tick, currentTick));
+        }
+        var task = new Task(tick, action);
+        int slot = (int) (tick & slotMask);
+        if (heads[slot] == null) {
+            heads[slot] = task;
+        } else {
+            tails[slot].next = task;
+        }
+        tails[slot] = task;
+        ++numPending;
+        return task;
+    }
+
+    /**
+     * Cancels and discards all scheduled tasks.
+     */
+    public void cancelAll() {
+        for (int slot = 0; slot < heads.length; ++slot) {
+            for (Task task = heads[slot]; task != null; task = task.next) {
+                task.cancel();
+            }
+            heads[slot] = tails[slot] = null;
+        }
+        for (Task task = dueTasks; task != null; task = task.next) {
+            task.cancel();
+        }
+        numPending = 0;
+    }
+
+    /**
+     * Advances the scheduler by one tick and runs the actions of all tasks due at the new tick.
+     */
+    public void tick() {
+        ++currentTick;
+        int slot = (int) (currentTick & slotMask);
+
+        // detach due and cancelled tasks from the slot list, keep the due ones in a separate list
+        Task dueHead = null, dueTail = null, prev = null;
+        Task task = heads[slot];
+        while (task != null) {
+            Task next = task.next;
+            if (task.cancelled || task.dueTick == currentTick) {
+                if (prev == null) {
+                    heads[slot] = next;
+                } else {
+                    prev.next = next;
+                }
+                if (tails[slot] == task) {
+                    tails[slot] = prev;
+                }
+                task.next = null;
+                --numPending;
+                if (!task.cancelled) {
+                    if (dueHead == null) {
+                        dueHead = task;
+                    } else {
+                        dueTail.next = task;
+                    }
+                    dueTail = task;
+                }
+            } else {
+                prev = task;
+            }
+            task = next;
+        }
+
+        // actions can schedule new tasks and cancel tasks, even the due tasks not yet executed
+        dueTasks = dueHead;
+        try {
+            while (dueTasks != null) {
+                Task due = dueTasks;
+                if (!due.cancelled) {
+                    due.executed = true;
+                    due.action.run();
+                }
+                dueTasks = due.next;
+                due.next = null;
+            }
+        } finally {
+            dueTasks = null;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.model;
+
+import de.amr.games.pacman.model.actors.Actor2D;
+import de.amr.games.pacman.model.actors.Ghost;
+
+import java.util.Arrays;
+
+import static de.amr.games.pacman.Globals.TS;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Broad-phase collision index of a game level: for each tile, the ghosts occupying it.
+ * <p>
+ * Each tile stores a bit mask of the IDs of the ghosts whose tile it is (same bit numbering as
+ * {@link GameLevel#ghostMask}). The index is updated when a ghost has entered a new tile, so finding the ghosts that
+ * collide with an actor only has to look at the tile of the actor (policy {@link Policy#SAME_TILE}) or at the tiles
+ * around it (policy {@link Policy#PIXEL_DISTANCE}), not at all ghosts. Ghosts outside the world (inside a portal) are
+ * kept in a separate mask and checked individually.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class CollisionIndex {
+
+    public enum Policy {
+        /** Actors collide if they are located in the same tile (Arcade behavior). */
+        SAME_TILE,
+        /** Actors collide if the distance of their positions does not exceed a given number of pixels (at most 1 tile). */
+        PIXEL_DISTANCE
+    }
+
+    private static final int NOT_INDEXED = -1;
+    private static final int OUTSIDE = -2;
+
+    private final GameLevel level;
+    private final int numCols;
+    private final int numRows;
+    private final long[] ghostsByTile;
+    private final int[] tileIndexByGhost = new int[Long.SIZE];
+    private long ghostsOutside;
+    private Policy policy = Policy.SAME_TILE;
+    private float maxPixelDistance = TS / 2f;
+
+    public CollisionIndex(GameLevel level) {
+        this.level = requireNonNull(level);
+        numCols = level.worldMap().numCols();
+        numRows = level.worldMap().numRows();
+        ghostsByTile = new long[numCols * numRows];
+        Arrays.fill(tileIndexByGhost, NOT_INDEXED);
+    }
+
+    public Policy policy() {
+        return policy;
+    }
+
+    public float maxPixelDistance() {
+        return maxPixelDistance;
+    }
+
+    public void setSameTilePolicy() {
+        policy = Policy.SAME_TILE;
+    }
+
+    /**
+     * @param maxPixelDistance maximum distance (pixels) of colliding actors, range: (0, tile size]
+     */
+    public void setPixelDistancePolicy(float maxPixelDistance) {
+        if (maxPixelDistance <= 0 || maxPixelDistance > TS) {
+            throw new IllegalArgumentException("Collision distance must be in range (0, %d] but is %.2f"
+                .formatted(TS, maxPixelDistance));
+        }
+        this.maxPixelDistance = maxPixelDistance;
+        policy = Policy.PIXEL_DISTANCE;
+    }
+
+    private int tileIndex(int x, int y) {
+        return 0 <= x && x < numCols && 0 <= y && y < numRows ? y * numCols + x : OUTSIDE;
+    }
+
+    /**
+     * Updates the entry of the given ghost if it has entered a new tile since the last update.
+     *
+     * @param ghost a ghost of the level
+     */
+    public void update(Ghost ghost) {
+        byte id = ghost.id();
+        int newIndex = tileIndex(ghost.tileX(), ghost.tileY());
+        int oldIndex = tileIndexByGhost[id];
+        if (newIndex == oldIndex) {
+            return;
+        }
+        long bit = 1L << id;
+        if (oldIndex == OUTSIDE) {
+            ghostsOutside &= ~bit;
+        } else if (oldIndex != NOT_INDEXED) {
+            ghostsByTile[oldIndex] &= ~bit;
+        }
+        if (newIndex == OUTSIDE) {
+            ghostsOutside |= bit;
+        } else {
+            ghostsByTile[newIndex] |= bit;
+        }
+        tileIndexByGhost[id] = newIndex;
+    }
+
+    /**
+     * Updates the entries of all ghosts of the level. Only ghosts that have changed their tile cause work.
+     */
+    public void updateAll() {
+        for (long mask = level.ghostMask(); mask != 0; mask &= mask - 1) {
+            update(level.ghostInMask(mask));
+        }
+    }
+
+    /**
+     * @param actor an actor, e.g. Pac-Man
+     * @return bit mask of the IDs of the ghosts colliding with the actor according to the current policy
+     */
+    public long ghostsCollidingWith(Actor2D actor) {
+        int x = actor.tileX(), y = actor.tileY();
+        long candidates = 0;
+        if (policy == Policy.SAME_TILE) {
+            int index = tileIndex(x, y);
+            if (index != OUTSIDE) {
+                return ghostsByTile[index];
+            }
+            candidates = ghostsOutside;
+        } else {
+            for (int dy = -1; dy <= 1; ++dy) {
+                for (int dx = -1; dx <= 1; ++dx) {
+                    int index = tileIndex(x + dx, y + dy);
+                    if (index != OUTSIDE) {
+                        candidates |= ghostsByTile[index];
+                    }
+                }
+            }
+            candidates |= ghostsOutside;
+        }
+        long colliding = 0;
+        for (long mask = candidates; mask != 0; mask &= mask - 1) {
+            Ghost ghost = level.ghostInMask(mask);
+            if (areColliding(actor, ghost)) {
+                colliding |= 1L << ghost.id();
+            }
+        }
+        return colliding;
+    }
+
+    /**
+     * Narrow-phase check of two actors according to the current policy.
+     *
+     * @param actor an actor
+     * @param otherActor another actor
+     * @return if the actors collide
+     */
+    public boolean areColliding(Actor2D actor, Actor2D otherActor) {
+        if (policy == Policy.SAME_TILE) {
+            return actor.sameTile(otherActor);
+        }
+        float dx = actor.posX() - otherActor.posX(), dy = actor.posY() - otherActor.posY();
+        return dx * dx + dy * dy <= maxPixelDistance * maxPixelDistance;
+    }
+}
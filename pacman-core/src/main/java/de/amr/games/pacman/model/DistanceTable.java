@@ -0,0 +1,225 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.model;
+
+import de.amr.games.pacman.lib.Direction;
+import de.amr.games.pacman.lib.Vector2i;
+import org.tinylog.Logger;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs shortest path distances (in tiles) between the tiles of a level that are accessible for creatures
+ * that must stay outside the house (Pac-Man).
+ * <p>
+ * The table is computed by a breadth-first search from each accessible tile, the searches run in parallel. Portals
+ * are treated as a direct connection between the two tunnel ends. Because the computation only depends on the
+ * navigation graph, tables are cached and shared by all levels (and game sessions) using the same maze. The cache is
+ * bounded by the total size of the cached tables, the least recently used tables are evicted first.
+ * </p>
+ * <p>
+ * For mazes with more than {@value #MAX_TILES} accessible tiles, no distances are computed. Such a table is not
+ * {@link #isAvailable() available} and callers must use another distance measure.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public final class DistanceTable {
+
+    /** Distance value for unreachable tiles or tiles outside the table. */
+    public static final int UNREACHABLE = -1;
+
+    // the table needs 2 * MAX_TILES^2 bytes (32 MB), the mazes of all game variants have less than 1000 accessible tiles
+    public static final int MAX_TILES = 4096;
+
+    // enough for a few hundred tables of the usual mazes (about 200 KB each) or two tables of maximum size
+    private static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+
+    // access-ordered, guarded by itself
+    private static final Map<NavigationGraph, DistanceTable> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static long cachedBytes;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * @param level a game level
+     * @return the (cached) distance table for the current navigation graph of the level
+     */
+    public static DistanceTable of(GameLevel level) {
+        NavigationGraph graph = level.navigationGraph();
+        synchronized (CACHE) {
+            DistanceTable table = CACHE.get(graph);
+            if (table != null) {
+                return table;
+            }
+        }
+        // computed outside the lock, computing it twice in a race does not harm
+        DistanceTable table = new DistanceTable(level);
+        synchronized (CACHE) {
+            DistanceTable replaced = CACHE.put(graph, table);
+            if (replaced != null) {
+                cachedBytes -= replaced.byteSize();
+            }
+            cachedBytes += table.byteSize();
+            Iterator<DistanceTable> eldestFirst = CACHE.values().iterator();
+            while (cachedBytes > MAX_CACHE_BYTES && eldestFirst.hasNext()) {
+                DistanceTable eldest = eldestFirst.next();
+                if (eldest != table) {
+                    cachedBytes -= eldest.byteSize();
+                    eldestFirst.remove();
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @return number of cached distance tables
+     */
+    public static int cacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * @return total size (bytes) of the cached distance tables
+     */
+    public static long cachedBytes() {
+        synchronized (CACHE) {
+            return cachedBytes;
+        }
+    }
+
+    private final int numCols;
+    private final int numRows;
+    private final int[] nodeByTileIndex;
+    private final int numNodes;
+    private final short[] distances;
+
+    private DistanceTable(GameLevel level) {
+        long start = System.nanoTime();
+        NavigationGraph graph = level.navigationGraph();
+        numCols = graph.numCols();
+        numRows = graph.numRows();
+
+        nodeByTileIndex = new int[numCols * numRows];
+        int n = 0;
+        for (int index = 0; index < nodeByTileIndex.length; ++index) {
+            nodeByTileIndex[index] = graph.is(index, NavigationGraph.BLOCKED | NavigationGraph.HOUSE) ? UNREACHABLE : n++;
+        }
+        numNodes = n;
+
+        if (numNodes > MAX_TILES) {
+            Logger.warn("Maze too large for distance table: {} accessible tiles, maximum is {}", numNodes, MAX_TILES);
+            distances = null;
+            return;
+        }
+
+        int[][] adjacency = new int[numNodes][];
+        int[] buffer = new int[4];
+        for (int index = 0; index < nodeByTileIndex.length; ++index) {
+            int node = nodeByTileIndex[index];
+            if (node == UNREACHABLE) {
+                continue;
+            }
+            int degree = 0;
+            for (Direction dir : DIRECTIONS) {
+                int target = graph.exitTarget(index, dir);
+                if (target != NavigationGraph.NO_NEIGHBOR && nodeByTileIndex[target] != UNREACHABLE) {
+                    buffer[degree++] = nodeByTileIndex[target];
+                }
+            }
+            adjacency[node] = Arrays.copyOf(buffer, degree);
+        }
+
+        distances = new short[numNodes * numNodes];
+        Arrays.fill(distances, (short) UNREACHABLE);
+        IntStream.range(0, numNodes).parallel().forEach(source -> computeDistancesFrom(source, adjacency));
+
+        Logger.info("Distance table ({} tiles) computed in {} millis", numNodes, (System.nanoTime() - start) / 1e6f);
+    }
+
+    private void computeDistancesFrom(int source, int[][] adjacency) {
+        int row = source * numNodes;
+        int[] queue = new int[numNodes];
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        distances[row + source] = 0;
+        while (head < tail) {
+            int node = queue[head++];
+            short nextDist = (short) (distances[row + node] + 1);
+            for (int neighbor : adjacency[node]) {
+                if (distances[row + neighbor] == UNREACHABLE) {
+                    distances[row + neighbor] = nextDist;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of tiles in this table
+     */
+    public int numTiles() {
+        return numNodes;
+    }
+
+    /**
+     * @return if the distances have been computed. If not (maze too large), the distance queries must not be used.
+     */
+    public boolean isAvailable() {
+        return distances != null;
+    }
+
+    private long byteSize() {
+        return 4L * nodeByTileIndex.length + (distances != null ? 2L * distances.length : 0);
+    }
+
+    private int node(int x, int y) {
+        if (x < 0 || x >= numCols || y < 0 || y >= numRows) {
+            return UNREACHABLE;
+        }
+        return nodeByTileIndex[y * numCols + x];
+    }
+
+    /**
+     * @return maze distance in tiles or {@link #UNREACHABLE} if any of the tiles is not accessible or there is no path
+     * @throws IllegalStateException if this table is not available
+     */
+    public int distance(int fromX, int fromY, int toX, int toY) {
+        if (distances == null) {
+            throw new IllegalStateException("Distance table not available, maze has %d accessible tiles, maximum is %d"
+                .formatted(numNodes, MAX_TILES));
+        }
+        int from = node(fromX, fromY), to = node(toX, toY);
+        if (from == UNREACHABLE || to == UNREACHABLE) {
+            return UNREACHABLE;
+        }
+        return distances[from * numNodes + to];
+    }
+
+    /**
+     * @return maze distance in tiles or {@link #UNREACHABLE} if any of the tiles is not accessible or there is no path
+     * @throws IllegalStateException if this table is not available
+     */
+    public int distance(Vector2i from, Vector2i to) {
+        return distance(from.x(), from.y(), to.x(), to.y());
+    }
+
+    /**
+     * @return maze distance if both tiles are in the table and connected, Manhattan distance otherwise (e.g. for tiles
+     * inside the house or in a portal)
+     * @throws IllegalStateException if this table is not available
+     */
+    public int distanceOrManhattan(Vector2i from, Vector2i to) {
+        int dist = distance(from, to);
+        return dist != UNREACHABLE ? dist : from.manhattanDist(to);
+    }
+}
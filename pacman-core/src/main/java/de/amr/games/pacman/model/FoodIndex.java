@@ -0,0 +1,189 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.model;
+
+import de.amr.games.pacman.lib.Direction;
+import de.amr.games.pacman.lib.Vector2i;
+import de.amr.games.pacman.lib.tilemap.FoodTiles;
+import de.amr.games.pacman.lib.tilemap.LayerID;
+import de.amr.games.pacman.lib.tilemap.WorldMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of the uneaten food of a level, updated each time food is eaten.
+ * <p>
+ * Supports queries for the nearest uneaten food by Manhattan distance and by maze distance without scanning the
+ * complete map. For Manhattan distance, the food is counted in square cells of {@link #CELL_SIZE} tiles that are
+ * searched in rings around the start tile until no closer food can exist. For maze distance, a breadth-first search
+ * starting at the start tile stops at the first distance where food is found.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class FoodIndex {
+
+    public static final int CELL_SIZE = 8;
+
+    private static final byte NO_FOOD = 0, PELLET = 1, ENERGIZER = 2;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final GameLevel level;
+    private final int numCols;
+    private final int numRows;
+    private final int numCellCols;
+    private final int numCellRows;
+    private final byte[] food; // uneaten food by tile index
+    private final int[] pelletsInCell;
+    private final int[] energizersInCell;
+
+    // breadth-first search data, reused by each search
+    private final int[] visitedStamp;
+    private final int[] queue;
+    private int stamp;
+
+    FoodIndex(GameLevel level) {
+        this.level = level;
+        WorldMap worldMap = level.worldMap();
+        numCols = worldMap.numCols();
+        numRows = worldMap.numRows();
+        numCellCols = (numCols + CELL_SIZE - 1) / CELL_SIZE;
+        numCellRows = (numRows + CELL_SIZE - 1) / CELL_SIZE;
+        food = new byte[numCols * numRows];
+        pelletsInCell = new int[numCellCols * numCellRows];
+        energizersInCell = new int[numCellCols * numCellRows];
+        visitedStamp = new int[numCols * numRows];
+        queue = new int[numCols * numRows];
+        for (int y = 0; y < numRows; ++y) {
+            for (int x = 0; x < numCols; ++x) {
+                byte content = worldMap.get(LayerID.FOOD, y, x);
+                if (content == FoodTiles.PELLET) {
+                    food[y * numCols + x] = PELLET;
+                    pelletsInCell[cellIndex(x, y)] += 1;
+                } else if (content == FoodTiles.ENERGIZER) {
+                    food[y * numCols + x] = ENERGIZER;
+                    energizersInCell[cellIndex(x, y)] += 1;
+                }
+            }
+        }
+    }
+
+    private int cellIndex(int x, int y) {
+        return (y / CELL_SIZE) * numCellCols + x / CELL_SIZE;
+    }
+
+    /**
+     * Removes the food at the given tile from the index.
+     *
+     * @param x tile x-coordinate inside world
+     * @param y tile y-coordinate inside world
+     */
+    void remove(int x, int y) {
+        int index = y * numCols + x;
+        if (food[index] == PELLET) {
+            pelletsInCell[cellIndex(x, y)] -= 1;
+        } else if (food[index] == ENERGIZER) {
+            energizersInCell[cellIndex(x, y)] -= 1;
+        }
+        food[index] = NO_FOOD;
+    }
+
+    private boolean isWanted(int index, boolean excludeEnergizers) {
+        return food[index] == PELLET || food[index] == ENERGIZER && !excludeEnergizers;
+    }
+
+    /**
+     * @param from start tile
+     * @param excludeEnergizers if energizers are ignored
+     * @return all uneaten food tiles with minimal Manhattan distance from the start tile (empty if there is none)
+     */
+    public List<Vector2i> nearestFoodTilesByManhattanDist(Vector2i from, boolean excludeEnergizers) {
+        List<Vector2i> result = new ArrayList<>(4);
+        int fromX = Math.clamp(from.x(), 0, numCols - 1), fromY = Math.clamp(from.y(), 0, numRows - 1);
+        int fromCellX = fromX / CELL_SIZE, fromCellY = fromY / CELL_SIZE;
+        int maxRing = Math.max(numCellCols, numCellRows);
+        int minDist = Integer.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ++ring) {
+            // tiles in cells of this ring are at least (ring - 1) * CELL_SIZE + 1 tiles away in x or y direction
+            if (ring > 0 && (ring - 1) * CELL_SIZE + 1 > minDist) {
+                break;
+            }
+            for (int cy = fromCellY - ring; cy <= fromCellY + ring; ++cy) {
+                for (int cx = fromCellX - ring; cx <= fromCellX + ring; ++cx) {
+                    boolean onRing = Math.abs(cx - fromCellX) == ring || Math.abs(cy - fromCellY) == ring;
+                    if (!onRing || cx < 0 || cx >= numCellCols || cy < 0 || cy >= numCellRows) {
+                        continue;
+                    }
+                    int cell = cy * numCellCols + cx;
+                    if (pelletsInCell[cell] == 0 && (excludeEnergizers || energizersInCell[cell] == 0)) {
+                        continue;
+                    }
+                    int maxX = Math.min(numCols, (cx + 1) * CELL_SIZE), maxY = Math.min(numRows, (cy + 1) * CELL_SIZE);
+                    for (int y = cy * CELL_SIZE; y < maxY; ++y) {
+                        for (int x = cx * CELL_SIZE; x < maxX; ++x) {
+                            if (!isWanted(y * numCols + x, excludeEnergizers)) {
+                                continue;
+                            }
+                            int dist = Math.abs(x - from.x()) + Math.abs(y - from.y());
+                            if (dist < minDist) {
+                                minDist = dist;
+                                result.clear();
+                                result.add(Vector2i.of(x, y));
+                            } else if (dist == minDist) {
+                                result.add(Vector2i.of(x, y));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the nearest uneaten food by maze distance, i.e. using only tiles accessible to Pac-Man. If the start tile
+     * is outside the world (inside a portal) or no food is reachable, the Manhattan distance is used instead.
+     *
+     * @param from start tile
+     * @param excludeEnergizers if energizers are ignored
+     * @return all uneaten food tiles with minimal maze distance from the start tile (empty if there is none)
+     */
+    public List<Vector2i> nearestFoodTilesByMazeDist(Vector2i from, boolean excludeEnergizers) {
+        NavigationGraph graph = level.navigationGraph();
+        int start = graph.index(from.x(), from.y());
+        if (start == NavigationGraph.NO_NEIGHBOR) {
+            return nearestFoodTilesByManhattanDist(from, excludeEnergizers);
+        }
+        List<Vector2i> result = new ArrayList<>(4);
+        if (++stamp == 0) { // overflow, start again
+            Arrays.fill(visitedStamp, 0);
+            stamp = 1;
+        }
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        visitedStamp[start] = stamp;
+        while (head < tail && result.isEmpty()) {
+            // process one complete distance layer
+            int layerEnd = tail;
+            while (head < layerEnd) {
+                int index = queue[head++];
+                if (isWanted(index, excludeEnergizers)) {
+                    result.add(Vector2i.of(index % numCols, index / numCols));
+                }
+                for (Direction dir : DIRECTIONS) {
+                    int target = graph.exitTarget(index, dir);
+                    if (target != NavigationGraph.NO_NEIGHBOR && visitedStamp[target] != stamp) {
+                        visitedStamp[target] = stamp;
+                        queue[tail++] = target;
+                    }
+                }
+            }
+        }
+        return result.isEmpty() ? nearestFoodTilesByManhattanDist(from, excludeEnergizers) : result;
+    }
+}
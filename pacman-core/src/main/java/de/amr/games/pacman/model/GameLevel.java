@@ -19,6 +19,8 @@ import de.amr.games.pacman.model.actors.Pac;
 import org.tinylog.Logger;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static de.amr.games.pacman.Globals.*;
@@ -34,12 +36,6 @@ public class GameLevel {
 
     public enum Message { READY, GAME_OVER, TEST_LEVEL }
 
-    private static boolean isInaccessible(byte content) {
-        return content == WALL_H  || content == WALL_V
-            || content == ARC_NE || content == ARC_NW || content == ARC_SE || content == ARC_SW
-            || content == DCORNER_NE || content == DCORNER_NW || content == DCORNER_SE || content == DCORNER_SW;
-    }
-
     /**
      * @param tile a tile coordinate
      * @return position in world (scaled by tile size) between given tile and right neighbor tile
@@ -48,6 +44,7 @@ public class GameLevel {
         return tile.scaled(TS).plus(HTS, 0).toVector2f();
     }
 
+    private final GameModel game;
     private final int number; // 1=first level
     private final WorldMap worldMap;
     private final Vector2f pacPosition;
@@ -56,9 +53,15 @@ public class GameLevel {
     private final Direction[] ghostDirections = new Direction[4];
     private final Vector2i[] energizerTiles;
     private final Portal[] portals;
+    private NavigationGraph navigationGraph;
+    private DistanceTable distanceTable;
+    private final FoodIndex foodIndex;
+    private final CollisionIndex collisionIndex;
 
     private Vector2i leftDoorTile;
     private Vector2i rightDoorTile;
+    private Vector2i houseMinTile;
+    private Vector2i houseMaxTile;
 
     // instead of Set<Vector2i> we use a bit-set indexed by top-down-left-to-right tile index
     private final BitSet eatenFoodBits;
@@ -71,6 +74,9 @@ public class GameLevel {
 
     private Pac pac;
     private Ghost[] ghosts;
+    // bit i of the mask of a ghost state is set if the ghost with ID i is in that state
+    private final long[] ghostStateMasks = new long[GhostState.values().length];
+    private long allGhostsMask;
     private final List<Ghost> victims = new ArrayList<>();
     private Bonus bonus;
     private final byte[] bonusSymbols = new byte[2];
@@ -80,10 +86,11 @@ public class GameLevel {
     private final Pulse blinking = new Pulse(10, Pulse.OFF);
     private final TickTimer powerTimer = new TickTimer("PacPowerTimer");
 
-    public GameLevel(int number, WorldMap worldMap) {
+    public GameLevel(GameModel game, int number, WorldMap worldMap) {
         if (number < 1) {
             throw new IllegalArgumentException("Illegal level number: " + number);
         }
+        this.game = requireNonNull(game);
         this.number = number;
         this.worldMap = requireNonNull(worldMap);
 
@@ -93,6 +100,8 @@ public class GameLevel {
         totalFoodCount = (int) worldMap.tilesContaining(LayerID.FOOD, FoodTiles.PELLET).count() + energizerTiles.length;
         uneatenFoodCount = totalFoodCount;
         eatenFoodBits = new BitSet(worldMap.numCols() * worldMap.numRows());
+        foodIndex = new FoodIndex(this);
+        collisionIndex = new CollisionIndex(this);
 
         Vector2i pacTile = worldMap.getTerrainTileProperty(PROPERTY_POS_PAC, null);
         if (pacTile == null) {
@@ -135,6 +144,8 @@ public class GameLevel {
 
         ghostScatterTiles[ORANGE_GHOST_ID] = worldMap.getTerrainTileProperty(PROPERTY_POS_SCATTER_ORANGE_GHOST,
             Vector2i.of(worldMap.numRows() - EMPTY_ROWS_BELOW_MAZE, 0));
+
+        navigationGraph = new NavigationGraph(this);
     }
 
     private Portal[] findPortals(WorldMap worldMap) {
@@ -186,21 +197,140 @@ public class GameLevel {
     }
     public Pac pac() { return pac; }
 
-    public void setGhosts(Ghost[] ghosts) { this.ghosts = requireNonNull(ghosts); }
+    public void setGhosts(Ghost[] ghosts) {
+        this.ghosts = requireNonNull(ghosts);
+        Arrays.fill(ghostStateMasks, 0);
+        allGhostsMask = 0;
+        for (Ghost ghost : ghosts) {
+            allGhostsMask |= 1L << ghost.id();
+            if (ghost.state() != null) {
+                ghostStateMasks[ghost.state().ordinal()] |= 1L << ghost.id();
+            }
+        }
+    }
+
     public Ghost ghost(byte id) { return ghosts != null ? ghosts[requireValidGhostID(id)] : null; }
 
+    /**
+     * Called by a ghost of this level when its state has changed.
+     *
+     * @param ghost a ghost
+     * @param oldState state before the change, {@code null} if the ghost had no state yet
+     */
+    public void onGhostStateChanged(Ghost ghost, GhostState oldState) {
+        if (ghosts == null || ghosts[ghost.id()] != ghost) {
+            return; // not (yet) a ghost of this level
+        }
+        long bit = 1L << ghost.id();
+        if (oldState != null) {
+            ghostStateMasks[oldState.ordinal()] &= ~bit;
+        }
+        ghostStateMasks[ghost.state().ordinal()] |= bit;
+    }
+
+    /**
+     * Returns the IDs of the ghosts in the given state as a bit mask (bit i set = ghost with ID i is in that state).
+     * Masks of several states can be combined with "|". Iterate over a mask without allocation like this:
+     * <pre>
+     * for (long mask = level.ghostMask(HUNTING_PAC); mask != 0; mask &amp;= mask - 1) {
+     *     Ghost ghost = level.ghostInMask(mask);
+     *     ...
+     * }
+     * </pre>
+     *
+     * @param state ghost state
+     * @return bit mask of the IDs of the ghosts in this state
+     */
+    public long ghostMask(GhostState state) {
+        return ghostStateMasks[state.ordinal()];
+    }
+
+    /**
+     * @return bit mask of the IDs of all ghosts of this level
+     */
+    public long ghostMask() {
+        return allGhostsMask;
+    }
+
+    /**
+     * @param mask non-empty ghost mask
+     * @return the ghost with the lowest ID in the mask
+     */
+    public Ghost ghostInMask(long mask) {
+        return ghosts[Long.numberOfTrailingZeros(mask)];
+    }
+
+    public boolean anyGhostInState(GhostState state) {
+        return ghostStateMasks[state.ordinal()] != 0;
+    }
+
+    /**
+     * @param state ghost state
+     * @param condition condition for the ghosts in that state
+     * @return if any ghost in the given state satisfies the condition
+     */
+    public boolean anyGhostMatches(GhostState state, Predicate<Ghost> condition) {
+        for (long mask = ghostStateMasks[state.ordinal()]; mask != 0; mask &= mask - 1) {
+            if (condition.test(ghostInMask(mask))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Executes the action for each ghost in the given mask in ID order. The action may change the ghost states.
+     *
+     * @param mask ghost mask, see {@link #ghostMask(GhostState)}
+     * @param action action executed for each ghost in the mask
+     */
+    public void forEachGhost(long mask, Consumer<Ghost> action) {
+        for (; mask != 0; mask &= mask - 1) {
+            action.accept(ghostInMask(mask));
+        }
+    }
+
+    public void forEachGhost(GhostState state, Consumer<Ghost> action) {
+        forEachGhost(ghostStateMasks[state.ordinal()], action);
+    }
+
     public Stream<Ghost> ghosts(GhostState... states) {
         requireNonNull(states);
         if (ghosts == null) {
             return Stream.empty();
         }
-        return states.length == 0 ? Stream.of(ghosts) : Stream.of(ghosts).filter(ghost -> ghost.inState(states));
+        if (states.length == 0) {
+            return Stream.of(ghosts);
+        }
+        long mask = 0;
+        for (GhostState state : states) {
+            mask |= ghostStateMasks[state.ordinal()];
+        }
+        long stateMask = mask;
+        return Stream.of(ghosts).filter(ghost -> (stateMask & (1L << ghost.id())) != 0);
     }
 
     public List<Ghost> victims() {
         return victims;
     }
 
+    /**
+     * Saves the positions of all actors before a simulation step, used by renderers for interpolation.
+     */
+    public void savePositions() {
+        if (pac != null) {
+            pac.savePosition();
+        }
+        if (ghosts != null) {
+            for (Ghost ghost : ghosts) {
+                ghost.savePosition();
+            }
+        }
+        if (bonus != null) {
+            bonus.actor().savePosition();
+        }
+    }
+
     public void setBonus(Bonus bonus) {
         this.bonus = bonus;
     }
@@ -237,6 +367,13 @@ public class GameLevel {
         return ghostScatterTiles[requireValidGhostID(ghostID)];
     }
 
+    /**
+     * @return the game model this level belongs to
+     */
+    public GameModel game() {
+        return game;
+    }
+
     public int number() {
         return number;
     }
@@ -245,9 +382,46 @@ public class GameLevel {
         return worldMap;
     }
 
+    /**
+     * @return navigation data computed from the terrain, up-to-date after the house has been created
+     */
+    public NavigationGraph navigationGraph() {
+        return navigationGraph;
+    }
+
+    /**
+     * @return maze distances between the tiles accessible by Pac-Man, computed when the house is created and shared by
+     * all levels using the same maze
+     * @throws IllegalStateException if the house has not been created yet
+     */
+    public DistanceTable distanceTable() {
+        if (distanceTable == null) {
+            throw new IllegalStateException("No distance table exists before the house has been created");
+        }
+        return distanceTable;
+    }
+
+    /**
+     * @return index of the uneaten food, supports fast nearest food queries
+     */
+    public FoodIndex foodIndex() {
+        return foodIndex;
+    }
+
+    /**
+     * @return index of the tiles occupied by the ghosts, used for collision checks
+     */
+    public CollisionIndex collisionIndex() {
+        return collisionIndex;
+    }
+
     public boolean outOfWorld(Vector2i tile) {
         requireNonNull(tile);
-        return worldMap.outOfBounds(tile.y(), tile.x());
+        return outOfWorld(tile.x(), tile.y());
+    }
+
+    public boolean outOfWorld(int x, int y) {
+        return worldMap.outOfBounds(y, x);
     }
 
     public boolean isInsideWorld(Vector2i tile) {
@@ -262,31 +436,67 @@ public class GameLevel {
         return Arrays.stream(portals);
     }
 
+    public int numPortals() {
+        return portals.length;
+    }
+
+    /**
+     * @param i portal index, <code>0 &lt;= i &lt; numPortals()</code>
+     * @return the portal with this index
+     */
+    public Portal portal(int i) {
+        return portals[i];
+    }
+
     public boolean isPortalAt(Vector2i tile) {
         requireNonNull(tile);
-        return portals().anyMatch(portal -> portal.contains(tile));
+        return isPortalAt(tile.x(), tile.y());
+    }
+
+    public boolean isPortalAt(int x, int y) {
+        for (Portal portal : portals) {
+            if (portal.contains(x, y)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public boolean isDoorAt(Vector2i tile) {
         requireNonNull(tile);
-        return tile.equals(leftDoorTile) || tile.equals(rightDoorTile);
+        return isDoorAt(tile.x(), tile.y());
+    }
+
+    public boolean isDoorAt(int x, int y) {
+        return leftDoorTile != null && x == leftDoorTile.x() && y == leftDoorTile.y()
+            || rightDoorTile != null && x == rightDoorTile.x() && y == rightDoorTile.y();
     }
 
     public boolean isBlockedTile(Vector2i tile) {
-        return !outOfWorld(tile) && isInaccessible(worldMap.get(LayerID.TERRAIN, tile));
+        return isBlockedTile(tile.x(), tile.y());
+    }
+
+    public boolean isBlockedTile(int x, int y) {
+        int index = navigationGraph.index(x, y);
+        return index != NavigationGraph.NO_NEIGHBOR && navigationGraph.is(index, NavigationGraph.BLOCKED);
     }
 
     public boolean isTunnel(Vector2i tile) {
-        return !outOfWorld(tile) && worldMap.get(LayerID.TERRAIN, tile) == TUNNEL;
+        return isTunnel(tile.x(), tile.y());
     }
 
+    public boolean isTunnel(int x, int y) {
+        int index = navigationGraph.index(x, y);
+        return index != NavigationGraph.NO_NEIGHBOR && navigationGraph.is(index, NavigationGraph.TUNNEL);
+    }
+
+    /**
+     * @param tile some tile
+     * @return if the tile is outside the house and has less than 2 blocked or door neighbors inside the world
+     */
     public boolean isIntersection(Vector2i tile) {
-        if (outOfWorld(tile) || isPartOfHouse(tile)) {
-            return false;
-        }
-        long numBlockedNeighbors = tile.neighbors().filter(this::isInsideWorld).filter(this::isBlockedTile).count();
-        long numDoorNeighbors = tile.neighbors().filter(this::isInsideWorld).filter(this::isDoorAt).count();
-        return numBlockedNeighbors + numDoorNeighbors < 2;
+        int index = navigationGraph.index(tile.x(), tile.y());
+        return index != NavigationGraph.NO_NEIGHBOR && navigationGraph.is(index, NavigationGraph.INTERSECTION);
     }
 
     // House
@@ -298,6 +508,8 @@ public class GameLevel {
      * @param maxY tile-y of bottom right corner
      */
     public void createArcadeHouse(int minX, int minY, int maxX, int maxY) {
+        houseMinTile = Vector2i.of(minX, minY);
+        houseMaxTile = Vector2i.of(maxX, maxY);
         leftDoorTile = Vector2i.of(minX + 3, minY);
         rightDoorTile = Vector2i.of(minX + 4, minY);
         setGhostDirection(RED_GHOST_ID, Direction.LEFT);
@@ -320,14 +532,17 @@ public class GameLevel {
                 worldMap.set(LayerID.TERRAIN, Vector2i.of(x, y), value);
             }
         }
+        navigationGraph = new NavigationGraph(this);
+        distanceTable = DistanceTable.of(this);
     }
 
     public Vector2i houseMinTile() {
-        return worldMap.getTerrainTileProperty(PROPERTY_POS_HOUSE_MIN_TILE, null);
+        // parsing the map property on each call would be too expensive, it is used in the movement code
+        return houseMinTile != null ? houseMinTile : worldMap.getTerrainTileProperty(PROPERTY_POS_HOUSE_MIN_TILE, null);
     }
 
     public Vector2i houseMaxTile() {
-        return worldMap.getTerrainTileProperty(PROPERTY_POS_HOUSE_MAX_TILE, null);
+        return houseMaxTile != null ? houseMaxTile : worldMap.getTerrainTileProperty(PROPERTY_POS_HOUSE_MAX_TILE, null);
     }
 
     public Vector2i houseSizeInTiles() {
@@ -359,8 +574,12 @@ public class GameLevel {
      */
     public boolean isPartOfHouse(Vector2i tile) {
         requireNonNull(tile);
-        return tile.x() >= houseMinTile().x() && tile.x() <= houseMaxTile().x()
-                && tile.y() >= houseMinTile().y() && tile.y() <= houseMaxTile().y();
+        return isPartOfHouse(tile.x(), tile.y());
+    }
+
+    public boolean isPartOfHouse(int x, int y) {
+        int index = navigationGraph.index(x, y);
+        return index != NavigationGraph.NO_NEIGHBOR && navigationGraph.is(index, NavigationGraph.HOUSE);
     }
 
     // Actor positions
@@ -407,6 +626,7 @@ public class GameLevel {
     public void registerFoodEatenAt(Vector2i tile) {
         if (hasFoodAt(tile)) {
             eatenFoodBits.set(worldMap.index(tile));
+            foodIndex.remove(tile.x(), tile.y());
             --uneatenFoodCount;
         } else {
             Logger.warn("Attempt to eat foot at tile {} that has none", tile);
@@ -4,25 +4,39 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.model;
 
+import de.amr.games.pacman.controller.CoinMechanism;
+import de.amr.games.pacman.event.GameEventManager;
 import de.amr.games.pacman.event.GameEventType;
 import de.amr.games.pacman.lib.Direction;
 import de.amr.games.pacman.lib.Vector2i;
 import de.amr.games.pacman.lib.timer.Pulse;
 import de.amr.games.pacman.lib.timer.TickTimer;
+import de.amr.games.pacman.model.LevelParameters.GhostSpeed;
+import de.amr.games.pacman.model.LevelParameters.PacSpeed;
 import de.amr.games.pacman.model.actors.*;
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.SimpleBooleanProperty;
-import javafx.beans.property.SimpleIntegerProperty;
 import org.tinylog.Logger;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.random.RandomGenerator;
 
-import static de.amr.games.pacman.Globals.THE_GAME_EVENT_MANAGER;
+import static de.amr.games.pacman.Globals.*;
 import static de.amr.games.pacman.model.actors.GhostState.*;
+import static java.util.Objects.requireNonNull;
 
 /**
  * Common base class of all Pac-Man game models.
+ * <p>
+ * A game model is self-contained: it publishes its events via its own event manager, draws random numbers from its
+ * own random generator and asks its own coin mechanism if a game can be started. By default, these are the global
+ * instances used by the UI. For headless simulations, each model gets its own instances such that many games can run
+ * in parallel inside one JVM (see {@link de.amr.games.pacman.simulation.GameSession}). All random decisions of the
+ * model (ghost movement, bonus, map selection) use the model's random generator, so a game is reproducible from the
+ * generator's seed and the player input.
+ * </p>
  *
  * @author Armin Reichert
  */
@@ -30,20 +44,32 @@ public abstract class GameModel {
 
     public static final byte RED_GHOST_ID = 0, PINK_GHOST_ID = 1, CYAN_GHOST_ID = 2, ORANGE_GHOST_ID = 3;
 
-    private final BooleanProperty cutScenesEnabledPy = new SimpleBooleanProperty(true);
-    private final BooleanProperty demoLevelPy = new SimpleBooleanProperty(false);
-    private final IntegerProperty initialLivesPy = new SimpleIntegerProperty(0);
-    private final IntegerProperty livesPy = new SimpleIntegerProperty(0);
-    private final BooleanProperty playingPy = new SimpleBooleanProperty(false);
-    private final BooleanProperty scoreVisiblePy = new SimpleBooleanProperty(false);
-    private final BooleanProperty simulateOverflowBugPy = new SimpleBooleanProperty(true);
+    public static final String OPTION_MAP_SELECTION_MODE = "mapSelectionMode";
+    public static final String OPTION_CUSTOM_MAPS = "customMaps";
+
+    private boolean cutScenesEnabled = true;
+    private boolean demoLevel;
+    private int initialLives;
+    private int lives;
+    private boolean playing;
+    private boolean scoreVisible;
+    private boolean simulateOverflowBug = true;
+
+    private GameEventManager eventManager = THE_GAME_EVENT_MANAGER;
+    private RandomGenerator random = THE_RNG;
+    private CoinMechanism coinMechanism = THE_COIN_MECHANISM;
 
     protected final GateKeeper gateKeeper = new GateKeeper();
     protected final ScoreManager scoreManager = new ScoreManager();
 
-    protected SimulationStepLog eventLog;
+    // Ring buffer of reusable step logs, the current log is the last one written
+    private SimulationStepLog[] eventLogs = { new SimulationStepLog(0) };
+    private int eventLogIndex;
+    private int numEventLogsWritten;
+    protected SimulationStepLog eventLog = eventLogs[0];
     protected GameLevel level;
-    protected long levelStartTime;
+    protected LevelParameters levelParameters;
+    protected long levelRunningTicks; // hunting ticks since level start, independent of wall clock time
     protected int lastLevelNumber;
 
     protected GameModel() {
@@ -51,7 +77,7 @@ public abstract class GameModel {
             eventLog.extraLifeWon = true;
             eventLog.extraLifeScore = extraLifeScore;
             addLives(1);
-            THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.EXTRA_LIFE_WON);
+            eventManager.publishEvent(this, GameEventType.EXTRA_LIFE_WON);
         });
     }
 
@@ -77,28 +103,14 @@ public abstract class GameModel {
 
     public abstract void activateNextBonus();
 
-    protected abstract void setActorBaseSpeed(int levelNumber);
+    /**
+     * @param levelNumber level number (starting at 1)
+     * @return the speeds and durations used in the given level, computed when the level is started
+     */
+    protected abstract LevelParameters createLevelParameters(int levelNumber);
 
     public abstract float ghostAttackSpeed(Ghost ghost);
 
-    public abstract float ghostFrightenedSpeed(Ghost ghost);
-
-    public abstract float ghostSpeedInsideHouse(Ghost ghost);
-
-    public abstract float ghostSpeedReturningToHouse(Ghost ghost);
-
-    public abstract float ghostTunnelSpeed(Ghost ghost);
-
-    public abstract float pacNormalSpeed();
-
-    public abstract long pacDyingTicks();
-
-    public abstract long pacPowerTicks();
-
-    public abstract long pacPowerFadingTicks();
-
-    public abstract float pacPowerSpeed();
-
     public abstract long gameOverStateTicks();
 
     public abstract void buildGameLevel(int levelNumber);
@@ -119,12 +131,88 @@ public abstract class GameModel {
 
     public abstract MapSelector mapSelector();
 
+    /**
+     * The options chosen before a game is started which change the course of the game. Input recordings store them
+     * and replays apply them, see {@link #applyGameOptions(Map)}. Game variants with further options (e.g. selected on
+     * an options screen) add them to the map.
+     *
+     * @return modifiable map of option names and values, contains the map selection mode and the fingerprint of the
+     * custom maps (see {@link MapSelector#customMapsFingerprint()})
+     */
+    public Map<String, String> gameOptions() {
+        var options = new LinkedHashMap<String, String>();
+        options.put(OPTION_MAP_SELECTION_MODE, mapSelector().mapSelectionMode().name());
+        options.put(OPTION_CUSTOM_MAPS, mapSelector().customMapsFingerprint());
+        return options;
+    }
+
+    /**
+     * Applies the given options, missing options keep their current value.
+     *
+     * @param options option names and values as returned by {@link #gameOptions()}
+     * @throws IllegalStateException if the options refer to custom maps different from the available ones
+     */
+    public void applyGameOptions(Map<String, String> options) {
+        String mapSelectionMode = options.get(OPTION_MAP_SELECTION_MODE);
+        if (mapSelectionMode != null) {
+            mapSelector().setMapSelectionMode(MapSelectionMode.valueOf(mapSelectionMode));
+        }
+        String customMaps = options.get(OPTION_CUSTOM_MAPS);
+        if (customMaps != null && !customMaps.equals(mapSelector().customMapsFingerprint())) {
+            throw new IllegalStateException("Custom maps differ from the game options: expected %s, available %s"
+                .formatted(customMaps, mapSelector().customMapsFingerprint()));
+        }
+    }
+
     public abstract HuntingTimer huntingTimer();
 
     public Optional<GameLevel> level() {
         return Optional.ofNullable(level);
     }
 
+    /**
+     * @return speeds and durations of the current level, {@code null} if no level has been started yet
+     */
+    public LevelParameters levelParameters() {
+        return levelParameters;
+    }
+
+    public float ghostFrightenedSpeed(Ghost ghost) {
+        return levelParameters != null ? levelParameters.ghostSpeed(ghost.id(), GhostSpeed.FRIGHTENED) : 0;
+    }
+
+    public float ghostSpeedInsideHouse(Ghost ghost) {
+        return levelParameters != null ? levelParameters.ghostSpeed(ghost.id(), GhostSpeed.INSIDE_HOUSE) : 0;
+    }
+
+    public float ghostSpeedReturningToHouse(Ghost ghost) {
+        return levelParameters != null ? levelParameters.ghostSpeed(ghost.id(), GhostSpeed.RETURNING_TO_HOUSE) : 0;
+    }
+
+    public float ghostTunnelSpeed(Ghost ghost) {
+        return levelParameters != null ? levelParameters.ghostSpeed(ghost.id(), GhostSpeed.TUNNEL) : 0;
+    }
+
+    public float pacNormalSpeed() {
+        return levelParameters != null ? levelParameters.pacSpeed(PacSpeed.NORMAL) : 0;
+    }
+
+    public float pacPowerSpeed() {
+        return levelParameters != null ? levelParameters.pacSpeed(PacSpeed.POWER) : 0;
+    }
+
+    public long pacDyingTicks() {
+        return levelParameters != null ? levelParameters.pacDyingTicks() : 0;
+    }
+
+    public long pacPowerTicks() {
+        return levelParameters != null ? levelParameters.pacPowerTicks() : 0;
+    }
+
+    public long pacPowerFadingTicks() {
+        return levelParameters != null ? levelParameters.pacPowerFadingTicks() : 0;
+    }
+
     public final int lastLevelNumber() {
         return lastLevelNumber;
     }
@@ -133,62 +221,88 @@ public abstract class GameModel {
         return scoreManager;
     }
 
-    public BooleanProperty cutScenesEnabledProperty() { return cutScenesEnabledPy; }
+    public GameEventManager eventManager() { return eventManager; }
 
-    public BooleanProperty demoLevelProperty() { return demoLevelPy; }
+    public void setEventManager(GameEventManager eventManager) {
+        this.eventManager = requireNonNull(eventManager);
+    }
+
+    public RandomGenerator random() { return random; }
 
-    public boolean isDemoLevel() { return demoLevelProperty().get(); }
+    public void setRandom(RandomGenerator random) {
+        this.random = requireNonNull(random);
+    }
 
-    public IntegerProperty initialLivesProperty() { return initialLivesPy; }
+    public CoinMechanism coinMechanism() { return coinMechanism; }
+
+    public void setCoinMechanism(CoinMechanism coinMechanism) {
+        this.coinMechanism = requireNonNull(coinMechanism);
+    }
 
-    public IntegerProperty livesProperty() { return livesPy; }
+    public boolean isCutScenesEnabled() { return cutScenesEnabled; }
 
-    public BooleanProperty playingProperty() { return playingPy; }
+    public void setCutScenesEnabled(boolean enabled) { cutScenesEnabled = enabled; }
 
-    public boolean isPlaying() { return playingProperty().get(); }
+    public boolean isDemoLevel() { return demoLevel; }
 
-    public BooleanProperty scoreVisibleProperty() { return scoreVisiblePy; }
+    public void setDemoLevel(boolean demoLevel) { this.demoLevel = demoLevel; }
 
-    public boolean isScoreVisible() { return scoreVisibleProperty().get(); }
+    public int initialLives() { return initialLives; }
 
-    public BooleanProperty simulateOverflowBugProperty() { return simulateOverflowBugPy; }
+    public void setInitialLives(int lives) { initialLives = lives; }
+
+    public int lives() { return lives; }
+
+    public void setLives(int lives) { this.lives = lives; }
+
+    public boolean isPlaying() { return playing; }
+
+    public void setPlaying(boolean playing) { this.playing = playing; }
+
+    public boolean isScoreVisible() { return scoreVisible; }
+
+    public void setScoreVisible(boolean visible) { scoreVisible = visible; }
+
+    public boolean isSimulateOverflowBug() { return simulateOverflowBug; }
+
+    public void setSimulateOverflowBug(boolean simulate) { simulateOverflowBug = simulate; }
 
     public void loseLife() {
-        int lives = livesProperty().get();
         if (lives > 0) {
-            livesProperty().set(lives - 1);
+            lives -= 1;
         } else {
             Logger.error("Cannot lose life, no lives left");
         }
     }
 
     public void addLives(int lives) {
-        livesProperty().set(livesProperty().get() + lives);
+        this.lives += lives;
     }
 
     public void startNewGame() {
         resetForStartingNewGame();
         createGameLevel(1);
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.GAME_STARTED);
+        eventManager.publishEvent(this, GameEventType.GAME_STARTED);
     }
 
     public final void createGameLevel(int levelNumber) {
-        demoLevelProperty().set(false);
+        demoLevel = false;
         buildGameLevel(levelNumber);
         scoreManager.setLevelNumber(levelNumber);
         huntingTimer().reset();
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.LEVEL_CREATED);
+        eventManager.publishEvent(this, GameEventType.LEVEL_CREATED);
     }
 
     public void startLevel() {
-        levelStartTime = System.currentTimeMillis();
+        levelRunningTicks = 0;
+        levelParameters = createLevelParameters(level.number());
 
         gateKeeper.setLevelNumber(level.number());
         scoreManager.setLevelNumber(level.number());
         scoreManager.setScoreEnabled(!isDemoLevel());
         scoreManager.setHighScoreEnabled(!isDemoLevel());
         letsGetReadyToRumble();
-        setActorBaseSpeed(level.number());
+        setActorBaseSpeed();
         if (!isDemoLevel()) {
             level.showMessage(GameLevel.Message.READY);
         }
@@ -197,9 +311,10 @@ public abstract class GameModel {
         Logger.info("{} started", isDemoLevel() ? "Demo Level" : "Level " + level.number());
         Logger.debug("{} base speed: {0.00} px/tick", level.pac().name(), level.pac().baseSpeed());
         level.ghosts().forEach(ghost -> Logger.debug("{} base speed: {0.00} px/tick", ghost.name(), ghost.baseSpeed()));
+        Logger.trace("Level parameters:\n{}", levelParameters);
 
         // Note: This event is very important because it triggers the creation of the actor animations!
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.LEVEL_STARTED);
+        eventManager.publishEvent(this, GameEventType.LEVEL_STARTED);
     }
 
     public void startNextLevel() {
@@ -243,6 +358,11 @@ public abstract class GameModel {
         });
     }
 
+    protected void setActorBaseSpeed() {
+        level.pac().setBaseSpeed(levelParameters.pacBaseSpeed());
+        level.ghosts().forEach(ghost -> ghost.setBaseSpeed(levelParameters.ghostBaseSpeed(ghost.id())));
+    }
+
     public void showPacAndGhosts() {
         level.pac().show();
         level.ghosts().forEach(Ghost::show);
@@ -257,14 +377,61 @@ public abstract class GameModel {
         return eventLog;
     }
 
+    /**
+     * Starts the event log for the next simulation step. The log of the oldest retained step is reused, so this does
+     * not allocate.
+     *
+     * @param tick simulation tick
+     */
     public void newEventLog(long tick) {
-        eventLog = new SimulationStepLog(tick);
+        eventLogIndex = (eventLogIndex + 1) % eventLogs.length;
+        eventLog = eventLogs[eventLogIndex];
+        eventLog.reset(tick);
+        if (numEventLogsWritten < eventLogs.length) {
+            ++numEventLogsWritten;
+        }
+    }
+
+    /**
+     * Sets the number of simulation steps whose event logs are retained, e.g. for printing them after an error.
+     * Default is 1 (only the current step). Retained logs are discarded.
+     *
+     * @param size number of retained step logs (at least 1)
+     */
+    public void setEventLogHistorySize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Event log history size must be at least 1 but is " + size);
+        }
+        long tick = eventLog.tick;
+        eventLogs = new SimulationStepLog[size];
+        for (int i = 0; i < size; ++i) {
+            eventLogs[i] = new SimulationStepLog(tick);
+        }
+        eventLogIndex = 0;
+        numEventLogsWritten = 1;
+        eventLog = eventLogs[0];
+    }
+
+    /**
+     * @return the retained step logs, oldest first, the last one being the current log
+     */
+    public List<SimulationStepLog> eventLogHistory() {
+        List<SimulationStepLog> history = new ArrayList<>(numEventLogsWritten);
+        for (int i = numEventLogsWritten - 1; i >= 0; --i) {
+            history.add(eventLogs[Math.floorMod(eventLogIndex - i, eventLogs.length)]);
+        }
+        return history;
     }
 
     public void printEventLog() {
         eventLog.print();
     }
 
+    public void printEventLogHistory() {
+        Logger.info("Events of the last {} simulation steps:", numEventLogsWritten);
+        eventLogHistory().forEach(SimulationStepLog::print);
+    }
+
     /**
      * Returns the chasing target tile for the given chaser.
      *
@@ -311,7 +478,7 @@ public abstract class GameModel {
 
         Logger.trace("Game level {} completed.", level.number());
 
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.STOP_ALL_SOUNDS);
+        eventManager.publishEvent(this, GameEventType.STOP_ALL_SOUNDS);
     }
 
     public boolean isLevelComplete() {
@@ -323,7 +490,7 @@ public abstract class GameModel {
     }
 
     public boolean areGhostsKilled() {
-        return !eventLog.killedGhosts.isEmpty();
+        return eventLog.hasKilledGhosts();
     }
 
     public void startHunting() {
@@ -332,28 +499,40 @@ public abstract class GameModel {
         level.blinking().setStartPhase(Pulse.ON);
         level.blinking().restart(Integer.MAX_VALUE);
         huntingTimer().startFirstHuntingPhase(level.number());
-        THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.HUNTING_PHASE_STARTED);
+        eventManager.publishEvent(this, GameEventType.HUNTING_PHASE_STARTED);
     }
 
     public void doHuntingStep() {
+        ++levelRunningTicks;
         huntingTimer().update(level.number());
         level.blinking().tick();
         gateKeeper.unlockGhosts(level, this::onGhostReleased, eventLog);
         checkForFood();
         level.pac().update(this);
         updatePacPower();
+        CollisionIndex collisionIndex = level.collisionIndex();
+        collisionIndex.updateAll(); // ghosts might have been moved outside the hunting step
         checkPacKilled();
         if (!eventLog.pacKilled) {
-            level.ghosts().forEach(ghost -> ghost.update(this));
-            level.ghosts(FRIGHTENED).filter(ghost -> areColliding(ghost, level.pac())).forEach(this::killGhost);
-            if (eventLog.killedGhosts.isEmpty()) {
+            for (long mask = level.ghostMask(); mask != 0; mask &= mask - 1) {
+                Ghost ghost = level.ghostInMask(mask);
+                ghost.update(this);
+                // cheap if the tile has not changed, covers also moves inside the house that do not set "newTileEntered"
+                collisionIndex.update(ghost);
+            }
+            long victims = collisionIndex.ghostsCollidingWith(level.pac()) & level.ghostMask(FRIGHTENED);
+            for (; victims != 0; victims &= victims - 1) {
+                killGhost(level.ghostInMask(victims));
+            }
+            if (!eventLog.hasKilledGhosts()) {
                 level.bonus().ifPresent(this::updateBonus);
             }
         }
     }
 
     private void checkPacKilled() {
-        boolean pacMeetsKiller = level.ghosts(HUNTING_PAC).anyMatch(ghost -> areColliding(level.pac(), ghost));
+        boolean pacMeetsKiller = (level.collisionIndex().ghostsCollidingWith(level.pac())
+            & level.ghostMask(HUNTING_PAC)) != 0;
         if (isDemoLevel()) {
             eventLog.pacKilled = pacMeetsKiller && !isPacManKillingIgnored();
         } else {
@@ -369,14 +548,14 @@ public abstract class GameModel {
             level.registerFoodEatenAt(tile);
             onFoodEaten(tile, level.uneatenFoodCount(), eventLog.energizerFound);
             level.pac().endStarving();
-            THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.PAC_FOUND_FOOD, tile);
+            eventManager.publishEvent(this, GameEventType.PAC_FOUND_FOOD, tile);
         } else {
             level.pac().starve();
         }
     }
 
     protected boolean areColliding(Actor2D actor, Actor2D otherActor) {
-        return actor.sameTile(otherActor);
+        return level.collisionIndex().areColliding(actor, otherActor);
     }
 
     protected void onEnergizerEaten() {
@@ -387,12 +566,12 @@ public abstract class GameModel {
             Logger.info("Hunting stopped");
             level.powerTimer().restartTicks(powerTicks);
             Logger.info("Power timer restarted, duration={} ticks ({0.00} sec)", powerTicks, powerTicks / 60.0);
-            level.ghosts(HUNTING_PAC).forEach(ghost -> ghost.setState(FRIGHTENED));
-            level.ghosts(FRIGHTENED).forEach(Ghost::reverseASAP);
+            level.forEachGhost(HUNTING_PAC, ghost -> ghost.setState(FRIGHTENED));
+            level.forEachGhost(FRIGHTENED, Ghost::reverseASAP);
             eventLog.pacGetsPower = true;
-            THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.PAC_GETS_POWER);
+            eventManager.publishEvent(this, GameEventType.PAC_GETS_POWER);
         } else {
-            level.ghosts(FRIGHTENED, HUNTING_PAC).forEach(Ghost::reverseASAP);
+            level.forEachGhost(level.ghostMask(FRIGHTENED) | level.ghostMask(HUNTING_PAC), Ghost::reverseASAP);
         }
     }
 
@@ -400,7 +579,7 @@ public abstract class GameModel {
         level.powerTimer().doTick();
         if (isPowerFadingStarting(level.powerTimer())) {
             eventLog.pacStartsLosingPower = true;
-            THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.PAC_STARTS_LOSING_POWER);
+            eventManager.publishEvent(this, GameEventType.PAC_STARTS_LOSING_POWER);
         } else if (level.powerTimer().hasExpired()) {
             level.powerTimer().stop();
             level.powerTimer().reset(0);
@@ -408,9 +587,9 @@ public abstract class GameModel {
             level.victims().clear();
             huntingTimer().start();
             Logger.info("Hunting timer restarted");
-            level.ghosts(FRIGHTENED).forEach(ghost -> ghost.setState(HUNTING_PAC));
+            level.forEachGhost(FRIGHTENED, ghost -> ghost.setState(HUNTING_PAC));
             eventLog.pacLostPower = true;
-            THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.PAC_LOST_POWER);
+            eventManager.publishEvent(this, GameEventType.PAC_LOST_POWER);
         }
     }
 
@@ -429,7 +608,7 @@ public abstract class GameModel {
             scoreManager.scorePoints(bonus.points());
             Logger.info("Scored {} points for eating bonus {}", bonus.points(), bonus);
             eventLog.bonusEaten = true;
-            THE_GAME_EVENT_MANAGER.publishEvent(this, GameEventType.BONUS_EATEN);
+            eventManager.publishEvent(this, GameEventType.BONUS_EATEN);
         } else {
             bonus.update(this);
         }
@@ -10,7 +10,6 @@ import org.tinylog.Logger;
 
 import java.util.Arrays;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 
 import static de.amr.games.pacman.lib.Direction.LEFT;
 import static de.amr.games.pacman.model.GameModel.*;
@@ -173,10 +172,14 @@ public class GateKeeper {
                 Logger.trace("Global dot counter = {}", globalCounter);
             }
         } else {
-            level.ghosts(LOCKED).filter(Ghost::insideHouse).findFirst().ifPresent(ghost -> {
-                countersByGhost[ghost.id()]++;
-                Logger.trace("{} dot counter = {}", ghost.name(), countersByGhost[ghost.id()]);
-            });
+            for (long mask = level.ghostMask(LOCKED); mask != 0; mask &= mask - 1) {
+                Ghost ghost = level.ghostInMask(mask);
+                if (ghost.insideHouse()) {
+                    countersByGhost[ghost.id()]++;
+                    Logger.trace("{} dot counter = {}", ghost.name(), countersByGhost[ghost.id()]);
+                    break;
+                }
+            }
         }
     }
 
@@ -191,18 +194,17 @@ public class GateKeeper {
                 blinky.setState(HUNTING_PAC);
             }
         }
-        Stream.of(PINK_GHOST_ID, CYAN_GHOST_ID, ORANGE_GHOST_ID)
-            .map(level::ghost)
-            .filter(ghost -> ghost.inState(LOCKED))
-            .findFirst().ifPresent(prisoner -> {
-                String releaseInfo = checkReleaseOf(level, prisoner);
-                if (releaseInfo != null) {
-                    eventLog.releasedGhost = prisoner;
-                    eventLog.ghostReleaseInfo = releaseInfo;
-                    prisoner.setMoveAndWishDir(Direction.UP);
-                    prisoner.setState(LEAVING_HOUSE);
-                    onGhostReleased.accept(prisoner);
-                }
-        });
+        // first locked ghost in the order Pinky, Inky, Clyde is the next prisoner to be released
+        long prisoners = level.ghostMask(LOCKED) & ~(1L << RED_GHOST_ID);
+        if (prisoners != 0) {
+            Ghost prisoner = level.ghostInMask(prisoners);
+            String releaseInfo = checkReleaseOf(level, prisoner);
+            if (releaseInfo != null) {
+                eventLog.setReleasedGhost(prisoner, releaseInfo);
+                prisoner.setMoveAndWishDir(Direction.UP);
+                prisoner.setState(LEAVING_HOUSE);
+                onGhostReleased.accept(prisoner);
+            }
+        }
     }
 }
\ No newline at end of file
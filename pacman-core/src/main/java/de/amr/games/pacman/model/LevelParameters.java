@@ -0,0 +1,256 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static de.amr.games.pacman.Globals.requireValidGhostID;
+
+/**
+ * Immutable table of the speeds (pixels per tick) and durations (ticks) used in a game level.
+ * <p>
+ * The table is computed by the game variant when a level is started, such that the per-tick code of the actors only
+ * reads array entries instead of evaluating level data, difficulty settings etc. again and again. The {@link #dump()}
+ * output can be used to compare the values with reference data.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public final class LevelParameters {
+
+    public enum PacSpeed { NORMAL, POWER, BOOSTED, BOOSTED_POWER }
+
+    public enum GhostSpeed {
+        /** Hunting (chasing or scattering) outside the tunnel */
+        ATTACK,
+        /** Hunting inside the tunnel */
+        ATTACK_TUNNEL,
+        /** Red ghost being "Cruise Elroy" grade 1 */
+        ELROY_1,
+        /** Red ghost being "Cruise Elroy" grade 2 */
+        ELROY_2,
+        /** Frightened or any other state inside the tunnel */
+        TUNNEL,
+        FRIGHTENED,
+        INSIDE_HOUSE,
+        RETURNING_TO_HOUSE
+    }
+
+    private static final PacSpeed[] PAC_SPEEDS = PacSpeed.values();
+    private static final GhostSpeed[] GHOST_SPEEDS = GhostSpeed.values();
+    private static final int NUM_GHOSTS = 4;
+
+    public static Builder builder(int levelNumber) {
+        return new Builder(levelNumber);
+    }
+
+    public static class Builder {
+        private final int levelNumber;
+        private float pacBaseSpeed;
+        private final float[] pacSpeeds = new float[PAC_SPEEDS.length];
+        private final float[] ghostBaseSpeeds = new float[NUM_GHOSTS];
+        private final float[] ghostSpeeds = new float[NUM_GHOSTS * GHOST_SPEEDS.length];
+        private float[] ghostSpeedIncreaseByFoodLeft = new float[0];
+        private int elroy1FoodLeft = -1;
+        private int elroy2FoodLeft = -1;
+        private int numFlashes;
+        private long pacPowerTicks;
+        private long pacPowerFadingTicks;
+        private long pacDyingTicks;
+
+        private Builder(int levelNumber) {
+            if (levelNumber < 1) {
+                throw new IllegalArgumentException("Illegal level number: " + levelNumber);
+            }
+            this.levelNumber = levelNumber;
+        }
+
+        public Builder pacBaseSpeed(float speed) {
+            pacBaseSpeed = speed;
+            return this;
+        }
+
+        public Builder pacSpeed(PacSpeed kind, float speed) {
+            pacSpeeds[kind.ordinal()] = speed;
+            return this;
+        }
+
+        public Builder ghostBaseSpeed(byte ghostID, float speed) {
+            ghostBaseSpeeds[requireValidGhostID(ghostID)] = speed;
+            return this;
+        }
+
+        public Builder ghostSpeed(byte ghostID, GhostSpeed kind, float speed) {
+            ghostSpeeds[requireValidGhostID(ghostID) * GHOST_SPEEDS.length + kind.ordinal()] = speed;
+            return this;
+        }
+
+        /**
+         * @param increaseByFoodLeft ghost attack speed increase indexed by the number of uneaten pellets and
+         *                           energizers, no increase if the number is outside the array
+         */
+        public Builder ghostSpeedIncreaseByFoodLeft(float[] increaseByFoodLeft) {
+            ghostSpeedIncreaseByFoodLeft = increaseByFoodLeft.clone();
+            return this;
+        }
+
+        public Builder elroyFoodLeft(int elroy1FoodLeft, int elroy2FoodLeft) {
+            this.elroy1FoodLeft = elroy1FoodLeft;
+            this.elroy2FoodLeft = elroy2FoodLeft;
+            return this;
+        }
+
+        public Builder numFlashes(int numFlashes) {
+            this.numFlashes = numFlashes;
+            return this;
+        }
+
+        public Builder pacPowerTicks(long ticks) {
+            pacPowerTicks = ticks;
+            return this;
+        }
+
+        public Builder pacPowerFadingTicks(long ticks) {
+            pacPowerFadingTicks = ticks;
+            return this;
+        }
+
+        public Builder pacDyingTicks(long ticks) {
+            pacDyingTicks = ticks;
+            return this;
+        }
+
+        public LevelParameters build() {
+            return new LevelParameters(this);
+        }
+    }
+
+    private final int levelNumber;
+    private final float pacBaseSpeed;
+    private final float[] pacSpeeds;
+    private final float[] ghostBaseSpeeds;
+    private final float[] ghostSpeeds;
+    private final float[] ghostSpeedIncreaseByFoodLeft;
+    private final int elroy1FoodLeft;
+    private final int elroy2FoodLeft;
+    private final int numFlashes;
+    private final long pacPowerTicks;
+    private final long pacPowerFadingTicks;
+    private final long pacDyingTicks;
+
+    private LevelParameters(Builder builder) {
+        levelNumber = builder.levelNumber;
+        pacBaseSpeed = builder.pacBaseSpeed;
+        pacSpeeds = builder.pacSpeeds.clone();
+        ghostBaseSpeeds = builder.ghostBaseSpeeds.clone();
+        ghostSpeeds = builder.ghostSpeeds.clone();
+        ghostSpeedIncreaseByFoodLeft = builder.ghostSpeedIncreaseByFoodLeft.clone();
+        elroy1FoodLeft = builder.elroy1FoodLeft;
+        elroy2FoodLeft = builder.elroy2FoodLeft;
+        numFlashes = builder.numFlashes;
+        pacPowerTicks = builder.pacPowerTicks;
+        pacPowerFadingTicks = builder.pacPowerFadingTicks;
+        pacDyingTicks = builder.pacDyingTicks;
+    }
+
+    public int levelNumber() {
+        return levelNumber;
+    }
+
+    public float pacBaseSpeed() {
+        return pacBaseSpeed;
+    }
+
+    public float pacSpeed(PacSpeed kind) {
+        return pacSpeeds[kind.ordinal()];
+    }
+
+    public float ghostBaseSpeed(byte ghostID) {
+        return ghostBaseSpeeds[ghostID];
+    }
+
+    public float ghostSpeed(byte ghostID, GhostSpeed kind) {
+        return ghostSpeeds[ghostID * GHOST_SPEEDS.length + kind.ordinal()];
+    }
+
+    /**
+     * @param foodLeft number of uneaten pellets and energizers
+     * @return increase of the ghost attack speed for this amount of remaining food
+     */
+    public float ghostSpeedIncrease(int foodLeft) {
+        return foodLeft >= 0 && foodLeft < ghostSpeedIncreaseByFoodLeft.length ? ghostSpeedIncreaseByFoodLeft[foodLeft] : 0;
+    }
+
+    /**
+     * @return number of remaining pellets when the red ghost becomes "Cruise Elroy" grade 1, -1 if never
+     */
+    public int elroy1FoodLeft() {
+        return elroy1FoodLeft;
+    }
+
+    /**
+     * @return number of remaining pellets when the red ghost becomes "Cruise Elroy" grade 2, -1 if never
+     */
+    public int elroy2FoodLeft() {
+        return elroy2FoodLeft;
+    }
+
+    public int numFlashes() {
+        return numFlashes;
+    }
+
+    public long pacPowerTicks() {
+        return pacPowerTicks;
+    }
+
+    public long pacPowerFadingTicks() {
+        return pacPowerFadingTicks;
+    }
+
+    public long pacDyingTicks() {
+        return pacDyingTicks;
+    }
+
+    /**
+     * @return text lines in the form {@code key=value}, one entry per line, suitable for comparing with reference data
+     */
+    public List<String> dump() {
+        var lines = new ArrayList<String>();
+        lines.add("level=" + levelNumber);
+        lines.add("pac.base=" + pacBaseSpeed);
+        for (PacSpeed kind : PAC_SPEEDS) {
+            lines.add("pac." + kind + "=" + pacSpeed(kind));
+        }
+        for (byte id = 0; id < NUM_GHOSTS; ++id) {
+            lines.add("ghost" + id + ".base=" + ghostBaseSpeed(id));
+            for (GhostSpeed kind : GHOST_SPEEDS) {
+                lines.add("ghost" + id + "." + kind + "=" + ghostSpeed(id, kind));
+            }
+        }
+        lines.add("ghost.increaseByFoodLeft=" + Arrays.toString(ghostSpeedIncreaseByFoodLeft));
+        lines.add("elroy1FoodLeft=" + elroy1FoodLeft);
+        lines.add("elroy2FoodLeft=" + elroy2FoodLeft);
+        lines.add("numFlashes=" + numFlashes);
+        lines.add("pacPowerTicks=" + pacPowerTicks);
+        lines.add("pacPowerFadingTicks=" + pacPowerFadingTicks);
+        lines.add("pacDyingTicks=" + pacDyingTicks);
+        return lines;
+    }
+
+    /**
+     * @param reference reference data in the format produced by {@link #dump()}
+     * @return lines of this table that are missing in or differ from the reference data
+     */
+    public List<String> differencesTo(List<String> reference) {
+        return dump().stream().filter(line -> !reference.contains(line)).toList();
+    }
+
+    @Override
+    public String toString() {
+        return String.join("\n", dump());
+    }
+}
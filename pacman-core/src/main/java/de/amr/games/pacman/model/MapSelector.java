@@ -4,13 +4,18 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.model;
 
+import de.amr.games.pacman.lib.tilemap.LayerID;
 import de.amr.games.pacman.lib.tilemap.WorldMap;
 import org.tinylog.Logger;
 
-import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
+import java.util.zip.CRC32;
+
+import static de.amr.games.pacman.Globals.THE_MAP_LIBRARY;
 
 public abstract class MapSelector {
 
@@ -21,35 +26,51 @@ public abstract class MapSelector {
     }
 
     /**
+     * Loads the maps from the resources of the module containing this class. The maps are loaded in parallel on the
+     * threads of the map library and taken from its cache if they have been loaded before.
+     *
      * @param mapPattern path (pattern) to access the map files inside resources folder,
      *                   counting from 1, e.g. <code>"maps/masonic_%d.world"</code>
      * @param mapCount number of maps to be loaded
+     * @return future providing the maps in the order of their numbers, maps that could not be loaded are missing
      */
-    public List<WorldMap> loadMapsFromModule(String mapPattern, int mapCount) {
-        var maps = new ArrayList<WorldMap>();
+    public CompletableFuture<List<WorldMap>> loadMapsFromModuleAsync(String mapPattern, int mapCount) {
+        var urls = new ArrayList<URL>();
         for (int mapNumber = 1; mapNumber <= mapCount; ++mapNumber) {
             URL url = getClass().getResource(mapPattern.formatted(mapNumber));
             if (url != null) {
-                try {
-                    WorldMap worldMap = new WorldMap(url);
-                    maps.add(worldMap);
-                } catch (IOException x) {
-                    Logger.error(x);
-                    Logger.error("Could not create world map, url={}", url);
-                }
+                urls.add(url);
             } else {
                 Logger.error("Could not load world map, pattern={}, number={}", mapPattern, mapNumber);
             }
         }
-        Logger.info("{} maps loaded ({})", maps.size(), getClass().getSimpleName());
-        return maps;
+        return THE_MAP_LIBRARY.loadAll(urls).thenApply(maps -> {
+            Logger.info("{} maps loaded ({})", maps.size(), getClass().getSimpleName());
+            return maps;
+        });
+    }
+
+    /**
+     * Like {@link #loadMapsFromModuleAsync(String, int)} but waits until all maps are loaded.
+     *
+     * @param mapPattern path (pattern) to access the map files inside resources folder,
+     *                   counting from 1, e.g. <code>"maps/masonic_%d.world"</code>
+     * @param mapCount number of maps to be loaded
+     */
+    public List<WorldMap> loadMapsFromModule(String mapPattern, int mapCount) {
+        return loadMapsFromModuleAsync(mapPattern, mapCount).join();
     }
 
     public final MapSelectionMode mapSelectionMode() { return mapSelectionMode; }
 
     public void setMapSelectionMode(MapSelectionMode mode) { mapSelectionMode = mode; }
 
-    public abstract WorldMap selectWorldMap(int levelNumber);
+    /**
+     * @param levelNumber level number (starting at 1)
+     * @param random random generator of the game model, used if the map is selected randomly
+     * @return world map for the given level
+     */
+    public abstract WorldMap selectWorldMap(int levelNumber, RandomGenerator random);
 
     public abstract List<WorldMap> builtinMaps();
 
@@ -59,5 +80,43 @@ public abstract class MapSelector {
 
     public void loadCustomMaps() {}
 
+    /**
+     * @return the custom maps as used by {@link #selectWorldMap(int, RandomGenerator)}, waits if they are being loaded
+     */
+    protected List<WorldMap> selectableCustomMaps() {
+        return customMaps();
+    }
+
+    /**
+     * Identifies the custom maps by their content, independent of file names and locations. Two installations select
+     * the same maps if their fingerprints and map selection modes are equal.
+     *
+     * @return number of custom maps and checksum of their tiles in selection order, empty if no custom maps are used
+     */
+    public String customMapsFingerprint() {
+        if (mapSelectionMode == MapSelectionMode.NO_CUSTOM_MAPS) {
+            return "";
+        }
+        List<WorldMap> customMaps = selectableCustomMaps();
+        var checksum = new CRC32();
+        for (WorldMap worldMap : customMaps) {
+            checksum.update(worldMap.numRows());
+            checksum.update(worldMap.numCols());
+            for (int index = 0; index < worldMap.numTiles(); ++index) {
+                checksum.update(worldMap.get(LayerID.TERRAIN, index));
+                checksum.update(worldMap.get(LayerID.FOOD, index));
+            }
+        }
+        return "%d:%08x".formatted(customMaps.size(), checksum.getValue());
+    }
+
     public abstract void loadAllMaps(GameModel game);
+
+    /**
+     * @return future that completes when the maps requested by the last call of {@link #loadAllMaps(GameModel)}
+     * are available. Selectors that load synchronously return a completed future.
+     */
+    public CompletableFuture<?> whenMapsLoaded() {
+        return CompletableFuture.completedFuture(null);
+    }
 }
\ No newline at end of file
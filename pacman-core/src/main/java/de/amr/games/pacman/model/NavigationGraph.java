@@ -0,0 +1,221 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.model;
+
+import de.amr.games.pacman.lib.Direction;
+import de.amr.games.pacman.lib.Vector2i;
+import de.amr.games.pacman.lib.tilemap.LayerID;
+import de.amr.games.pacman.lib.tilemap.TerrainTiles;
+import de.amr.games.pacman.lib.tilemap.WorldMap;
+
+import java.util.Arrays;
+
+import static de.amr.games.pacman.lib.tilemap.TerrainTiles.*;
+
+/**
+ * Navigation data of a game level, computed once from the terrain so that the creatures do not have to evaluate
+ * terrain bytes, house bounds and portals when deciding where to go.
+ * <p>
+ * All data is stored in primitive arrays indexed by the tile index (row-by-row, see {@link WorldMap#index(Vector2i)}).
+ * For each tile, there is a set of flags, a bitmask of the directions leading to a tile that can be accessed by
+ * creatures not allowed to enter the house (Pac-Man, moving bonus), the indices of the neighbor tiles and the indices
+ * of the tiles reached through these exits. Tiles outside the world (portals) are not part of the graph, leaving
+ * through a portal leads directly to the tunnel end on the other side.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public final class NavigationGraph {
+
+    public static final byte BLOCKED      = 0x01;
+    public static final byte TUNNEL       = 0x02;
+    public static final byte DOOR         = 0x04;
+    public static final byte HOUSE        = 0x08;
+    public static final byte INTERSECTION = 0x10;
+    public static final byte ONE_WAY_DOWN = 0x20;
+
+    /** Neighbor index of tiles outside the world. */
+    public static final int NO_NEIGHBOR = -1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private static boolean isInaccessible(byte content) {
+        return content == WALL_H  || content == WALL_V
+            || content == ARC_NE || content == ARC_NW || content == ARC_SE || content == ARC_SW
+            || content == DCORNER_NE || content == DCORNER_NW || content == DCORNER_SE || content == DCORNER_SW;
+    }
+
+    private final int numCols;
+    private final int numRows;
+    private final byte[] flags;
+    private final byte[] exits;
+    private final int[] neighbors;
+    private final int[] exitTargets;
+    private final int hashCode;
+
+    NavigationGraph(GameLevel level) {
+        WorldMap worldMap = level.worldMap();
+        numCols = worldMap.numCols();
+        numRows = worldMap.numRows();
+        int numTiles = numCols * numRows;
+        flags = new byte[numTiles];
+        exits = new byte[numTiles];
+        neighbors = new int[4 * numTiles];
+        exitTargets = new int[4 * numTiles];
+
+        Vector2i houseMinTile = level.houseMinTile(), houseMaxTile = level.houseMaxTile();
+        for (int y = 0; y < numRows; ++y) {
+            for (int x = 0; x < numCols; ++x) {
+                int index = y * numCols + x;
+                byte content = worldMap.get(LayerID.TERRAIN, y, x);
+                byte tileFlags = 0;
+                if (isInaccessible(content)) tileFlags |= BLOCKED;
+                // flag constants TUNNEL and ONE_WAY_DOWN shadow the terrain tile constants!
+                if (content == TerrainTiles.TUNNEL)       tileFlags |= TUNNEL;
+                if (content == TerrainTiles.ONE_WAY_DOWN) tileFlags |= ONE_WAY_DOWN;
+                if (level.isDoorAt(x, y))    tileFlags |= DOOR;
+                if (houseMinTile != null && houseMaxTile != null
+                    && houseMinTile.x() <= x && x <= houseMaxTile.x() && houseMinTile.y() <= y && y <= houseMaxTile.y()) {
+                    tileFlags |= HOUSE;
+                }
+                flags[index] = tileFlags;
+                for (Direction dir : DIRECTIONS) {
+                    int nx = x + dir.vector().x(), ny = y + dir.vector().y();
+                    neighbors[4 * index + dir.ordinal()] = worldMap.outOfBounds(ny, nx) ? NO_NEIGHBOR : ny * numCols + nx;
+                }
+            }
+        }
+        // second pass, needs the flags of the neighbors
+        for (int y = 0; y < numRows; ++y) {
+            for (int x = 0; x < numCols; ++x) {
+                int index = y * numCols + x;
+                int numBlockedOrDoorNeighbors = 0;
+                byte exitBits = 0;
+                for (Direction dir : DIRECTIONS) {
+                    int neighbor = neighbors[4 * index + dir.ordinal()];
+                    exitTargets[4 * index + dir.ordinal()] = NO_NEIGHBOR;
+                    if (neighbor == NO_NEIGHBOR) {
+                        if (level.isPortalAt(x + dir.vector().x(), y + dir.vector().y())) {
+                            exitBits |= (byte) (1 << dir.ordinal());
+                            exitTargets[4 * index + dir.ordinal()] = portalTarget(level, x, y, dir);
+                        }
+                        continue;
+                    }
+                    byte neighborFlags = flags[neighbor];
+                    if ((neighborFlags & BLOCKED) != 0) ++numBlockedOrDoorNeighbors;
+                    if ((neighborFlags & DOOR) != 0)    ++numBlockedOrDoorNeighbors;
+                    if ((neighborFlags & (BLOCKED | HOUSE)) == 0) {
+                        exitBits |= (byte) (1 << dir.ordinal());
+                        exitTargets[4 * index + dir.ordinal()] = neighbor;
+                    }
+                }
+                exits[index] = exitBits;
+                if ((flags[index] & HOUSE) == 0 && numBlockedOrDoorNeighbors < 2) {
+                    flags[index] |= INTERSECTION;
+                }
+            }
+        }
+        hashCode = 31 * (31 * numCols + Arrays.hashCode(flags)) + Arrays.hashCode(exits);
+    }
+
+    // returns the index of the tunnel end at the other side of the portal or NO_NEIGHBOR
+    private int portalTarget(GameLevel level, int x, int y, Direction dir) {
+        for (int i = 0; i < level.numPortals(); ++i) {
+            Portal portal = level.portal(i);
+            Vector2i left = portal.leftTunnelEnd(), right = portal.rightTunnelEnd();
+            if (dir == Direction.LEFT && left.x() == x && left.y() == y) {
+                return right.y() * numCols + right.x();
+            }
+            if (dir == Direction.RIGHT && right.x() == x && right.y() == y) {
+                return left.y() * numCols + left.x();
+            }
+        }
+        return NO_NEIGHBOR;
+    }
+
+    /**
+     * Graphs are equal if they are computed from the same maze (terrain, house and portals), even for different levels.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof NavigationGraph other && hashCode == other.hashCode
+            && numCols == other.numCols && numRows == other.numRows
+            && Arrays.equals(flags, other.flags) && Arrays.equals(exits, other.exits);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    public int numCols() {
+        return numCols;
+    }
+
+    public int numRows() {
+        return numRows;
+    }
+
+    /**
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     * @return tile index or {@link #NO_NEIGHBOR} if the tile is outside the world
+     */
+    public int index(int x, int y) {
+        return 0 <= x && x < numCols && 0 <= y && y < numRows ? y * numCols + x : NO_NEIGHBOR;
+    }
+
+    /**
+     * @param index tile index
+     * @return flags of this tile, see constants
+     */
+    public byte flags(int index) {
+        return flags[index];
+    }
+
+    /**
+     * @param index tile index
+     * @param flagMask flag(s) to test
+     * @return if any of the given flags is set for this tile
+     */
+    public boolean is(int index, int flagMask) {
+        return (flags[index] & flagMask) != 0;
+    }
+
+    /**
+     * @param index tile index
+     * @return bitmask where bit <code>d.ordinal()</code> is set if the neighbor towards direction <code>d</code> can be
+     * accessed by creatures that are not allowed to enter the house
+     */
+    public byte exits(int index) {
+        return exits[index];
+    }
+
+    public boolean hasExit(int index, Direction dir) {
+        return (exits[index] & (1 << dir.ordinal())) != 0;
+    }
+
+    /**
+     * @param index tile index
+     * @param dir direction
+     * @return index of neighbor tile towards given direction or {@link #NO_NEIGHBOR} if outside the world
+     */
+    public int neighbor(int index, Direction dir) {
+        return neighbors[4 * index + dir.ordinal()];
+    }
+
+    /**
+     * @param index tile index
+     * @param dir direction
+     * @return index of the tile reached by leaving the tile towards the given direction (the tunnel end on the other
+     * side for portals) or {@link #NO_NEIGHBOR} if there is no exit towards this direction
+     */
+    public int exitTarget(int index, Direction dir) {
+        return exitTargets[4 * index + dir.ordinal()];
+    }
+}
@@ -41,15 +41,19 @@ public final class Portal {
     }
 
     public boolean contains(Vector2i tile) {
-        for (int i = 1; i <= depth; ++i) {
-            if (tile.equals(leftTunnelEnd.minus(i, 0))) {
-                return true;
-            }
-            if (tile.equals(rightTunnelEnd.plus(i, 0))) {
-                return true;
-            }
+        return contains(tile.x(), tile.y());
+    }
+
+    /**
+     * @param x tile x-coordinate
+     * @param y tile y-coordinate
+     * @return if the tile is one of the <code>depth</code> tiles left of the left or right of the right tunnel end
+     */
+    public boolean contains(int x, int y) {
+        if (y == leftTunnelEnd.y() && x < leftTunnelEnd.x() && x >= leftTunnelEnd.x() - depth) {
+            return true;
         }
-        return false;
+        return y == rightTunnelEnd.y() && x > rightTunnelEnd.x() && x <= rightTunnelEnd.x() + depth;
     }
 
     @Override
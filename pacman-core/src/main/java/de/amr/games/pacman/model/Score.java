@@ -4,10 +4,6 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.model;
 
-import javafx.beans.property.IntegerProperty;
-import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleObjectProperty;
 import org.tinylog.Logger;
 
 import java.io.*;
@@ -20,9 +16,9 @@ import java.util.Properties;
  */
 public class Score {
 
-    private final IntegerProperty pointsPy = new SimpleIntegerProperty();
-    private final IntegerProperty levelNumberPy = new SimpleIntegerProperty();
-    private final ObjectProperty<LocalDate> datePy = new SimpleObjectProperty<>();
+    private int points;
+    private int levelNumber;
+    private LocalDate date;
 
     public Score() {
         reset();
@@ -34,28 +30,22 @@ public class Score {
         setDate(LocalDate.now());
     }
 
-    public IntegerProperty pointsProperty() { return pointsPy; }
-
-    public void setPoints(int points) { pointsProperty().set(points);  }
+    public void setPoints(int points) { this.points = points; }
 
     public int points() {
-        return pointsProperty().get();
+        return points;
     }
 
-    public IntegerProperty levelNumberProperty() { return levelNumberPy; }
-
-    public void setLevelNumber(int levelNumber) { levelNumberProperty().set(levelNumber); }
+    public void setLevelNumber(int levelNumber) { this.levelNumber = levelNumber; }
 
     public int levelNumber() {
-        return levelNumberProperty().get();
+        return levelNumber;
     }
 
-    public ObjectProperty<LocalDate> dateProperty() { return datePy; }
-
-    public void setDate(LocalDate date) { dateProperty().set(date); }
+    public void setDate(LocalDate date) { this.date = date; }
 
     public LocalDate date() {
-        return dateProperty().get();
+        return date;
     }
 
     public void read(File file) {
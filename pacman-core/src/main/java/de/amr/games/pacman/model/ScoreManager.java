@@ -4,8 +4,6 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.model;
 
-import javafx.beans.property.BooleanProperty;
-import javafx.beans.property.SimpleBooleanProperty;
 import org.tinylog.Logger;
 
 import java.io.File;
@@ -22,8 +20,8 @@ public class ScoreManager {
     private final Score score = new Score();
     private final Score highScore = new Score();
     private Set<Integer> extraLifeScores = Set.of();
-    private final BooleanProperty scoreEnabledPy = new SimpleBooleanProperty(true);
-    private final BooleanProperty highScoreEnabledPy= new SimpleBooleanProperty(true);
+    private boolean scoreEnabled = true;
+    private boolean highScoreEnabled = true;
     private File highScoreFile;
     private Consumer<Integer> onExtraLifeWonAction;
 
@@ -54,12 +52,18 @@ public class ScoreManager {
     }
 
     public void loadHighScore() {
+        if (highScoreFile == null) {
+            return; // no persistent high score e.g. in headless simulation
+        }
         highScore.read(highScoreFile);
         Logger.info("Highscore loaded. File: '{}', {} points, level {}",
             highScoreFile, highScore.points(), highScore.levelNumber());
     }
 
     public void updateHighScore() {
+        if (highScoreFile == null) {
+            return;
+        }
         var oldHighScore = new Score();
         oldHighScore.read(highScoreFile);
         if (highScore.points() > oldHighScore.points()) {
@@ -72,6 +76,10 @@ public class ScoreManager {
     }
 
     public void resetHighScore() {
+        if (highScoreFile == null) {
+            highScore.reset();
+            return;
+        }
         new Score().save(highScoreFile, "High Score, %s".formatted(LocalDateTime.now()));
     }
 
@@ -87,22 +95,21 @@ public class ScoreManager {
         return highScore;
     }
 
-    public BooleanProperty scoreEnabledProperty() { return scoreEnabledPy; }
-
     public boolean isScoreEnabled() {
-        return scoreEnabledPy.get();
+        return scoreEnabled;
     }
 
     public void setScoreEnabled(boolean enabled) {
-        scoreEnabledProperty().set(enabled);
+        scoreEnabled = enabled;
     }
 
-    public BooleanProperty highScoreEnabledProperty() { return highScoreEnabledPy; }
-
-    public boolean isHighScoreEnabled() { return highScoreEnabledProperty().get(); }
+    public boolean isHighScoreEnabled() { return highScoreEnabled; }
 
-    public void setHighScoreEnabled(boolean enabled) { highScoreEnabledProperty().set(enabled); }
+    public void setHighScoreEnabled(boolean enabled) { highScoreEnabled = enabled; }
 
+    /**
+     * @param highScoreFile file where high score is stored or {@code null} if high score is not persistent
+     */
     public void setHighScoreFile(File highScoreFile) {
         this.highScoreFile = highScoreFile;
     }
@@ -13,27 +13,88 @@ import java.util.List;
 
 /**
  * Stores important events that happened during a single simulation step.
+ * <p>
+ * Instances are reused: the game model resets its log at the start of each step, so recording events does not
+ * allocate. Ghosts are stored by their ID, killed ghosts as a bit set over the ghost IDs. The names of the ghosts
+ * involved are taken from the ghosts when the events are recorded, so the messages use the names of the game variant.
+ * </p>
  *
  * @author Armin Reichert
  */
 public class SimulationStepLog {
-    public final long tick;
-    public Vector2i foodFoundTile = null;
-    public boolean  energizerFound = false;
-    public int      bonusIndex = -1;
-    public boolean  bonusEaten = false;
-    public boolean  pacGetsPower = false;
-    public boolean  pacStartsLosingPower = false;
-    public boolean  pacLostPower = false;
-    public boolean  pacKilled = false;
-    public boolean  extraLifeWon = false;
-    public int      extraLifeScore = 0;
-    public Ghost    releasedGhost = null;
-    public String  ghostReleaseInfo = null;
-    public final List<Ghost> killedGhosts = new ArrayList<>(4);
+
+    public long     tick;
+    public Vector2i foodFoundTile;
+    public boolean  energizerFound;
+    public int      bonusIndex;
+    public boolean  bonusEaten;
+    public boolean  pacGetsPower;
+    public boolean  pacStartsLosingPower;
+    public boolean  pacLostPower;
+    public boolean  pacKilled;
+    public boolean  extraLifeWon;
+    public int      extraLifeScore;
+    public byte     releasedGhostID;
+    public String   ghostReleaseInfo;
+    private byte    killedGhostBits;
+    // indexed by ghost ID, only valid for the ghosts released or killed in this step
+    private final String[] ghostNames = new String[4];
 
     public SimulationStepLog(long tick) {
+        reset(tick);
+    }
+
+    /**
+     * Clears all events and sets the tick of the new simulation step.
+     *
+     * @param tick simulation tick
+     */
+    public void reset(long tick) {
         this.tick = tick;
+        foodFoundTile = null;
+        energizerFound = false;
+        bonusIndex = -1;
+        bonusEaten = false;
+        pacGetsPower = false;
+        pacStartsLosingPower = false;
+        pacLostPower = false;
+        pacKilled = false;
+        extraLifeWon = false;
+        extraLifeScore = 0;
+        releasedGhostID = -1;
+        ghostReleaseInfo = null;
+        killedGhostBits = 0;
+    }
+
+    public void setReleasedGhost(Ghost ghost, String releaseInfo) {
+        releasedGhostID = ghost.id();
+        ghostReleaseInfo = releaseInfo;
+        ghostNames[ghost.id()] = ghost.name();
+    }
+
+    public void addKilledGhost(Ghost ghost) {
+        killedGhostBits |= (byte) (1 << ghost.id());
+        ghostNames[ghost.id()] = ghost.name();
+    }
+
+    public boolean isGhostKilled(byte ghostID) {
+        return (killedGhostBits & (1 << ghostID)) != 0;
+    }
+
+    public boolean hasKilledGhosts() {
+        return killedGhostBits != 0;
+    }
+
+    public int numKilledGhosts() {
+        return Integer.bitCount(killedGhostBits);
+    }
+
+    /**
+     * @return if this log contains any event worth printing
+     */
+    public boolean isEmpty() {
+        return !energizerFound && bonusIndex == -1 && !bonusEaten && !pacGetsPower && !pacStartsLosingPower
+            && !pacLostPower && !pacKilled && !extraLifeWon && releasedGhostID == -1 && killedGhostBits == 0;
     }
 
     public List<String> createMessageList() {
@@ -62,22 +123,28 @@ public class SimulationStepLog {
         if (extraLifeWon) {
             messages.add("Extra life won for scoring %d points".formatted(extraLifeScore));
         }
-        if (releasedGhost != null) {
-            messages.add("Unlocked " + releasedGhost.name() + ": " + ghostReleaseInfo);
+        if (releasedGhostID != -1) {
+            messages.add("Unlocked " + ghostNames[releasedGhostID] + ": " + ghostReleaseInfo);
         }
-        if (!killedGhosts.isEmpty()) {
-            messages.add("Ghosts killed: " + killedGhosts.stream().map(Ghost::name).toList());
+        if (killedGhostBits != 0) {
+            List<String> killedGhostNames = new ArrayList<>(4);
+            for (byte id = 0; id < 4; ++id) {
+                if (isGhostKilled(id)) {
+                    killedGhostNames.add(ghostNames[id]);
+                }
+            }
+            messages.add("Ghosts killed: " + killedGhostNames);
         }
         return messages;
     }
 
     public void print() {
-        var messageList = createMessageList();
-        if (!messageList.isEmpty()) {
-            Logger.info("Simulation step #{}:", tick);
-            for (var msg : messageList) {
-                Logger.info("- " + msg);
-            }
+        if (isEmpty()) {
+            return;
+        }
+        Logger.info("Simulation step #{}:", tick);
+        for (var msg : createMessageList()) {
+            Logger.info("- " + msg);
         }
     }
 }
@@ -24,6 +24,8 @@ public class Actor2D {
     protected float posX, posY;
     protected float velX, velY;
     protected float accX, accY;
+    protected float savedPosX, savedPosY;
+    protected boolean positionSaved;
 
     @Override
     public String toString() {
@@ -44,6 +46,7 @@ public class Actor2D {
     public void reset() {
         visible = false;
         posX = posY = velX = velY = accX = accY = 0;
+        positionSaved = false;
     }
 
     public boolean isVisible() {
@@ -96,6 +99,33 @@ public class Actor2D {
         posY = position.y();
     }
 
+    /**
+     * Saves the current position before the next simulation step such that renderers can interpolate between the
+     * saved and the new position.
+     */
+    public void savePosition() {
+        savedPosX = posX;
+        savedPosY = posY;
+        positionSaved = true;
+    }
+
+    /**
+     * @param alpha interpolation factor in range [0, 1], 0 = saved position, 1 = current position
+     * @return x-coordinate interpolated between saved and current position. If no position has been saved or the actor
+     * has been teleported (moved more than a tile), the current x-coordinate is returned.
+     */
+    public float interpolatedPosX(float alpha) {
+        return positionSaved && Math.abs(posX - savedPosX) <= TS ? savedPosX + alpha * (posX - savedPosX) : posX;
+    }
+
+    /**
+     * @param alpha interpolation factor in range [0, 1], 0 = saved position, 1 = current position
+     * @return y-coordinate interpolated between saved and current position, see {@link #interpolatedPosX(float)}
+     */
+    public float interpolatedPosY(float alpha) {
+        return positionSaved && Math.abs(posY - savedPosY) <= TS ? savedPosY + alpha * (posY - savedPosY) : posY;
+    }
+
     public Vector2f velocity() {
         return Vector2f.of(velX, velY);
     }
@@ -140,15 +170,28 @@ public class Actor2D {
      * @return Tile containing the center of the actor collision box.
      */
     public Vector2i tile() {
-        return tileAt(posX + HTS, posY + HTS);
+        return Vector2i.of(tileX(), tileY());
+    }
+
+    /**
+     * @return x-coordinate of tile containing the center of the actor collision box
+     */
+    public int tileX() {
+        return (int) ((posX + HTS) / TS);
+    }
+
+    /**
+     * @return y-coordinate of tile containing the center of the actor collision box
+     */
+    public int tileY() {
+        return (int) ((posY + HTS) / TS);
     }
 
     /**
      * @return Offset inside current tile: (0, 0) if centered, range: [-4, +4)
      */
     public Vector2f offset() {
-        var tile = tile();
-        return Vector2f.of(posX - TS * tile.x(), posY - TS * tile.y());
+        return Vector2f.of(posX - TS * tileX(), posY - TS * tileY());
     }
 
     /**
@@ -157,6 +200,6 @@ public class Actor2D {
      */
     public boolean sameTile(Actor2D other) {
         requireNonNull(other, "Entity to check for same tile must not be null");
-        return tile().equals(other.tile());
+        return tileX() == other.tileX() && tileY() == other.tileY();
     }
 }
\ No newline at end of file
@@ -5,7 +5,6 @@ See file LICENSE in repository root directory for details.
 package de.amr.games.pacman.model.actors;
 
 import de.amr.games.pacman.lib.Direction;
-import de.amr.games.pacman.lib.Vector2f;
 import de.amr.games.pacman.lib.Vector2i;
 import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.Portal;
@@ -88,11 +87,20 @@ public abstract class Creature extends Actor2D {
      */
     public abstract boolean canReverse();
 
+    /**
+     * @param x tile x-coordinate, can be outside the world
+     * @param y tile y-coordinate, can be outside the world
+     * @return if this creature can access the given tile
+     */
+    public abstract boolean canAccessTile(int x, int y);
+
     /**
      * @param tile some tile inside or outside the world
      * @return if this creature can access the given tile
      */
-    public abstract boolean canAccessTile(Vector2i tile);
+    public boolean canAccessTile(Vector2i tile) {
+        return canAccessTile(tile.x(), tile.y());
+    }
 
     /**
      * Sets the tile this creature tries to reach (can be an unreachable tile or <code>null</code>).
@@ -128,9 +136,9 @@ public abstract class Creature extends Actor2D {
      * @param oy y-offset inside tile
      */
     public void placeAtTile(int tx, int ty, float ox, float oy) {
-        var prevTile = tile();
+        int prevTileX = tileX(), prevTileY = tileY();
         setPosition(tx * TS + ox, ty * TS + oy);
-        newTileEntered = !tile().equals(prevTile);
+        newTileEntered = tileX() != prevTileX || tileY() != prevTileY;
     }
 
     /**
@@ -149,8 +157,11 @@ public abstract class Creature extends Actor2D {
      */
     public void setMoveDir(Direction dir) {
         moveDir = requireNonNull(dir);
-        setVelocity(moveDir.vector().scaled(velocity().length()));
-        Logger.trace("{}: moveDir: {}. {}", name(), moveDir, this);
+        float speed = speed();
+        setVelocity(speed * dir.vector().x(), speed * dir.vector().y());
+        if (Logger.isTraceEnabled()) {
+            Logger.trace("{}: moveDir: {}. {}", name(), moveDir, this);
+        }
     }
 
     /**
@@ -167,7 +178,9 @@ public abstract class Creature extends Actor2D {
      */
     public void setWishDir(Direction dir) {
         wishDir = requireNonNull(dir);
-        Logger.trace("{}: wishDir: {}. {}", name(), wishDir, this);
+        if (Logger.isTraceEnabled()) {
+            Logger.trace("{}: wishDir: {}. {}", name(), wishDir, this);
+        }
     }
 
     /**
@@ -200,7 +213,7 @@ public abstract class Creature extends Actor2D {
         if (overflowBug && moveDir == UP) {
             x -= numTiles;
         }
-        return new Vector2i(x, y);
+        return Vector2i.of(x, y);
     }
 
     /**
@@ -224,37 +237,38 @@ public abstract class Creature extends Actor2D {
         if (speed < 0) {
             throw new IllegalArgumentException("Negative pixel speed: " + speed);
         }
-        setVelocity(speed == 0 ? Vector2f.ZERO : moveDir.vector().scaled(speed));
+        if (speed == 0) {
+            setVelocity(0, 0);
+        } else {
+            setVelocity(speed * moveDir.vector().x(), speed * moveDir.vector().y());
+        }
     }
 
     public float speed() {
-        return velocity().length();
+        return (float) Math.hypot(velX, velY);
     }
 
     public boolean isNewTileEntered() {
         return newTileEntered;
     }
 
-    private Optional<Direction> computeTargetDirection(Vector2i currentTile, Vector2i targetTile) {
+    private Direction computeTargetDirection(int tileX, int tileY, Vector2i targetTile) {
         Direction targetDir = null;
         double minDistToTarget = Double.MAX_VALUE;
         for (Direction dir : DIRECTION_PRIORITY) {
             if (dir == moveDir.opposite()) {
                 continue; // reversing the move direction is not allowed
             }
-            Vector2i neighborTile = currentTile.plus(dir.vector());
-            if (canAccessTile(neighborTile)) {
-                double d = neighborTile.euclideanDist(targetTile);
+            int neighborX = tileX + dir.vector().x(), neighborY = tileY + dir.vector().y();
+            if (canAccessTile(neighborX, neighborY)) {
+                double d = Math.hypot(neighborX - targetTile.x(), neighborY - targetTile.y());
                 if (d < minDistToTarget) {
                     minDistToTarget = d;
                     targetDir = dir;
                 }
             }
         }
-        if (targetDir == null) {
-            targetDir = moveDir.opposite();
-        }
-        return Optional.ofNullable(targetDir);
+        return targetDir != null ? targetDir : moveDir.opposite();
     }
 
     /**
@@ -264,9 +278,9 @@ public abstract class Creature extends Actor2D {
         if (!newTileEntered && moveInfo.moved || targetTile == null) {
             return; // we don't need no navigation, dim dit didit didit...
         }
-        Vector2i currentTile = tile();
-        if (!level.isPortalAt(currentTile)) {
-            computeTargetDirection(currentTile, targetTile).ifPresent(this::setWishDir);
+        int tileX = tileX(), tileY = tileY();
+        if (!level.isPortalAt(tileX, tileY)) {
+            setWishDir(computeTargetDirection(tileX, tileY, targetTile));
         }
     }
 
@@ -305,8 +319,8 @@ public abstract class Creature extends Actor2D {
                 tryMoving(moveDir);
             }
         }
-        if (moveInfo.teleported || moveInfo.moved) {
-            Logger.trace("{}: {} {} {}", name(), moveInfo, String.join(", ", moveInfo.infos), this);
+        if ((moveInfo.teleported || moveInfo.moved) && Logger.isTraceEnabled()) {
+            Logger.trace("{}: {} {} {}", name(), moveInfo, String.join(", ", moveInfo.infos()), this);
         }
     }
 
@@ -314,85 +328,91 @@ public abstract class Creature extends Actor2D {
         if (!canTeleport) {
             return;
         }
-        Vector2i currentTile = tile();
-        for (Portal portal : level.portals().toList()) {
-            tryTeleport(currentTile, portal);
+        int tileX = tileX(), tileY = tileY();
+        for (int i = 0; i < level.numPortals(); ++i) {
+            tryTeleport(tileX, tileY, level.portal(i));
             if (moveInfo.teleported) {
                 return;
             }
         }
     }
 
-    private void tryTeleport(Vector2i currentTile, Portal portal) {
-        var oldX = posX;
-        var oldY = posY;
-        if (currentTile.y() == portal.leftTunnelEnd().y() && posX < portal.leftTunnelEnd().x() - portal.depth() * TS) {
-            centerOverTile(portal.rightTunnelEnd());
+    private void tryTeleport(int tileX, int tileY, Portal portal) {
+        Vector2i leftTunnelEnd = portal.leftTunnelEnd(), rightTunnelEnd = portal.rightTunnelEnd();
+        float oldX = posX, oldY = posY;
+        if (tileY == leftTunnelEnd.y() && posX < leftTunnelEnd.x() - portal.depth() * TS) {
+            placeAtTile(rightTunnelEnd.x(), rightTunnelEnd.y(), 0, 0);
             moveInfo.teleported = true;
-            moveInfo.log(String.format("%s: Teleported from (%.2f,%.2f) to (%.2f,%.2f)",
-                name(), oldX, oldY, posX, posY));
-        } else if (currentTile.equals(portal.rightTunnelEnd().plus(portal.depth(), 0))) {
-            centerOverTile(portal.leftTunnelEnd().minus(portal.depth(), 0));
+            moveInfo.logTeleported(oldX, oldY, posX, posY);
+        } else if (tileX == rightTunnelEnd.x() + portal.depth() && tileY == rightTunnelEnd.y()) {
+            placeAtTile(leftTunnelEnd.x() - portal.depth(), leftTunnelEnd.y(), 0, 0);
             moveInfo.teleported = true;
-            moveInfo.log(String.format("%s: Teleported from (%.2f,%.2f) to (%.2f,%.2f)",
-                name(), oldX, oldY, posX, posY));
+            moveInfo.logTeleported(oldX, oldY, posX, posY);
         }
     }
 
     /**
      * Tries to move a creature towards the given direction. Handles collisions with walls and cornering.
+     * <p>
+     * Works on primitive coordinates only because it is called multiple times per tick for each creature.
+     * </p>
      *
      * @param dir the direction to move
      */
     protected void tryMoving(Direction dir) {
         final boolean isTurn = !dir.sameOrientation(moveDir);
-        final Vector2i tileBeforeMove = tile();
-        final Vector2f newVelocity = dir.vector().scaled(velocity().length());
-        final Vector2f touchPosition = position().plus(HTS, HTS).plus(dir.vector().scaled((float) HTS)).plus(newVelocity);
-        final Vector2i touchedTile = tileAt(touchPosition);
-
-        if (!canAccessTile(touchedTile)) {
+        final int tileBeforeMoveX = tileX(), tileBeforeMoveY = tileY();
+        final int dx = dir.vector().x(), dy = dir.vector().y();
+        final float speed = speed();
+        final float newVelX = speed * dx, newVelY = speed * dy;
+        // tile touched by the collision box edge pointing towards the move direction after moving
+        final float touchX = posX + HTS + HTS * dx + newVelX, touchY = posY + HTS + HTS * dy + newVelY;
+        final int touchedTileX = (int) (touchX / TS), touchedTileY = (int) (touchY / TS);
+
+        if (!canAccessTile(touchedTileX, touchedTileY)) {
             if (!isTurn) {
-                centerOverTile(tile()); // adjust over tile (would move forward against wall)
+                // adjust over tile (would move forward against wall)
+                placeAtTile(tileBeforeMoveX, tileBeforeMoveY, 0, 0);
             }
-            moveInfo.log(String.format("Cannot move %s into tile %s", dir, touchedTile));
+            moveInfo.logBlocked(dir, touchedTileX, touchedTileY);
             return;
         }
 
         if (isTurn) {
-            float offset = dir.isHorizontal() ? offset().y() : offset().x();
+            float offset = dir.isHorizontal() ? posY - TS * tileBeforeMoveY : posX - TS * tileBeforeMoveX;
             boolean atTurnPosition = Math.abs(offset) <= 1;
             if (atTurnPosition) {
                 Logger.trace("Reached turn position ({})", name());
-                centerOverTile(tile()); // adjust over tile (starts moving around corner)
+                // adjust over tile (starts moving around corner)
+                placeAtTile(tileBeforeMoveX, tileBeforeMoveY, 0, 0);
             } else {
-                moveInfo.log(String.format("Wants to take corner towards %s but not at turn position", dir));
+                moveInfo.logNotAtTurnPosition(dir);
                 return;
             }
         }
 
         if (isTurn && corneringSpeedUp != 0) {
-            setVelocity(newVelocity.plus(dir.vector().scaled(corneringSpeedUp)));
-            Logger.trace("{} velocity around corner: {}", name(), velocity().length());
+            setVelocity(newVelX + corneringSpeedUp * dx, newVelY + corneringSpeedUp * dy);
+            Logger.trace("{} velocity around corner: {}", name(), speed());
             move();
-            setVelocity(newVelocity);
+            setVelocity(newVelX, newVelY);
         } else {
-            setVelocity(newVelocity);
+            setVelocity(newVelX, newVelY);
             move();
         }
 
-        Vector2i currentTile = tile();
+        final int tileX = tileX(), tileY = tileY();
 
-        newTileEntered = !tileBeforeMove.equals(currentTile);
+        newTileEntered = tileX != tileBeforeMoveX || tileY != tileBeforeMoveY;
         moveInfo.moved = true;
-        moveInfo.tunnelEntered = level.isTunnel(currentTile)
-            && !level.isTunnel(tileBeforeMove)
-            && !level.isPortalAt(tileBeforeMove);
-        moveInfo.tunnelLeft = !level.isTunnel(currentTile)
-            && level.isTunnel(tileBeforeMove)
-            && !level.isPortalAt(currentTile);
-
-        moveInfo.log(String.format("%5s (%.2f pixels)", dir, newVelocity.length()));
+        moveInfo.tunnelEntered = level.isTunnel(tileX, tileY)
+            && !level.isTunnel(tileBeforeMoveX, tileBeforeMoveY)
+            && !level.isPortalAt(tileBeforeMoveX, tileBeforeMoveY);
+        moveInfo.tunnelLeft = !level.isTunnel(tileX, tileY)
+            && level.isTunnel(tileBeforeMoveX, tileBeforeMoveY)
+            && !level.isPortalAt(tileX, tileY);
+
+        moveInfo.logMoved(dir, speed);
 
         if (moveInfo.tunnelEntered) {
             Logger.trace("{} entered tunnel", name());
@@ -4,15 +4,13 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.model.actors;
 
-import de.amr.games.pacman.Globals;
 import de.amr.games.pacman.lib.Direction;
 import de.amr.games.pacman.lib.Vector2f;
 import de.amr.games.pacman.lib.Vector2i;
-import de.amr.games.pacman.lib.tilemap.LayerID;
-import de.amr.games.pacman.lib.tilemap.TerrainTiles;
 import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.NavigationGraph;
 import org.tinylog.Logger;
 
 import java.util.ArrayList;
@@ -91,7 +89,7 @@ public class Ghost extends Creature implements AnimatedActor2D {
     }
 
     public boolean insideHouse() {
-        return level.isPartOfHouse(tile());
+        return level.isPartOfHouse(tileX(), tileY());
     }
 
     public void setRevivalPosition(Vector2f position) {
@@ -113,19 +111,19 @@ public class Ghost extends Creature implements AnimatedActor2D {
      * @param speed the speed (in pixels/tick)
      */
     public void roam(float speed) {
-        Vector2i currentTile = tile();
-        if (!level.isPortalAt(currentTile) && (isNewTileEntered() || !moveInfo.moved)) {
-            setWishDir(determineNextDirection(currentTile));
+        int tileX = tileX(), tileY = tileY();
+        if (!level.isPortalAt(tileX, tileY) && (isNewTileEntered() || !moveInfo.moved)) {
+            setWishDir(determineNextDirection(tileX, tileY));
         }
         setSpeed(speed);
         tryMoving();
     }
 
     // try a random direction towards an accessible tile, do not turn back unless there is no other way
-    private Direction determineNextDirection(Vector2i currentTile) {
+    private Direction determineNextDirection(int tileX, int tileY) {
         Direction dir = pseudoRandomDirection();
         int turns = 0;
-        while (dir == moveDir.opposite() || !canAccessTile(currentTile.plus(dir.vector()))) {
+        while (dir == moveDir.opposite() || !canAccessTile(tileX + dir.vector().x(), tileY + dir.vector().y())) {
             dir = dir.nextClockwise();
             if (++turns > 4) {
                 return moveDir.opposite();  // avoid endless loop
@@ -135,7 +133,7 @@ public class Ghost extends Creature implements AnimatedActor2D {
     }
 
     private Direction pseudoRandomDirection() {
-        int rnd = Globals.randomInt(0, 1000);
+        int rnd = level.game().random().nextInt(1000);
         if (rnd < 163)             return UP;
         if (rnd < 163 + 252)       return RIGHT;
         if (rnd < 163 + 252 + 285) return DOWN;
@@ -143,31 +141,37 @@ public class Ghost extends Creature implements AnimatedActor2D {
     }
 
     @Override
-    public boolean canAccessTile(Vector2i tile) {
-        requireNonNull(tile);
-
+    public boolean canAccessTile(int x, int y) {
+        NavigationGraph graph = level.navigationGraph();
+        int index = graph.index(x, y);
+        if (index == NavigationGraph.NO_NEIGHBOR) {
+            return level.isPortalAt(x, y);
+        }
         // hunting ghosts cannot move up at certain tiles in Pac-Man game
-        if (state == HUNTING_PAC) {
-            var currentTile = tile();
-            if (specialTerrainTiles.contains(tile)
-                    && level.worldMap().get(LayerID.TERRAIN, tile) == TerrainTiles.ONE_WAY_DOWN
-                    && currentTile.equals(tile.plus(DOWN.vector()))) {
-                Logger.debug("Hunting {} cannot move up to special tile {}", name, tile);
-                return false;
-            }
+        if (state == HUNTING_PAC && graph.is(index, NavigationGraph.ONE_WAY_DOWN)
+                && tileX() == x && tileY() == y + DOWN.vector().y() && isSpecialTerrainTile(x, y)) {
+            Logger.debug("Hunting {} cannot move up to special tile {}", name, Vector2i.of(x, y));
+            return false;
         }
-        if (level.isDoorAt(tile)) {
-            return inState(ENTERING_HOUSE, LEAVING_HOUSE);
+        if (graph.is(index, NavigationGraph.DOOR)) {
+            return state == ENTERING_HOUSE || state == LEAVING_HOUSE;
         }
-        if (level.isInsideWorld(tile)) {
-            return !level.isBlockedTile(tile);
+        return !graph.is(index, NavigationGraph.BLOCKED);
+    }
+
+    private boolean isSpecialTerrainTile(int x, int y) {
+        for (int i = 0; i < specialTerrainTiles.size(); ++i) {
+            Vector2i tile = specialTerrainTiles.get(i);
+            if (tile.x() == x && tile.y() == y) {
+                return true;
+            }
         }
-        return level.isPortalAt(tile);
+        return false;
     }
 
     @Override
     public boolean canReverse() {
-        return newTileEntered && inState(HUNTING_PAC, FRIGHTENED);
+        return newTileEntered && (state == HUNTING_PAC || state == FRIGHTENED);
     }
 
     // Here begins the state machine part
@@ -179,6 +183,14 @@ public class Ghost extends Creature implements AnimatedActor2D {
         return state;
     }
 
+    /**
+     * @param state ghost state
+     * @return <code>true</code> if this ghost is in the given state
+     */
+    public boolean inState(GhostState state) {
+        return this.state == state;
+    }
+
     /**
      * @param stateAlternatives ghost states to be checked
      * @return <code>true</code> if this ghost is in any of the given states.
@@ -193,7 +205,7 @@ public class Ghost extends Creature implements AnimatedActor2D {
     }
 
     /**
-     * Changes the state of this ghost.
+     * Changes the state of this ghost. The game level is notified such that it can update its ghost state masks.
      *
      * @param state the new state
      */
@@ -202,7 +214,11 @@ public class Ghost extends Creature implements AnimatedActor2D {
         if (this.state == state) {
             Logger.trace("{} is already in state {}", name, state);
         }
+        GhostState oldState = this.state;
         this.state = state;
+        if (level != null) {
+            level.onGhostStateChanged(this, oldState);
+        }
         // onEntry action:
         switch (state) {
             case LOCKED, HUNTING_PAC -> selectAnimation(ActorAnimations.ANIM_GHOST_NORMAL);
@@ -339,7 +355,7 @@ public class Ghost extends Creature implements AnimatedActor2D {
      * @see <a href="https://www.youtube.com/watch?v=eFP0_rkjwlY">YouTube: How Frightened Ghosts Decide Where to Go</a>
      */
     private void updateStateFrightened(GameModel game) {
-        float speed = level.isTunnel(tile()) ? game.ghostTunnelSpeed(this) : game.ghostFrightenedSpeed(this);
+        float speed = level.isTunnel(tileX(), tileY()) ? game.ghostTunnelSpeed(this) : game.ghostFrightenedSpeed(this);
         roam(speed);
         updateFrightenedAnimation(game);
     }
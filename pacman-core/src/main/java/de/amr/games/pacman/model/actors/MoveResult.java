@@ -4,29 +4,94 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.model.actors;
 
+import de.amr.games.pacman.lib.Direction;
+
 import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Result of a move attempt of a creature.
+ * <p>
+ * The diagnostic infos are only stored as primitive values and formatted when {@link #infos()} is called, so the
+ * movement code does not create any objects when logging is disabled.
+ * </p>
+ *
  * @author Armin Reichert
  */
 public class MoveResult {
+
+    private static final int MAX_INFOS = 4;
+
+    private static final byte INFO_TELEPORTED = 0;
+    private static final byte INFO_BLOCKED = 1;
+    private static final byte INFO_NOT_AT_TURN_POSITION = 2;
+    private static final byte INFO_MOVED = 3;
+
     public boolean moved;
     public boolean tunnelEntered;
     public boolean tunnelLeft;
     public boolean teleported;
-    public final List<String> infos = new ArrayList<>(3);
+
+    private final byte[] infoTypes = new byte[MAX_INFOS];
+    private final Direction[] infoDirs = new Direction[MAX_INFOS];
+    private final float[] infoValues = new float[4 * MAX_INFOS];
+    private int numInfos;
 
     public void clear() {
         moved = false;
         tunnelEntered = false;
         tunnelLeft = false;
         teleported = false;
-        infos.clear();
+        numInfos = 0;
+    }
+
+    public void logTeleported(float fromX, float fromY, float toX, float toY) {
+        addInfo(INFO_TELEPORTED, null, fromX, fromY, toX, toY);
+    }
+
+    public void logBlocked(Direction dir, int tileX, int tileY) {
+        addInfo(INFO_BLOCKED, dir, tileX, tileY, 0, 0);
+    }
+
+    public void logNotAtTurnPosition(Direction dir) {
+        addInfo(INFO_NOT_AT_TURN_POSITION, dir, 0, 0, 0, 0);
+    }
+
+    public void logMoved(Direction dir, float pixels) {
+        addInfo(INFO_MOVED, dir, pixels, 0, 0, 0);
+    }
+
+    private void addInfo(byte type, Direction dir, float v0, float v1, float v2, float v3) {
+        if (numInfos == MAX_INFOS) {
+            return;
+        }
+        infoTypes[numInfos] = type;
+        infoDirs[numInfos] = dir;
+        int base = 4 * numInfos;
+        infoValues[base] = v0;
+        infoValues[base + 1] = v1;
+        infoValues[base + 2] = v2;
+        infoValues[base + 3] = v3;
+        ++numInfos;
     }
 
-    public void log(String info) {
-        infos.add(info);
+    /**
+     * @return the diagnostic infos of the last move attempt (created on each call)
+     */
+    public List<String> infos() {
+        List<String> infos = new ArrayList<>(numInfos);
+        for (int i = 0; i < numInfos; ++i) {
+            Direction dir = infoDirs[i];
+            float v0 = infoValues[4 * i], v1 = infoValues[4 * i + 1], v2 = infoValues[4 * i + 2], v3 = infoValues[4 * i + 3];
+            infos.add(switch (infoTypes[i]) {
+                case INFO_TELEPORTED -> String.format("Teleported from (%.2f,%.2f) to (%.2f,%.2f)", v0, v1, v2, v3);
+                case INFO_BLOCKED -> String.format("Cannot move %s into tile (%2d,%2d)", dir, (int) v0, (int) v1);
+                case INFO_NOT_AT_TURN_POSITION -> String.format("Wants to take corner towards %s but not at turn position", dir);
+                case INFO_MOVED -> String.format("%5s (%.2f pixels)", dir, v0);
+                default -> throw new IllegalStateException("Unknown info type: " + infoTypes[i]);
+            });
+        }
+        return infos;
     }
 
     @Override
@@ -38,4 +103,4 @@ public class MoveResult {
         sb.append(moved         ? " moved" : "");
         return sb.isEmpty() ? "" : "[" + sb.toString().trim() + "]";
     }
-}
\ No newline at end of file
+}
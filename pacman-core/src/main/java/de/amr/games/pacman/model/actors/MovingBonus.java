@@ -6,19 +6,18 @@ package de.amr.games.pacman.model.actors;
 
 import de.amr.games.pacman.event.GameEventType;
 import de.amr.games.pacman.lib.Direction;
-import de.amr.games.pacman.lib.Vector2i;
 import de.amr.games.pacman.lib.Waypoint;
 import de.amr.games.pacman.lib.timer.Pulse;
 import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.NavigationGraph;
 import de.amr.games.pacman.steering.RouteBasedSteering;
 import org.tinylog.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static de.amr.games.pacman.Globals.THE_GAME_EVENT_MANAGER;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -60,14 +59,13 @@ public class MovingBonus extends Creature implements Bonus {
     }
 
     @Override
-    public boolean canAccessTile(Vector2i tile) {
-        if (level.isPartOfHouse(tile)) {
-            return false;
+    public boolean canAccessTile(int x, int y) {
+        NavigationGraph graph = level.navigationGraph();
+        int index = graph.index(x, y);
+        if (index == NavigationGraph.NO_NEIGHBOR) {
+            return level.isPortalAt(x, y);
         }
-        if (level.isInsideWorld(tile)) {
-            return !level.isBlockedTile(tile);
-        }
-        return level.isPortalAt(tile);
+        return !graph.is(index, NavigationGraph.BLOCKED | NavigationGraph.HOUSE);
     }
 
     @Override
@@ -126,7 +124,7 @@ public class MovingBonus extends Creature implements Bonus {
         if (steering.isComplete()) {
             Logger.trace("Moving bonus reached target: {}", this);
             setInactive();
-            THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.BONUS_EXPIRED, tile());
+            game.eventManager().publishEvent(game, GameEventType.BONUS_EXPIRED, tile());
         } else {
             navigateTowardsTarget();
             tryMoving();
@@ -146,7 +144,7 @@ public class MovingBonus extends Creature implements Bonus {
         if (countdown == 0) {
             Logger.trace("Bonus expired: {}", this);
             setInactive();
-            THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.BONUS_EXPIRED, tile());
+            game.eventManager().publishEvent(game, GameEventType.BONUS_EXPIRED, tile());
         } else if (countdown != TickTimer.INDEFINITE) {
             --countdown;
         }
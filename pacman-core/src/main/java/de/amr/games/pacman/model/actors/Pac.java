@@ -4,9 +4,9 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.model.actors;
 
-import de.amr.games.pacman.lib.Vector2i;
 import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.NavigationGraph;
 import de.amr.games.pacman.steering.Steering;
 
 import java.util.Optional;
@@ -74,14 +74,13 @@ public class Pac extends Creature implements AnimatedActor2D {
     }
 
     @Override
-    public boolean canAccessTile(Vector2i tile) {
-        if (level.isPartOfHouse(tile)) {
-            return false;
+    public boolean canAccessTile(int x, int y) {
+        NavigationGraph graph = level.navigationGraph();
+        int index = graph.index(x, y);
+        if (index == NavigationGraph.NO_NEIGHBOR) {
+            return level.isPortalAt(x, y);
         }
-        if (level.isInsideWorld(tile)) {
-            return !level.isBlockedTile(tile);
-        }
-        return level.isPortalAt(tile);
+        return !graph.is(index, NavigationGraph.BLOCKED | NavigationGraph.HOUSE);
     }
 
     @Override
@@ -117,9 +116,9 @@ public class Pac extends Creature implements AnimatedActor2D {
             tryMoving();
             //Logger.info(moveInfo);
             if (moveInfo.moved) {
-                animations.start();
+                startAnimation();
             } else {
-                animations.stop();
+                stopAnimation();
             }
         } else {
             --restingTicks;
@@ -132,14 +131,14 @@ public class Pac extends Creature implements AnimatedActor2D {
     public void freeze() {
         setSpeed(0);
         setRestingTicks(Pac.REST_INDEFINITELY);
-        animations.stop();
+        stopAnimation();
         selectAnimation(ActorAnimations.ANIM_PAC_MUNCHING);
-        animations.reset();
+        resetAnimation();
     }
 
     public void die() {
         setSpeed(0);
-        animations.stop();
+        stopAnimation();
         dead = true;
     }
 
@@ -9,7 +9,6 @@ import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.GameModel;
 import org.tinylog.Logger;
 
-import static de.amr.games.pacman.Globals.THE_GAME_EVENT_MANAGER;
 
 
 /**
@@ -97,7 +96,7 @@ public class StaticBonus extends Actor2D implements Bonus {
             case STATE_EDIBLE, STATE_EATEN -> {
                 if (countdown == 0) {
                     setInactive();
-                    THE_GAME_EVENT_MANAGER.publishEvent(game, GameEventType.BONUS_EXPIRED, tile());
+                    game.eventManager().publishEvent(game, GameEventType.BONUS_EXPIRED, tile());
                 } else if (countdown != TickTimer.INDEFINITE) {
                     --countdown;
                 }
@@ -0,0 +1,188 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.simulation;
+
+import de.amr.games.pacman.controller.GameState;
+import de.amr.games.pacman.model.GameLevel;
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.GameVariant;
+import org.tinylog.Logger;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Plays a batch of independent games of one game variant in parallel, each in its own {@link GameSession}.
+ * <p>
+ * The games are stepped as fast as possible (not at the 60Hz rate of the UI clock) on a fork-join pool using all
+ * available cores. Pac-Man is steered by the autopilot. The report contains the throughput and the outcome of each
+ * game, so changes of the autopilot or of the level data can be evaluated over many games.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class BatchRunner {
+
+    /**
+     * Outcome of a single game.
+     *
+     * @param index         index of the game inside the batch
+     * @param seed          seed of the game's random generator
+     * @param score         points scored
+     * @param levelReached  number of the last level played
+     * @param deaths        number of times Pac-Man got killed
+     * @param ticks         number of simulated ticks
+     * @param gameOver      if the game ended regularly (and not by reaching the tick limit or by an error)
+     */
+    public record GameOutcome(int index, long seed, int score, int levelReached, int deaths, long ticks, boolean gameOver) {}
+
+    /**
+     * Result of a batch run.
+     *
+     * @param gameVariant   the game variant played
+     * @param outcomes      outcome of each game, ordered by game index
+     * @param wallTimeNanos elapsed real time in nanoseconds
+     */
+    public record Report(GameVariant gameVariant, List<GameOutcome> outcomes, long wallTimeNanos) {
+
+        public long totalTicks() {
+            return outcomes.stream().mapToLong(GameOutcome::ticks).sum();
+        }
+
+        public double ticksPerSecond() {
+            return totalTicks() * 1e9 / wallTimeNanos;
+        }
+
+        public double gamesPerSecond() {
+            return outcomes.size() * 1e9 / wallTimeNanos;
+        }
+
+        public void print(PrintStream out) {
+            out.printf("%-6s %12s %8s %6s %6s %10s %s%n", "Game", "Seed", "Score", "Level", "Deaths", "Ticks", "Over");
+            for (GameOutcome outcome : outcomes) {
+                out.printf("%-6d %12d %8d %6d %6d %10d %s%n", outcome.index(), outcome.seed(), outcome.score(),
+                    outcome.levelReached(), outcome.deaths(), outcome.ticks(), outcome.gameOver() ? "yes" : "no");
+            }
+            out.printf("%s: %d games, %d ticks in %.2f sec, %.0f ticks/sec, %.2f games/sec%n",
+                gameVariant, outcomes.size(), totalTicks(), wallTimeNanos / 1e9, ticksPerSecond(), gamesPerSecond());
+            out.printf("Average score: %.1f, average level: %.2f, average deaths: %.2f%n",
+                outcomes.stream().mapToInt(GameOutcome::score).average().orElse(0),
+                outcomes.stream().mapToInt(GameOutcome::levelReached).average().orElse(0),
+                outcomes.stream().mapToInt(GameOutcome::deaths).average().orElse(0));
+        }
+    }
+
+    private final GameVariant gameVariant;
+    private final Supplier<? extends GameModel> gameFactory;
+    private int numGames = 100;
+    private long maxTicksPerGame = 60L * 60 * 60; // one hour of play time at 60Hz
+    private long baseSeed = 0;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @param gameVariant the game variant to play
+     * @param gameFactory creates a new game model of this variant for each game. Models for variants without coin
+     *                    mechanism must be configured such that a new game can be started.
+     */
+    public BatchRunner(GameVariant gameVariant, Supplier<? extends GameModel> gameFactory) {
+        this.gameVariant = requireNonNull(gameVariant);
+        this.gameFactory = requireNonNull(gameFactory);
+    }
+
+    public void setNumGames(int numGames) {
+        if (numGames < 1) {
+            throw new IllegalArgumentException("Number of games must be positive but is " + numGames);
+        }
+        this.numGames = numGames;
+    }
+
+    public void setMaxTicksPerGame(long maxTicks) {
+        if (maxTicks < 1) {
+            throw new IllegalArgumentException("Tick limit must be positive but is " + maxTicks);
+        }
+        maxTicksPerGame = maxTicks;
+    }
+
+    /**
+     * @param seed the seed of game number i is {@code seed + i}
+     */
+    public void setBaseSeed(long seed) {
+        baseSeed = seed;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive but is " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Plays all games and waits until they are finished.
+     *
+     * @return the batch report
+     */
+    public Report run() {
+        List<Callable<GameOutcome>> tasks = new ArrayList<>(numGames);
+        for (int i = 0; i < numGames; ++i) {
+            int index = i;
+            tasks.add(() -> playGame(index));
+        }
+        Logger.info("Start batch run: {} games of variant {}, parallelism {}", numGames, gameVariant, parallelism);
+        var pool = new ForkJoinPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            List<GameOutcome> outcomes = new ArrayList<>(numGames);
+            for (Future<GameOutcome> future : pool.invokeAll(tasks)) {
+                outcomes.add(future.get());
+            }
+            return new Report(gameVariant, outcomes, System.nanoTime() - start);
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch run interrupted", x);
+        } catch (ExecutionException x) {
+            throw new IllegalStateException("Batch run failed", x.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private GameOutcome playGame(int index) {
+        long seed = baseSeed + index;
+        var session = new GameSession(gameVariant, gameFactory.get(), seed);
+        int[] deaths = new int[1];
+        session.controller().addStateChangeListener((oldState, newState) -> {
+            if (newState == GameState.PACMAN_DYING) {
+                deaths[0] += 1;
+            }
+        });
+        boolean failed = false;
+        session.startGame();
+        try {
+            while (!session.isGameOver() && session.tick() < maxTicksPerGame) {
+                session.step();
+            }
+        } catch (Exception x) {
+            Logger.error(x);
+            Logger.error("Game #{} (seed {}) failed at tick {}", index, seed, session.tick());
+            failed = true;
+        }
+        GameModel game = session.game();
+        return new GameOutcome(index, seed,
+            game.scoreManager().score().points(),
+            game.level().map(GameLevel::number).orElse(0),
+            deaths[0],
+            session.tick(),
+            !failed && session.isGameOver());
+    }
+}
@@ -0,0 +1,165 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.simulation;
+
+import de.amr.games.pacman.controller.CoinMechanism;
+import de.amr.games.pacman.controller.GameController;
+import de.amr.games.pacman.controller.GameState;
+import de.amr.games.pacman.event.GameEvent;
+import de.amr.games.pacman.event.GameEventListener;
+import de.amr.games.pacman.event.GameEventManager;
+import de.amr.games.pacman.lib.timer.Profiler;
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.GameVariant;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A self-contained game session that runs without user interface.
+ * <p>
+ * Each session has its own game controller, event manager, profiler, random generator and coin mechanism, so the game
+ * model and its levels do not share any mutable state with other sessions or with the global instances used by the UI.
+ * This allows running many sessions in parallel inside one JVM, e.g. for evaluating the autopilot.
+ * </p>
+ * <p>
+ * The random generator is a (non-synchronized) {@link SplittableRandom} created from the session seed. All random
+ * decisions of the game model are taken from this generator, so two sessions with the same seed and the same input
+ * play exactly the same game.
+ * </p>
+ * <p>
+ * States that normally wait for the UI to let their timer expire (boot, intro, level complete animation etc.) are
+ * terminated immediately. Cut scenes are disabled and the high score is not persisted.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class GameSession {
+
+    private static final Set<GameState> UI_DRIVEN_STATES = EnumSet.of(
+        GameState.BOOT, GameState.INTRO, GameState.SHOWING_CREDITS, GameState.LEVEL_COMPLETE, GameState.INTERMISSION);
+
+    /**
+     * @param state game state
+     * @return if the duration of this state is determined by the UI (and a session terminates it immediately)
+     */
+    public static boolean isDrivenByUI(GameState state) {
+        return UI_DRIVEN_STATES.contains(state);
+    }
+
+    private final GameVariant gameVariant;
+    private final GameModel game;
+    private final GameEventManager eventManager = new GameEventManager();
+    private final Profiler profiler = new Profiler();
+    private final CoinMechanism coinMechanism = new CoinMechanism();
+    private final GameController controller;
+    private final long seed;
+    private SplittableRandom random;
+    private boolean autopilot = true;
+    private long tick;
+
+    /**
+     * Creates a session for the given game model. The model must not be used by any other session or by the UI.
+     *
+     * @param gameVariant the game variant
+     * @param game a new game model instance of this variant
+     * @param seed seed of the random generator used by this session
+     */
+    public GameSession(GameVariant gameVariant, GameModel game, long seed) {
+        this.gameVariant = requireNonNull(gameVariant);
+        this.game = requireNonNull(game);
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+        game.setRandom(random);
+        game.setCoinMechanism(coinMechanism);
+        game.setCutScenesEnabled(false);
+        controller = new GameController(eventManager, profiler);
+        controller.setName("GameController-" + gameVariant);
+        controller.registerGameModel(gameVariant, game);
+        controller.selectGameVariant(gameVariant);
+        // init() might have set the high score file
+        game.scoreManager().setHighScoreFile(null);
+        eventManager.addEventListener(new GameEventListener() {
+            @Override
+            public void onLevelCreated(GameEvent e) {
+                game.level().ifPresent(level -> {
+                    level.pac().setUsingAutopilot(autopilot);
+                    level.pac().setImmune(false);
+                });
+            }
+        });
+    }
+
+    public GameVariant gameVariant() {
+        return gameVariant;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <GAME extends GameModel> GAME game() {
+        return (GAME) game;
+    }
+
+    public GameController controller() {
+        return controller;
+    }
+
+    public GameEventManager eventManager() {
+        return eventManager;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public SplittableRandom random() {
+        return random;
+    }
+
+    public long tick() {
+        return tick;
+    }
+
+    /**
+     * @param autopilot if Pac-Man is steered by the autopilot (default) or stays under external control
+     */
+    public void setAutopilot(boolean autopilot) {
+        this.autopilot = autopilot;
+    }
+
+    /**
+     * Inserts a coin and starts a new game. The random generator is reset to its initial state, so each game started
+     * in this session plays the same for the same input. Variants that do not use coins must be configured by the
+     * caller such that {@link GameModel#canStartNewGame()} returns {@code true}.
+     */
+    public void startGame() {
+        random = new SplittableRandom(seed);
+        game.setRandom(random);
+        coinMechanism.setNumCoins(1);
+        tick = 0;
+        controller.restart(GameState.STARTING_GAME);
+    }
+
+    /**
+     * Executes one simulation step (one tick at 60Hz in the UI).
+     */
+    public void step() {
+        if (isDrivenByUI(controller.state()) && !controller.timer().hasExpired()) {
+            controller.terminateCurrentState();
+        }
+        game.newEventLog(tick);
+        controller.update();
+        ++tick;
+    }
+
+    /**
+     * @return {@code true} if the game has been started and is over now
+     */
+    public boolean isGameOver() {
+        return controller.state() == GameState.GAME_OVER;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.simulation;
+
+import de.amr.games.pacman.controller.GameController;
+import de.amr.games.pacman.controller.GameState;
+import de.amr.games.pacman.event.GameEventType;
+import de.amr.games.pacman.lib.Direction;
+import de.amr.games.pacman.model.GameLevel;
+import de.amr.games.pacman.model.GameModel;
+
+import static de.amr.games.pacman.model.actors.GhostState.FRIGHTENED;
+import static de.amr.games.pacman.model.actors.GhostState.HUNTING_PAC;
+import static java.util.function.Predicate.not;
+
+/**
+ * Player inputs that change the course of a game. These are the inputs stored in an {@link InputRecording}.
+ * <p>
+ * The UI actions delegate to these actions such that a game played in the UI and its headless replay execute exactly
+ * the same code. Coin insertion and game start are not contained, each recording starts with a new game.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public enum InputAction {
+
+    PLAYER_UP {
+        @Override
+        public void execute(GameController controller) {
+            steer(controller, Direction.UP);
+        }
+
+        @Override
+        public boolean isEffective(GameController controller) {
+            return changesWishDir(controller, Direction.UP);
+        }
+    },
+
+    PLAYER_DOWN {
+        @Override
+        public void execute(GameController controller) {
+            steer(controller, Direction.DOWN);
+        }
+
+        @Override
+        public boolean isEffective(GameController controller) {
+            return changesWishDir(controller, Direction.DOWN);
+        }
+    },
+
+    PLAYER_LEFT {
+        @Override
+        public void execute(GameController controller) {
+            steer(controller, Direction.LEFT);
+        }
+
+        @Override
+        public boolean isEffective(GameController controller) {
+            return changesWishDir(controller, Direction.LEFT);
+        }
+    },
+
+    PLAYER_RIGHT {
+        @Override
+        public void execute(GameController controller) {
+            steer(controller, Direction.RIGHT);
+        }
+
+        @Override
+        public boolean isEffective(GameController controller) {
+            return changesWishDir(controller, Direction.RIGHT);
+        }
+    },
+
+    CHEAT_ADD_LIVES {
+        @Override
+        public void execute(GameController controller) {
+            controller.game().addLives(3);
+        }
+    },
+
+    CHEAT_EAT_ALL {
+        @Override
+        public void execute(GameController controller) {
+            if (isEffective(controller)) {
+                GameModel game = controller.game();
+                GameLevel level = game.level().orElseThrow();
+                level.worldMap().tiles()
+                    .filter(not(level::isEnergizerPosition))
+                    .filter(level::hasFoodAt)
+                    .forEach(level::registerFoodEatenAt);
+                game.eventManager().publishEvent(game, GameEventType.PAC_FOUND_FOOD);
+            }
+        }
+
+        @Override
+        public boolean isEffective(GameController controller) {
+            return isHunting(controller);
+        }
+    },
+
+    CHEAT_KILL_GHOSTS {
+        @Override
+        public void execute(GameController controller) {
+            if (isEffective(controller)) {
+                GameModel game = controller.game();
+                GameLevel level = game.level().orElseThrow();
+                level.victims().clear();
+                level.ghosts(FRIGHTENED, HUNTING_PAC).forEach(game::killGhost);
+                controller.changeState(GameState.GHOST_DYING);
+            }
+        }
+
+        @Override
+        public boolean isEffective(GameController controller) {
+            return isHunting(controller);
+        }
+    },
+
+    CHEAT_NEXT_LEVEL {
+        @Override
+        public void execute(GameController controller) {
+            if (isEffective(controller)) {
+                controller.changeState(GameState.LEVEL_COMPLETE);
+            }
+        }
+
+        @Override
+        public boolean isEffective(GameController controller) {
+            GameModel game = controller.game();
+            return isHunting(controller) && game.level().get().number() < game.lastLevelNumber();
+        }
+    };
+
+    private static boolean isHunting(GameController controller) {
+        GameModel game = controller.game();
+        return game.isPlaying() && controller.state() == GameState.HUNTING && game.level().isPresent();
+    }
+
+    private static boolean changesWishDir(GameController controller, Direction dir) {
+        return controller.game().level()
+            .map(level -> !level.pac().isUsingAutopilot() && level.pac().wishDir() != dir)
+            .orElse(false);
+    }
+
+    private static void steer(GameController controller, Direction dir) {
+        controller.game().level().ifPresent(level -> {
+            if (!level.pac().isUsingAutopilot()) {
+                level.pac().setWishDir(dir);
+            }
+        });
+    }
+
+    /**
+     * Executes this action for the currently selected game.
+     *
+     * @param controller the game controller
+     */
+    public abstract void execute(GameController controller);
+
+    /**
+     * @param controller the game controller
+     * @return if executing this action in the current situation would change the game. Recorders only store
+     * effective actions.
+     */
+    public boolean isEffective(GameController controller) {
+        return true;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.simulation;
+
+import de.amr.games.pacman.controller.GameController;
+import de.amr.games.pacman.controller.GameState;
+import de.amr.games.pacman.model.GameLevel;
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.model.actors.Pac;
+import org.tinylog.Logger;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records the player inputs of a game such that the game can be replayed headless, e.g. for validating the score.
+ * <p>
+ * When a recording is started, the game model gets a new random generator with a fresh seed stored in the recording,
+ * together with the options the game is started with (see {@link GameModel#gameOptions()}).
+ * A recorder attached to a game controller (see {@link #attach(GameController)}) starts recording whenever the
+ * controller starts a new game, independent of the game variant and the action that started it.
+ * Inputs must be executed via {@link #execute(InputAction, GameController)} and each simulation step must be reported
+ * via {@link #onStepDone(GameState, GameController)}. The recording ends automatically when the game is over.
+ * </p>
+ * <p>
+ * Autopilot and immunity are not part of a recording. If one of them is used during a game, the recording is
+ * cancelled because the game could not be replayed.
+ * </p>
+ * <p>
+ * The UI lets some states (e.g. the level complete animation) last until an animation has finished, a headless
+ * session terminates these states immediately. Therefore, time is measured in <em>play ticks</em>: simulation steps
+ * starting in a state not driven by the UI.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class InputRecorder {
+
+    /**
+     * @param stateBeforeStep game state before the simulation step
+     * @return if the simulation step counts as play tick
+     */
+    public static boolean isPlayTick(GameState stateBeforeStep) {
+        return !GameSession.isDrivenByUI(stateBeforeStep);
+    }
+
+    private boolean recording;
+    private GameVariant gameVariant;
+    private Map<String, String> gameOptions;
+    private long seed;
+    private int tick;
+    private int lastScore;
+
+    private int numInputs;
+    private int[] inputTicks = new int[256];
+    private byte[] inputActions = new byte[256];
+
+    private int numCheckpoints;
+    private int[] checkpointTicks = new int[1024];
+    private int[] checkpointScores = new int[1024];
+
+    private Consumer<InputRecording> onRecordingComplete = recording -> {};
+
+    /**
+     * @param action code executed with the recording when the recorded game is over
+     */
+    public void setOnRecordingComplete(Consumer<InputRecording> action) {
+        onRecordingComplete = requireNonNull(action);
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Lets this recorder start a new recording each time the given controller enters the starting state for a new game
+     * (not for resuming a game or for the demo level).
+     *
+     * @param controller game controller
+     */
+    public void attach(GameController controller) {
+        requireNonNull(controller);
+        controller.addStateChangeListener((oldState, newState) -> {
+            if (newState == GameState.STARTING_GAME
+                && (oldState == GameState.INTRO || oldState == GameState.SETTING_OPTIONS)) {
+                GameModel game = controller.game();
+                if (!game.isPlaying() && game.canStartNewGame()) {
+                    start(controller.selectedGameVariant(), game);
+                }
+            }
+        });
+    }
+
+    /**
+     * Starts a new recording. Must be called before the game is started, i.e. before the first update in the starting
+     * state.
+     *
+     * @param gameVariant the game variant
+     * @param game the game model, gets a new random generator
+     */
+    public void start(GameVariant gameVariant, GameModel game) {
+        this.gameVariant = requireNonNull(gameVariant);
+        gameOptions = game.gameOptions();
+        seed = ThreadLocalRandom.current().nextLong();
+        game.setRandom(new SplittableRandom(seed));
+        tick = 0;
+        lastScore = 0;
+        numInputs = 0;
+        numCheckpoints = 0;
+        recording = true;
+        Logger.info("Input recording started ({}, options {}, seed {})", gameVariant, gameOptions, seed);
+    }
+
+    /**
+     * Stops recording without creating a recording.
+     */
+    public void cancel() {
+        if (recording) {
+            recording = false;
+            Logger.info("Input recording cancelled");
+        }
+    }
+
+    /**
+     * Executes the given action and records it if it has any effect.
+     *
+     * @param action player input
+     * @param controller game controller
+     */
+    public void execute(InputAction action, GameController controller) {
+        if (recording && action.isEffective(controller)) {
+            if (numInputs == inputTicks.length) {
+                inputTicks = Arrays.copyOf(inputTicks, 2 * numInputs);
+                inputActions = Arrays.copyOf(inputActions, 2 * numInputs);
+            }
+            inputTicks[numInputs] = tick;
+            inputActions[numInputs] = (byte) action.ordinal();
+            ++numInputs;
+        }
+        action.execute(controller);
+    }
+
+    /**
+     * Must be called after each simulation step.
+     *
+     * @param stateBeforeStep the game state before the step was executed
+     * @param controller the game controller
+     */
+    public void onStepDone(GameState stateBeforeStep, GameController controller) {
+        if (!recording) {
+            return;
+        }
+        Pac pac = controller.game().level().map(GameLevel::pac).orElse(null);
+        if (pac != null && (pac.isUsingAutopilot() || pac.isImmune())) {
+            recording = false;
+            Logger.info("Input recording cancelled: autopilot and immunity are not recorded, game cannot be replayed");
+            return;
+        }
+        if (isPlayTick(stateBeforeStep)) {
+            ++tick;
+        }
+        int score = controller.game().scoreManager().score().points();
+        if (score != lastScore) {
+            if (numCheckpoints == checkpointTicks.length) {
+                checkpointTicks = Arrays.copyOf(checkpointTicks, 2 * numCheckpoints);
+                checkpointScores = Arrays.copyOf(checkpointScores, 2 * numCheckpoints);
+            }
+            checkpointTicks[numCheckpoints] = tick;
+            checkpointScores[numCheckpoints] = score;
+            ++numCheckpoints;
+            lastScore = score;
+        }
+        if (controller.state() == GameState.GAME_OVER) {
+            recording = false;
+            var result = new InputRecording(gameVariant, gameOptions, seed, tick, score,
+                Arrays.copyOf(inputTicks, numInputs), Arrays.copyOf(inputActions, numInputs),
+                Arrays.copyOf(checkpointTicks, numCheckpoints), Arrays.copyOf(checkpointScores, numCheckpoints));
+            Logger.info("Input recording complete: {}", result);
+            onRecordingComplete.accept(result);
+        }
+    }
+}
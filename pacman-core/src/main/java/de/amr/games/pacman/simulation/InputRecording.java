@@ -0,0 +1,298 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.simulation;
+
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.GameVariant;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The player inputs of a complete game together with everything needed to replay it: the game variant, the options
+ * the game was started with (see {@link GameModel#gameOptions()}) and the seed of the game's random generator.
+ * <p>
+ * Time is measured in play ticks, see {@link InputRecorder#isPlayTick}. An input stored at tick <code>t</code> is
+ * executed before the simulation step <code>t + 1</code>. In addition, the recording contains the score after each
+ * step where the score changed. These checkpoints allow a replay to detect the first tick where it diverges from the
+ * recorded game.
+ * </p>
+ * <p>
+ * Binary format (big-endian, varints use 7 bits per byte, least significant group first):
+ * <pre>
+ * int     magic number 0x504D4952 ("PMIR")
+ * byte    format version (2, version 1 recordings without game options can still be read)
+ * UTF     game variant name
+ * varint  number of game options k, followed by k times: UTF option name, UTF option value (since version 2)
+ * long    seed
+ * varint  number of play ticks until game over
+ * varint  final score
+ * varint  number of inputs n, followed by n times: varint tick delta, byte action ordinal
+ * varint  number of checkpoints m, followed by m times: varint tick delta, varint score delta (zigzag encoded)
+ * </pre>
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public final class InputRecording {
+
+    public static final String FILE_EXTENSION = ".pmr";
+
+    private static final int MAGIC = 0x504D4952;
+    private static final byte VERSION = 2;
+    private static final InputAction[] ACTIONS = InputAction.values();
+
+    /**
+     * Reads a recording in binary format.
+     *
+     * @param in input stream, not closed by this method
+     * @return the recording
+     * @throws IOException if reading fails or the data is not a valid recording
+     */
+    public static InputRecording read(InputStream in) throws IOException {
+        var data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an input recording");
+        }
+        byte version = data.readByte();
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported recording version: " + version);
+        }
+        GameVariant gameVariant;
+        try {
+            gameVariant = GameVariant.valueOf(data.readUTF());
+        } catch (IllegalArgumentException x) {
+            throw new IOException("Unknown game variant in recording", x);
+        }
+        var gameOptions = new LinkedHashMap<String, String>();
+        if (version >= 2) {
+            int numOptions = readVarInt(data);
+            for (int i = 0; i < numOptions; ++i) {
+                String name = data.readUTF();
+                gameOptions.put(name, data.readUTF());
+            }
+        }
+        long seed = data.readLong();
+        int numTicks = readVarInt(data);
+        int score = readVarInt(data);
+
+        int numInputs = readVarInt(data);
+        int[] inputTicks = new int[numInputs];
+        byte[] inputActions = new byte[numInputs];
+        int tick = 0;
+        for (int i = 0; i < numInputs; ++i) {
+            tick += readVarInt(data);
+            inputTicks[i] = tick;
+            inputActions[i] = data.readByte();
+            if (inputActions[i] < 0 || inputActions[i] >= ACTIONS.length) {
+                throw new IOException("Illegal input action: " + inputActions[i]);
+            }
+        }
+
+        int numCheckpoints = readVarInt(data);
+        int[] checkpointTicks = new int[numCheckpoints];
+        int[] checkpointScores = new int[numCheckpoints];
+        tick = 0;
+        int points = 0;
+        for (int i = 0; i < numCheckpoints; ++i) {
+            tick += readVarInt(data);
+            int zigzag = readVarInt(data);
+            points += (zigzag >>> 1) ^ -(zigzag & 1);
+            checkpointTicks[i] = tick;
+            checkpointScores[i] = points;
+        }
+        return new InputRecording(gameVariant, gameOptions, seed, numTicks, score,
+            inputTicks, inputActions, checkpointTicks, checkpointScores);
+    }
+
+    /**
+     * @param file recording file
+     * @return the recording stored in the file
+     * @throws IOException if reading fails or the file does not contain a valid recording
+     */
+    public static InputRecording load(File file) throws IOException {
+        try (var in = new FileInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    private static int readVarInt(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = data.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private final GameVariant gameVariant;
+    private final Map<String, String> gameOptions;
+    private final long seed;
+    private final int numTicks;
+    private final int score;
+    private final int[] inputTicks;
+    private final byte[] inputActions;
+    private final int[] checkpointTicks;
+    private final int[] checkpointScores;
+
+    InputRecording(GameVariant gameVariant, Map<String, String> gameOptions, long seed, int numTicks, int score,
+                   int[] inputTicks, byte[] inputActions, int[] checkpointTicks, int[] checkpointScores) {
+        this.gameVariant = requireNonNull(gameVariant);
+        this.gameOptions = Collections.unmodifiableMap(new LinkedHashMap<>(gameOptions));
+        this.seed = seed;
+        this.numTicks = numTicks;
+        this.score = score;
+        this.inputTicks = inputTicks;
+        this.inputActions = inputActions;
+        this.checkpointTicks = checkpointTicks;
+        this.checkpointScores = checkpointScores;
+    }
+
+    /**
+     * Writes this recording in binary format.
+     *
+     * @param out output stream, flushed but not closed by this method
+     * @throws IOException if writing fails
+     */
+    public void write(OutputStream out) throws IOException {
+        var data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeUTF(gameVariant.name());
+        writeVarInt(data, gameOptions.size());
+        for (var option : gameOptions.entrySet()) {
+            data.writeUTF(option.getKey());
+            data.writeUTF(option.getValue());
+        }
+        data.writeLong(seed);
+        writeVarInt(data, numTicks);
+        writeVarInt(data, score);
+
+        writeVarInt(data, inputTicks.length);
+        int prevTick = 0;
+        for (int i = 0; i < inputTicks.length; ++i) {
+            writeVarInt(data, inputTicks[i] - prevTick);
+            data.writeByte(inputActions[i]);
+            prevTick = inputTicks[i];
+        }
+
+        writeVarInt(data, checkpointTicks.length);
+        prevTick = 0;
+        int prevScore = 0;
+        for (int i = 0; i < checkpointTicks.length; ++i) {
+            int delta = checkpointScores[i] - prevScore;
+            writeVarInt(data, checkpointTicks[i] - prevTick);
+            writeVarInt(data, (delta << 1) ^ (delta >> 31));
+            prevTick = checkpointTicks[i];
+            prevScore = checkpointScores[i];
+        }
+        data.flush();
+    }
+
+    /**
+     * @param file file where recording is stored, parent directories are created if needed
+     * @throws IOException if writing fails
+     */
+    public void save(File file) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create directory " + dir);
+        }
+        try (var out = new FileOutputStream(file)) {
+            write(out);
+        }
+    }
+
+    public GameVariant gameVariant() {
+        return gameVariant;
+    }
+
+    /**
+     * @return the options the recorded game was started with, empty for recordings of format version 1
+     */
+    public Map<String, String> gameOptions() {
+        return gameOptions;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * @return number of play ticks from game start until game over
+     */
+    public int numTicks() {
+        return numTicks;
+    }
+
+    /**
+     * @return final score of the recorded game
+     */
+    public int score() {
+        return score;
+    }
+
+    public int numInputs() {
+        return inputTicks.length;
+    }
+
+    public int inputTick(int i) {
+        return inputTicks[i];
+    }
+
+    public InputAction inputAction(int i) {
+        return ACTIONS[inputActions[i]];
+    }
+
+    public int numCheckpoints() {
+        return checkpointTicks.length;
+    }
+
+    public int checkpointTick(int i) {
+        return checkpointTicks[i];
+    }
+
+    public int checkpointScore(int i) {
+        return checkpointScores[i];
+    }
+
+    @Override
+    public String toString() {
+        return "InputRecording[variant=%s, options=%s, seed=%d, ticks=%d, score=%d, inputs=%d, checkpoints=%d]"
+            .formatted(gameVariant, gameOptions, seed, numTicks, score, inputTicks.length, checkpointTicks.length);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof InputRecording other
+            && gameVariant == other.gameVariant && gameOptions.equals(other.gameOptions)
+            && seed == other.seed && numTicks == other.numTicks
+            && score == other.score
+            && Arrays.equals(inputTicks, other.inputTicks) && Arrays.equals(inputActions, other.inputActions)
+            && Arrays.equals(checkpointTicks, other.checkpointTicks)
+            && Arrays.equals(checkpointScores, other.checkpointScores);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * gameVariant.hashCode() + Long.hashCode(seed)) + numTicks;
+    }
+}
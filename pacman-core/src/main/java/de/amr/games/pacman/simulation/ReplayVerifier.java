@@ -0,0 +1,164 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.simulation;
+
+import de.amr.games.pacman.controller.GameState;
+import de.amr.games.pacman.model.GameModel;
+import de.amr.games.pacman.model.GameVariant;
+import org.tinylog.Logger;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Replays input recordings headless at maximum speed and checks if the replayed games give the recorded results.
+ * <p>
+ * Each recording is replayed in its own {@link GameSession} with the recorded game options, many recordings are
+ * verified in parallel on a fork-join pool. A replay diverges at the first play tick where its score differs from the
+ * recorded score or where one of the games is over and the other is not.
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class ReplayVerifier {
+
+    /** Divergent tick value of a replay that matches the recording. */
+    public static final int NO_DIVERGENCE = -1;
+
+    /**
+     * Result of verifying a single recording.
+     *
+     * @param recording      the recording
+     * @param replayedScore  score at the end of the replay
+     * @param replayedTicks  number of play ticks replayed
+     * @param divergentTick  first play tick where the replay differs from the recording or {@link #NO_DIVERGENCE}
+     * @param error          exception thrown during replay or {@code null}
+     */
+    public record Verdict(InputRecording recording, int replayedScore, int replayedTicks, int divergentTick,
+                          Throwable error) {
+
+        public boolean isValid() {
+            return divergentTick == NO_DIVERGENCE && error == null;
+        }
+    }
+
+    /**
+     * Prints one line per verdict and a summary.
+     *
+     * @param verdicts verdicts
+     * @param out output stream
+     */
+    public static void print(List<Verdict> verdicts, PrintStream out) {
+        out.printf("%-18s %20s %9s %9s %9s %10s %s%n",
+            "Variant", "Seed", "Score", "Replayed", "Ticks", "Divergent", "Result");
+        for (Verdict verdict : verdicts) {
+            InputRecording recording = verdict.recording();
+            out.printf("%-18s %20d %9d %9d %9d %10s %s%n", recording.gameVariant(), recording.seed(), recording.score(),
+                verdict.replayedScore(), recording.numTicks(),
+                verdict.divergentTick() == NO_DIVERGENCE ? "-" : String.valueOf(verdict.divergentTick()),
+                verdict.error() != null ? "ERROR " + verdict.error() : verdict.isValid() ? "OK" : "MISMATCH");
+        }
+        long numValid = verdicts.stream().filter(Verdict::isValid).count();
+        out.printf("%d recordings verified, %d valid, %d invalid%n", verdicts.size(), numValid, verdicts.size() - numValid);
+    }
+
+    private final Function<GameVariant, ? extends GameModel> gameFactory;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @param gameFactory creates a new game model of the given variant for each replay. Models for variants without
+     *                    coin mechanism must be configured such that a new game can be started.
+     */
+    public ReplayVerifier(Function<GameVariant, ? extends GameModel> gameFactory) {
+        this.gameFactory = requireNonNull(gameFactory);
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive but is " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Verifies all recordings in parallel and waits until all are finished.
+     *
+     * @param recordings the recordings
+     * @return the verdicts in the order of the recordings
+     */
+    public List<Verdict> verifyAll(List<InputRecording> recordings) {
+        List<Callable<Verdict>> tasks = new ArrayList<>(recordings.size());
+        for (InputRecording recording : recordings) {
+            tasks.add(() -> verify(recording));
+        }
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            List<Verdict> verdicts = new ArrayList<>(recordings.size());
+            for (Future<Verdict> future : pool.invokeAll(tasks)) {
+                verdicts.add(future.get());
+            }
+            return verdicts;
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verification interrupted", x);
+        } catch (ExecutionException x) {
+            throw new IllegalStateException("Verification failed", x.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Replays the given recording and compares it with the recorded game.
+     *
+     * @param recording the recording
+     * @return the verdict
+     */
+    public Verdict verify(InputRecording recording) {
+        var session = new GameSession(recording.gameVariant(), gameFactory.apply(recording.gameVariant()), recording.seed());
+        session.setAutopilot(false);
+        GameModel game = session.game();
+        int tick = 0, nextInput = 0, nextCheckpoint = 0, expectedScore = 0, score = 0;
+        try {
+            game.applyGameOptions(recording.gameOptions());
+            session.startGame();
+            while (true) {
+                while (nextInput < recording.numInputs() && recording.inputTick(nextInput) == tick) {
+                    recording.inputAction(nextInput++).execute(session.controller());
+                }
+                GameState stateBeforeStep = session.controller().state();
+                session.step();
+                if (!InputRecorder.isPlayTick(stateBeforeStep)) {
+                    continue;
+                }
+                ++tick;
+                while (nextCheckpoint < recording.numCheckpoints() && recording.checkpointTick(nextCheckpoint) <= tick) {
+                    expectedScore = recording.checkpointScore(nextCheckpoint++);
+                }
+                score = game.scoreManager().score().points();
+                boolean recordedGameOver = tick >= recording.numTicks();
+                if (score != expectedScore || session.isGameOver() != recordedGameOver) {
+                    return new Verdict(recording, score, tick, tick, null);
+                }
+                if (recordedGameOver) {
+                    return new Verdict(recording, score, tick,
+                        score == recording.score() ? NO_DIVERGENCE : tick, null);
+                }
+            }
+        } catch (Exception x) {
+            Logger.error(x);
+            Logger.error("Replay of {} failed at tick {}", recording, tick);
+            return new Verdict(recording, score, tick, tick, x);
+        }
+    }
+}
@@ -7,6 +7,7 @@ package de.amr.games.pacman.steering;
 import de.amr.games.pacman.Globals;
 import de.amr.games.pacman.lib.Direction;
 import de.amr.games.pacman.lib.Vector2i;
+import de.amr.games.pacman.model.DistanceTable;
 import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.GameModel;
 import de.amr.games.pacman.model.actors.*;
@@ -92,18 +93,18 @@ public class RuleBasedPacSteering implements Steering {
         Ghost hunterAhead = findHuntingGhostAhead(level); // Where is Hunter?
         if (hunterAhead != null) {
             data.hunterAhead = hunterAhead;
-            data.hunterAheadDistance = pac.tile().manhattanDist(hunterAhead.tile());
+            data.hunterAheadDistance = mazeDistance(level, pac.tile(), hunterAhead.tile());
         }
         Ghost hunterBehind = findHuntingGhostBehind(pac);
         if (hunterBehind != null) {
             data.hunterBehind = hunterBehind;
-            data.hunterBehindDistance = pac.tile().manhattanDist(hunterBehind.tile());
+            data.hunterBehindDistance = mazeDistance(level, pac.tile(), hunterBehind.tile());
         }
         data.frightenedGhosts = level.ghosts(GhostState.FRIGHTENED)
-            .filter(ghost -> ghost.tile().manhattanDist(pac.tile()) <= CollectedData.MAX_GHOST_CHASE_DIST)
+            .filter(ghost -> mazeDistance(level, pac.tile(), ghost.tile()) <= CollectedData.MAX_GHOST_CHASE_DIST)
             .collect(Collectors.toList());
         data.frightenedGhostsDistance = data.frightenedGhosts.stream()
-            .map(ghost -> (float)ghost.tile().manhattanDist(pac.tile())).collect(Collectors.toList());
+            .map(ghost -> (float) mazeDistance(level, pac.tile(), ghost.tile())).collect(Collectors.toList());
 
         return data;
     }
@@ -133,13 +134,13 @@ public class RuleBasedPacSteering implements Steering {
         if (!data.frightenedGhosts.isEmpty() && level.powerTimer().remainingTicks() >= Globals.TICKS_PER_SECOND) {
             Ghost prey = data.frightenedGhosts.getFirst();
             Logger.trace("Detected frightened ghost {} {} tiles away", prey.name(),
-                prey.tile().manhattanDist(pac.tile()));
+                mazeDistance(level, pac.tile(), prey.tile()));
             pac.setTargetTile(prey.tile());
         } else if (isEdibleBonusNearPac(game, pac)) {
             Logger.trace("Active bonus detected, get it!");
             level.bonus().ifPresent(bonus -> pac.setTargetTile(tileAt(bonus.actor().position())));
         } else {
-            pac.setTargetTile(findTileFarthestFromGhosts(pac, findNearestFoodTiles(level)));
+            pac.setTargetTile(findTileFarthestFromGhosts(level, findNearestFoodTiles(level)));
         }
         pac.targetTile().ifPresent(target -> {
             pac.navigateTowardsTarget();
@@ -153,7 +154,7 @@ public class RuleBasedPacSteering implements Steering {
             var bonus = level.bonus().get();
             var tile = tileAt(bonus.actor().position());
             return bonus.state() == Bonus.STATE_EDIBLE
-                && tile.manhattanDist(pac.tile()) <= CollectedData.MAX_BONUS_HARVEST_DIST;
+                && mazeDistance(level, pac.tile(), tile) <= CollectedData.MAX_BONUS_HARVEST_DIST;
         }
         return false;
     }
@@ -172,8 +173,8 @@ public class RuleBasedPacSteering implements Steering {
             }
             var aheadLeft = ahead.plus(pac.moveDir().nextCounterClockwise().vector());
             var aheadRight = ahead.plus(pac.moveDir().nextClockwise().vector());
-            Iterable<Ghost> huntingGhosts = level.ghosts(GhostState.HUNTING_PAC)::iterator;
-            for (var ghost : huntingGhosts) {
+            for (long mask = level.ghostMask(GhostState.HUNTING_PAC); mask != 0; mask &= mask - 1) {
+                Ghost ghost = level.ghostInMask(mask);
                 if (ghost.tile().equals(ahead) || ghost.tile().equals(aheadLeft) || ghost.tile().equals(aheadRight)) {
                     if (energizerFound) {
                         Logger.trace("Ignore hunting ghost ahead, energizer comes first!");
@@ -194,8 +195,8 @@ public class RuleBasedPacSteering implements Steering {
             if (!pac.canAccessTile(behind)) {
                 break;
             }
-            Iterable<Ghost> huntingGhosts = level.ghosts(GhostState.HUNTING_PAC)::iterator;
-            for (Ghost ghost : huntingGhosts) {
+            for (long mask = level.ghostMask(GhostState.HUNTING_PAC); mask != 0; mask &= mask - 1) {
+                Ghost ghost = level.ghostInMask(mask);
                 if (ghost.tile().equals(behind)) {
                     return ghost;
                 }
@@ -208,7 +209,7 @@ public class RuleBasedPacSteering implements Steering {
         var pac = level.pac();
         Vector2i pacManTile = pac.tile();
         List<Direction> escapes = new ArrayList<>(4);
-        for (Direction dir : Direction.shuffled()) {
+        for (Direction dir : Direction.shuffled(level.game().random())) {
             if (forbidden.contains(dir)) {
                 continue;
             }
@@ -227,45 +228,24 @@ public class RuleBasedPacSteering implements Steering {
     }
 
     private List<Vector2i> findNearestFoodTiles(GameLevel level) {
-        long time = System.nanoTime();
-        var pac = level.pac();
-        List<Vector2i> foodTiles = new ArrayList<>();
-        Vector2i pacManTile = pac.tile();
-        float minDist = Float.MAX_VALUE;
-        for (int x = 0; x < level.worldMap().numCols(); ++x) {
-            for (int y = 0; y < level.worldMap().numRows(); ++y) {
-                Vector2i tile = new Vector2i(x, y);
-                if (!level.isFoodPosition(tile) || level.hasEatenFoodAt(tile)) {
-                    continue;
-                }
-                if (level.isEnergizerPosition(tile) && level.powerTimer().remainingTicks() > 2 * 60
-                    && level.uneatenFoodCount() > 1) {
-                    continue;
-                }
-                float dist = pacManTile.manhattanDist(tile);
-                if (dist < minDist) {
-                    minDist = dist;
-                    foodTiles.clear();
-                    foodTiles.add(tile);
-                } else if (dist == minDist) {
-                    foodTiles.add(tile);
-                }
+        Vector2i pacManTile = level.pac().tile();
+        boolean excludeEnergizers = level.powerTimer().remainingTicks() > 2 * 60 && level.uneatenFoodCount() > 1;
+        List<Vector2i> foodTiles = level.foodIndex().nearestFoodTilesByMazeDist(pacManTile, excludeEnergizers);
+        if (Logger.isTraceEnabled()) {
+            Logger.trace("Nearest food tiles from Pac-Man location {}:", pacManTile);
+            for (Vector2i t : foodTiles) {
+                Logger.trace("\t{} ({} tiles away from Pac-Man, {} tiles away from ghosts)", t,
+                    mazeDistance(level, pacManTile, t), minDistanceFromGhosts(level, t));
             }
         }
-        time = System.nanoTime() - time;
-        Logger.trace("Nearest food tiles from Pac-Man location {}: (time {} millis)", pacManTile, time / 1_000_000f);
-        for (Vector2i t : foodTiles) {
-            Logger.trace("\t{} ({} tiles away from Pac-Man, {} tiles away from ghosts)", t, t.manhattanDist(pacManTile),
-                minDistanceFromGhosts(pac));
-        }
         return foodTiles;
     }
 
-    private Vector2i findTileFarthestFromGhosts(Pac pac, List<Vector2i> tiles) {
+    private Vector2i findTileFarthestFromGhosts(GameLevel level, List<Vector2i> tiles) {
         Vector2i farthestTile = null;
         float maxDist = -1;
         for (Vector2i tile : tiles) {
-            float dist = minDistanceFromGhosts(pac);
+            float dist = minDistanceFromGhosts(level, tile);
             if (dist > maxDist) {
                 maxDist = dist;
                 farthestTile = tile;
@@ -274,10 +254,15 @@ public class RuleBasedPacSteering implements Steering {
         return farthestTile;
     }
 
-    private float minDistanceFromGhosts(Pac pac) {
-        GameLevel level = game.level().orElseThrow();
+    // mazes too large for a distance table are navigated by Manhattan distance
+    private static int mazeDistance(GameLevel level, Vector2i from, Vector2i to) {
+        DistanceTable distanceTable = level.distanceTable();
+        return distanceTable.isAvailable() ? distanceTable.distanceOrManhattan(from, to) : from.manhattanDist(to);
+    }
+
+    private float minDistanceFromGhosts(GameLevel level, Vector2i tile) {
         return (float) level.ghosts().map(Ghost::tile)
-            .mapToDouble(pac.tile()::manhattanDist)
+            .mapToDouble(ghostTile -> mazeDistance(level, tile, ghostTile))
             .min().orElse(Float.MAX_VALUE);
     }
 }
\ No newline at end of file
@@ -4,7 +4,6 @@
 module de.amr.games.pacman {
 
     requires org.tinylog.api;
-    requires javafx.base;
 
     exports de.amr.games.pacman.controller;
     exports de.amr.games.pacman.event;
@@ -17,6 +16,7 @@ module de.amr.games.pacman {
     exports de.amr.games.pacman.lib.nes;
     exports de.amr.games.pacman.lib.tilemap;
     exports de.amr.games.pacman.lib.timer;
+    exports de.amr.games.pacman.simulation;
     exports de.amr.games.pacman.steering;
     exports de.amr.games.pacman;
 }
\ No newline at end of file
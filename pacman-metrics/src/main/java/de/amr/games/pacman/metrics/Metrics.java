@@ -0,0 +1,280 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.metrics;
+
+import org.tinylog.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Registry of live metrics of a running game (frame rate, simulation step time, game state etc.).
+ * <p>
+ * A metric does not store any value, it only knows how to read the current value, e.g. from a counter field that the
+ * game clock or the game controller increments anyway. So metrics cost nothing as long as nobody reads them. Values
+ * are read from other threads (JMX, HTTP), so the sources should be volatile fields or otherwise safe to read
+ * concurrently.
+ * </p>
+ * <p>
+ * The metrics can be exported as a JMX MBean and via a local HTTP endpoint in the Prometheus text format. By default,
+ * nothing is exported. The exports are configured by the system properties
+ * <ul>
+ * <li>{@value #PROPERTY_JMX}: if {@code true}, the metrics are registered as MBean {@value #JMX_OBJECT_NAME}</li>
+ * <li>{@value #PROPERTY_HTTP_PORT}: port of the HTTP endpoint (loopback address only, path {@code /metrics})</li>
+ * </ul>
+ * </p>
+ *
+ * @author Armin Reichert
+ */
+public class Metrics {
+
+    public static final String PROPERTY_JMX = "pacman.metrics.jmx";
+    public static final String PROPERTY_HTTP_PORT = "pacman.metrics.http.port";
+    public static final String JMX_OBJECT_NAME = "de.amr.games.pacman:type=Metrics";
+
+    public enum Type {
+        /** Monotonically increasing count (ticks, nanoseconds spent etc.) */
+        COUNTER,
+        /** Value that can go up and down (frame rate, number of playing sounds etc.) */
+        GAUGE,
+        /** Text value (game state etc.), exported to Prometheus as label of a gauge with value 1 */
+        INFO
+    }
+
+    /**
+     * @param name     metric name, Prometheus syntax
+     * @param labels   label of this time series, e.g. {@code gc="G1 Young Generation"}, empty if none
+     * @param help     description
+     * @param type     metric type
+     * @param value    reads the numeric value, not used by {@link Type#INFO} metrics
+     * @param text     reads the text value of {@link Type#INFO} metrics
+     * @param integral if the value is a whole number, e.g. a count of events
+     */
+    public record Metric(
+        String name, String labels, String help, Type type, DoubleSupplier value, Supplier<String> text,
+        boolean integral)
+    {
+
+        /**
+         * @return name including labels, e.g. {@code jvm_gc_collections_total{gc="G1 Young Generation"}}
+         */
+        public String key() {
+            return labels.isEmpty() ? name : name + "{" + labels + "}";
+        }
+    }
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private final List<Metric> metrics = new CopyOnWriteArrayList<>();
+    private MetricsHttpServer httpServer;
+    private boolean jvmMetricsRegistered;
+
+    public List<Metric> metrics() {
+        return List.copyOf(metrics);
+    }
+
+    public Metric metric(String key) {
+        return metrics.stream().filter(metric -> metric.key().equals(key)).findFirst().orElse(null);
+    }
+
+    public void counter(String name, String help, LongSupplier value) {
+        counter(name, "", help, value);
+    }
+
+    public void counter(String name, String labels, String help, LongSupplier value) {
+        requireNonNull(value);
+        add(new Metric(name, labels, help, Type.COUNTER, value::getAsLong, null, true));
+    }
+
+    /**
+     * Registers a counter with a fractional value, e.g. an accumulated duration in seconds.
+     */
+    public void counter(String name, String help, DoubleSupplier value) {
+        counter(name, "", help, value);
+    }
+
+    public void counter(String name, String labels, String help, DoubleSupplier value) {
+        add(new Metric(name, labels, help, Type.COUNTER, requireNonNull(value), null, false));
+    }
+
+    public void gauge(String name, String help, DoubleSupplier value) {
+        gauge(name, "", help, value);
+    }
+
+    public void gauge(String name, String labels, String help, DoubleSupplier value) {
+        add(new Metric(name, labels, help, Type.GAUGE, requireNonNull(value), null, false));
+    }
+
+    public void info(String name, String help, Supplier<String> text) {
+        add(new Metric(name, "", help, Type.INFO, () -> 1, requireNonNull(text), true));
+    }
+
+    private void add(Metric metric) {
+        requireNonNull(metric.name());
+        requireNonNull(metric.labels());
+        requireNonNull(metric.help());
+        if (!NAME_PATTERN.matcher(metric.name()).matches()) {
+            throw new IllegalArgumentException("Illegal metric name: '%s'".formatted(metric.name()));
+        }
+        // replace existing metric with same key, e.g. when the UI is recreated
+        metrics.removeIf(existing -> existing.key().equals(metric.key()));
+        metrics.add(metric);
+    }
+
+    /**
+     * Registers the metrics of the Java VM: garbage collections and heap usage.
+     */
+    public void registerJvmMetrics() {
+        if (jvmMetricsRegistered) {
+            return;
+        }
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String labels = "gc=\"%s\"".formatted(gc.getName());
+            counter("jvm_gc_collections_total", labels, "Number of garbage collections", gc::getCollectionCount);
+            counter("jvm_gc_collection_seconds_total", labels, "Accumulated garbage collection time (seconds)",
+                () -> gc.getCollectionTime() / 1000.0);
+        }
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        gauge("jvm_memory_heap_used_bytes", "Used heap memory (bytes)",
+            () -> memory.getHeapMemoryUsage().getUsed());
+        jvmMetricsRegistered = true;
+    }
+
+    /**
+     * Starts the exports configured by the system properties {@value #PROPERTY_JMX} and {@value #PROPERTY_HTTP_PORT}.
+     * Export errors are logged, they do not stop the game.
+     */
+    public void exportAsConfigured() {
+        if (Boolean.getBoolean(PROPERTY_JMX)) {
+            try {
+                exportJMX();
+            } catch (JMException x) {
+                Logger.error("Could not register metrics MBean: {}", x.getMessage());
+            }
+        }
+        Integer port = Integer.getInteger(PROPERTY_HTTP_PORT);
+        if (port != null) {
+            try {
+                startHttpServer(port);
+            } catch (IOException x) {
+                Logger.error("Could not start metrics HTTP endpoint on port {}: {}", port, x.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Registers the metrics as a dynamic MBean with object name {@value #JMX_OBJECT_NAME}. Each metric is an attribute
+     * named by its key.
+     */
+    public void exportJMX() throws JMException {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var objectName = new ObjectName(JMX_OBJECT_NAME);
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+        server.registerMBean(new MetricsMBean(this), objectName);
+        Logger.info("Metrics registered as MBean {}", JMX_OBJECT_NAME);
+    }
+
+    /**
+     * Starts the HTTP endpoint providing the metrics in Prometheus text format. Only accessible from the local host.
+     *
+     * @param port port number, 0 means any free port
+     */
+    public synchronized void startHttpServer(int port) throws IOException {
+        if (httpServer != null) {
+            httpServer.stop();
+        }
+        httpServer = new MetricsHttpServer(this, port);
+        Logger.info("Metrics available at http://localhost:{}/metrics", httpServer.port());
+    }
+
+    public synchronized void stopHttpServer() {
+        if (httpServer != null) {
+            httpServer.stop();
+            httpServer = null;
+        }
+    }
+
+    /**
+     * @return the current values of all metrics in the Prometheus text exposition format (version 0.0.4)
+     */
+    public String toPrometheusText() {
+        // all time series of a metric name must be listed together, below a single HELP and TYPE line
+        var metricsByName = new LinkedHashMap<String, List<Metric>>();
+        for (Metric metric : metrics) {
+            metricsByName.computeIfAbsent(metric.name(), name -> new ArrayList<>()).add(metric);
+        }
+        var sb = new StringBuilder(4096);
+        metricsByName.forEach((name, series) -> {
+            Metric first = series.getFirst();
+            sb.append("# HELP ").append(name).append(' ').append(escapeHelp(first.help())).append('\n');
+            sb.append("# TYPE ").append(name).append(' ')
+                .append(first.type() == Type.COUNTER ? "counter" : "gauge").append('\n');
+            for (Metric metric : series) {
+                sb.append(name);
+                if (metric.type() == Type.INFO) {
+                    sb.append("{value=\"").append(escapeLabelValue(readText(metric))).append("\"} 1\n");
+                } else {
+                    if (!metric.labels().isEmpty()) {
+                        sb.append('{').append(metric.labels()).append('}');
+                    }
+                    sb.append(' ').append(formatValue(readValue(metric))).append('\n');
+                }
+            }
+        });
+        return sb.toString();
+    }
+
+    static double readValue(Metric metric) {
+        try {
+            return metric.value().getAsDouble();
+        } catch (RuntimeException x) {
+            // value source not available yet, e.g. no game level exists
+            return Double.NaN;
+        }
+    }
+
+    static String readText(Metric metric) {
+        try {
+            String text = metric.text().get();
+            return text != null ? text : "";
+        } catch (RuntimeException x) {
+            return "";
+        }
+    }
+
+    private static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String escapeHelp(String text) {
+        return text.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabelValue(String text) {
+        return escapeHelp(text).replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,80 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.metrics;
+
+import javax.management.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Dynamic MBean exposing each metric of a {@link Metrics} registry as a read-only attribute. The attribute set is
+ * computed on each request, so metrics registered after the MBean are visible too.
+ *
+ * @author Armin Reichert
+ */
+class MetricsMBean implements DynamicMBean {
+
+    private final Metrics metrics;
+
+    MetricsMBean(Metrics metrics) {
+        this.metrics = requireNonNull(metrics);
+    }
+
+    @Override
+    public Object getAttribute(String key) throws AttributeNotFoundException {
+        Metrics.Metric metric = metrics.metric(key);
+        if (metric == null) {
+            throw new AttributeNotFoundException("No metric with key " + key);
+        }
+        return switch (metric.type()) {
+            case COUNTER, GAUGE -> {
+                double value = Metrics.readValue(metric);
+                yield metric.integral() ? Long.valueOf((long) value) : Double.valueOf(value);
+            }
+            case INFO -> Metrics.readText(metric);
+        };
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] keys) {
+        var list = new AttributeList();
+        for (String key : keys) {
+            try {
+                list.add(new Attribute(key, getAttribute(key)));
+            } catch (AttributeNotFoundException x) {
+                // skipped as specified by DynamicMBean
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metric %s is read-only".formatted(attribute.getName()));
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName), "Metrics MBean has no operations");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        MBeanAttributeInfo[] attributes = metrics.metrics().stream().map(metric -> new MBeanAttributeInfo(
+            metric.key(),
+            switch (metric.type()) {
+                case COUNTER, GAUGE -> metric.integral() ? Long.class.getName() : Double.class.getName();
+                case INFO -> String.class.getName();
+            },
+            metric.help(), true, false, false)
+        ).toArray(MBeanAttributeInfo[]::new);
+        return new MBeanInfo(getClass().getName(), "Pac-Man game metrics", attributes, null, null, null);
+    }
+}
@@ -0,0 +1,11 @@
+/*
+ * Copyright (c) 2021-2025 Armin Reichert (MIT License) See file LICENSE in repository root directory for details.
+ */
+module de.amr.games.pacman.metrics {
+
+    requires java.management;
+    requires jdk.httpserver;
+    requires org.tinylog.api;
+
+    exports de.amr.games.pacman.metrics;
+}
@@ -4,24 +4,60 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.uilib;
 
+import de.amr.games.pacman.lib.timer.Profiler;
 import javafx.animation.Animation;
 import javafx.animation.Animation.Status;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.util.Duration;
 import org.tinylog.Logger;
 
+import static de.amr.games.pacman.Globals.THE_PROFILER;
+
 /**
  * Game clock with modifiable frame rate.
+ * <p>
+ * By default, a {@link Timeline} key frame executes one simulation step and renders after each step. In
+ * <em>fixed timestep</em> mode, an {@link AnimationTimer} runs once per JavaFX pulse (i.e. at the display refresh rate)
+ * and executes as many simulation steps as have accumulated since the last pulse, each step at exactly the target
+ * frame rate. The render action is then executed once per pulse and renderers can use the
+ * {@link #interpolation() interpolation factor} to draw actors between their positions of the last two steps. If the
+ * pulses fall too far behind, e.g. after a stall, at most {@link #MAX_STEPS_PER_PULSE} steps are executed and the
+ * remaining backlog is dropped.
+ * </p>
+ * <p>
+ * In <em>turbo</em> mode, each frame executes several simulation steps but renders only once, after the last step.
+ * The number of steps per frame is either fixed or, if set to {@link #TURBO_AS_FAST_AS_POSSIBLE}, as many as fit into
+ * the frame budget. While a step is executed whose result will not be rendered, {@link #isRenderingSkipped()} returns
+ * {@code true}, so e.g. sounds triggered by this step can be skipped.
+ * </p>
+ * <p>
+ * The durations of the simulation step, the view update and the rendering are recorded by the profiler.
+ * </p>
  *
  * @author Armin Reichert
  */
 public class GameClockFX {
 
+    public static final int MAX_STEPS_PER_PULSE = 8;
+
+    public static final int TURBO_AS_FAST_AS_POSSIBLE = 0;
+    public static final int MAX_TURBO_STEPS_PER_FRAME = 1000;
+
+    // fraction of the frame duration that turbo mode may use for simulation steps
+    private static final double TURBO_FRAME_BUDGET = 0.75;
+
+    private static final Profiler.Phase PHASE_SIMULATION_STEP = THE_PROFILER.phase("Simulation step");
+    private static final Profiler.Phase PHASE_VIEW_UPDATE = THE_PROFILER.phase("View update");
+    private static final Profiler.Phase PHASE_RENDER = THE_PROFILER.phase("Render");
+
     private final DoubleProperty targetFrameRatePy = new SimpleDoubleProperty(this, "targetFrameRate", 60) {
         @Override
         protected void invalidated() {
@@ -31,15 +67,47 @@ public class GameClockFX {
 
     private final BooleanProperty pausedPy = new SimpleBooleanProperty(this, "paused", false);
 
-    private final BooleanProperty timeMeasuredPy = new SimpleBooleanProperty(this, "timeMeasured", false);
+    private final BooleanProperty fixedTimestepPy = new SimpleBooleanProperty(this, "fixedTimestep", false) {
+        @Override
+        protected void invalidated() {
+            handleFixedTimestepChanged();
+        }
+    };
+
+    private final BooleanProperty turboPy = new SimpleBooleanProperty(this, "turbo", false) {
+        @Override
+        protected void invalidated() {
+            accumulatedNanos = 0;
+            Logger.info("Clock turbo mode: {}", get() ? "on" : "off");
+        }
+    };
+
+    private final IntegerProperty turboStepsPerFramePy = new SimpleIntegerProperty(this, "turboStepsPerFrame", 4);
 
     private Runnable pauseableAction = () -> {};
     private Runnable permanentAction = () -> {};
+    private Runnable renderAction = () -> {};
     private Timeline animation;
-    private long updateCount;
-    private long tickCount;
+    private boolean started;
+
+    private final AnimationTimer pulseTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse(now);
+        }
+    };
+    private long lastPulseTime = -1;
+    private long accumulatedNanos;
+    private float interpolation = 1;
+    private boolean renderingSkipped;
+
+    // written by the JavaFX application thread only, volatile because they are read by metrics exporters
+    private volatile long droppedStepCount;
+    private volatile long updateCount;
+    private volatile long tickCount;
+    private volatile long frameCount;
+    private volatile long ticksPerSec;
 
-    private long ticksPerSec;
     private long countTicksStartTime;
     private long ticksInFrame;
 
@@ -55,13 +123,50 @@ public class GameClockFX {
         this.permanentAction = callback;
     }
 
+    /**
+     * @param callback action executed after the simulation steps of a frame, e.g. drawing the game scene
+     */
+    public void setRenderAction(Runnable callback) {
+        this.renderAction = callback;
+    }
+
     public DoubleProperty targetFrameRateProperty() {
         return targetFrameRatePy;
     }
 
     public BooleanProperty pausedProperty() { return pausedPy; }
 
-    public BooleanProperty timeMeasuredProperty() { return timeMeasuredPy; }
+    public BooleanProperty fixedTimestepProperty() { return fixedTimestepPy; }
+
+    public BooleanProperty turboProperty() { return turboPy; }
+
+    /**
+     * Number of simulation steps per frame in turbo mode, {@link #TURBO_AS_FAST_AS_POSSIBLE} means as many as fit into
+     * the frame budget (but at most {@link #MAX_TURBO_STEPS_PER_FRAME}).
+     */
+    public IntegerProperty turboStepsPerFrameProperty() { return turboStepsPerFramePy; }
+
+    /**
+     * @return {@code true} while a turbo mode step is executed whose result will not be rendered
+     */
+    public boolean isRenderingSkipped() {
+        return renderingSkipped;
+    }
+
+    /**
+     * @return fraction of a simulation step elapsed since the last step, in range [0, 1]. Renderers draw actors at
+     * this fraction between their previous and current position. Always 1 if not in fixed timestep mode or if paused.
+     */
+    public float interpolation() {
+        return interpolation;
+    }
+
+    /**
+     * @return number of simulation steps dropped in fixed timestep mode because the pulses fell too far behind
+     */
+    public long droppedStepCount() {
+        return droppedStepCount;
+    }
 
     public double getTargetFrameRate() {
         return targetFrameRatePy.get();
@@ -72,15 +177,23 @@ public class GameClockFX {
     }
 
     public void start() {
-        animation.play();
+        started = true;
+        if (fixedTimestepPy.get()) {
+            lastPulseTime = -1;
+            pulseTimer.start();
+        } else {
+            animation.play();
+        }
     }
 
     public void stop() {
+        started = false;
+        pulseTimer.stop();
         animation.stop();
     }
 
     public boolean isRunning() {
-        return animation.getStatus() == Status.RUNNING;
+        return fixedTimestepPy.get() ? started : animation.getStatus() == Status.RUNNING;
     }
 
     public boolean isPaused() {
@@ -97,6 +210,13 @@ public class GameClockFX {
         return updateCount;
     }
 
+    /**
+     * @return number of rendered frames, in turbo or fixed timestep mode this differs from the number of ticks
+     */
+    public long frameCount() {
+        return frameCount;
+    }
+
     public boolean makeSteps(int n, boolean pauseableActionEnabled) {
         for (int i = 0; i < n; ++i) {
             boolean success = makeOneStep(pauseableActionEnabled);
@@ -105,11 +225,26 @@ public class GameClockFX {
         return true;
     }
 
+    /**
+     * Executes one simulation step and renders the result.
+     *
+     * @param pauseableActionEnabled if the pauseable action is executed
+     * @return if the step succeeded
+     */
     public boolean makeOneStep(boolean pauseableActionEnabled) {
+        boolean success = step(pauseableActionEnabled);
+        if (success) {
+            interpolation = 1;
+            render();
+        }
+        return success;
+    }
+
+    private boolean step(boolean pauseableActionEnabled) {
         long now = System.nanoTime();
         if (pauseableActionEnabled) {
             try {
-                execute(pauseableAction, "Pauseable action took {} milliseconds");
+                execute(pauseableAction, PHASE_SIMULATION_STEP);
                 updateCount++;
             } catch (Throwable x) {
                 Logger.error(x);
@@ -118,7 +253,7 @@ public class GameClockFX {
             }
         }
         try {
-            execute(permanentAction, "Permanent action took {} milliseconds");
+            execute(permanentAction, PHASE_VIEW_UPDATE);
             ++tickCount;
             ++ticksInFrame;
             computeFrameRate(now);
@@ -132,7 +267,13 @@ public class GameClockFX {
 
     private void create(double targetFPS) {
         var tickDuration = Duration.seconds(1.0 / targetFPS);
-        animation = new Timeline(targetFPS, new KeyFrame(tickDuration, e -> makeOneStep(!isPaused())));
+        animation = new Timeline(targetFPS, new KeyFrame(tickDuration, e -> {
+            if (turboPy.get()) {
+                makeTurboFrame();
+            } else {
+                makeOneStep(!isPaused());
+            }
+        }));
         animation.setCycleCount(Animation.INDEFINITE);
         animation.statusProperty().addListener((py, ov, nv) -> {
             Logger.info("Clock status: {} -> {}", ov, nv);
@@ -141,6 +282,11 @@ public class GameClockFX {
     }
 
     private void handleTargetFrameRateChanged() {
+        if (fixedTimestepPy.get()) {
+            // step duration is computed on each pulse
+            create(targetFrameRatePy.get());
+            return;
+        }
         boolean running = animation.getStatus() == Status.RUNNING;
         if (running) {
             animation.stop();
@@ -151,15 +297,89 @@ public class GameClockFX {
         }
     }
 
-    private void execute(Runnable action, String logMessage) {
-        if (timeMeasuredPy.get()) {
-            double start = System.nanoTime();
-            action.run();
-            double duration = System.nanoTime() - start;
-            Logger.info(logMessage, duration / 1e6);
-        } else {
-            action.run();
+    private void handleFixedTimestepChanged() {
+        boolean wasRunning = started || animation.getStatus() == Status.RUNNING;
+        stop();
+        interpolation = 1;
+        accumulatedNanos = 0;
+        if (wasRunning) {
+            start();
+        }
+        Logger.info("Clock fixed timestep mode: {}", fixedTimestepPy.get() ? "on" : "off");
+    }
+
+    private void onPulse(long now) {
+        if (turboPy.get()) {
+            lastPulseTime = now;
+            makeTurboFrame();
+            return;
+        }
+        if (lastPulseTime == -1) {
+            lastPulseTime = now;
         }
+        long stepNanos = (long) (1e9 / targetFrameRatePy.get());
+        accumulatedNanos += now - lastPulseTime;
+        lastPulseTime = now;
+        int steps = 0;
+        while (accumulatedNanos >= stepNanos && steps < MAX_STEPS_PER_PULSE) {
+            step(!isPaused());
+            accumulatedNanos -= stepNanos;
+            ++steps;
+        }
+        if (accumulatedNanos >= stepNanos) {
+            // spiral of death guard: drop the steps that could not be caught up
+            long dropped = accumulatedNanos / stepNanos;
+            droppedStepCount += dropped;
+            accumulatedNanos -= dropped * stepNanos;
+            Logger.debug("Clock dropped {} simulation steps", dropped);
+        }
+        interpolation = isPaused() ? 1 : (float) accumulatedNanos / stepNanos;
+        render();
+    }
+
+    // Executes the simulation steps of one turbo mode frame and renders the result of the last step
+    private void makeTurboFrame() {
+        long frameStart = System.nanoTime();
+        long budgetNanos = (long) (TURBO_FRAME_BUDGET * 1e9 / targetFrameRatePy.get());
+        boolean asFastAsPossible = turboStepsPerFramePy.get() == TURBO_AS_FAST_AS_POSSIBLE;
+        int maxSteps = asFastAsPossible
+            ? MAX_TURBO_STEPS_PER_FRAME
+            : Math.min(turboStepsPerFramePy.get(), MAX_TURBO_STEPS_PER_FRAME);
+        if (isPaused()) {
+            maxSteps = 1;
+        }
+        long lastStepNanos = 0;
+        for (int i = 0; i < maxSteps; ++i) {
+            long stepStart = System.nanoTime();
+            // the step that would probably exceed the budget is the last one
+            boolean lastStep = i == maxSteps - 1
+                || asFastAsPossible && stepStart - frameStart + lastStepNanos > budgetNanos;
+            renderingSkipped = !lastStep;
+            step(!isPaused());
+            lastStepNanos = System.nanoTime() - stepStart;
+            if (lastStep) {
+                break;
+            }
+        }
+        renderingSkipped = false;
+        interpolation = 1;
+        render();
+    }
+
+    private void render() {
+        try {
+            execute(renderAction, PHASE_RENDER);
+            ++frameCount;
+        } catch (Throwable x) {
+            Logger.error(x);
+            Logger.error("Something very bad happened during rendering!");
+        }
+    }
+
+    private void execute(Runnable action, Profiler.Phase phase) {
+        long start = THE_PROFILER.start();
+        action.run();
+        phase.stop(start);
     }
 
     private void computeFrameRate(long time) {
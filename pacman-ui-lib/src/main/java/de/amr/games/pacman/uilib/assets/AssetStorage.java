@@ -66,6 +66,13 @@ public class AssetStorage {
         return value;
     }
 
+    /**
+     * @return number of stored assets (lists of assets count as one)
+     */
+    public int size() {
+        return assets.size();
+    }
+
     public Color color(String key) { return get(key); }
 
     public Font font(String key) { return get(key); }
@@ -4,4 +4,4 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.ui;
 
-public enum DashboardID {README, GENERAL, GAME_CONTROL, SETTINGS_3D, GAME_INFO, ACTOR_INFO, KEYBOARD, ABOUT, CUSTOM_MAPS, JOYPAD}
+public enum DashboardID {README, GENERAL, GAME_CONTROL, SETTINGS_3D, GAME_INFO, ACTOR_INFO, KEYBOARD, ABOUT, CUSTOM_MAPS, JOYPAD, PROFILER}
@@ -8,8 +8,8 @@ import de.amr.games.pacman.Globals;
 import de.amr.games.pacman.controller.CoinMechanism;
 import de.amr.games.pacman.controller.GameState;
 import de.amr.games.pacman.event.GameEventType;
-import de.amr.games.pacman.lib.Direction;
 import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.simulation.InputAction;
 import de.amr.games.pacman.ui._3d.PerspectiveID;
 import de.amr.games.pacman.uilib.Action;
 import javafx.scene.shape.DrawMode;
@@ -17,11 +17,8 @@ import org.tinylog.Logger;
 
 import static de.amr.games.pacman.Globals.*;
 import static de.amr.games.pacman.controller.GameState.INTRO;
-import static de.amr.games.pacman.model.actors.GhostState.FRIGHTENED;
-import static de.amr.games.pacman.model.actors.GhostState.HUNTING_PAC;
 import static de.amr.games.pacman.ui.Globals.*;
 import static de.amr.games.pacman.uilib.Ufx.toggle;
-import static java.util.function.Predicate.not;
 
 public enum GameAction implements Action {
 
@@ -35,23 +32,17 @@ public enum GameAction implements Action {
     CHEAT_ADD_LIVES {
         @Override
         public void execute() {
-            THE_GAME_CONTROLLER.game().addLives(3);
-            THE_UI.showFlashMessage(THE_ASSETS.text("cheat_add_lives", THE_GAME_CONTROLLER.game().livesProperty().get()));
+            THE_INPUT_RECORDER.execute(InputAction.CHEAT_ADD_LIVES, THE_GAME_CONTROLLER);
+            THE_UI.showFlashMessage(THE_ASSETS.text("cheat_add_lives", THE_GAME_CONTROLLER.game().lives()));
         }
     },
 
     CHEAT_EAT_ALL {
         @Override
         public void execute() {
-            if (THE_GAME_CONTROLLER.game().isPlaying() && THE_GAME_CONTROLLER.state() == GameState.HUNTING) {
-                THE_GAME_CONTROLLER.game().level().ifPresent(level -> {
-                    level.worldMap().tiles()
-                        .filter(not(level::isEnergizerPosition))
-                        .filter(level::hasFoodAt)
-                        .forEach(level::registerFoodEatenAt);
-                    THE_GAME_EVENT_MANAGER.publishEvent(THE_GAME_CONTROLLER.game(), GameEventType.PAC_FOUND_FOOD);
-                    THE_SOUND.stopMunchingSound();
-                });
+            if (InputAction.CHEAT_EAT_ALL.isEffective(THE_GAME_CONTROLLER)) {
+                THE_INPUT_RECORDER.execute(InputAction.CHEAT_EAT_ALL, THE_GAME_CONTROLLER);
+                THE_SOUND.stopMunchingSound();
             }
         }
     },
@@ -59,28 +50,19 @@ public enum GameAction implements Action {
     CHEAT_KILL_GHOSTS {
         @Override
         public void execute() {
-            if (THE_GAME_CONTROLLER.game().isPlaying() && THE_GAME_CONTROLLER.state() == GameState.HUNTING) {
-                THE_GAME_CONTROLLER.game().level().ifPresent(level -> {
-                    level.victims().clear();
-                    level.ghosts(FRIGHTENED, HUNTING_PAC).forEach(THE_GAME_CONTROLLER.game()::killGhost);
-                    THE_GAME_CONTROLLER.changeState(GameState.GHOST_DYING);
-                });
-            }
+            THE_INPUT_RECORDER.execute(InputAction.CHEAT_KILL_GHOSTS, THE_GAME_CONTROLLER);
         }
     },
 
     CHEAT_NEXT_LEVEL {
         @Override
         public void execute() {
-            THE_GAME_CONTROLLER.changeState(GameState.LEVEL_COMPLETE);
+            THE_INPUT_RECORDER.execute(InputAction.CHEAT_NEXT_LEVEL, THE_GAME_CONTROLLER);
         }
 
         @Override
         public boolean isEnabled() {
-            return THE_GAME_CONTROLLER.game().isPlaying()
-                    && THE_GAME_CONTROLLER.state() == GameState.HUNTING
-                    && THE_GAME_CONTROLLER.game().level().isPresent()
-                    && THE_GAME_CONTROLLER.game().level().get().number() < THE_GAME_CONTROLLER.game().lastLevelNumber();
+            return InputAction.CHEAT_NEXT_LEVEL.isEffective(THE_GAME_CONTROLLER);
         }
     },
 
@@ -115,44 +97,28 @@ public enum GameAction implements Action {
     PLAYER_UP {
         @Override
         public void execute() {
-            THE_GAME_CONTROLLER.game().level().ifPresent(level -> {
-                if (!level.pac().isUsingAutopilot()) {
-                    level.pac().setWishDir(Direction.UP);
-                }
-            });
+            THE_INPUT_RECORDER.execute(InputAction.PLAYER_UP, THE_GAME_CONTROLLER);
         }
     },
 
     PLAYER_DOWN {
         @Override
         public void execute() {
-            THE_GAME_CONTROLLER.game().level().ifPresent(level -> {
-                if (!level.pac().isUsingAutopilot()) {
-                    level.pac().setWishDir(Direction.DOWN);
-                }
-            });
+            THE_INPUT_RECORDER.execute(InputAction.PLAYER_DOWN, THE_GAME_CONTROLLER);
         }
     },
 
     PLAYER_LEFT {
         @Override
         public void execute() {
-            THE_GAME_CONTROLLER.game().level().ifPresent(level -> {
-                if (!level.pac().isUsingAutopilot()) {
-                    level.pac().setWishDir(Direction.LEFT);
-                }
-            });
+            THE_INPUT_RECORDER.execute(InputAction.PLAYER_LEFT, THE_GAME_CONTROLLER);
         }
     },
 
     PLAYER_RIGHT {
         @Override
         public void execute() {
-            THE_GAME_CONTROLLER.game().level().ifPresent(level -> {
-                if (!level.pac().isUsingAutopilot()) {
-                    level.pac().setWishDir(Direction.RIGHT);
-                }
-            });
+            THE_INPUT_RECORDER.execute(InputAction.PLAYER_RIGHT, THE_GAME_CONTROLLER);
         }
     },
 
@@ -160,9 +126,10 @@ public enum GameAction implements Action {
         @Override
         public void execute() {
             THE_SOUND.stopAll();
+            THE_INPUT_RECORDER.cancel();
             THE_UI.currentGameScene().ifPresent(GameScene::end);
             if (THE_GAME_CONTROLLER.state() == GameState.TESTING_LEVELS) {
-                THE_GAME_CONTROLLER.state().onExit(THE_GAME_CONTROLLER.game()); //TODO exit other states too?
+                THE_GAME_CONTROLLER.state().onExit(THE_GAME_CONTROLLER); //TODO exit other states too?
             }
             THE_CLOCK.setTargetFrameRate(Globals.TICKS_PER_SECOND);
             THE_GAME_CONTROLLER.restart(INTRO);
@@ -232,6 +199,7 @@ public enum GameAction implements Action {
     SHOW_START_VIEW {
         @Override
         public void execute() {
+            THE_INPUT_RECORDER.cancel();
             THE_UI.currentGameScene().ifPresent(GameScene::end);
             THE_GAME_CONTROLLER.game().endGame();
             THE_UI.showStartView();
@@ -304,6 +272,14 @@ public enum GameAction implements Action {
         }
     },
 
+    TOGGLE_TURBO {
+        @Override
+        public void execute() {
+            toggle(THE_CLOCK.turboProperty());
+            THE_UI.showFlashMessageSec(0.75, THE_CLOCK.turboProperty().get() ? "Turbo on" : "Turbo off");
+        }
+    },
+
     TOGGLE_PAUSED {
         @Override
         public void execute() {
@@ -311,7 +287,7 @@ public enum GameAction implements Action {
             if (THE_CLOCK.isPaused()) {
                 THE_SOUND.stopAll();
             }
-            Logger.info("Game ({}) {}", THE_GAME_CONTROLLER.gameVariantProperty().get(), THE_CLOCK.isPaused() ? "paused" : "resumed");
+            Logger.info("Game ({}) {}", THE_GAME_CONTROLLER.selectedGameVariant(), THE_CLOCK.isPaused() ? "paused" : "resumed");
         }
     },
 
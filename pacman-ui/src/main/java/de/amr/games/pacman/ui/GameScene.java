@@ -102,6 +102,6 @@ public interface GameScene extends GameEventListener, ActionProvider {
      * @return scene name as used by logging output
      */
     default String displayName() {
-        return "%s (%s)".formatted(getClass().getSimpleName(), THE_GAME_CONTROLLER.gameVariantProperty().get());
+        return "%s (%s)".formatted(getClass().getSimpleName(), THE_GAME_CONTROLLER.selectedGameVariant());
     }
 }
\ No newline at end of file
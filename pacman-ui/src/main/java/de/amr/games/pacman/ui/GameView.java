@@ -7,6 +7,7 @@ package de.amr.games.pacman.ui;
 import de.amr.games.pacman.event.GameEvent;
 import de.amr.games.pacman.lib.Vector2f;
 import de.amr.games.pacman.lib.arcade.Arcade;
+import de.amr.games.pacman.lib.timer.Profiler;
 import de.amr.games.pacman.model.GameVariant;
 import de.amr.games.pacman.ui._2d.*;
 import de.amr.games.pacman.ui.dashboard.Dashboard;
@@ -35,6 +36,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import static de.amr.games.pacman.Globals.THE_GAME_CONTROLLER;
+import static de.amr.games.pacman.Globals.THE_PROFILER;
 import static de.amr.games.pacman.lib.arcade.Arcade.ARCADE_MAP_SIZE_IN_PIXELS;
 import static de.amr.games.pacman.ui.Globals.*;
 import static de.amr.games.pacman.uilib.input.Keyboard.*;
@@ -46,6 +48,10 @@ import static java.util.Objects.requireNonNull;
  */
 public class GameView implements View {
 
+    private static final Profiler.Phase PHASE_SCENE_UPDATE = THE_PROFILER.phase("Scene update");
+    private static final Profiler.Phase PHASE_DASHBOARD_UPDATE = THE_PROFILER.phase("Dashboard update");
+    private static final Profiler.Phase PHASE_SCENE_DRAW = THE_PROFILER.phase("Scene draw");
+
     private final Map<KeyCodeCombination, Action> actionBindings = new HashMap<>();
 
     private final ObjectProperty<GameScene> gameScenePy = new SimpleObjectProperty<>(this, "gameScene") {
@@ -109,17 +115,31 @@ public class GameView implements View {
 
     @Override
     public void update() {
+        long start = THE_PROFILER.start();
+        currentGameScene().ifPresent(GameScene::update);
+        PHASE_SCENE_UPDATE.stop(start);
+        if (THE_CLOCK.isRenderingSkipped()) {
+            // overlays only show the current state, so updating them for steps without rendering is wasted time
+            return;
+        }
+        flashMessageLayer.update();
+        if (dashboardLayer.isVisible()) {
+            start = THE_PROFILER.start();
+            dashboard.infoBoxes().filter(InfoBox::isExpanded).forEach(InfoBox::update);
+            PHASE_DASHBOARD_UPDATE.stop(start);
+        }
+    }
+
+    @Override
+    public void render() {
+        long start = THE_PROFILER.start();
         currentGameScene().ifPresent(gameScene -> {
-            gameScene.update();
             if (gameScene instanceof GameScene2D gameScene2D) {
                 gameScene2D.draw();
             }
         });
-        flashMessageLayer.update();
-        if (dashboardLayer.isVisible()) {
-            dashboard.infoBoxes().filter(InfoBox::isExpanded).forEach(InfoBox::update);
-        }
         pipView.draw();
+        PHASE_SCENE_DRAW.stop(start);
     }
 
     // -----------------------------------------------------------------------------------------------------------------
@@ -144,6 +164,7 @@ public class GameView implements View {
         bind(GameAction.TOGGLE_AUTOPILOT,        alt(KeyCode.A));
         bind(GameAction.TOGGLE_DEBUG_INFO,       alt(KeyCode.D));
         bind(GameAction.TOGGLE_PAUSED,           naked(KeyCode.P));
+        bind(GameAction.TOGGLE_TURBO,            alt(KeyCode.F));
         bind(this::toggleDashboardVisibility,    naked(KeyCode.F1), alt(KeyCode.B));
         bind(GameAction.TOGGLE_IMMUNITY,         alt(KeyCode.I));
         // 3D only
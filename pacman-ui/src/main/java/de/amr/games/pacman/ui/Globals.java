@@ -4,7 +4,11 @@ See file LICENSE in repository root directory for details.
 */
 package de.amr.games.pacman.ui;
 
+import de.amr.games.pacman.metrics.Metrics;
+import de.amr.games.pacman.model.DistanceTable;
+import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.simulation.InputRecorder;
 import de.amr.games.pacman.ui._3d.PerspectiveID;
 import de.amr.games.pacman.uilib.input.Joypad;
 import de.amr.games.pacman.ui.sound.GameSound;
@@ -23,6 +27,8 @@ import org.tinylog.Logger;
 
 import java.util.Map;
 
+import static de.amr.games.pacman.Globals.THE_GAME_CONTROLLER;
+import static de.amr.games.pacman.Globals.THE_MAP_LIBRARY;
 import static de.amr.games.pacman.Globals.TS;
 
 public class Globals {
@@ -33,6 +39,8 @@ public class Globals {
     public static final Joypad THE_JOYPAD = new Joypad(THE_KEYBOARD);
     public static final GameSound THE_SOUND = new GameSound();
     public static final GameUIConfigManager THE_UI_CONFIGS = new GameUIConfigManager();
+    public static final InputRecorder THE_INPUT_RECORDER = new InputRecorder();
+    public static final Metrics THE_METRICS = new Metrics();
     public static GameUI THE_UI;
 
     public static void createUIAndSupport3D(
@@ -54,6 +62,43 @@ public class Globals {
                 Logger.error("Could not create UI configuration of class {}", configClass);
             }
         });
+        registerMetrics();
+    }
+
+    private static void registerMetrics() {
+        THE_METRICS.registerJvmMetrics();
+        THE_METRICS.gauge("pacman_clock_target_fps", "Target frame rate of the game clock",
+            THE_CLOCK::getTargetFrameRate);
+        THE_METRICS.gauge("pacman_clock_actual_fps", "Simulation steps executed in the last second",
+            THE_CLOCK::getActualFrameRate);
+        THE_METRICS.counter("pacman_clock_ticks_total", "Ticks executed by the game clock", THE_CLOCK::tickCount);
+        THE_METRICS.counter("pacman_clock_frames_total", "Frames rendered by the game clock", THE_CLOCK::frameCount);
+        THE_METRICS.counter("pacman_clock_dropped_steps_total", "Simulation steps dropped in fixed timestep mode",
+            THE_CLOCK::droppedStepCount);
+        THE_METRICS.counter("pacman_simulation_steps_total", "Game controller updates",
+            THE_GAME_CONTROLLER::updateCount);
+        THE_METRICS.counter("pacman_simulation_step_seconds_total",
+            "Accumulated duration of the game controller updates",
+            () -> THE_GAME_CONTROLLER.updateNanosTotal() / 1e9);
+        THE_METRICS.gauge("pacman_simulation_step_last_seconds", "Duration of the last game controller update",
+            () -> THE_GAME_CONTROLLER.lastUpdateNanos() / 1e9);
+        THE_METRICS.info("pacman_game_variant", "Selected game variant",
+            () -> String.valueOf(THE_GAME_CONTROLLER.selectedGameVariant()));
+        THE_METRICS.info("pacman_game_state", "Current game state",
+            () -> String.valueOf(THE_GAME_CONTROLLER.state()));
+        THE_METRICS.gauge("pacman_game_level_number", "Number of the current level, 0 if no level exists",
+            () -> THE_GAME_CONTROLLER.game().level().map(GameLevel::number).orElse(0));
+        THE_METRICS.gauge("pacman_sounds_playing", "Sounds currently playing (without audio clips)",
+            THE_SOUND::numSoundsPlaying);
+        THE_METRICS.counter("pacman_audio_clips_played_total", "Audio clips played", THE_SOUND::clipsPlayedCount);
+        THE_METRICS.gauge("pacman_assets_stored", "Number of entries in the asset storage", THE_ASSETS::size);
+        THE_METRICS.gauge("pacman_distance_tables_cached", "Number of cached distance tables",
+            DistanceTable::cacheSize);
+        THE_METRICS.gauge("pacman_distance_tables_cached_bytes", "Total size of the cached distance tables in bytes",
+            DistanceTable::cachedBytes);
+        THE_METRICS.gauge("pacman_world_maps_cached", "Number of world maps in the map library cache",
+            THE_MAP_LIBRARY::cachedMapCount);
+        THE_METRICS.exportAsConfigured();
     }
 
     public static final Font DEBUG_TEXT_FONT           = Font.font("Sans", FontWeight.BOLD, 18);
@@ -6,7 +6,10 @@ package de.amr.games.pacman.ui;
 
 import de.amr.games.pacman.Globals;
 import de.amr.games.pacman.controller.GameState;
+import de.amr.games.pacman.event.GameEventType;
+import de.amr.games.pacman.model.GameLevel;
 import de.amr.games.pacman.model.GameVariant;
+import de.amr.games.pacman.simulation.InputRecording;
 import de.amr.games.pacman.tilemap.editor.TileMapEditor;
 import de.amr.games.pacman.ui.dashboard.Dashboard;
 import de.amr.games.pacman.uilib.model3D.Model3D;
@@ -32,9 +35,15 @@ import org.kordamp.ikonli.fontawesome5.FontAwesomeSolid;
 import org.kordamp.ikonli.javafx.FontIcon;
 import org.tinylog.Logger;
 
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static de.amr.games.pacman.Globals.*;
 import static de.amr.games.pacman.lib.arcade.Arcade.ARCADE_MAP_SIZE_IN_PIXELS;
@@ -48,6 +57,20 @@ import static java.util.Objects.requireNonNull;
  */
 public class PacManGamesUI implements GameUI {
 
+    // Event logs of the last simulation steps are printed if a simulation step fails
+    private static final int EVENT_LOG_HISTORY_SIZE = 5 * TICKS_PER_SECOND;
+
+    // Frequent events which only trigger sounds or animations are queued and handled by the views before a frame is
+    // rendered (once per JavaFX pulse), so slow listeners do not stretch the simulation tick. In turbo mode, the events
+    // of steps without rendering are handled after each such step with sound suppressed.
+    private static final Set<GameEventType> QUEUED_EVENT_TYPES = EnumSet.of(
+        GameEventType.BONUS_ACTIVATED, GameEventType.BONUS_EATEN, GameEventType.BONUS_EXPIRED,
+        GameEventType.CREDIT_ADDED, GameEventType.EXTRA_LIFE_WON,
+        GameEventType.GHOST_EATEN, GameEventType.GHOST_ENTERS_HOUSE, GameEventType.GHOST_STARTS_RETURNING_HOME,
+        GameEventType.HUNTING_PHASE_STARTED,
+        GameEventType.PAC_FOUND_FOOD, GameEventType.PAC_GETS_POWER, GameEventType.PAC_LOST_POWER,
+        GameEventType.PAC_STARTS_LOSING_POWER);
+
     private final ObjectProperty<View> viewPy = new SimpleObjectProperty<>();
 
     private Stage stage;
@@ -62,35 +85,74 @@ public class PacManGamesUI implements GameUI {
     public PacManGamesUI() {
         THE_CLOCK.setPauseableAction(this::doSimulationStepAndUpdateGameScene);
         THE_CLOCK.setPermanentAction(this::updateCurrentView);
+        THE_CLOCK.setRenderAction(this::dispatchQueuedEventsAndRenderCurrentView);
         viewPy.addListener((py, oldView, newView) -> handleViewChange(oldView, newView));
+        THE_INPUT_RECORDER.setOnRecordingComplete(this::saveRecording);
+        THE_INPUT_RECORDER.attach(THE_GAME_CONTROLLER);
+        THE_GAME_EVENT_MANAGER.setQueuedEventTypes(QUEUED_EVENT_TYPES);
+    }
+
+    private void saveRecording(InputRecording recording) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        File file = new File(RECORDINGS_DIR, recording.gameVariant() + "-" + timestamp + InputRecording.FILE_EXTENSION);
+        try {
+            recording.save(file);
+            Logger.info("Input recording saved to {}", file);
+        } catch (IOException x) {
+            Logger.error(x);
+            Logger.error("Could not save input recording to {}", file);
+        }
     }
 
     private void doSimulationStepAndUpdateGameScene() {
+        THE_SOUND.setSuppressed(THE_CLOCK.isRenderingSkipped());
         try {
             THE_GAME_CONTROLLER.game().newEventLog(THE_CLOCK.tickCount());
+            THE_GAME_CONTROLLER.game().level().ifPresent(GameLevel::savePositions);
+            GameState stateBeforeStep = THE_GAME_CONTROLLER.state();
             THE_GAME_CONTROLLER.update();
+            THE_INPUT_RECORDER.onStepDone(stateBeforeStep, THE_GAME_CONTROLLER);
             THE_GAME_CONTROLLER.game().printEventLog();
         } catch (Exception x) {
             Logger.error(x);
             Logger.error("SOMETHING VERY BAD HAPPENED DURING SIMULATION STEP!");
+            THE_GAME_CONTROLLER.game().printEventLogHistory();
             showFlashMessageSec(10, "KA-TA-STROPHE!");
         }
     }
 
     private void updateCurrentView() {
+        THE_SOUND.setSuppressed(THE_CLOCK.isRenderingSkipped());
         try {
+            if (THE_CLOCK.isRenderingSkipped()) {
+                // events of turbo mode steps without rendering are handled now with sound suppressed, else the rendered
+                // frame would play the sounds of all skipped steps
+                THE_GAME_EVENT_MANAGER.dispatchQueuedEvents();
+            }
             currentView().update();
         } catch (Exception x) {
             Logger.error(x);
             Logger.error("SOMETHING VERY BAD HAPPENED DURING SIMULATION STEP!");
+            THE_GAME_CONTROLLER.game().printEventLogHistory();
             showFlashMessageSec(10, "KA-TA-STROPHE!");
         }
     }
 
+    private void dispatchQueuedEventsAndRenderCurrentView() {
+        try {
+            THE_GAME_EVENT_MANAGER.dispatchQueuedEvents();
+        } catch (Exception x) {
+            Logger.error(x);
+            Logger.error("Handling of queued game events failed");
+        }
+        currentView().render();
+    }
+
     private void handleViewChange(View oldView, View newView) {
         root.getChildren().set(0, newView.layoutRoot());
         if (oldView != null) {
             oldView.disableActionBindings(THE_KEYBOARD);
+            THE_GAME_EVENT_MANAGER.dispatchQueuedEvents();
             THE_GAME_EVENT_MANAGER.removeEventListener(oldView);
         }
         newView.enableActionBindings(THE_KEYBOARD);
@@ -160,7 +222,7 @@ public class PacManGamesUI implements GameUI {
         //TODO make this work:
         /*
         iconCutScenesOff.visibleProperty().bind(Bindings.createBooleanBinding(
-            () -> !THE_GAME_CONTROLLER.game().cutScenesEnabledProperty().get(),
+            () -> !THE_GAME_CONTROLLER.game().isCutScenesEnabled(),
             THE_GAME_CONTROLLER.game().cutScenesEnabledProperty(), THE_GAME_CONTROLLER.gameVariantProperty()
         ));
          */
@@ -217,6 +279,7 @@ public class PacManGamesUI implements GameUI {
     @Override
     public void build(Stage stage, double width, double height) {
         this.stage = requireNonNull(stage);
+        THE_GAME_CONTROLLER.games().forEach(game -> game.setEventLogHistorySize(EVENT_LOG_HISTORY_SIZE));
         root.setBackground(THE_ASSETS.get("background.scene"));
         root.getChildren().add(new Pane()); // placeholder for root of current view
         addStatusIcons(root);
@@ -299,12 +362,12 @@ public class PacManGamesUI implements GameUI {
         stage.getIcons().setAll(uiConfig.appIcon());
         gameView.canvasContainer().decorationEnabledPy.set(uiConfig.isGameCanvasDecorated());
         // this triggers a game event and calling the event handlers:
-        THE_GAME_CONTROLLER.gameVariantProperty().set(gameVariant);
+        THE_GAME_CONTROLLER.selectGameVariant(gameVariant);
     }
 
     @Override
     public void show() {
-        selectGameVariant(THE_GAME_CONTROLLER.gameVariantProperty().get());
+        selectGameVariant(THE_GAME_CONTROLLER.selectedGameVariant());
         viewPy.set(startPagesView);
         startPagesView.currentStartPage().ifPresent(StartPage::requestFocus);
         stage.centerOnScreen();
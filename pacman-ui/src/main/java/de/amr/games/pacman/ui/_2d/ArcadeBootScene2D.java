@@ -27,15 +27,15 @@ public class ArcadeBootScene2D extends GameScene2D {
 
     @Override
     public void doInit() {
-        game().scoreVisibleProperty().set(false);
+        game().setScoreVisible(false);
     }
 
     @Override
     public void update() {
-        long tick = gameState().timer().tickCount();
+        long tick = THE_GAME_CONTROLLER.timer().tickCount();
         isTickMultipleOf4 = tick % 4 == 0;
         isTickMultipleOf8 = tick % 8 == 0;
-        if (gameState().timer().atSecond(4)) {
+        if (THE_GAME_CONTROLLER.timer().atSecond(4)) {
             THE_GAME_CONTROLLER.terminateCurrentState();
         }
     }
@@ -47,15 +47,15 @@ public class ArcadeBootScene2D extends GameScene2D {
 
     @Override
     public void draw() {
-        long tick = gameState().timer().tickCount();
+        long tick = THE_GAME_CONTROLLER.timer().tickCount();
         gr.setScaling(scaling());
         if (tick == 1) {
             gr.fillCanvas(backgroundColor());
-        } else if (gameState().timer().betweenSeconds(1, 2) && isTickMultipleOf8) {
+        } else if (THE_GAME_CONTROLLER.timer().betweenSeconds(1, 2) && isTickMultipleOf8) {
             paintRandomHexCodes(sizeInPx());
-        } else if (gameState().timer().betweenSeconds(2, 3.5) && isTickMultipleOf4) {
+        } else if (THE_GAME_CONTROLLER.timer().betweenSeconds(2, 3.5) && isTickMultipleOf4) {
             paintRandomSprites(sizeInPx());
-        } else if (gameState().timer().atSecond(3.5)) {
+        } else if (THE_GAME_CONTROLLER.timer().atSecond(3.5)) {
             paintScreenTestGrid(sizeInPx());
         }
     }
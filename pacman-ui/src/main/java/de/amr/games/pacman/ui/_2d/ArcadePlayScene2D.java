@@ -49,7 +49,7 @@ public class ArcadePlayScene2D extends GameScene2D {
 
     @Override
     protected void doInit() {
-        game().scoreVisibleProperty().set(true);
+        game().setScoreVisible(true);
         bindDefaultArcadeActions();
         enableActionBindings(THE_KEYBOARD);
     }
@@ -163,7 +163,7 @@ public class ArcadePlayScene2D extends GameScene2D {
         // Draw lives counter or remaining credit
         if (game().canStartNewGame()) {
             //TODO: this code is ugly. Realizes effect that Pac is "picked" from the lives counter when game starts.
-            int numLivesShown = game().livesProperty().get() - 1;
+            int numLivesShown = game().lives() - 1;
             if (gameState() == GameState.STARTING_GAME && !level.pac().isVisible()) {
                 numLivesShown += 1;
             }
@@ -224,7 +224,7 @@ public class ArcadePlayScene2D extends GameScene2D {
         }
         gr.ctx().setFill(Color.YELLOW);
         gr.ctx().setFont(DEBUG_TEXT_FONT);
-        String gameStateText = gameState().name() + " (Tick %d)".formatted(gameState().timer().tickCount());
+        String gameStateText = gameState().name() + " (Tick %d)".formatted(THE_GAME_CONTROLLER.timer().tickCount());
         String huntingPhaseText = "";
         if (gameState() == GameState.HUNTING) {
             HuntingTimer huntingTimer = game().huntingTimer();
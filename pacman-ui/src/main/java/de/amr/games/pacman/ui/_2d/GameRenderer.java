@@ -30,6 +30,7 @@ import org.tinylog.Logger;
 import java.util.function.Predicate;
 
 import static de.amr.games.pacman.Globals.*;
+import static de.amr.games.pacman.ui.Globals.THE_CLOCK;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Predicate.not;
 
@@ -113,7 +114,8 @@ public interface GameRenderer {
     }
 
     /**
-     * Draws the sprite over the collision box (one tile large) of the given entity (if visible).
+     * Draws the sprite over the collision box (one tile large) of the given entity (if visible). The position is
+     * interpolated between the last two simulation steps if the game clock runs in fixed timestep mode.
      *
      * @param actor an entity e.g. Pac-Man or a ghost
      * @param sprite sprite sheet region (can be null)
@@ -121,7 +123,8 @@ public interface GameRenderer {
     default void drawActorSprite(Actor2D actor, RectArea sprite) {
         requireNonNull(actor);
         if (actor.isVisible() && sprite != null) {
-            drawSpriteScaledCenteredOverTile(sprite, actor.posX(), actor.posY());
+            float alpha = THE_CLOCK.interpolation();
+            drawSpriteScaledCenteredOverTile(sprite, actor.interpolatedPosX(alpha), actor.interpolatedPosY(alpha));
         }
     }
 
@@ -15,6 +15,7 @@ import javafx.scene.paint.Color;
 import java.util.HashMap;
 import java.util.Map;
 
+import static de.amr.games.pacman.Globals.THE_GAME_CONTROLLER;
 import static de.amr.games.pacman.Globals.TS;
 import static de.amr.games.pacman.ui.Globals.DEBUG_TEXT_FONT;
 import static de.amr.games.pacman.ui.Globals.THE_KEYBOARD;
@@ -98,7 +99,7 @@ public abstract class GameScene2D implements GameScene {
         gr.drawTileGrid(sizeInPx().x(), sizeInPx().y(), Color.LIGHTGRAY);
         gr.ctx().setFill(Color.YELLOW);
         gr.ctx().setFont(DEBUG_TEXT_FONT);
-        gr.ctx().fillText("%s %d".formatted(gameState(), gameState().timer().tickCount()), 0, scaled(3 * TS));
+        gr.ctx().fillText("%s %d".formatted(gameState(), THE_GAME_CONTROLLER.timer().tickCount()), 0, scaled(3 * TS));
     }
 
     /**
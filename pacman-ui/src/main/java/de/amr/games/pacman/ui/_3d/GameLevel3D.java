@@ -187,7 +187,7 @@ public class GameLevel3D {
 
     private Pac3D createPac3D(Pac pac) {
         String ans = THE_UI_CONFIGS.current().assetNamespace();
-        GameVariant selectedGameVariant = THE_GAME_CONTROLLER.gameVariantProperty().get();
+        GameVariant selectedGameVariant = THE_GAME_CONTROLLER.selectedGameVariant();
         Pac3D pac3D = switch (selectedGameVariant) {
             case MS_PACMAN, MS_PACMAN_TENGEN, MS_PACMAN_XXL -> new MsPacMan3D(selectedGameVariant, pac, PAC_3D_SIZE, THE_ASSETS, ans);
             case PACMAN, PACMAN_XXL -> new PacMan3D(selectedGameVariant, pac, PAC_3D_SIZE, THE_ASSETS, ans);
@@ -294,7 +294,7 @@ public class GameLevel3D {
                 .anyMatch(Ghost::isVisible);
             houseOpenPy.set(ghostNearHouseEntry);
 
-            int symbolsDisplayed = Math.max(0, THE_GAME_CONTROLLER.game().livesProperty().get() - 1);
+            int symbolsDisplayed = Math.max(0, THE_GAME_CONTROLLER.game().lives() - 1);
             if (!level.pac().isVisible() && THE_GAME_CONTROLLER.state() == GameState.STARTING_GAME) {
                 livesCountPy.set(symbolsDisplayed + 1);
             } else {
@@ -363,7 +363,7 @@ public class GameLevel3D {
         levelCompleteAnimation = new SequentialTransition(
             now(() -> {
                 // keep game state until animation has finished
-                THE_GAME_CONTROLLER.state().timer().resetIndefiniteTime();
+                THE_GAME_CONTROLLER.timer().resetIndefiniteTime();
                 onStart.run();
             }),
             level.cutSceneNumber() != 0
@@ -95,7 +95,7 @@ public class PlayScene3D implements GameScene, CameraControlledView {
     public void init() {
         bindActions();
         enableActionBindings(THE_KEYBOARD);
-        game().scoreVisibleProperty().set(true);
+        game().setScoreVisible(true);
         perspectiveNamePy.bind(PY_3D_PERSPECTIVE);
         scores3D.setFont(THE_ASSETS.font("font.arcade", 8));
     }
@@ -313,7 +313,7 @@ public class PlayScene3D implements GameScene, CameraControlledView {
         game().level().ifPresent(level -> {
             GameSpriteSheet spriteSheet = THE_UI_CONFIGS.current().spriteSheet();
             RectArea[] numberSprites = spriteSheet.ghostNumberSprites();
-            game().eventLog().killedGhosts.forEach(ghost -> {
+            level.ghosts().filter(ghost -> game().eventLog().isGhostKilled(ghost.id())).forEach(ghost -> {
                 int victimIndex = level.victims().indexOf(ghost);
                 var numberImage = spriteSheet.crop(numberSprites[victimIndex]);
                 level3D.ghost3D(ghost.id()).setNumberImage(numberImage);
@@ -340,7 +340,7 @@ public class PlayScene3D implements GameScene, CameraControlledView {
     }
 
     private void onEnterStateLevelTransition() {
-        gameState().timer().restartSeconds(3);
+        THE_GAME_CONTROLLER.timer().restartSeconds(3);
         replaceGameLevel3D();
         level3D.addLevelCounter();
         level3D.pac3D().init();
@@ -368,7 +368,7 @@ public class PlayScene3D implements GameScene, CameraControlledView {
     private void onEnterStateGameOver() {
         level3D.stopAnimations();
         // delay state exit for 3 seconds
-        gameState().timer().restartSeconds(3);
+        THE_GAME_CONTROLLER.timer().restartSeconds(3);
         if (!game().isDemoLevel() && randomInt(0, 100) < 25) {
             THE_UI.showFlashMessageSec(3, THE_ASSETS.localizedGameOverMessage());
         }
@@ -486,7 +486,7 @@ public class PlayScene3D implements GameScene, CameraControlledView {
     }
 
     private void playPacManDiesAnimation() {
-        gameState().timer().resetIndefiniteTime();
+        THE_GAME_CONTROLLER.timer().resetIndefiniteTime();
         Animation animation = level3D.pac3D().createDyingAnimation();
         animation.setDelay(Duration.seconds(1));
         animation.setOnFinished(e -> THE_GAME_CONTROLLER.terminateCurrentState());
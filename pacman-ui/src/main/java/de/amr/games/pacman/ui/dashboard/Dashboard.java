@@ -63,6 +63,7 @@ public class Dashboard {
                 infoBox.setExpanded(true);
                 put(id, "infobox.readme.title", infoBox);
             }
+            case PROFILER     -> put(id, "infobox.profiler.title", new InfoBoxProfiler());
             case SETTINGS_3D -> put(id, "infobox.3D_settings.title", new InfoBox3D());
         }
     }
@@ -6,6 +6,7 @@ package de.amr.games.pacman.ui.dashboard;
 
 import de.amr.games.pacman.ui.GameAction;
 import de.amr.games.pacman.ui.PacManGamesUI;
+import de.amr.games.pacman.uilib.GameClockFX;
 import de.amr.games.pacman.uilib.assets.ResourceManager;
 import javafx.scene.control.Button;
 import javafx.scene.control.Tooltip;
@@ -48,7 +49,11 @@ public class InfoBoxGeneral extends InfoBox {
         var cbCanvasImageSmoothing = addCheckBox("Image Smoothing");
         var cbCanvasFontSmoothing = addCheckBox("Font Smoothing");
         var cbDebugUI = addCheckBox("Show Debug Info");
-        var cbTimeMeasured = addCheckBox("Time Measured");
+        var cbFixedTimestep = addCheckBox("Fixed Timestep");
+        addLabeledValue("Dropped Steps", THE_CLOCK::droppedStepCount);
+        var cbTurbo = addCheckBox("Turbo Mode");
+        addIntSpinner("Turbo Steps (0=Max)", GameClockFX.TURBO_AS_FAST_AS_POSSIBLE, GameClockFX.MAX_TURBO_STEPS_PER_FRAME,
+            THE_CLOCK.turboStepsPerFrameProperty());
 
         Button btnPlayPause = bgSimulation[0];
         btnPlayPause.setGraphic(iconPlay);
@@ -68,7 +73,8 @@ public class InfoBoxGeneral extends InfoBox {
         setEditor(cbCanvasImageSmoothing, PY_CANVAS_IMAGE_SMOOTHING);
         setEditor(cbCanvasFontSmoothing, PY_CANVAS_FONT_SMOOTHING);
         setEditor(cbDebugUI, PY_DEBUG_INFO_VISIBLE);
-        setEditor(cbTimeMeasured, THE_CLOCK.timeMeasuredProperty());
+        setEditor(cbFixedTimestep, THE_CLOCK.fixedTimestepProperty());
+        setEditor(cbTurbo, THE_CLOCK.turboProperty());
     }
 
     @Override
@@ -20,6 +20,7 @@ public class InfoBoxKeys extends InfoBox {
         addLabeledValue("Alt+A", "Autopilot On/Off");
         addLabeledValue("Alt+C", "Play Cut-Scenes");
         addLabeledValue("Alt+E", "Eat All Pellets");
+        addLabeledValue("Alt+F", "Turbo Mode On/Off");
         addLabeledValue("Alt+I", "Player Immunity On/Off");
         addLabeledValue("Alt+M", "Mute On/Off");
         addLabeledValue("Alt+L", "Add 3 Lives");
@@ -0,0 +1,65 @@
+/*
+Copyright (c) 2021-2025 Armin Reichert (MIT License)
+See file LICENSE in repository root directory for details.
+*/
+package de.amr.games.pacman.ui.dashboard;
+
+import de.amr.games.pacman.lib.timer.Profiler;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+
+import java.io.File;
+import java.util.List;
+
+import static de.amr.games.pacman.Globals.HOME_DIR;
+import static de.amr.games.pacman.Globals.THE_PROFILER;
+
+/**
+ * Shows the p50, p99 and maximum durations of the profiled phases over the last time window.
+ *
+ * @author Armin Reichert
+ */
+public class InfoBoxProfiler extends InfoBox {
+
+    public static final File DUMP_FILE = new File(HOME_DIR, "profiler.jsonl");
+
+    private final BooleanProperty enabledPy = new SimpleBooleanProperty(false) {
+        @Override
+        protected void invalidated() {
+            THE_PROFILER.setEnabled(get());
+        }
+    };
+
+    private final BooleanProperty dumpPy = new SimpleBooleanProperty(false) {
+        @Override
+        protected void invalidated() {
+            THE_PROFILER.setDumpFile(get() ? DUMP_FILE : null);
+        }
+    };
+
+    private int numPhaseRows;
+
+    public void init() {
+        var cbEnabled = addCheckBox("Enabled");
+        var cbDump = addCheckBox("Dump to File");
+        setEditor(cbEnabled, enabledPy);
+        setEditor(cbDump, dumpPy);
+        addPhaseRows();
+    }
+
+    @Override
+    public void update() {
+        addPhaseRows();
+        super.update();
+    }
+
+    // phases may be created after this info box, e.g. when a view class is loaded
+    private void addPhaseRows() {
+        List<Profiler.Phase> phases = THE_PROFILER.phases();
+        for (int i = numPhaseRows; i < phases.size(); ++i) {
+            Profiler.Phase phase = phases.get(i);
+            addLabeledValue(phase.name(), () -> phase.stats().toString());
+        }
+        numPhaseRows = phases.size();
+    }
+}
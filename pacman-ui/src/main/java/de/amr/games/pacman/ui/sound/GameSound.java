@@ -35,6 +35,9 @@ public class GameSound {
 
     private final BooleanProperty mutedPy = new SimpleBooleanProperty(false);
 
+    // set while the clock executes a turbo mode step that is not rendered, sounds triggered by it would be stale
+    private boolean suppressed;
+
     private GameVariant gameVariant;
     private String assetNamespace;
 
@@ -46,7 +49,11 @@ public class GameSound {
     }
 
     private Siren siren;
-    private MediaPlayer voice;
+    private volatile MediaPlayer voice;
+
+    // maintained on the JavaFX application thread, volatile because they are read by metrics exporters
+    private volatile int numPlayersPlaying;
+    private volatile long clipsPlayedCount;
 
     private String soundURL(String keySuffix) {
         String assetKey = assetNamespace + ".audio." + keySuffix;
@@ -72,7 +79,10 @@ public class GameSound {
         player.setCycleCount(loop ? MediaPlayer.INDEFINITE : 1);
         player.setVolume(1.0);
         player.muteProperty().bind(mutedPy);
-        player.statusProperty().addListener((py,ov,nv) -> logPlayerStatusChange(player, keySuffix, ov, nv));
+        player.statusProperty().addListener((py,ov,nv) -> {
+            logPlayerStatusChange(player, keySuffix, ov, nv);
+            countPlayingPlayers(ov, nv);
+        });
         Logger.debug("Media player created from URL {}", url);
         return player;
     }
@@ -154,12 +164,20 @@ public class GameSound {
         Logger.debug("[{}] {} -> {}, volume {}", key, (oldStatus != null ? oldStatus : "undefined"), newStatus, player.getVolume());
     }
 
+    private void countPlayingPlayers(MediaPlayer.Status oldStatus, MediaPlayer.Status newStatus) {
+        if (newStatus == MediaPlayer.Status.PLAYING && oldStatus != MediaPlayer.Status.PLAYING) {
+            ++numPlayersPlaying;
+        } else if (oldStatus == MediaPlayer.Status.PLAYING && newStatus != MediaPlayer.Status.PLAYING) {
+            --numPlayersPlaying;
+        }
+    }
+
     private void playIfEnabled(MediaPlayer player) {
         if (player == null) {
             //Logger.error("Cannot play sound, player is NULL");
             return;
         }
-        if (isEnabled()) {
+        if (isEnabled() && !suppressed) {
             player.play();
         }
     }
@@ -188,9 +206,10 @@ public class GameSound {
             Logger.error("No audio clip with key {}", key);
             return;
         }
-        if (isUnMuted() && isEnabled()) {
+        if (isUnMuted() && isEnabled() && !suppressed) {
             clip.setVolume(volume);
             clip.play();
+            ++clipsPlayedCount;
         }
     }
 
@@ -204,6 +223,20 @@ public class GameSound {
         return mutedPy;
     }
 
+    /**
+     * @return number of sounds (media players incl. siren and voice) currently playing, audio clips not included
+     */
+    public int numSoundsPlaying() {
+        return numPlayersPlaying + (voice != null ? 1 : 0);
+    }
+
+    /**
+     * @return number of audio clips played so far
+     */
+    public long clipsPlayedCount() {
+        return clipsPlayedCount;
+    }
+
     public void stopAll() {
         for (MediaPlayer player : players(gameVariant).values()) {
             stop(player);
@@ -234,6 +267,13 @@ public class GameSound {
         return !mutedPy.get();
     }
 
+    /**
+     * @param suppressed if sounds are not played even if enabled
+     */
+    public void setSuppressed(boolean suppressed) {
+        this.suppressed = suppressed;
+    }
+
     public void selectSiren(int number) {
         if (number < 1 || number > 4) {
             Logger.error("Siren number must be in 1..4 but is " + number);
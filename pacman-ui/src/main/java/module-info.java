@@ -17,6 +17,7 @@ open module de.amr.games.pacman.ui {
     requires org.kordamp.ikonli.fontawesome5;
 
     requires de.amr.games.pacman;
+    requires de.amr.games.pacman.metrics;
     requires de.amr.games.pacman.tilemap.editor.app;
     requires de.amr.games.pacman.uilib;
 